@@ -0,0 +1,164 @@
+package com.kintai.benchmark;
+
+import com.kintai.dto.AttendanceSummary;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.service.AttendanceSummaryService;
+import com.kintai.util.BatchTimeCalculator;
+import com.kintai.util.DateUtil;
+import com.kintai.util.PrimitiveTimeCalculator;
+import com.kintai.util.TimeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 勤怠時間計算・集計のベンチマーク
+ * 打刻1件あたりの時間計算と、月・年単位の勤怠集計を計測する
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttendanceCalculationBenchmark {
+
+    private final TimeCalculator timeCalculator = new TimeCalculator();
+    private final PrimitiveTimeCalculator primitiveTimeCalculator = new PrimitiveTimeCalculator();
+    private final PrimitiveTimeCalculator.Result result = new PrimitiveTimeCalculator.Result();
+
+    private LocalDateTime clockIn;
+    private LocalDateTime clockOut;
+    private long clockInEpochSecond;
+    private long clockOutEpochSecond;
+
+    @Setup
+    public void setUp() {
+        clockIn = LocalDateTime.of(2025, 8, 1, 9, 15, 0);
+        clockOut = LocalDateTime.of(2025, 8, 2, 1, 0, 0);
+        clockInEpochSecond = PrimitiveTimeCalculator.toEpochSecond(clockIn);
+        clockOutEpochSecond = PrimitiveTimeCalculator.toEpochSecond(clockOut);
+    }
+
+    @Benchmark
+    public TimeCalculator.AttendanceCalculationResult calculateAttendanceTimes() {
+        return timeCalculator.calculateAttendanceTimes(clockIn, clockOut);
+    }
+
+    @Benchmark
+    public PrimitiveTimeCalculator.Result calculateAttendanceTimesPrimitive() {
+        return primitiveTimeCalculator.calculateAttendanceTimes(clockInEpochSecond, clockOutEpochSecond, result);
+    }
+
+    /**
+     * 一括計算（BATCH_SIZE 件あたり）
+     */
+    @Benchmark
+    public BatchTimeCalculator.Columns calculateBatch(BatchState state) {
+        state.batchTimeCalculator.calculate(state.columns);
+        return state.columns;
+    }
+
+    @Benchmark
+    public AttendanceSummary summarize(SummaryState state) {
+        return state.attendanceSummaryService.summarize(state.records);
+    }
+
+    /**
+     * 一括計算の入力（合成した打刻列）
+     */
+    @State(Scope.Benchmark)
+    public static class BatchState {
+
+        static final int BATCH_SIZE = 4_096;
+
+        private final BatchTimeCalculator batchTimeCalculator = new BatchTimeCalculator();
+        private final BatchTimeCalculator.Columns columns = new BatchTimeCalculator.Columns(BATCH_SIZE);
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42L);
+            LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+            while (!columns.isFull()) {
+                LocalDateTime in = base.plusDays(random.nextInt(365)).plusHours(8).plusMinutes(random.nextInt(120));
+                columns.add(in, in.plusMinutes(480 + random.nextInt(360)));
+            }
+        }
+    }
+
+    /**
+     * 勤怠集計の入力（合成した勤怠記録）
+     */
+    @State(Scope.Benchmark)
+    public static class SummaryState {
+
+        /**
+         * 集計対象期間（MONTH：1ヶ月分、YEAR：12ヶ月分）
+         */
+        @Param({"MONTH", "YEAR"})
+        private String period;
+
+        /**
+         * working_minutes 保持済みの記録か（false の場合は打刻時刻から再計算）
+         */
+        @Param({"true", "false"})
+        private boolean storedWorkingMinutes;
+
+        private final TimeCalculator timeCalculator = new TimeCalculator();
+        private AttendanceSummaryService attendanceSummaryService;
+        private List<AttendanceRecord> records;
+
+        @Setup
+        public void setUp() {
+            // summarize は集計のみでリポジトリを使用しない
+            attendanceSummaryService = new AttendanceSummaryService(null, null, null, timeCalculator);
+
+            int months = "YEAR".equals(period) ? 12 : 1;
+            records = new ArrayList<>();
+            Random random = new Random(42L);
+            YearMonth start = YearMonth.of(2025, 1);
+            for (int i = 0; i < months; i++) {
+                for (LocalDate date : DateUtil.getWorkingDays(start.plusMonths(i).toString())) {
+                    records.add(record(date, random));
+                }
+            }
+        }
+
+        private AttendanceRecord record(LocalDate date, Random random) {
+            LocalDateTime in = date.atTime(8, 30).plusMinutes(random.nextInt(60));
+            LocalDateTime out = date.atTime(17, 30).plusMinutes(random.nextInt(300));
+            TimeCalculator.AttendanceCalculationResult calc = timeCalculator.calculateAttendanceTimes(in, out);
+
+            return AttendanceRecord.builder()
+                    .employeeId(1L)
+                    .attendanceDate(date)
+                    .clockInTime(in)
+                    .clockOutTime(out)
+                    .workingMinutes(storedWorkingMinutes ? calc.getWorkingMinutes() : null)
+                    .lateMinutes(calc.getLateMinutes())
+                    .earlyLeaveMinutes(calc.getEarlyLeaveMinutes())
+                    .overtimeMinutes(calc.getOvertimeMinutes())
+                    .nightShiftMinutes(calc.getNightShiftMinutes())
+                    .attendanceStatus(AttendanceRecord.AttendanceStatus.NORMAL)
+                    .submissionStatus(AttendanceRecord.SubmissionStatus.NOT_SUBMITTED)
+                    .attendanceFixedFlag(false)
+                    .build();
+        }
+    }
+}
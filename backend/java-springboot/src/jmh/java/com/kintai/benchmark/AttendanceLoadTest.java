@@ -0,0 +1,140 @@
+package com.kintai.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * 打刻・勤怠履歴の負荷試験（JMH ではなく、起動中のバックエンドへ HTTP で負荷をかける）
+ *
+ * clients 人が同時に出勤打刻し（始業時刻の集中を想定。1人1回）、続けて各自が勤怠履歴を
+ * history-requests 回ずつ連続で取得する。エンドポイントごとに p50 / p90 / p99 / 最大の応答時間を出力する。
+ * 仮想スレッドの比較は、VIRTUAL_THREADS=false / true で起動したサーバーに対してそれぞれ実行する（README 参照）。
+ *
+ * 前提:
+ * - 同一 IP からの打刻が clock ルートのレート制限を超えるため、サーバーは --app.rate-limit.enabled=false で起動する
+ * - 社員ID employee-id-from から clients 人分の社員が存在し、当日は未打刻であること
+ * - loadtest.token に有効な JWT を指定する
+ * - loadtest.url はサーバーのオリジン（コンテキストパスを含めない）。リクエストURIは
+ *   コンテキストパス（loadtest.context-path、既定 /api）+ コントローラーのマッピング（/api/attendance/...）
+ * - クライアント側のファイルディスクリプタ上限が clients を超えていること（ulimit -n）
+ */
+public class AttendanceLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String origin = System.getProperty("loadtest.url", "http://localhost:8080");
+        String contextPath = System.getProperty("loadtest.context-path", "/api");
+        String token = System.getProperty("loadtest.token", "");
+        String label = System.getProperty("loadtest.label", "server");
+        int clients = Integer.getInteger("loadtest.clients", 5_000);
+        int historyRequests = Integer.getInteger("loadtest.history-requests", 10);
+        long employeeIdFrom = Long.getLong("loadtest.employee-id-from", 1L);
+        String yearMonth = YearMonth.now().toString();
+        String clockInUri = contextPath + "/api/attendance/clock-in";
+        String historyUri = contextPath + "/api/attendance/history";
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        Result clockIn = run(client, clients, 1, i -> HttpRequest.newBuilder()
+                .uri(URI.create(origin + clockInUri))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"employeeId\":" + (employeeIdFrom + i) + "}"))
+                .build());
+        clockIn.print(label, "POST " + clockInUri);
+
+        Result history = run(client, clients, historyRequests, i -> HttpRequest.newBuilder()
+                .uri(URI.create(origin + historyUri + "?employeeId=" + (employeeIdFrom + i)
+                        + "&yearMonth=" + yearMonth))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build());
+        history.print(label, "GET " + historyUri);
+    }
+
+    /**
+     * clients 並列の閉ループ（各クライアントは応答を受けてから次のリクエストを送る）
+     * @param requestOf クライアント番号→リクエスト
+     */
+    private static Result run(HttpClient client, int clients, int requestsPerClient,
+                              IntFunction<HttpRequest> requestOf) {
+        Result result = new Result(clients * requestsPerClient);
+        long start = System.nanoTime();
+
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(client, requestOf.apply(i), requestsPerClient, result);
+        }
+        CompletableFuture.allOf(loops).join();
+
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, int remaining, Result result) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    result.record(System.nanoTime() - sent, response != null ? response.statusCode() : -1);
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, request, remaining - 1, result));
+    }
+
+    /**
+     * 応答時間・ステータスの集計
+     */
+    private static class Result {
+        private final long[] latencies;
+        private final AtomicInteger count = new AtomicInteger();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private long elapsedNanos;
+
+        private Result(int capacity) {
+            latencies = new long[capacity];
+        }
+
+        private void record(long latencyNanos, int status) {
+            latencies[count.getAndIncrement()] = latencyNanos;
+            statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        }
+
+        private void print(String label, String endpoint) {
+            long[] sorted = Arrays.copyOf(latencies, count.get());
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("[%s] %s: requests=%d, throughput=%.0f req/s, p50=%.1f ms, p90=%.1f ms, "
+                            + "p99=%.1f ms, max=%.1f ms, status=%s%n",
+                    label, endpoint, sorted.length, sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0.0, new TreeMap<>(statuses));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
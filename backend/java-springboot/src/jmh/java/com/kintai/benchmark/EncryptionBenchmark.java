@@ -0,0 +1,107 @@
+package com.kintai.benchmark;
+
+import com.kintai.security.AESUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 個人情報暗号化のベンチマーク
+ * 従来の実装（呼び出しごとに鍵・Cipher・乱数生成器を生成）と、キャッシュ済みの AESUtil を比較する
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptionBenchmark {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+    private static final String PLAIN_TEXT = "東京都千代田区丸の内1-1-1 090-1234-5678";
+
+    private final AESUtil aesUtil = new AESUtil();
+    private String encrypted;
+    private List<String> plainTexts;
+    private List<String> encryptedTexts;
+
+    @Setup
+    public void setUp() throws Exception {
+        encrypted = aesUtil.encrypt(PLAIN_TEXT, KEY);
+        plainTexts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            plainTexts.add(PLAIN_TEXT + i);
+        }
+        encryptedTexts = aesUtil.encryptAll(plainTexts, KEY);
+    }
+
+    /**
+     * 従来の暗号化（1件）
+     */
+    @Benchmark
+    public String legacyEncrypt() throws Exception {
+        SecretKeySpec secretKey = new SecretKeySpec(KEY.getBytes(), "AES");
+
+        byte[] iv = new byte[12];
+        SecureRandom.getInstanceStrong().nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(128, iv));
+        byte[] encryptedText = cipher.doFinal(PLAIN_TEXT.getBytes());
+
+        ByteBuffer byteBuffer = ByteBuffer.allocate(4 + iv.length + encryptedText.length);
+        byteBuffer.putInt(iv.length);
+        byteBuffer.put(iv);
+        byteBuffer.put(encryptedText);
+        return Base64.getEncoder().encodeToString(byteBuffer.array());
+    }
+
+    /**
+     * 暗号化（1件）
+     */
+    @Benchmark
+    public String encrypt() throws Exception {
+        return aesUtil.encrypt(PLAIN_TEXT, KEY);
+    }
+
+    /**
+     * 復号化（1件）
+     */
+    @Benchmark
+    public String decrypt() throws Exception {
+        return aesUtil.decrypt(encrypted, KEY);
+    }
+
+    /**
+     * 一括暗号化（100件）
+     */
+    @Benchmark
+    public List<String> encryptAll() throws Exception {
+        return aesUtil.encryptAll(plainTexts, KEY);
+    }
+
+    /**
+     * 一括復号化（100件）
+     */
+    @Benchmark
+    public List<String> decryptAll() throws Exception {
+        return aesUtil.decryptAll(encryptedTexts, KEY);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kintai.benchmark;
+
+import com.kintai.entity.Employee;
+import com.kintai.security.AuthenticatedEmployee;
+import com.kintai.security.TokenRevocationRegistry;
+import com.kintai.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT認証のベンチマーク
+ * 1リクエストあたりのトークン検証コスト（従来の二重検証と、共有パーサーでの1回検証）と
+ * クレームからの認証情報生成を含めた認証コストを計測する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "defaultSecretKeyForDevelopmentOnlyChangeInProduction";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // トークンバージョンはキャッシュ済みとし、DB を参照しない
+        TokenRevocationRegistry tokenRevocationRegistry = new TokenRevocationRegistry(null, Duration.ofDays(1));
+        tokenRevocationRegistry.revoke(1L, 0L);
+        jwtUtil = new JwtUtil(null, tokenRevocationRegistry);
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInSec", 3600);
+        jwtUtil.init();
+
+        Employee employee = new Employee();
+        employee.setEmployeeId(1L);
+        employee.setEmployeeCode("E001");
+        employee.setEmployeeRole(Employee.EmployeeRole.EMPLOYEE);
+        employee.setEmploymentStatus(Employee.EmploymentStatus.ACTIVE);
+        token = jwtUtil.generateToken(employee);
+    }
+
+    /**
+     * 従来の認証処理（鍵生成・パーサー生成・署名検証をリクエスト内で2回実施）
+     */
+    @Benchmark
+    public Claims legacyValidateAndParse() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    /**
+     * 現在の認証処理（共有パーサーで1回のみ検証）
+     */
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    /**
+     * 現在の認証処理全体（1回検証＋クレームからの認証済み社員生成。DB参照なし）
+     */
+    @Benchmark
+    public AuthenticatedEmployee authenticate() {
+        return jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(token));
+    }
+}
@@ -0,0 +1,182 @@
+package com.kintai.benchmark;
+
+import com.kintai.service.PayrollExportService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 月次勤怠エクスポートのベンチマーク
+ * H2 に 1,000,000 行（約32,000人 × 31日）を用意し、カーソルによるストリーミング出力と、
+ * 全行を一覧として読み込んでから出力する従来方式を比較する。
+ * ヒープは 1GB に制限しており（H2 のデータもヒープ上に載る）、ストリーミング出力は完走するが、
+ * 従来方式は行数に比例してヒープを消費し OutOfMemoryError となる（比較用にあえて残している）。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class PayrollExportBenchmark {
+
+    private static final int EMPLOYEES = 32_259;
+    private static final YearMonth MONTH = YearMonth.of(2025, 8);
+    private static final int ROWS = EMPLOYEES * MONTH.lengthOfMonth();
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+    private PayrollExportService exportService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:payroll_export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LAZY_QUERY_EXECUTION=1");
+        keepAlive = dataSource.getConnection();
+
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, " +
+                    "employee_code VARCHAR(10), employee_name VARCHAR(50))");
+            statement.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "employee_id BIGINT, attendance_date DATE, clock_in_time TIMESTAMP, clock_out_time TIMESTAMP, " +
+                    "working_minutes INT, late_minutes INT, early_leave_minutes INT, overtime_minutes INT, " +
+                    "night_shift_minutes INT, attendance_status VARCHAR(20), submission_status VARCHAR(20))");
+            statement.execute("CREATE INDEX idx_employee_date ON attendance_records (employee_id, attendance_date)");
+        }
+
+        keepAlive.setAutoCommit(false);
+        try (PreparedStatement employees = keepAlive.prepareStatement("INSERT INTO employees VALUES (?, ?, ?)");
+             PreparedStatement records = keepAlive.prepareStatement("INSERT INTO attendance_records (employee_id, " +
+                     "attendance_date, clock_in_time, clock_out_time, working_minutes, late_minutes, " +
+                     "early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_status, " +
+                     "submission_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'normal', '承認')")) {
+            for (long id = 1; id <= EMPLOYEES; id++) {
+                employees.setLong(1, id);
+                employees.setString(2, String.format("E%06d", id));
+                employees.setString(3, "社員, " + id);
+                employees.addBatch();
+                for (int day = 1; day <= MONTH.lengthOfMonth(); day++) {
+                    LocalDate date = MONTH.atDay(day);
+                    records.setLong(1, id);
+                    records.setDate(2, Date.valueOf(date));
+                    records.setTimestamp(3, Timestamp.valueOf(date.atTime(9, (int) (id % 30))));
+                    records.setTimestamp(4, Timestamp.valueOf(date.atTime(18 + (int) (id % 4), 0)));
+                    records.setInt(5, 480);
+                    records.setInt(6, (int) (id % 30));
+                    records.setInt(7, 0);
+                    records.setInt(8, (int) (id % 4) * 60);
+                    records.setInt(9, 0);
+                    records.addBatch();
+                }
+                if (id % 1_000 == 0) {
+                    employees.executeBatch();
+                    records.executeBatch();
+                    keepAlive.commit();
+                }
+            }
+            employees.executeBatch();
+            records.executeBatch();
+            keepAlive.commit();
+        }
+
+        exportService = new PayrollExportService(dataSource, 1_000);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        keepAlive.close();
+    }
+
+    /**
+     * ストリーミング出力（CSV）
+     */
+    @Benchmark
+    public long streamingCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long rows = exportService.export(MONTH, PayrollExportService.Format.CSV, out);
+        return verify(rows, out);
+    }
+
+    /**
+     * ストリーミング出力（NDJSON）
+     */
+    @Benchmark
+    public long streamingNdjson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long rows = exportService.export(MONTH, PayrollExportService.Format.NDJSON, out);
+        return verify(rows, out);
+    }
+
+    /**
+     * 従来方式（全行を一覧に読み込んでから CSV 出力）
+     */
+    @Benchmark
+    public long materializedCsv() throws IOException {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT e.employee_code, e.employee_name, a.* FROM attendance_records a " +
+                "JOIN employees e ON e.employee_id = a.employee_id " +
+                "WHERE a.attendance_date BETWEEN ? AND ? ORDER BY a.employee_id, a.attendance_date",
+                Date.valueOf(MONTH.atDay(1)), Date.valueOf(MONTH.atEndOfMonth()));
+        CountingOutputStream out = new CountingOutputStream();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        for (Map<String, Object> row : rows) {
+            writer.write(String.join(",", row.values().stream().map(String::valueOf).toList()));
+            writer.write('\n');
+        }
+        writer.flush();
+        return verify(rows.size(), out);
+    }
+
+    private long verify(long rows, CountingOutputStream out) {
+        if (rows != ROWS) {
+            throw new IllegalStateException("unexpected row count: " + rows);
+        }
+        return out.bytes;
+    }
+
+    /**
+     * 書き込みバイト数のみ数える出力先
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kintai.benchmark;
+
+import com.kintai.util.DateUtil;
+import com.kintai.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ユーティリティのベンチマーク
+ * 営業日算出とパスワード検証を計測する
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilBenchmark {
+
+    private final String yearMonth = "2025-08";
+    private final String employeeCode = "E001";
+
+    @Benchmark
+    public List<LocalDate> getWorkingDays() {
+        return DateUtil.getWorkingDays(yearMonth);
+    }
+
+    @Benchmark
+    public boolean validatePassword(PasswordState state) {
+        return ValidationUtil.validatePassword(state.password, employeeCode);
+    }
+
+    /**
+     * パスワード検証の入力
+     */
+    @State(Scope.Benchmark)
+    public static class PasswordState {
+
+        /**
+         * 検証対象パスワード（有効・文字種不足・同一文字連続）
+         */
+        @Param({"Passw0rd!", "password123", "Paaa55word!"})
+        private String password;
+    }
+}
@@ -16,14 +16,17 @@ public class ApprovalEvent extends ApplicationEvent {
     private final String requestType;
     private final String result;
     private final Long approverId;
+    private final String approverCode;
     private final LocalDateTime eventTimestamp;
     
-    public ApprovalEvent(Object source, Long requestId, String requestType, String result, Long approverId) {
+    public ApprovalEvent(Object source, Long requestId, String requestType, String result, Long approverId,
+                         String approverCode) {
         super(source);
         this.requestId = requestId;
         this.requestType = requestType;
         this.result = result;
         this.approverId = approverId;
+        this.approverCode = approverCode;
         this.eventTimestamp = LocalDateTime.now();
     }
 }
@@ -0,0 +1,74 @@
+package com.kintai.audit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 監査イベントリスナー
+ * 業務トランザクションのコミット後に eventExecutor 上で監査記録を行う（ロールバック時は記録しない）。
+ * トランザクション外で発行されたイベント（ログイン等）は発行時点で処理する。
+ * 社員コードは発行元でイベントに設定済みのため、監査記録時に DB を参照しない。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditEventListener {
+
+    private final AuditLogService auditLogService;
+
+    /**
+     * 打刻イベント
+     */
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClocking(ClockingEvent event) {
+        auditLogService.logEvent("AttendanceRecord", String.valueOf(event.getEmployeeId()),
+                event.getClockingType().toUpperCase(), event.getEmployeeCode(),
+                event.getEventTimestamp(), null);
+    }
+
+    /**
+     * 承認イベント
+     */
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApproval(ApprovalEvent event) {
+        auditLogService.logEvent(event.getRequestType() + "_request", String.valueOf(event.getRequestId()),
+                event.getResult().toUpperCase(), event.getApproverCode(),
+                event.getEventTimestamp(), null);
+    }
+
+    /**
+     * データアクセスイベント
+     */
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataAccess(DataAccessEvent event) {
+        auditLogService.logEvent(event.getResource(), String.valueOf(event.getEmployeeId()),
+                event.getAction(), event.getEmployeeCode(),
+                event.getEventTimestamp(), null);
+    }
+
+    /**
+     * ログイン成功イベント
+     */
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoginSuccess(LoginSuccessEvent event) {
+        auditLogService.logLoginAttempt(event.getEmployeeCode(), "SUCCESS", event.getEventTimestamp(),
+                event.getIpAddress());
+    }
+
+    /**
+     * ログイン失敗イベント
+     */
+    @Async("eventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoginFailure(LoginFailureEvent event) {
+        auditLogService.logLoginAttempt(event.getEmployeeCode(), "FAILURE:" + event.getReason(),
+                event.getEventTimestamp(), event.getIpAddress());
+    }
+}
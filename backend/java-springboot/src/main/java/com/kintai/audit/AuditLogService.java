@@ -2,10 +2,11 @@ package com.kintai.audit;
 
 import com.kintai.entity.AuditLog;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -14,13 +15,16 @@ import java.time.LocalDateTime;
 /**
  * 監査ログサービス
  * データアクセスの詳細な監査記録
+ * audit_logs への登録は AuditLogWriter が非同期に行う（リクエストスレッドではDBへ書き込まない）
  */
 @Service
-@Transactional
+@RequiredArgsConstructor
 public class AuditLogService {
     
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
     
+    private final AuditLogWriter auditLogWriter;
+    
     /**
      * データアクセス監査ログ記録
      */
@@ -42,7 +46,8 @@ public class AuditLogService {
             HttpServletRequest request = attributes.getRequest();
             auditLog.setIpAddress(getClientIP(request));
             auditLog.setUserAgent(request.getHeader("User-Agent"));
-            auditLog.setSessionId(request.getSession().getId());
+            HttpSession session = request.getSession(false);
+            auditLog.setSessionId(session != null ? session.getId() : null);
             auditLog.setRequestId(request.getHeader("X-Request-ID"));
         }
         
@@ -56,14 +61,47 @@ public class AuditLogService {
                         auditLog.getTimestamp(),
                         auditLog.getIpAddress(),
                         auditLog.getSessionId());
+        
+        // audit_logs へ非同期登録
+        auditLogWriter.submit(auditLog);
+    }
+    
+    /**
+     * イベント監査ログ記録（非同期イベント処理から呼び出し。HTTPリクエスト情報は引数で受け取る）
+     */
+    public void logEvent(String entityType, String entityId, String operation,
+                         String employeeCode, LocalDateTime timestamp, String ipAddress) {
+        
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEntityType(entityType);
+        auditLog.setEntityId(entityId);
+        auditLog.setOperation(operation);
+        auditLog.setEmployeeCode(employeeCode);
+        auditLog.setTimestamp(timestamp);
+        auditLog.setIpAddress(ipAddress);
+        
+        auditLogger.info("EVENT: entityType={}, entityId={}, operation={}, employeeCode={}, timestamp={}, ipAddress={}",
+                        entityType, entityId, operation, employeeCode, timestamp, ipAddress);
+        
+        auditLogWriter.submit(auditLog);
     }
     
     /**
      * ログイン試行監査ログ
+     * @param timestamp ログイン試行日時（イベント発行時点。非同期処理の実行時刻ではない）
      */
-    public void logLoginAttempt(String employeeCode, String result, String ipAddress) {
+    public void logLoginAttempt(String employeeCode, String result, LocalDateTime timestamp, String ipAddress) {
         auditLogger.info("LOGIN_ATTEMPT: employeeCode={}, result={}, timestamp={}, ipAddress={}", 
-                        employeeCode, result, LocalDateTime.now(), ipAddress);
+                        employeeCode, result, timestamp, ipAddress);
+        
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEntityType("Employee");
+        auditLog.setEntityId(employeeCode);
+        auditLog.setOperation("LOGIN_" + result);
+        auditLog.setEmployeeCode(employeeCode);
+        auditLog.setTimestamp(timestamp);
+        auditLog.setIpAddress(ipAddress);
+        auditLogWriter.submit(auditLog);
     }
     
     /**
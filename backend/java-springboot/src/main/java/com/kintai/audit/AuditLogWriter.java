@@ -0,0 +1,197 @@
+package com.kintai.audit;
+
+import com.kintai.dto.AuditPipelineStatus;
+import com.kintai.entity.AuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 監査ログ非同期書き込み
+ * リクエストスレッドは固定長キューへ投入するだけで、単一の書き込みスレッドが
+ * batchSize 件ごと、または flushInterval ごとに JDBC バッチで audit_logs へ登録する。
+ *
+ * キューが満杯の場合は offerTimeout まで待機し、それでも空かなければ破棄して件数を記録する
+ * （監査ログの量で打刻等の応答時間を悪化させないため）。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_AUDIT_LOG_SQL =
+            "INSERT INTO audit_logs (entity_type, entity_id, operation, employee_code, old_values, new_values, " +
+            "timestamp, ip_address, user_agent, session_id, request_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.offer-timeout-ms:0}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<AuditLog> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * 監査ログ投入（リクエストスレッドから呼び出し）
+     * @param auditLog 監査ログ
+     * @return 投入できた場合 true（満杯で破棄した場合 false）
+     */
+    public boolean submit(AuditLog auditLog) {
+        if (auditLog.getTimestamp() == null) {
+            auditLog.setTimestamp(LocalDateTime.now());
+        }
+
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMs > 0
+                    ? queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(auditLog);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            enqueuedCount.incrementAndGet();
+            return true;
+        }
+
+        long dropped = droppedCount.incrementAndGet();
+        // 破棄が続く場合にログ自体が負荷にならないよう間引いて出力
+        if (Long.bitCount(dropped) == 1) {
+            log.warn("Audit log queue full, dropped: total={}", dropped);
+        }
+        return false;
+    }
+
+    /**
+     * 処理状況取得
+     */
+    public AuditPipelineStatus getStatus() {
+        return AuditPipelineStatus.builder()
+                .queueCapacity(queueCapacity)
+                .queuedCount(queue.size())
+                .enqueuedCount(enqueuedCount.get())
+                .writtenCount(writtenCount.get())
+                .droppedCount(droppedCount.get())
+                .failedCount(failedCount.get())
+                .build();
+    }
+
+    /**
+     * 書き込みスレッド本体
+     */
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 先頭の到着から flushInterval 経過するか batchSize に達するまで集める
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 停止要求。残りはキューが空になるまで書き込む
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * JDBC バッチで一括登録（1バッチ1トランザクション）
+     */
+    private void flush(List<AuditLog> batch) {
+        try {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (AuditLog auditLog : batch) {
+                rows.add(new Object[] {
+                        auditLog.getEntityType(),
+                        auditLog.getEntityId(),
+                        auditLog.getOperation(),
+                        auditLog.getEmployeeCode(),
+                        auditLog.getOldValues(),
+                        auditLog.getNewValues(),
+                        Timestamp.valueOf(auditLog.getTimestamp()),
+                        auditLog.getIpAddress(),
+                        auditLog.getUserAgent(),
+                        auditLog.getSessionId(),
+                        auditLog.getRequestId()
+                });
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG_SQL, rows));
+            writtenCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            failedCount.addAndGet(batch.size());
+            log.error("Failed to write audit logs: count={}, error={}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -13,12 +13,14 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(callSuper = false)
 public class ClockingEvent extends ApplicationEvent {
     private final Long employeeId;
+    private final String employeeCode;
     private final String clockingType;
     private final LocalDateTime eventTimestamp;
     
-    public ClockingEvent(Object source, Long employeeId, String clockingType) {
+    public ClockingEvent(Object source, Long employeeId, String employeeCode, String clockingType) {
         super(source);
         this.employeeId = employeeId;
+        this.employeeCode = employeeCode;
         this.clockingType = clockingType;
         this.eventTimestamp = LocalDateTime.now();
     }
@@ -1,6 +1,7 @@
 package com.kintai.audit;
 
 import com.kintai.entity.Employee;
+import com.kintai.security.AuthenticatedEmployee;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -29,6 +30,11 @@ public class DataAccessAuditor {
                 return Optional.of("SYSTEM");
             }
             
+            if (authentication.getPrincipal() instanceof AuthenticatedEmployee) {
+                AuthenticatedEmployee employee = (AuthenticatedEmployee) authentication.getPrincipal();
+                return Optional.of(employee.getEmployeeCode());
+            }
+            
             if (authentication.getPrincipal() instanceof Employee) {
                 Employee employee = (Employee) authentication.getPrincipal();
                 return Optional.of(employee.getEmployeeCode());
@@ -13,13 +13,15 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(callSuper = false)
 public class DataAccessEvent extends ApplicationEvent {
     private final Long employeeId;
+    private final String employeeCode;
     private final String resource;
     private final String action;
     private final LocalDateTime eventTimestamp;
     
-    public DataAccessEvent(Object source, Long employeeId, String resource, String action) {
+    public DataAccessEvent(Object source, Long employeeId, String employeeCode, String resource, String action) {
         super(source);
         this.employeeId = employeeId;
+        this.employeeCode = employeeCode;
         this.resource = resource;
         this.action = action;
         this.eventTimestamp = LocalDateTime.now();
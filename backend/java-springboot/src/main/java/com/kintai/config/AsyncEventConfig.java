@@ -0,0 +1,71 @@
+package com.kintai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 非同期イベント処理設定
+ * 打刻・承認・ログイン等のイベントの後続処理（監査記録等）をリクエストスレッド外で実行する
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncEventConfig {
+
+    /**
+     * イベント処理用スレッド名の接頭辞
+     */
+    private static final String THREAD_NAME_PREFIX = "event-";
+
+    @Value("${app.events.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Value("${app.events.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * イベント処理用エグゼキューター
+     * Java 21 以降では仮想スレッドを使用し、それ以前は固定長スレッドプールを使用する。
+     * プールのキューが満杯の場合はイベントを破棄する（リクエストスレッドで代行実行しない）。
+     */
+    @Bean(name = "eventExecutor")
+    public ExecutorService eventExecutor() {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            try {
+                // コンパイル対象は Java 17 のためリフレクションで呼び出す
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info("Event executor: virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads unavailable, falling back to thread pool: {}", e.getMessage());
+            }
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Event executor queue full, event dropped"));
+        log.info("Event executor: thread pool (size={}, queueCapacity={})", poolSize, queueCapacity);
+        return executor;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kintai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 接続プール計測・自動調整設定値（app.datasource）
+ * プール自体の設定（上限・タイムアウト等）は spring.datasource.hikari に記述する
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourcePoolProperties {
+
+    /**
+     * SQL別の実行時間計測
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 打刻集中時間帯の接続プール自動調整
+     */
+    private AdaptiveSizing adaptiveSizing = new AdaptiveSizing();
+
+    /**
+     * SQL別の実行時間計測設定
+     */
+    @Data
+    public static class Metrics {
+
+        /**
+         * SQL別の実行時間計測の有効化（全 JDBC 呼び出しがプロキシ経由になるため、調査時のみ有効にする）
+         */
+        private boolean queryTiming = false;
+
+        /**
+         * 計測する SQL 文の種類の上限（超過分は other に集計）
+         */
+        private int maxQueries = 200;
+    }
+
+    /**
+     * 接続プール自動調整設定
+     */
+    @Data
+    public static class AdaptiveSizing {
+
+        /**
+         * 自動調整の有効化
+         */
+        private boolean enabled = false;
+
+        /**
+         * 集中時間帯（HH:mm-HH:mm、Asia/Tokyo）
+         */
+        private List<String> windows = new ArrayList<>(List.of("08:30-09:30", "17:30-18:30"));
+
+        /**
+         * 接続プール上限の最大値（集中時間帯・接続待ち発生時に拡大する上限）
+         */
+        private int peakMaximumPoolSize = 30;
+
+        /**
+         * 集中時間帯の最小アイドル接続数（時間帯の開始時に接続を作成しておく）
+         */
+        private int peakMinimumIdle = 20;
+
+        /**
+         * 1回の調整で増減する接続数（集中時間帯の開始時は一度に拡大）
+         */
+        private int step = 5;
+
+        /**
+         * 調整間隔（ミリ秒）
+         */
+        private long checkIntervalMs = 15_000;
+    }
+}
@@ -1,8 +1,13 @@
 package com.kintai.config;
 
+import com.kintai.datasource.HikariPoolMetrics;
+import com.kintai.datasource.QueryTimingDataSource;
+import com.kintai.metrics.MetricsRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,8 +17,10 @@ import javax.sql.DataSource;
 /**
  * データベースセキュリティ設定
  * 設計書のデータ保護要件に基づく接続プールとセキュリティ設定
+ * 接続プールの設定値は spring.datasource.hikari、計測・自動調整は app.datasource で指定する
  */
 @Configuration
+@EnableConfigurationProperties({EncryptionProperties.class, DataSourcePoolProperties.class})
 public class DatabaseSecurityConfig {
     
     @Value("${spring.datasource.url}")
@@ -28,24 +35,39 @@ public class DatabaseSecurityConfig {
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
     
+    /**
+     * 接続プール設定（既定値を spring.datasource.hikari の値で上書き）
+     */
     @Bean
-    @Primary
-    public DataSource dataSource() {
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig hikariConfig() {
         HikariConfig config = new HikariConfig();
         
-        // 基本接続設定
-        config.setJdbcUrl(jdbcUrl);
-        config.setUsername(username);
-        config.setPassword(password);
-        config.setDriverClassName(driverClassName);
-        
         // 接続プール設定
+        config.setPoolName("kintai");
         config.setMaximumPoolSize(10);
         config.setMinimumIdle(5);
         config.setConnectionTimeout(30000);
         config.setIdleTimeout(600000);
         config.setMaxLifetime(1800000);
         
+        return config;
+    }
+    
+    /**
+     * データソース（接続プール。計測有効時は SQL 別の実行時間を計測するデータソースで包む）
+     * 接続プールを参照する処理は unwrap(HikariDataSource.class) で取得する
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariConfig config, MetricsRegistry metricsRegistry,
+                                 DataSourcePoolProperties properties) {
+        // 基本接続設定
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(driverClassName);
+        
         // セキュリティ設定
         config.addDataSourceProperty("useSSL", "false");
         config.addDataSourceProperty("useUnicode", "true");
@@ -58,6 +80,14 @@ public class DatabaseSecurityConfig {
         config.addDataSourceProperty("allowMultiQueries", "false");
         config.addDataSourceProperty("allowLoadLocalInfile", "false");
         
-        return new HikariDataSource(config);
+        // 接続数・接続取得時間のメトリクス
+        config.setMetricsTrackerFactory(new HikariPoolMetrics(metricsRegistry));
+        
+        HikariDataSource hikariDataSource = new HikariDataSource(config);
+        DataSourcePoolProperties.Metrics metrics = properties.getMetrics();
+        if (!metrics.isQueryTiming()) {
+            return hikariDataSource;
+        }
+        return new QueryTimingDataSource(hikariDataSource, metricsRegistry, metrics.getMaxQueries());
     }
 }
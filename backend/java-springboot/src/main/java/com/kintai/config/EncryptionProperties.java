@@ -0,0 +1,59 @@
+package com.kintai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 個人情報暗号化設定値（app.encryption）
+ */
+@Data
+@ConfigurationProperties(prefix = "app.encryption")
+public class EncryptionProperties {
+
+    /**
+     * 現行の暗号化キー
+     */
+    private String key = "default-encryption-key-change-in-production";
+
+    /**
+     * 現行キーのバージョン（暗号文の接頭辞 v{バージョン}: に使用）
+     */
+    private int keyVersion = 1;
+
+    /**
+     * 旧キー（バージョン→キー）。キー更新後も旧バージョンの暗号文を復号するために保持する
+     */
+    private Map<Integer, String> previousKeys = new HashMap<>();
+
+    /**
+     * 再暗号化ジョブの設定
+     */
+    private Rekey rekey = new Rekey();
+
+    /**
+     * 再暗号化ジョブの設定
+     */
+    @Data
+    public static class Rekey {
+
+        /**
+         * 1トランザクションで処理する社員数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 復号・再暗号化の並列数
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 再暗号化対象の employees 列名（未設定の場合はジョブを実行しない）
+         */
+        private List<String> columns = new ArrayList<>();
+    }
+}
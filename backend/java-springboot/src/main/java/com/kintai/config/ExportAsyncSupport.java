@@ -0,0 +1,57 @@
+package com.kintai.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * エクスポート応答の非同期実行
+ * 勤怠エクスポート等の長時間の書き出しを専用スレッドプールで実行し、エクスポートのみにタイムアウトを適用する
+ * （他の非同期 MVC 要求の実行スレッド・タイムアウトは変更しない）。
+ * 書き出し中は DB 接続を1本占有するため、同時実行数は接続プールより十分小さくする。
+ */
+@Component
+public class ExportAsyncSupport {
+
+    @Value("${app.export.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.export.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${app.export.timeout:10m}")
+    private Duration timeout;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.setDaemon(true);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * エクスポート用の非同期タスク生成
+     * @param callable 書き出し処理（応答へ直接書き出す）
+     * @return 専用スレッドプール・エクスポート用タイムアウトの非同期タスク
+     */
+    public <T> WebAsyncTask<T> task(Callable<T> callable) {
+        return new WebAsyncTask<>(timeout.toMillis(), executor, callable);
+    }
+}
@@ -44,7 +44,7 @@ public class GlobalExceptionHandler {
         log.warn("Business error occurred: {} - {}", e.getErrorCode(), e.getMessage());
         HttpStatus status = getHttpStatusByErrorCode(e.getErrorCode());
         return ResponseEntity.status(status).body(
-                ApiResponse.error(e.getErrorCode(), e.getMessage())
+                ApiResponse.error(e.getErrorCode(), e.getMessage(), e.getDetails())
         );
     }
     
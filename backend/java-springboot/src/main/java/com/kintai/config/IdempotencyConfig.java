@@ -0,0 +1,36 @@
+package com.kintai.config;
+
+import com.kintai.filter.IdempotencyFilter;
+import com.kintai.filter.IdempotencyStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 冪等キー設定
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+    
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties) {
+        return new IdempotencyStore(properties.getTtl(), properties.getMaxKeys(), properties.getSweepInterval());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties properties,
+                                                                      IdempotencyStore idempotencyStore) {
+        FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>();
+        
+        // 認証済みの社員IDをキーに含めるため、Spring Security のフィルターより後に実行
+        registrationBean.setFilter(new IdempotencyFilter(idempotencyStore, properties.getPaths()));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setName("idempotencyFilter");
+        registrationBean.setOrder(3);
+        registrationBean.setEnabled(properties.isEnabled());
+        
+        return registrationBean;
+    }
+}
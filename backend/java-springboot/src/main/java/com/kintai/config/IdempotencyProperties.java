@@ -0,0 +1,41 @@
+package com.kintai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 冪等キー設定値（app.idempotency）
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * 冪等キーの有効化
+     */
+    private boolean enabled = true;
+
+    /**
+     * 応答を保持する期間
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 記録するキー（社員ID×キー）の上限数
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * 期限切れのキーを掃除する間隔
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * 対象パスパターン（コンテキストパス除く）
+     */
+    private List<String> paths = new ArrayList<>();
+}
@@ -1,7 +1,9 @@
 package com.kintai.config;
 
 import com.kintai.entity.Employee;
+import com.kintai.security.AuthenticatedEmployee;
 import com.kintai.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,26 +37,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         String token = extractToken(request);
         
-        if (token != null && jwtUtil.validateToken(token)) {
+        // 署名検証はリクエストごとに1回のみ（取得したクレームをそのまま利用）
+        Claims claims = token != null ? jwtUtil.parseToken(token) : null;
+        
+        if (claims != null) {
             try {
-                Employee employee = jwtUtil.getEmployeeFromToken(token);
+                // クレームのみから認証情報を生成（失効済みトークンの場合は null となり未認証のまま）
+                AuthenticatedEmployee employee = jwtUtil.getAuthenticatedEmployee(claims);
                 
-                // 退職者チェック
-                if ("retired".equals(employee.getEmploymentStatus().getValue())) {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.getWriter().write("{\"success\":false,\"errorCode\":\"ACCESS_DENIED\",\"message\":\"アクセス権限がありません\"}");
-                    return;
+                if (employee != null) {
+                    // 退職者チェック
+                    if (Employee.EmploymentStatus.RETIRED.equals(employee.getEmploymentStatus())) {
+                        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                        response.getWriter().write("{\"success\":false,\"errorCode\":\"ACCESS_DENIED\",\"message\":\"アクセス権限がありません\"}");
+                        return;
+                    }
+                    
+                    // Spring Security認証情報設定
+                    List<GrantedAuthority> authorities = List.of(
+                            new SimpleGrantedAuthority("ROLE_" + employee.getEmployeeRole().getValue().toUpperCase())
+                    );
+                    
+                    UsernamePasswordAuthenticationToken auth = 
+                            new UsernamePasswordAuthenticationToken(employee, null, authorities);
+                    SecurityContextHolder.getContext().setAuthentication(auth);
                 }
                 
-                // Spring Security認証情報設定
-                List<GrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + employee.getEmployeeRole().getValue().toUpperCase())
-                );
-                
-                UsernamePasswordAuthenticationToken auth = 
-                        new UsernamePasswordAuthenticationToken(employee, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(auth);
-                
             } catch (Exception e) {
                 log.error("Cannot set employee authentication: {}", e.getMessage());
             }
@@ -1,24 +1,59 @@
 package com.kintai.config;
 
+import com.kintai.filter.GcraRateLimiter;
+import com.kintai.filter.RateLimitPolicy;
+import com.kintai.filter.RateLimiter;
 import com.kintai.filter.RateLimitingFilter;
+import com.kintai.filter.RedisRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * APIレート制限設定
  */
 @Configuration
+@Slf4j
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
     
     @Bean
-    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilter() {
+    public RateLimiter rateLimiter(RateLimitProperties properties,
+                                   ObjectProvider<StringRedisTemplate> redisTemplate) {
+        RateLimiter local = new GcraRateLimiter(properties.getMaxKeys(), properties.getSweepInterval());
+        if (!"redis".equals(properties.getMode())) {
+            return local;
+        }
+        
+        RateLimitProperties.Redis redis = properties.getRedis();
+        log.info("Rate limiter mode: redis (batchSize={}, batchTtl={})", redis.getBatchSize(), redis.getBatchTtl());
+        return new RedisRateLimiter(redisTemplate.getObject(), local,
+                redis.getKeyPrefix(), redis.getBatchSize(), redis.getBatchTtl(), redis.getFailureBackoff());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilter(RateLimitProperties properties,
+                                                                         RateLimiter rateLimiter) {
+        List<Map.Entry<String, RateLimitPolicy>> routePolicies = properties.getRoutes().stream()
+                .map(route -> Map.entry(route.getPattern(), route.toRateLimitPolicy()))
+                .collect(Collectors.toList());
+        
         FilterRegistrationBean<RateLimitingFilter> registrationBean = new FilterRegistrationBean<>();
         
-        registrationBean.setFilter(new RateLimitingFilter());
+        registrationBean.setFilter(new RateLimitingFilter(
+                rateLimiter, routePolicies, properties.getDefaultPolicy().toRateLimitPolicy()));
         registrationBean.addUrlPatterns("/api/*");
         registrationBean.setName("rateLimitingFilter");
         registrationBean.setOrder(2);
+        registrationBean.setEnabled(properties.isEnabled());
         
         return registrationBean;
     }
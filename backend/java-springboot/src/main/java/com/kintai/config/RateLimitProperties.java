@@ -0,0 +1,122 @@
+package com.kintai.config;
+
+import com.kintai.filter.RateLimitPolicy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * APIレート制限設定値（app.rate-limit）
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * レート制限の有効化
+     */
+    private boolean enabled = true;
+
+    /**
+     * 判定方式（local: JVM内で判定 / redis: Redis でレプリカ間共有）
+     */
+    private String mode = "local";
+
+    /**
+     * Redis 方式の設定
+     */
+    private Redis redis = new Redis();
+
+    /**
+     * 記録するキー（ポリシー×クライアントIP）の上限数
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * 枠が満タンに戻ったキーを掃除する間隔
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * どのルートにも一致しない場合のポリシー
+     */
+    private Policy defaultPolicy = new Policy("default", null, 100, Duration.ofHours(1), 100);
+
+    /**
+     * ルート別ポリシー（先頭から評価し、最初に一致したものを適用）
+     */
+    private List<Policy> routes = new ArrayList<>();
+
+    /**
+     * レート制限ポリシー設定
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+
+        /**
+         * ポリシー名
+         */
+        private String name;
+
+        /**
+         * 対象パス（Antパターン。例: /api/admin/**）
+         */
+        private String pattern;
+
+        /**
+         * period あたりの許可回数
+         */
+        private int limit;
+
+        /**
+         * 期間
+         */
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * 連続して許可する最大回数（未指定の場合は limit）
+         */
+        private Integer burst;
+
+        /**
+         * GCRA パラメータへ変換
+         */
+        public RateLimitPolicy toRateLimitPolicy() {
+            return RateLimitPolicy.of(name, limit, period, burst != null ? burst : limit);
+        }
+    }
+
+    /**
+     * Redis 方式の設定
+     */
+    @Data
+    public static class Redis {
+
+        /**
+         * Redis キーの接頭辞
+         */
+        private String keyPrefix = "kintai:rate-limit:";
+
+        /**
+         * 1回の Redis 往復でまとめて確保するトークン数の上限（1から利用頻度に応じて増やす）
+         */
+        private int batchSize = 10;
+
+        /**
+         * 確保したトークンをローカルで保持する時間
+         */
+        private Duration batchTtl = Duration.ofSeconds(1);
+
+        /**
+         * Redis に接続できなかった後、Redis を使わずにローカルで判定する時間
+         */
+        private Duration failureBackoff = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,13 @@
+package com.kintai.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行設定
+ * 日付変更時のキャッシュ切り替え等の定期処理を有効化する
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,68 @@
+package com.kintai.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 仮想スレッド設定（spring.threads.virtual.enabled）
+ *
+ * 有効時は Spring Boot が Tomcat のリクエスト処理と @Scheduled の実行を仮想スレッドで行い、
+ * @Async のイベント処理（app.events.virtual-threads）も既定で仮想スレッドになる。Java 21 未満では無効。
+ *
+ * MySQL Connector/J 8.x は通信中に synchronized を保持するため、DB 待ちの間は仮想スレッドが
+ * キャリアスレッドに固定（pinning）される。固定されうる数は接続プールの上限と同じなので、
+ * キャリアスレッド数（jdk.virtualThreadScheduler.parallelism、既定は CPU 数）が接続プール上限より少ない場合は
+ * DB 待ちだけで全キャリアが埋まる。起動時にこの構成を検出して警告する。
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final DataSource dataSource;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        if (!virtualThreads) {
+            log.info("Request threading: platform threads");
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual threads require Java 21 or later (running {}), using platform threads", Runtime.version());
+            return;
+        }
+
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        log.info("Request threading: virtual threads (carriers={})", carriers);
+
+        HikariDataSource hikari = hikariOf(dataSource);
+        if (hikari != null && hikari.getMaximumPoolSize() > carriers) {
+            log.warn("Connection pool size ({}) exceeds virtual thread carriers ({}). JDBC calls pin their carrier " +
+                    "thread; set -Djdk.virtualThreadScheduler.parallelism={} or larger",
+                    hikari.getMaximumPoolSize(), carriers, hikari.getMaximumPoolSize());
+        }
+    }
+
+    /**
+     * 接続プール取得（HikariCP 以外のデータソースの場合は null）
+     */
+    private static HikariDataSource hikariOf(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,17 +1,48 @@
 package com.kintai.controller;
 
+import com.kintai.audit.AuditLogWriter;
+import com.kintai.config.ExportAsyncSupport;
+import com.kintai.dto.AttendanceRecalculationRequest;
+import com.kintai.dto.AttendanceRecalculationStatus;
+import com.kintai.dto.AuditPipelineStatus;
+import com.kintai.dto.EncryptionRekeyStatus;
+import com.kintai.dto.MetricsSnapshot;
+import com.kintai.dto.MonthlyBulkSubmitRequest;
+import com.kintai.dto.MonthlyBulkSubmitResponse;
+import com.kintai.dto.PunchBufferStatus;
+import com.kintai.dto.ReportJobStatus;
+import com.kintai.dto.WorkRuleDto;
 import com.kintai.dto.common.ApiResponse;
 import com.kintai.entity.Employee;
 import com.kintai.exception.BusinessException;
+import com.kintai.job.AttendanceRecalculationJob;
+import com.kintai.job.EncryptionRekeyJob;
+import com.kintai.metrics.MetricsRegistry;
+import com.kintai.punch.WriteBehindPunchService;
+import com.kintai.report.ReportFileSender;
+import com.kintai.report.ReportService;
 import com.kintai.service.EmployeeService;
+import com.kintai.service.MonthlyBulkSubmitService;
+import com.kintai.service.PayrollExportService;
+import com.kintai.service.WorkRuleService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +59,17 @@ import java.util.Map;
 public class AdminController {
     
     private final EmployeeService employeeService;
+    private final MonthlyBulkSubmitService monthlyBulkSubmitService;
+    private final AttendanceRecalculationJob attendanceRecalculationJob;
+    private final WorkRuleService workRuleService;
+    private final AuditLogWriter auditLogWriter;
+    private final EncryptionRekeyJob encryptionRekeyJob;
+    private final PayrollExportService payrollExportService;
+    private final ExportAsyncSupport exportAsyncSupport;
+    private final ReportService reportService;
+    private final ReportFileSender reportFileSender;
+    private final WriteBehindPunchService writeBehindPunchService;
+    private final MetricsRegistry metricsRegistry;
     
     /**
      * GET /api/admin/employees - 社員一覧取得
@@ -144,17 +186,261 @@ public class AdminController {
     }
     
     /**
-     * POST /api/reports/generate - PDF生成依頼（FastAPI連携）
+     * POST /api/admin/attendance/monthly-submit - 月末一括申請
      */
-    @PostMapping("/reports/generate")
-    public ResponseEntity<ApiResponse<Object>> generateReport(@RequestBody Map<String, Object> body) {
-        // FastAPI連携処理は別途実装
-        // 設計書通りのレスポンス形式で返却
+    @PostMapping("/attendance/monthly-submit")
+    public ResponseEntity<ApiResponse<MonthlyBulkSubmitResponse>> submitMonthlyBulk(
+            @Valid @RequestBody MonthlyBulkSubmitRequest request) {
+        
+        try {
+            MonthlyBulkSubmitResponse result = monthlyBulkSubmitService
+                    .submitAll(request.getTargetMonth(), request.getEmployeeIds());
+            
+            String message = String.format("%s分の一括申請が完了しました（成功%d件／失敗%d件）",
+                    result.getSubmissionMonth(), result.getSubmittedCount(), result.getFailedCount());
+            
+            return ResponseEntity.ok(ApiResponse.success(result, message));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * POST /api/admin/attendance/recalculate - 勤怠再計算開始
+     */
+    @PostMapping("/attendance/recalculate")
+    public ResponseEntity<ApiResponse<AttendanceRecalculationStatus>> startRecalculation(
+            @Valid @RequestBody AttendanceRecalculationRequest request) {
+        
+        try {
+            AttendanceRecalculationStatus status = attendanceRecalculationJob
+                    .start(request.getDateFrom(), request.getDateTo());
+            
+            return ResponseEntity.accepted().body(ApiResponse.success(status, "勤怠再計算を開始しました"));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GET /api/admin/attendance/recalculate - 勤怠再計算状況取得
+     */
+    @GetMapping("/attendance/recalculate")
+    public ResponseEntity<ApiResponse<AttendanceRecalculationStatus>> getRecalculationStatus() {
+        return ResponseEntity.ok(ApiResponse.success(attendanceRecalculationJob.getStatus()));
+    }
+    
+    /**
+     * POST /api/admin/encryption/rekey - 個人情報再暗号化開始
+     */
+    @PostMapping("/encryption/rekey")
+    public ResponseEntity<ApiResponse<EncryptionRekeyStatus>> startEncryptionRekey() {
         
+        try {
+            EncryptionRekeyStatus status = encryptionRekeyJob.start();
+            
+            return ResponseEntity.accepted().body(ApiResponse.success(status, "再暗号化を開始しました"));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GET /api/admin/encryption/rekey - 個人情報再暗号化状況取得
+     */
+    @GetMapping("/encryption/rekey")
+    public ResponseEntity<ApiResponse<EncryptionRekeyStatus>> getEncryptionRekeyStatus() {
+        return ResponseEntity.ok(ApiResponse.success(encryptionRekeyJob.getStatus()));
+    }
+    
+    /**
+     * GET /api/admin/audit/status - 監査ログ書き込み状況取得
+     */
+    @GetMapping("/audit/status")
+    public ResponseEntity<ApiResponse<AuditPipelineStatus>> getAuditStatus() {
+        return ResponseEntity.ok(ApiResponse.success(auditLogWriter.getStatus()));
+    }
+    
+    /**
+     * GET /api/admin/attendance/write-behind - 打刻書き込みバッファ状況取得
+     */
+    @GetMapping("/attendance/write-behind")
+    public ResponseEntity<ApiResponse<PunchBufferStatus>> getPunchBufferStatus() {
+        return ResponseEntity.ok(ApiResponse.success(writeBehindPunchService.getStatus()));
+    }
+    
+    /**
+     * GET /api/admin/metrics - メトリクス取得（接続プール・SQL別実行時間など）
+     * prefix でメトリクス名を絞り込む（例: hikari. / jdbc.query）
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<MetricsSnapshot>> getMetrics(@RequestParam(required = false) String prefix) {
+        return ResponseEntity.ok(ApiResponse.success(metricsRegistry.snapshot(prefix)));
+    }
+    
+    /**
+     * GET /api/admin/work-rules - 勤務ルール一覧取得
+     */
+    @GetMapping("/work-rules")
+    public ResponseEntity<ApiResponse<Object>> getWorkRules() {
         Map<String, Object> data = new HashMap<>();
-        data.put("reportUrl", "http://fastapi:8081/reports/download/report_example.pdf");
-        data.put("expires", "2025-08-26T23:59:59");
+        data.put("workRules", workRuleService.getAllRules());
         
         return ResponseEntity.ok(ApiResponse.success(data));
     }
+    
+    /**
+     * POST /api/admin/work-rules - 勤務ルール登録
+     */
+    @PostMapping("/work-rules")
+    public ResponseEntity<ApiResponse<WorkRuleDto>> addWorkRule(@Valid @RequestBody WorkRuleDto request) {
+        try {
+            WorkRuleDto result = workRuleService.createRule(request);
+            
+            return ResponseEntity.ok(ApiResponse.success(result, "勤務ルールを登録しました"));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * PUT /api/admin/work-rules/{workRuleId} - 勤務ルール更新
+     */
+    @PutMapping("/work-rules/{workRuleId}")
+    public ResponseEntity<ApiResponse<WorkRuleDto>> updateWorkRule(
+            @PathVariable Long workRuleId,
+            @Valid @RequestBody WorkRuleDto request) {
+        
+        try {
+            WorkRuleDto result = workRuleService.updateRule(workRuleId, request);
+            
+            return ResponseEntity.ok(ApiResponse.success(result, "勤務ルールを更新しました"));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GET /api/admin/reports/payroll - 給与計算向け月次勤怠エクスポート（全社員、CSV / NDJSON）
+     * 応答はエクスポート専用スレッドで直接書き出し、全件をメモリに保持しない
+     * （年月・形式が不正な場合は GlobalExceptionHandler が 400 を返す）
+     */
+    @GetMapping("/reports/payroll")
+    public WebAsyncTask<Void> exportPayroll(
+            @RequestParam String month,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) {
+        
+        YearMonth yearMonth = parseYearMonth(month);
+        PayrollExportService.Format exportFormat = PayrollExportService.Format.of(format);
+        String filename = "payroll_" + yearMonth.format(DateTimeFormatter.ofPattern("yyyyMM")) +
+                "." + exportFormat.getExtension();
+        
+        return exportAsyncSupport.task(() -> {
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            payrollExportService.export(yearMonth, exportFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+    
+    /**
+     * 年月の解析（yyyy-MM形式）
+     */
+    private YearMonth parseYearMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("VALIDATION_ERROR", "対象年月はyyyy-MM形式で指定してください");
+        }
+    }
+    
+    /**
+     * POST /api/admin/reports/generate - 月次レポート生成依頼
+     * 生成はバックグラウンドで行い、ジョブIDを返却する（状況は GET /reports/jobs/{jobId} で取得）
+     */
+    @PostMapping("/reports/generate")
+    public ResponseEntity<ApiResponse<ReportJobStatus>> generateReport(@RequestBody Map<String, Object> body) {
+        
+        try {
+            Long employeeId = body.get("employeeId") != null ? Long.valueOf(body.get("employeeId").toString()) : null;
+            if (employeeId == null || body.get("yearMonth") == null) {
+                throw new BusinessException("VALIDATION_ERROR", "社員IDと対象年月は必須です");
+            }
+            YearMonth yearMonth = parseYearMonth(body.get("yearMonth").toString());
+            
+            ReportJobStatus job = reportService.submit(employeeId, yearMonth);
+            return ResponseEntity.accepted().body(ApiResponse.success(withDownloadUrl(job), "レポート生成を受け付けました"));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("VALIDATION_ERROR", "社員IDが不正です")
+            );
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GET /api/admin/reports/jobs/{jobId} - レポート生成状況取得
+     */
+    @GetMapping("/reports/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobStatus>> getReportJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(withDownloadUrl(reportService.getJob(jobId))));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * GET /api/admin/reports/jobs/{jobId}/download - 生成済みレポートのダウンロード
+     */
+    @GetMapping("/reports/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable String jobId,
+                                            HttpServletRequest request,
+                                            HttpServletResponse response) throws IOException {
+        try {
+            Path file = reportService.getReportFile(jobId);
+            
+            response.setContentType("text/html;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"report_" + file.getFileName() + "\"");
+            reportFileSender.send(file, request, response);
+            return null;
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error(e.getErrorCode(), e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 完了済みジョブにダウンロードURLを設定
+     */
+    private ReportJobStatus withDownloadUrl(ReportJobStatus job) {
+        if (job.getState() != ReportJobStatus.State.COMPLETED) {
+            return job;
+        }
+        return job.toBuilder()
+                .downloadUrl(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/admin/reports/jobs/{jobId}/download")
+                        .buildAndExpand(job.getJobId())
+                        .toUriString())
+                .build();
+    }
 }
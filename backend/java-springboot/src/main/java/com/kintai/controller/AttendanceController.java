@@ -7,6 +7,7 @@ import com.kintai.dto.ClockResponse;
 import com.kintai.dto.MonthlySubmitRequest;
 import com.kintai.dto.common.ApiResponse;
 import com.kintai.exception.BusinessException;
+import com.kintai.punch.WriteBehindPunchService;
 import com.kintai.service.AttendanceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ import java.util.Map;
 public class AttendanceController {
     
     private final AttendanceService attendanceService;
+    private final WriteBehindPunchService writeBehindPunchService;
     
     /**
      * POST /api/attendance/clock-in - 出勤打刻
@@ -37,7 +39,9 @@ public class AttendanceController {
     @PostMapping("/clock-in")
     public ResponseEntity<ApiResponse<ClockResponse>> clockIn(@Valid @RequestBody ClockRequest request) {
         try {
-            ClockResponse response = attendanceService.clockIn(request.getEmployeeId());
+            ClockResponse response = writeBehindPunchService.isEnabled()
+                    ? writeBehindPunchService.clockIn(request.getEmployeeId())
+                    : attendanceService.clockIn(request.getEmployeeId());
             return ResponseEntity.ok(ApiResponse.success(response, response.getMessage()));
         } catch (BusinessException e) {
             return ResponseEntity.badRequest().body(
@@ -52,7 +56,9 @@ public class AttendanceController {
     @PostMapping("/clock-out")
     public ResponseEntity<ApiResponse<ClockResponse>> clockOut(@Valid @RequestBody ClockRequest request) {
         try {
-            ClockResponse response = attendanceService.clockOut(request.getEmployeeId());
+            ClockResponse response = writeBehindPunchService.isEnabled()
+                    ? writeBehindPunchService.clockOut(request.getEmployeeId())
+                    : attendanceService.clockOut(request.getEmployeeId());
             return ResponseEntity.ok(ApiResponse.success(response, response.getMessage()));
         } catch (BusinessException e) {
             return ResponseEntity.badRequest().body(
@@ -103,7 +109,7 @@ public class AttendanceController {
         } catch (BusinessException e) {
             if ("INCOMPLETE_ATTENDANCE".equals(e.getErrorCode())) {
                 return ResponseEntity.badRequest().body(
-                        ApiResponse.error(e.getErrorCode(), e.getMessage(), null) // detailsは別途設定
+                        ApiResponse.error(e.getErrorCode(), e.getMessage(), e.getDetails())
                 );
             }
             return ResponseEntity.badRequest().body(
@@ -1,5 +1,7 @@
 package com.kintai.controller;
 
+import com.kintai.audit.LoginFailureEvent;
+import com.kintai.audit.LoginSuccessEvent;
 import com.kintai.dto.LoginRequest;
 import com.kintai.dto.LoginResponse;
 import com.kintai.dto.common.ApiResponse;
@@ -10,6 +12,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,16 +31,21 @@ import java.util.Map;
 public class AuthController {
     
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * POST /api/auth/login - ログイン認証
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                           HttpServletRequest httpRequest) {
         try {
             LoginResponse response = authService.login(request);
+            eventPublisher.publishEvent(new LoginSuccessEvent(this, request.getEmployeeCode(), getClientIP(httpRequest)));
             return ResponseEntity.ok(ApiResponse.success(response));
         } catch (BusinessException e) {
+            eventPublisher.publishEvent(new LoginFailureEvent(
+                    this, request.getEmployeeCode(), e.getErrorCode(), getClientIP(httpRequest)));
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
                     ApiResponse.error(e.getErrorCode(), e.getMessage())
             );
@@ -93,4 +101,15 @@ public class AuthController {
         }
         return null;
     }
+    
+    /**
+     * クライアントIP取得
+     */
+    private String getClientIP(HttpServletRequest request) {
+        String xfHeader = request.getHeader("X-Forwarded-For");
+        if (xfHeader == null) {
+            return request.getRemoteAddr();
+        }
+        return xfHeader.split(",")[0];
+    }
 }
@@ -2,6 +2,7 @@ package com.kintai.controller;
 
 import com.kintai.dto.AdjustmentRequestDto;
 import com.kintai.dto.LeaveRequestDto;
+import com.kintai.dto.RequestListPage;
 import com.kintai.dto.common.ApiResponse;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.entity.LeaveRequest;
@@ -16,7 +17,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -73,18 +73,21 @@ public class RequestController {
     }
     
     /**
-     * GET /api/requests/list - 申請一覧取得（管理者用）
+     * GET /api/requests/list - 申請一覧取得（管理者用、申請日時の新しい順）
+     * 次ページは前ページの nextCursor を cursor に指定して取得する
      */
     @GetMapping("/list")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Object>>> getRequestList(
+    public ResponseEntity<ApiResponse<RequestListPage>> getRequestList(
             @RequestParam(required = false) String requestType,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) Long employeeId) {
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         
         try {
-            List<Object> requests = requestService.getRequestList(requestType, status);
-            return ResponseEntity.ok(ApiResponse.success(requests));
+            RequestListPage page = requestService.getRequestList(requestType, status, employeeId, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success(page));
         } catch (BusinessException e) {
             return ResponseEntity.badRequest().body(
                     ApiResponse.error(e.getErrorCode(), e.getMessage())
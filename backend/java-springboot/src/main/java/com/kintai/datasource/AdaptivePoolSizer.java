@@ -0,0 +1,135 @@
+package com.kintai.datasource;
+
+import com.kintai.config.DataSourcePoolProperties;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 接続プール自動調整
+ *
+ * 始業・終業の打刻集中時間帯は接続プール上限を peak-maximum-pool-size まで拡大し、
+ * 最小アイドル接続数を peak-minimum-idle にして接続を事前に作成しておく（打刻の集中時に接続作成を待たない）。
+ * 時間帯外でも接続待ちが発生している間は step ずつ拡大し、解消後は step ずつ元の設定値へ戻す。
+ * 縮小後の余剰接続は HikariCP がアイドルタイムアウトで閉じる。
+ * 接続プールはデータソースから unwrap で取得する（計測用データソースで包まれている場合も対象）。
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.adaptive-sizing.enabled", havingValue = "true")
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Tokyo");
+
+    private final HikariDataSource dataSource;
+    private final List<LocalTime[]> windows = new ArrayList<>();
+    private final int baseMaximumPoolSize;
+    private final int baseMinimumIdle;
+    private final int peakMaximumPoolSize;
+    private final int peakMinimumIdle;
+    private final int step;
+
+    public AdaptivePoolSizer(DataSource dataSource, DataSourcePoolProperties properties) {
+        DataSourcePoolProperties.AdaptiveSizing sizing = properties.getAdaptiveSizing();
+        this.dataSource = unwrap(dataSource);
+        this.baseMaximumPoolSize = this.dataSource.getMaximumPoolSize();
+        this.baseMinimumIdle = this.dataSource.getMinimumIdle();
+        this.peakMaximumPoolSize = Math.max(baseMaximumPoolSize, sizing.getPeakMaximumPoolSize());
+        this.peakMinimumIdle = Math.min(peakMaximumPoolSize, Math.max(baseMinimumIdle, sizing.getPeakMinimumIdle()));
+        this.step = Math.max(1, sizing.getStep());
+
+        for (String window : sizing.getWindows()) {
+            String[] range = window.split("-");
+            if (range.length != 2) {
+                throw new IllegalArgumentException("Invalid adaptive sizing window: " + window);
+            }
+            windows.add(new LocalTime[] { LocalTime.parse(range[0].trim()), LocalTime.parse(range[1].trim()) });
+        }
+        log.info("Adaptive pool sizing enabled: base={}/{}, peak={}/{}, windows={}",
+                baseMaximumPoolSize, baseMinimumIdle, peakMaximumPoolSize, peakMinimumIdle, sizing.getWindows());
+    }
+
+    /**
+     * 定期調整
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.adaptive-sizing.check-interval-ms:15000}")
+    public void adjust() {
+        adjust(LocalTime.now(ZONE));
+    }
+
+    /**
+     * 指定時刻での調整
+     * @param now 現在時刻（Asia/Tokyo）
+     * @return 調整後の接続プール上限
+     */
+    public int adjust(LocalTime now) {
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        boolean inWindow = inWindow(now);
+        int pending = pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        int current = config.getMaximumPoolSize();
+        int desired = inWindow ? peakMaximumPoolSize : baseMaximumPoolSize;
+
+        int next;
+        if (pending > 0 && current < peakMaximumPoolSize) {
+            next = Math.min(peakMaximumPoolSize, Math.max(desired, current + step));
+        } else if (current < desired) {
+            next = desired;
+        } else if (current > desired && pending == 0) {
+            next = Math.max(desired, current - step);
+        } else {
+            next = current;
+        }
+        int minimumIdle = Math.min(next, inWindow ? peakMinimumIdle : baseMinimumIdle);
+
+        if (next == current && minimumIdle == config.getMinimumIdle()) {
+            return current;
+        }
+        // 上限を下回る最小アイドル数を常に保つ順序で更新
+        if (next > current) {
+            config.setMaximumPoolSize(next);
+            config.setMinimumIdle(minimumIdle);
+        } else {
+            config.setMinimumIdle(minimumIdle);
+            config.setMaximumPoolSize(next);
+        }
+        log.info("Connection pool resized: maximumPoolSize={} -> {}, minimumIdle={}, pending={}, inWindow={}",
+                current, next, minimumIdle, pending, inWindow);
+        return next;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Adaptive pool sizing requires a HikariCP data source", e);
+        }
+        throw new IllegalStateException("Adaptive pool sizing requires a HikariCP data source");
+    }
+
+    private boolean inWindow(LocalTime now) {
+        for (LocalTime[] window : windows) {
+            boolean in = window[0].isBefore(window[1])
+                    ? !now.isBefore(window[0]) && now.isBefore(window[1])
+                    : !now.isBefore(window[0]) || now.isBefore(window[1]);
+            if (in) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
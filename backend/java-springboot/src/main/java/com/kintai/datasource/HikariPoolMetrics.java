@@ -0,0 +1,65 @@
+package com.kintai.datasource;
+
+import com.kintai.metrics.MetricsRegistry;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 接続プールのメトリクス記録（HikariCP の MetricsTrackerFactory）
+ *
+ * プールごとに以下を登録する（タグ pool=プール名）。
+ * - ゲージ hikari.connections.active / idle / pending / total / max / min（HikariCP が1秒単位で更新する値）
+ * - ゲージ hikari.connections.timeout（接続取得のタイムアウト回数）
+ * - タイマー hikari.connections.acquire（接続取得の待ち時間）/ usage（接続の使用時間）/ creation（接続の作成時間）
+ */
+public class HikariPoolMetrics implements MetricsTrackerFactory {
+
+    private final MetricsRegistry registry;
+
+    public HikariPoolMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        registry.gauge("hikari.connections.active", poolStats::getActiveConnections, "pool", poolName);
+        registry.gauge("hikari.connections.idle", poolStats::getIdleConnections, "pool", poolName);
+        registry.gauge("hikari.connections.pending", poolStats::getPendingThreads, "pool", poolName);
+        registry.gauge("hikari.connections.total", poolStats::getTotalConnections, "pool", poolName);
+        registry.gauge("hikari.connections.max", poolStats::getMaxConnections, "pool", poolName);
+        registry.gauge("hikari.connections.min", poolStats::getMinConnections, "pool", poolName);
+
+        LongAdder timeouts = new LongAdder();
+        registry.gauge("hikari.connections.timeout", timeouts::sum, "pool", poolName);
+
+        MetricsRegistry.Timer acquire = registry.timer("hikari.connections.acquire", "pool", poolName);
+        MetricsRegistry.Timer usage = registry.timer("hikari.connections.usage", "pool", poolName);
+        MetricsRegistry.Timer creation = registry.timer("hikari.connections.creation", "pool", poolName);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creation.record(connectionCreatedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
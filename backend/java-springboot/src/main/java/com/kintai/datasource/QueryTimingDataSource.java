@@ -0,0 +1,138 @@
+package com.kintai.datasource;
+
+import com.kintai.metrics.MetricsRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL別の実行時間を記録するデータソース
+ *
+ * 接続・ステートメントをプロキシで包み、execute 系メソッドの所要時間をタイマー jdbc.query（タグ sql=SQL文）へ記録する。
+ * JPA・JdbcTemplate のどちらの SQL も対象になる。結果セットの読み出し（カーソル取得）の時間は含まない。
+ * IN 句の件数違いなどで SQL 文の種類が max-queries を超えた場合、以降の新しい SQL 文は sql=other にまとめる。
+ *
+ * 接続・ステートメントの全メソッド呼び出しが動的プロキシ（リフレクション）を経由するため、
+ * 既定では無効とし、app.datasource.metrics.query-timing=true の場合のみ使用する。
+ */
+public class QueryTimingDataSource extends DelegatingDataSource {
+
+    private static final String OTHER = "other";
+
+    private final MetricsRegistry registry;
+    private final int maxQueries;
+    private final Map<String, MetricsRegistry.Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryTimingDataSource(DataSource targetDataSource, MetricsRegistry registry, int maxQueries) {
+        super(targetDataSource);
+        this.registry = registry;
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    /**
+     * SQL文ごとのタイマー取得（上限超過時は other）
+     */
+    private MetricsRegistry.Timer timerFor(String sql) {
+        String key = sql != null ? sql : OTHER;
+        MetricsRegistry.Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (timers.size() >= maxQueries) {
+            key = OTHER;
+        }
+        return timers.computeIfAbsent(key, k -> registry.timer("jdbc.query", "sql", k));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 接続プロキシ（ステートメント生成時に SQL 文を引き継いで包む）
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            Object result = QueryTimingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement / prepareCall は第1引数が SQL 文、createStatement は実行時に指定
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() }, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * ステートメントプロキシ（execute 系の所要時間を記録）
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (!method.getName().startsWith("execute")) {
+                return QueryTimingDataSource.invoke(target, method, args);
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            try {
+                return QueryTimingDataSource.invoke(target, method, args);
+            } finally {
+                timerFor(executed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
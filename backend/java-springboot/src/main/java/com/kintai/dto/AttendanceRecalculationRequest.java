@@ -0,0 +1,32 @@
+package com.kintai.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 勤怠再計算リクエストDTO
+ * 期間内の勤怠記録を現行の計算ロジックで再計算する
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRecalculationRequest {
+
+    /**
+     * 開始日
+     */
+    @NotNull(message = "開始日は必須です")
+    private LocalDate dateFrom;
+
+    /**
+     * 終了日
+     */
+    @NotNull(message = "終了日は必須です")
+    private LocalDate dateTo;
+}
@@ -0,0 +1,65 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 勤怠再計算状況DTO
+ * ジョブは更新のたびに新しいインスタンスを公開する（公開済みのインスタンスは変更しない）
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRecalculationStatus {
+
+    /**
+     * 実行中フラグ
+     */
+    private boolean running;
+
+    /**
+     * 対象開始日
+     */
+    private LocalDate dateFrom;
+
+    /**
+     * 対象終了日
+     */
+    private LocalDate dateTo;
+
+    /**
+     * 読み込み件数
+     */
+    private long scannedCount;
+
+    /**
+     * 更新件数（計算結果が変わった記録数）
+     */
+    private long updatedCount;
+
+    /**
+     * 再構築した月次サマリー数
+     */
+    private long rebuiltSummaryCount;
+
+    /**
+     * 開始日時
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 終了日時
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * エラーメッセージ（異常終了時）
+     */
+    private String errorMessage;
+}
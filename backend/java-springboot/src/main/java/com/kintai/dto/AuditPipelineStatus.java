@@ -0,0 +1,46 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 監査ログ書き込み状況DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditPipelineStatus {
+
+    /**
+     * キュー容量
+     */
+    private int queueCapacity;
+
+    /**
+     * 書き込み待ち件数
+     */
+    private int queuedCount;
+
+    /**
+     * 投入件数（起動以降の累計）
+     */
+    private long enqueuedCount;
+
+    /**
+     * 書き込み件数（起動以降の累計）
+     */
+    private long writtenCount;
+
+    /**
+     * 破棄件数（キュー満杯。起動以降の累計）
+     */
+    private long droppedCount;
+
+    /**
+     * 書き込み失敗件数（起動以降の累計）
+     */
+    private long failedCount;
+}
@@ -0,0 +1,75 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 再暗号化状況DTO
+ * ジョブは更新のたびに新しいインスタンスを公開する（公開済みのインスタンスは変更しない）
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncryptionRekeyStatus {
+
+    /**
+     * 実行中フラグ
+     */
+    private boolean running;
+
+    /**
+     * 再暗号化先のキーバージョン
+     */
+    private int keyVersion;
+
+    /**
+     * 対象列
+     */
+    private List<String> columns;
+
+    /**
+     * 再開位置（この社員IDより後から処理。0 の場合は先頭から）
+     */
+    private long resumedAfterEmployeeId;
+
+    /**
+     * 処理済みの最終社員ID
+     */
+    private long lastEmployeeId;
+
+    /**
+     * 読み込み件数（今回の実行分）
+     */
+    private long scannedCount;
+
+    /**
+     * 再暗号化した値の件数（今回の実行分）
+     */
+    private long updatedCount;
+
+    /**
+     * 並行更新により書き戻しを見送った値の件数（今回の実行分）
+     */
+    private long skippedCount;
+
+    /**
+     * 開始日時
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 終了日時
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * エラーメッセージ（異常終了時）
+     */
+    private String errorMessage;
+}
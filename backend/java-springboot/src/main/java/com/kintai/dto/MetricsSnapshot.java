@@ -0,0 +1,113 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * メトリクススナップショットDTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsSnapshot {
+
+    /**
+     * ゲージ一覧
+     */
+    private List<GaugeValue> gauges;
+
+    /**
+     * タイマー一覧
+     */
+    private List<TimerValue> timers;
+
+    /**
+     * ゲージ値
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GaugeValue {
+
+        /**
+         * メトリクス名
+         */
+        private String name;
+
+        /**
+         * タグ
+         */
+        private Map<String, String> tags;
+
+        /**
+         * 値
+         */
+        private double value;
+    }
+
+    /**
+     * タイマー値（起動以降の累計）
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TimerValue {
+
+        /**
+         * メトリクス名
+         */
+        private String name;
+
+        /**
+         * タグ
+         */
+        private Map<String, String> tags;
+
+        /**
+         * 記録件数
+         */
+        private long count;
+
+        /**
+         * 合計時間（ミリ秒）
+         */
+        private double totalMillis;
+
+        /**
+         * 平均時間（ミリ秒）
+         */
+        private double meanMillis;
+
+        /**
+         * 最大時間（ミリ秒）
+         */
+        private double maxMillis;
+
+        /**
+         * 50パーセンタイル（ミリ秒。ヒストグラムのバケット上限で近似）
+         */
+        private double p50Millis;
+
+        /**
+         * 95パーセンタイル（ミリ秒。ヒストグラムのバケット上限で近似）
+         */
+        private double p95Millis;
+
+        /**
+         * 99パーセンタイル（ミリ秒。ヒストグラムのバケット上限で近似）
+         */
+        private double p99Millis;
+
+        /**
+         * ヒストグラム（バケット上限ミリ秒→その値以下の累積件数）
+         */
+        private Map<String, Long> histogram;
+    }
+}
@@ -0,0 +1,33 @@
+package com.kintai.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 月末一括申請リクエストDTO
+ * 複数社員の月末勤怠申請のリクエストデータ
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyBulkSubmitRequest {
+
+    /**
+     * 申請対象月（YYYY-MM形式）
+     */
+    @NotBlank(message = "申請対象月は必須です")
+    @Pattern(regexp = "^\\d{4}-\\d{2}$", message = "YYYY-MM形式で入力してください")
+    private String targetMonth;
+
+    /**
+     * 対象社員ID一覧（未指定の場合は在籍者全員）
+     */
+    private List<Long> employeeIds;
+}
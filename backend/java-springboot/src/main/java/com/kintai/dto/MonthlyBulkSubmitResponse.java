@@ -0,0 +1,40 @@
+package com.kintai.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 月末一括申請レスポンスDTO
+ * 月末一括申請の集計と社員別結果
+ */
+@Data
+@Builder
+public class MonthlyBulkSubmitResponse {
+
+    /**
+     * 申請月
+     */
+    private String submissionMonth;
+
+    /**
+     * 対象社員数
+     */
+    private Integer totalCount;
+
+    /**
+     * 申請成功件数
+     */
+    private Integer submittedCount;
+
+    /**
+     * 申請失敗件数
+     */
+    private Integer failedCount;
+
+    /**
+     * 社員別申請結果
+     */
+    private List<MonthlySubmitResponse> results;
+}
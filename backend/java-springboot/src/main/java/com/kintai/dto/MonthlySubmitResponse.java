@@ -18,6 +18,16 @@ public class MonthlySubmitResponse {
      */
     private boolean success;
 
+    /**
+     * 社員ID
+     */
+    private Long employeeId;
+
+    /**
+     * エラーコード（エラー時）
+     */
+    private String errorCode;
+
     /**
      * 申請月
      */
@@ -0,0 +1,66 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 打刻書き込みバッファ状況DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PunchBufferStatus {
+
+    /**
+     * 書き込み遅延モード有効フラグ
+     */
+    private boolean enabled;
+
+    /**
+     * 先行書き込みログの容量（未反映で保持できる打刻数）
+     */
+    private int capacity;
+
+    /**
+     * DB 未反映の打刻数
+     */
+    private long pendingCount;
+
+    /**
+     * 起動時に先行書き込みログから再適用した打刻数
+     */
+    private long recoveredCount;
+
+    /**
+     * 受付件数（起動以降の累計）
+     */
+    private long acceptedCount;
+
+    /**
+     * DB 反映件数（起動以降の累計）
+     */
+    private long flushedCount;
+
+    /**
+     * 反映時に読み飛ばした件数（反映済みの打刻の再適用。起動以降の累計）
+     */
+    private long skippedCount;
+
+    /**
+     * バッファ満杯で拒否した件数（起動以降の累計）
+     */
+    private long rejectedCount;
+
+    /**
+     * 反映失敗回数（バッチ単位。起動以降の累計）
+     */
+    private long failedFlushCount;
+
+    /**
+     * 反映できずデッドレターログへ退避した打刻数（起動以降の累計）
+     */
+    private long deadLetterCount;
+}
@@ -0,0 +1,85 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * レポート生成ジョブ状況DTO
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobStatus {
+
+    /**
+     * ジョブ状態
+     */
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * ジョブID
+     */
+    private String jobId;
+
+    /**
+     * 社員ID
+     */
+    private Long employeeId;
+
+    /**
+     * 対象年月（yyyy-MM形式）
+     */
+    private String yearMonth;
+
+    /**
+     * ジョブ状態
+     */
+    private State state;
+
+    /**
+     * 同一内容の生成済みレポートを再利用した場合 true
+     */
+    private boolean cacheHit;
+
+    /**
+     * ファイル名
+     */
+    private String fileName;
+
+    /**
+     * ファイルサイズ（バイト）
+     */
+    private long fileSize;
+
+    /**
+     * ダウンロードURL（完了時のみ）
+     */
+    private String downloadUrl;
+
+    /**
+     * 受付日時
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * 完了日時
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * 有効期限（この日時以降はジョブ・ファイルを削除）
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * エラーメッセージ
+     */
+    private String errorMessage;
+}
@@ -0,0 +1,101 @@
+package com.kintai.dto;
+
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.LeaveRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 申請一覧項目DTO
+ * 有給申請・打刻修正申請を共通の形で返す一覧用の射影（エンティティは読み込まない）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestListItem {
+
+    public static final String TYPE_LEAVE = "leave";
+    public static final String TYPE_ADJUSTMENT = "adjustment";
+
+    /**
+     * 申請種別（leave / adjustment）
+     */
+    private String requestType;
+
+    /**
+     * 申請ID（申請種別ごとの採番）
+     */
+    private Long requestId;
+
+    /**
+     * 社員ID
+     */
+    private Long employeeId;
+
+    /**
+     * 対象日（有給取得日・打刻修正対象日）
+     */
+    private LocalDate targetDate;
+
+    /**
+     * 申請理由
+     */
+    private String reason;
+
+    /**
+     * 申請ステータス（未処理・承認・却下）
+     */
+    private String status;
+
+    /**
+     * 修正後出勤時刻（打刻修正申請のみ）
+     */
+    private LocalDateTime requestedClockInTime;
+
+    /**
+     * 修正後退勤時刻（打刻修正申請のみ）
+     */
+    private LocalDateTime requestedClockOutTime;
+
+    /**
+     * 却下理由（打刻修正申請のみ）
+     */
+    private String rejectionReason;
+
+    /**
+     * 承認日時
+     */
+    private LocalDateTime approvedAt;
+
+    /**
+     * 申請日時
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 有給申請の射影（JPQL コンストラクタ式用）
+     */
+    public RequestListItem(Long leaveRequestId, Long employeeId, LocalDate leaveRequestDate, String reason,
+                           LeaveRequest.LeaveRequestStatus status, LocalDateTime approvedAt, LocalDateTime createdAt) {
+        this(TYPE_LEAVE, leaveRequestId, employeeId, leaveRequestDate, reason,
+                status != null ? status.getValue() : null, null, null, null, approvedAt, createdAt);
+    }
+
+    /**
+     * 打刻修正申請の射影（JPQL コンストラクタ式用）
+     */
+    public RequestListItem(Long adjustmentRequestId, Long employeeId, LocalDate targetDate, String reason,
+                           AdjustmentRequest.AdjustmentStatus status, LocalDateTime requestedClockInTime,
+                           LocalDateTime requestedClockOutTime, String rejectionReason,
+                           LocalDateTime approvedAt, LocalDateTime createdAt) {
+        this(TYPE_ADJUSTMENT, adjustmentRequestId, employeeId, targetDate, reason,
+                status != null ? status.getValue() : null, requestedClockInTime, requestedClockOutTime,
+                rejectionReason, approvedAt, createdAt);
+    }
+}
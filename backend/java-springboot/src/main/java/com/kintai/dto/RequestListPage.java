@@ -0,0 +1,34 @@
+package com.kintai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 申請一覧ページDTO
+ * 申請日時の新しい順に並べた1ページ分の申請と、次ページ取得用のカーソル
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestListPage {
+
+    /**
+     * 申請一覧
+     */
+    private List<RequestListItem> items;
+
+    /**
+     * 次ページのカーソル（最終ページの場合は null）
+     */
+    private String nextCursor;
+
+    /**
+     * 次ページの有無
+     */
+    private boolean hasMore;
+}
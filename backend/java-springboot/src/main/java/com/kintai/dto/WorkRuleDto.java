@@ -0,0 +1,115 @@
+package com.kintai.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 勤務ルールDTO
+ * 勤務ルールの登録・更新・参照データ
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkRuleDto {
+
+    /**
+     * 勤務ルールID（参照時のみ）
+     */
+    private Long workRuleId;
+
+    /**
+     * 勤務ルールコード
+     */
+    @NotBlank(message = "勤務ルールコードは必須です")
+    @Size(max = 20, message = "勤務ルールコードは20文字以内で入力してください")
+    private String ruleCode;
+
+    /**
+     * 勤務ルール名
+     */
+    @NotBlank(message = "勤務ルール名は必須です")
+    @Size(max = 50, message = "勤務ルール名は50文字以内で入力してください")
+    private String ruleName;
+
+    /**
+     * 始業時刻（HH:MM形式）
+     */
+    @NotNull(message = "始業時刻は必須です")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    /**
+     * 終業時刻（HH:MM形式）
+     */
+    @NotNull(message = "終業時刻は必須です")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    /**
+     * 所定労働時間（分単位）
+     */
+    @NotNull(message = "所定労働時間は必須です")
+    @Min(value = 0, message = "所定労働時間は0以上で入力してください")
+    private Integer standardWorkingMinutes;
+
+    /**
+     * 深夜時間帯開始時刻（HH:MM形式）（未指定の場合は22:00）
+     */
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime nightStartTime;
+
+    /**
+     * 深夜時間帯終了時刻（HH:MM形式）（未指定の場合は05:00）
+     */
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime nightEndTime;
+
+    /**
+     * フレックスタイムフラグ
+     */
+    private Boolean flexTimeFlag;
+
+    /**
+     * 休憩時間帯一覧
+     */
+    @Valid
+    @Builder.Default
+    private List<BreakTime> breaks = new ArrayList<>();
+
+    /**
+     * 休憩時間帯
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BreakTime {
+
+        /**
+         * 休憩開始時刻（HH:MM形式）
+         */
+        @NotNull(message = "休憩開始時刻は必須です")
+        @JsonFormat(pattern = "HH:mm")
+        private LocalTime startTime;
+
+        /**
+         * 休憩終了時刻（HH:MM形式）
+         */
+        @NotNull(message = "休憩終了時刻は必須です")
+        @JsonFormat(pattern = "HH:mm")
+        private LocalTime endTime;
+    }
+}
@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
 @Table(name = "adjustment_requests", indexes = {
     @Index(name = "idx_employee_target_date", columnList = "employee_id, adjustment_target_date"),
     @Index(name = "idx_target_date", columnList = "adjustment_target_date"),
-    @Index(name = "idx_status", columnList = "adjustment_status")
+    @Index(name = "idx_status", columnList = "adjustment_status"),
+    @Index(name = "idx_adjustment_created", columnList = "created_at, adjustment_request_id"),
+    @Index(name = "idx_adjustment_employee_created", columnList = "employee_id, created_at, adjustment_request_id")
 })
 @Data
 @Builder
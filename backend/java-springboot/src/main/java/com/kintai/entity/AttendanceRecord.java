@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "attendance_records", indexes = {
-    @Index(name = "idx_employee_date", columnList = "employee_id, attendance_date"),
+    @Index(name = "idx_employee_date", columnList = "employee_id, attendance_date", unique = true),
     @Index(name = "idx_attendance_date", columnList = "attendance_date")
 })
 @Data
@@ -58,6 +58,13 @@ public class AttendanceRecord {
     @Column(name = "clock_out_time", columnDefinition = "DATETIME")
     private LocalDateTime clockOutTime;
 
+    /**
+     * 実働分（分単位）（休憩控除後）
+     * 出勤・退勤の両打刻が揃った時点で計算して保持する
+     */
+    @Column(name = "working_minutes", columnDefinition = "INT")
+    private Integer workingMinutes;
+
     /**
      * 遅刻分（分単位）
      */
@@ -90,6 +90,19 @@ public class Employee {
     @Column(name = "paid_leave_remaining_days", nullable = false, columnDefinition = "INT DEFAULT 10")
     private Integer paidLeaveRemainingDays;
 
+    /**
+     * 勤務ルールID（未設定の場合は標準勤務 9:00～18:00）
+     */
+    @Column(name = "work_rule_id", columnDefinition = "BIGINT")
+    private Long workRuleId;
+
+    /**
+     * トークンバージョン（発行済みトークンの失効時に加算。これより古いバージョンのトークンは拒否）
+     */
+    @Builder.Default
+    @Column(name = "token_version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long tokenVersion = 0L;
+
     /**
      * 作成日時
      */
@@ -0,0 +1,61 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 再暗号化チェックポイントエンティティ
+ * キーバージョンごとの再暗号化ジョブの進捗（処理済みの最終社員ID）を保持し、中断後の再開に使用する
+ */
+@Entity
+@Table(name = "encryption_rekey_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncryptionRekeyCheckpoint {
+
+    /**
+     * 再暗号化先のキーバージョン（主キー）
+     */
+    @Id
+    @Column(name = "key_version")
+    private Integer keyVersion;
+
+    /**
+     * 処理済みの最終社員ID
+     */
+    @Column(name = "last_employee_id", nullable = false, columnDefinition = "BIGINT")
+    private Long lastEmployeeId;
+
+    /**
+     * 読み込み件数（累計）
+     */
+    @Column(name = "scanned_count", nullable = false)
+    private Long scannedCount;
+
+    /**
+     * 再暗号化した値の件数（累計）
+     */
+    @Column(name = "updated_count", nullable = false)
+    private Long updatedCount;
+
+    /**
+     * 完了日時（未完了の場合は NULL）
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * 更新日時
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
 @Table(name = "leave_requests", indexes = {
     @Index(name = "idx_employee_leave_date", columnList = "employee_id, leave_request_date"),
     @Index(name = "idx_leave_date", columnList = "leave_request_date"),
-    @Index(name = "idx_status", columnList = "leave_request_status")
+    @Index(name = "idx_status", columnList = "leave_request_status"),
+    @Index(name = "idx_leave_created", columnList = "created_at, leave_request_id"),
+    @Index(name = "idx_leave_employee_created", columnList = "employee_id, created_at, leave_request_id")
 })
 @Data
 @Builder
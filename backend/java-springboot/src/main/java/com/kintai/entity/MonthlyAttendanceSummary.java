@@ -0,0 +1,95 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 月次勤怠サマリーエンティティ
+ * 社員・年月ごとの勤怠集計値を保持するテーブル（打刻・承認時に差分更新）
+ */
+@Entity
+@Table(name = "monthly_attendance_summaries")
+@IdClass(MonthlyAttendanceSummaryId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyAttendanceSummary {
+
+    /**
+     * 社員ID（主キー）
+     */
+    @Id
+    @Column(name = "employee_id", columnDefinition = "BIGINT")
+    private Long employeeId;
+
+    /**
+     * 対象年月（主キー）（YYYY-MM形式）
+     */
+    @Id
+    @Column(name = "target_month", length = 7)
+    private String targetMonth;
+
+    /**
+     * 総勤務分（分単位）
+     */
+    @Column(name = "total_working_minutes", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer totalWorkingMinutes;
+
+    /**
+     * 総残業分（分単位）
+     */
+    @Column(name = "total_overtime_minutes", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer totalOvertimeMinutes;
+
+    /**
+     * 総深夜分（分単位）
+     */
+    @Column(name = "total_night_shift_minutes", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer totalNightShiftMinutes;
+
+    /**
+     * 総遅刻分（分単位）
+     */
+    @Column(name = "total_late_minutes", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer totalLateMinutes;
+
+    /**
+     * 総早退分（分単位）
+     */
+    @Column(name = "total_early_leave_minutes", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer totalEarlyLeaveMinutes;
+
+    /**
+     * 有給取得日数
+     */
+    @Column(name = "paid_leave_days", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer paidLeaveDays;
+
+    /**
+     * 欠勤日数
+     */
+    @Column(name = "absent_days", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer absentDays;
+
+    /**
+     * 作成日時
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新日時
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false, columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.kintai.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 月次勤怠サマリー複合主キー
+ * 社員ID + 対象年月
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyAttendanceSummaryId implements Serializable {
+
+    private Long employeeId;
+
+    private String targetMonth;
+}
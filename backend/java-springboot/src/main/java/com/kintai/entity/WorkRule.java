@@ -0,0 +1,95 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 勤務ルールエンティティ
+ * シフト・フレックス・短時間勤務など、社員に割り当てる勤務時間帯の定義
+ */
+@Entity
+@Table(name = "work_rules")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkRule {
+
+    /**
+     * 勤務ルールID（主キー）
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "work_rule_id", columnDefinition = "BIGINT")
+    private Long workRuleId;
+
+    /**
+     * 勤務ルールコード
+     */
+    @Column(name = "rule_code", length = 20, nullable = false, unique = true)
+    private String ruleCode;
+
+    /**
+     * 勤務ルール名
+     */
+    @Column(name = "rule_name", length = 50, nullable = false)
+    private String ruleName;
+
+    /**
+     * 始業時刻
+     */
+    @Column(name = "start_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime startTime;
+
+    /**
+     * 終業時刻
+     */
+    @Column(name = "end_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime endTime;
+
+    /**
+     * 所定労働時間（分単位）（超過分が残業）
+     */
+    @Column(name = "standard_working_minutes", nullable = false, columnDefinition = "INT DEFAULT 480")
+    private Integer standardWorkingMinutes;
+
+    /**
+     * 深夜時間帯開始時刻
+     */
+    @Column(name = "night_start_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime nightStartTime;
+
+    /**
+     * 深夜時間帯終了時刻（開始時刻以前の場合は翌日）
+     */
+    @Column(name = "night_end_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime nightEndTime;
+
+    /**
+     * フレックスタイムフラグ（1：遅刻・早退を計上しない）
+     */
+    @Column(name = "flex_time_flag", nullable = false, columnDefinition = "TINYINT(1) DEFAULT 0")
+    private Boolean flexTimeFlag;
+
+    /**
+     * 作成日時
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP")
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新日時
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false, columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/**
+ * 勤務ルール休憩エンティティ
+ * 勤務ルールごとの休憩時間帯（勤務がこの時間帯をまたぐ場合に休憩時間分を控除）
+ */
+@Entity
+@Table(name = "work_rule_breaks", indexes = {
+    @Index(name = "idx_work_rule", columnList = "work_rule_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkRuleBreak {
+
+    /**
+     * 休憩ID（主キー）
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "work_rule_break_id", columnDefinition = "BIGINT")
+    private Long workRuleBreakId;
+
+    /**
+     * 勤務ルールID（外部キー）
+     */
+    @Column(name = "work_rule_id", nullable = false, columnDefinition = "BIGINT")
+    private Long workRuleId;
+
+    /**
+     * 休憩開始時刻
+     */
+    @Column(name = "break_start_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime breakStartTime;
+
+    /**
+     * 休憩終了時刻
+     */
+    @Column(name = "break_end_time", nullable = false, columnDefinition = "TIME")
+    private LocalTime breakEndTime;
+}
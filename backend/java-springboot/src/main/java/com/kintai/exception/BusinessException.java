@@ -8,6 +8,8 @@ public class BusinessException extends RuntimeException {
     
     private String errorCode;
     
+    private Object details;
+    
     /**
      * コンストラクタ
      * @param errorCode エラーコード
@@ -18,6 +20,18 @@ public class BusinessException extends RuntimeException {
         this.errorCode = errorCode;
     }
     
+    /**
+     * コンストラクタ
+     * @param errorCode エラーコード
+     * @param message エラーメッセージ
+     * @param details 詳細情報
+     */
+    public BusinessException(String errorCode, String message, Object details) {
+        super(message);
+        this.errorCode = errorCode;
+        this.details = details;
+    }
+    
     /**
      * コンストラクタ
      * @param errorCode エラーコード
@@ -36,4 +50,12 @@ public class BusinessException extends RuntimeException {
     public String getErrorCode() {
         return errorCode;
     }
+    
+    /**
+     * 詳細情報取得
+     * @return 詳細情報
+     */
+    public Object getDetails() {
+        return details;
+    }
 }
@@ -0,0 +1,125 @@
+package com.kintai.filter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * GCRA（Generic Cell Rate Algorithm）によるロックフリーのレート制限器
+ * キーごとの状態は理論到着時刻（TAT）1つのみで、AtomicLong の CAS により定数時間で判定する。
+ *
+ * TAT が現在時刻以前のキーは「枠が満タン」の状態で、未登録と同じ扱いになるため削除できる。
+ * 掃除は一定間隔ごとにのみ、リクエスト処理スレッドが遅延的に行う。
+ * 掃除と同時に処理中のリクエストが削除済みの状態を更新した場合、その1回分は計上されない。
+ *
+ * キー数が上限に達している間の新規キーは、既存キーを先頭から最大 EVICTION_PROBES 件だけ調べて
+ * TAT が最も小さい（枠の残りが最も多い）キーを1件削除してから記録する（全件走査は行わない）。
+ */
+@Slf4j
+public class GcraRateLimiter implements RateLimiter {
+
+    /**
+     * 上限到達時に削除候補として調べるキー数
+     */
+    private static final int EVICTION_PROBES = 8;
+
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep;
+
+    public GcraRateLimiter(int maxKeys, Duration sweepInterval) {
+        this(maxKeys, sweepInterval, System::nanoTime);
+    }
+
+    public GcraRateLimiter(int maxKeys, Duration sweepInterval, LongSupplier nanoClock) {
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos);
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimitPolicy policy) {
+        long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            if (states.size() >= maxKeys) {
+                evictOne(now);
+            }
+            // 未登録キーは TAT = 現在時刻（満タン）として扱う
+            state = states.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long interval = policy.getEmissionIntervalNanos();
+        long tolerance = policy.getBurstToleranceNanos();
+        while (true) {
+            long tat = state.get();
+            long base = Math.max(tat, now);
+            if (base - now > tolerance) {
+                return false;
+            }
+            if (state.compareAndSet(tat, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 記録中のキー数
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * 掃除間隔を過ぎていれば掃除（同時に1スレッドのみ）
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * 枠が満タンに戻ったキーを削除
+     */
+    private void sweep(long now) {
+        int before = states.size();
+        states.values().removeIf(state -> state.get() - now <= 0);
+        int after = states.size();
+        log.debug("Rate limiter swept: removed={}, remaining={}", before - after, after);
+    }
+
+    /**
+     * 上限到達時に1件削除（先頭から EVICTION_PROBES 件のうち TAT が最も小さいキー。枠が満タンのキーがあれば即決定）
+     */
+    private void evictOne(long now) {
+        Iterator<Map.Entry<String, AtomicLong>> iterator = states.entrySet().iterator();
+        Map.Entry<String, AtomicLong> victim = null;
+        long victimTat = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_PROBES && iterator.hasNext(); i++) {
+            Map.Entry<String, AtomicLong> entry = iterator.next();
+            long tat = entry.getValue().get();
+            if (victim == null || tat - victimTat < 0) {
+                victim = entry;
+                victimTat = tat;
+            }
+            if (tat - now <= 0) {
+                break;
+            }
+        }
+        if (victim != null && states.remove(victim.getKey(), victim.getValue())) {
+            log.debug("Rate limiter key evicted: maxKeys={}", maxKeys);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.kintai.filter;
+
+import com.kintai.security.AuthenticatedEmployee;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 冪等キーフィルター
+ * 対象パスへの POST に Idempotency-Key ヘッダーがある場合、(社員ID, キー) の初回の応答を保存し、
+ * 再送時はコントローラーを呼び出さずに保存済みの応答を返す（Idempotent-Replayed: true を付与）。
+ *
+ * 5xx・例外の場合は保存せず、再送時に改めて処理する。
+ * 初回の処理中の再送は 409、別の操作・別の本文でのキーの使い回しは 422 を返す（本文は SHA-256 で照合）。
+ * 認証済みの社員のみ対象とするため、Spring Security のフィルターより後に登録すること。
+ */
+public class IdempotencyFilter implements Filter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdempotencyStore store;
+    private final List<String> pathPatterns;
+
+    /**
+     * @param store 応答キャッシュ
+     * @param pathPatterns 対象パスパターン（コンテキストパス除く）
+     */
+    public IdempotencyFilter(IdempotencyStore store, List<String> pathPatterns) {
+        this.store = store;
+        this.pathPatterns = List.copyOf(pathPatterns);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        String idempotencyKey = httpRequest.getHeader(HEADER);
+        Long employeeId = currentEmployeeId();
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        if (idempotencyKey == null || employeeId == null || !"POST".equals(httpRequest.getMethod()) || !matches(path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(httpResponse, HttpServletResponse.SC_BAD_REQUEST, "VALIDATION_ERROR",
+                    "Idempotency-Key は" + MAX_KEY_LENGTH + "文字以内で指定してください");
+            return;
+        }
+
+        // 本文を先に読み取り、コントローラーには読み取り済みの本文を渡す
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(httpRequest);
+        String key = employeeId + ":" + idempotencyKey;
+        String fingerprint = "POST " + path + " " + sha256(cachedRequest.body);
+        IdempotencyStore.Entry existing = store.begin(key, fingerprint);
+        if (existing != null) {
+            replay(existing, fingerprint, httpResponse);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(httpResponse);
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, wrapper);
+            if (wrapper.getStatus() < 500) {
+                store.complete(key, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                store.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * 保存済みの応答を返却
+     */
+    private void replay(IdempotencyStore.Entry entry, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!entry.getFingerprint().equals(fingerprint)) {
+            writeError(response, 422, "IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency-Key が別の操作・別の内容で使用されています");
+            return;
+        }
+        if (!entry.isCompleted()) {
+            writeError(response, HttpServletResponse.SC_CONFLICT, "IDEMPOTENCY_IN_PROGRESS",
+                    "同じリクエストを処理中です。しばらくしてから再度お試しください");
+            return;
+        }
+
+        response.setStatus(entry.getStatus());
+        if (entry.getContentType() != null) {
+            response.setContentType(entry.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(entry.getBody().length);
+        response.getOutputStream().write(entry.getBody());
+    }
+
+    private boolean matches(String path) {
+        for (String pattern : pathPatterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long currentEmployeeId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedEmployee employee) {
+            return employee.getEmployeeId();
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletResponse response, int status, String errorCode, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"success\":false,\"errorCode\":\"" + errorCode + "\",\"message\":\"" + message + "\"}");
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * 本文を読み取り済みのリクエスト（getInputStream / getReader は保持した本文を返す）
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // 本文は読み込み済みのため、登録時に読み込み可能・読み込み完了を通知する
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.kintai.filter;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 冪等キーの応答キャッシュ
+ * (社員ID, Idempotency-Key) ごとに最初のリクエストの応答を ttl の間保持し、再送時に同じ応答を返す。
+ *
+ * 最初のリクエストの処理中は「処理中」として登録し、同じキーの同時再送は処理させない。
+ * 期限切れのキーは一定間隔ごと、またはキー数が上限に達した時点で、リクエスト処理スレッドが遅延的に掃除する。
+ * 掃除後も上限を超える場合はキーを記録せずに処理させる（冪等性は保証されない）。
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long ttlNanos;
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep;
+
+    public IdempotencyStore(Duration ttl, int maxKeys, Duration sweepInterval) {
+        this(ttl, maxKeys, sweepInterval, System::nanoTime);
+    }
+
+    public IdempotencyStore(Duration ttl, int maxKeys, Duration sweepInterval, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = sweepInterval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong() + sweepIntervalNanos);
+    }
+
+    /**
+     * 処理開始
+     * @param key キー（社員ID:Idempotency-Key）
+     * @param fingerprint リクエストの識別（メソッド + パス + 本文のハッシュ。別の操作・別の内容へのキーの使い回しを検出する）
+     * @return 未登録（または期限切れ）で今回のリクエストが処理する場合は null、それ以外は登録済みのエントリ
+     */
+    public Entry begin(String key, String fingerprint) {
+        long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+
+        if (!entries.containsKey(key) && entries.size() >= maxKeys && sweep(now) >= maxKeys) {
+            log.warn("Idempotency key capacity exceeded: maxKeys={}", maxKeys);
+            return null;
+        }
+
+        Entry started = new Entry(fingerprint, now + ttlNanos);
+        Entry existing = entries.compute(key, (k, current) ->
+                current == null || current.expiresAt - now <= 0 ? started : current);
+        return existing == started ? null : existing;
+    }
+
+    /**
+     * 処理完了（応答を保存）
+     */
+    public void complete(String key, int status, String contentType, byte[] body) {
+        entries.computeIfPresent(key, (k, current) -> {
+            Entry completed = new Entry(current.fingerprint, current.expiresAt);
+            completed.status = status;
+            completed.contentType = contentType;
+            completed.body = body;
+            return completed;
+        });
+    }
+
+    /**
+     * 処理中止（キーを削除し、再送時に改めて処理させる）
+     */
+    public void abandon(String key) {
+        entries.computeIfPresent(key, (k, current) -> current.isCompleted() ? current : null);
+    }
+
+    /**
+     * 記録中のキー数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 掃除間隔を過ぎていれば掃除（同時に1スレッドのみ）
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * 期限切れのキーを削除
+     * @return 掃除後のキー数
+     */
+    private int sweep(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        int after = entries.size();
+        log.debug("Idempotency keys swept: removed={}, remaining={}", before - after, after);
+        return after;
+    }
+
+    /**
+     * キーごとの記録（応答未保存の場合は処理中）
+     */
+    @Getter
+    public static class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private int status;
+        private String contentType;
+        private byte[] body;
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isCompleted() {
+            return body != null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.kintai.filter;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * レート制限ポリシー（GCRA パラメータ）
+ * 「period あたり limit 回、最大 burst 回まで連続許可」を
+ * 発行間隔（period / limit）とバースト許容量（(burst - 1) × 発行間隔）に変換して保持する
+ */
+@Getter
+@ToString
+public class RateLimitPolicy {
+
+    /**
+     * ポリシー名（制限キーの接頭辞）
+     */
+    private final String name;
+
+    /**
+     * 発行間隔（ナノ秒）
+     */
+    private final long emissionIntervalNanos;
+
+    /**
+     * バースト許容量（ナノ秒）
+     */
+    private final long burstToleranceNanos;
+
+    private RateLimitPolicy(String name, long emissionIntervalNanos, long burstToleranceNanos) {
+        this.name = name;
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstToleranceNanos = burstToleranceNanos;
+    }
+
+    /**
+     * ポリシー生成
+     * @param name ポリシー名
+     * @param limit period あたりの許可回数
+     * @param period 期間
+     * @param burst 連続して許可する最大回数
+     * @return レート制限ポリシー
+     */
+    public static RateLimitPolicy of(String name, int limit, Duration period, int burst) {
+        if (limit <= 0 || burst <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Invalid rate limit policy: " + name);
+        }
+        long emissionInterval = Math.max(1, period.toNanos() / limit);
+        return new RateLimitPolicy(name, emissionInterval, emissionInterval * (burst - 1));
+    }
+}
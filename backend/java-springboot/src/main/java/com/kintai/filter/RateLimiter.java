@@ -0,0 +1,15 @@
+package com.kintai.filter;
+
+/**
+ * レート制限器
+ */
+public interface RateLimiter {
+
+    /**
+     * リクエスト許可判定（許可した場合は枠を1つ消費）
+     * @param key 制限キー（ポリシー名＋クライアントIP）
+     * @param policy 適用するレート制限ポリシー
+     * @return 許可する場合 true
+     */
+    boolean tryAcquire(String key, RateLimitPolicy policy);
+}
@@ -3,21 +3,35 @@ package com.kintai.filter;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * レート制限フィルター
+ * リクエストパスに一致するポリシーを選び、ポリシー×クライアントIPごとに制限する
  */
 public class RateLimitingFilter implements Filter {
     
-    private final Map<String, List<Long>> clientRequestTimes = new ConcurrentHashMap<>();
-    private static final int MAX_REQUESTS = 100; // 1時間あたり
-    private static final long TIME_WINDOW = 3600000; // 1時間（ミリ秒）
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RateLimiter rateLimiter;
+    private final List<Map.Entry<String, RateLimitPolicy>> routePolicies;
+    private final RateLimitPolicy defaultPolicy;
+    
+    /**
+     * @param rateLimiter レート制限器
+     * @param routePolicies ルート別ポリシー（パスパターン→ポリシー。先頭から評価）
+     * @param defaultPolicy どのルートにも一致しない場合のポリシー
+     */
+    public RateLimitingFilter(RateLimiter rateLimiter,
+                              List<Map.Entry<String, RateLimitPolicy>> routePolicies,
+                              RateLimitPolicy defaultPolicy) {
+        this.rateLimiter = rateLimiter;
+        this.routePolicies = List.copyOf(routePolicies);
+        this.defaultPolicy = defaultPolicy;
+    }
     
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -26,26 +40,32 @@ public class RateLimitingFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
+        RateLimitPolicy policy = resolvePolicy(httpRequest);
         String clientIp = getClientIP(httpRequest);
-        long currentTime = System.currentTimeMillis();
-        
-        List<Long> requestTimes = clientRequestTimes.computeIfAbsent(clientIp, 
-            k -> new ArrayList<>());
-        
-        // 古いリクエストを削除
-        requestTimes.removeIf(time -> currentTime - time > TIME_WINDOW);
         
-        if (requestTimes.size() >= MAX_REQUESTS) {
+        if (!rateLimiter.tryAcquire(policy.getName() + ":" + clientIp, policy)) {
             httpResponse.setStatus(429); // Too Many Requests
             httpResponse.setContentType("application/json");
             httpResponse.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"レート制限に達しました。しばらく時間をおいてから再度お試しください。\"}");
             return;
         }
         
-        requestTimes.add(currentTime);
         chain.doFilter(request, response);
     }
     
+    /**
+     * リクエストパス（コンテキストパス除く）に一致するポリシー取得
+     */
+    private RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitPolicy> route : routePolicies) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                return route.getValue();
+            }
+        }
+        return defaultPolicy;
+    }
+    
     private String getClientIP(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null) {
@@ -0,0 +1,248 @@
+package com.kintai.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis によるレプリカ間共有のレート制限器
+ * GCRA の状態（TAT）を Redis に置き、Lua スクリプトで原子的に更新する。
+ *
+ * Redis への往復を減らすため、複数のトークンをまとめて確保し、ローカルのニアキャッシュから消費する。
+ * 確保数は1から始め、有効期間（batchTtl）内に使い切って次の要求が来た場合のみ倍に増やす（上限 batchSize）。
+ * 失効時に使われなかったトークンは Redis 上では消費済みのため、次の確保数は前回の有効期間内の使用数まで減らす。
+ * これにより低頻度のクライアントは1回に1トークンずつ確保し、未使用トークンの失効で枠を失わない。
+ * 確保済みトークンは batchTtl で失効させ、レプリカが抱え込んだまま制限が緩むのを防ぐ
+ * （レプリカ間の誤差は最大で レプリカ数 ×（batchSize - 1））。
+ * キーごとの確保は同時に1スレッドのみ行い、同じキーの他のスレッドは確保の完了を待つ。
+ * Redis への往復はロックの外で行うため、他のキーの判定を妨げない。
+ * 制限超過の結果も次のトークン発行まで記録し、超過中のリクエストで Redis に往復しない。
+ * Redis に接続できない場合はローカルのレート制限器で判定を継続し、failureBackoff の間は
+ * Redis に問い合わせない（障害中の全リクエストがコマンドタイムアウトを待たないようにする）。
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> acquireScript;
+    private final RateLimiter fallback;
+    private final String keyPrefix;
+    private final int batchSize;
+    private final long batchTtlNanos;
+    private final long failureBackoffNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * ニアキャッシュ（制限キー→確保済みトークン）
+     */
+    private final ConcurrentHashMap<String, TokenBatch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * Redis から確保中のキー（完了時に待機中のスレッドへ通知）
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> acquiring = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+
+    /**
+     * Redis の利用を再開する時刻（接続失敗後はこの時刻までローカルで判定）
+     */
+    private volatile long redisRetryAtNanos;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback,
+                            String keyPrefix, int batchSize, Duration batchTtl, Duration failureBackoff) {
+        this(redisTemplate, fallback, keyPrefix, batchSize, batchTtl, failureBackoff, System::nanoTime);
+    }
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter fallback,
+                            String keyPrefix, int batchSize, Duration batchTtl, Duration failureBackoff,
+                            LongSupplier nanoClock) {
+        this.redisTemplate = redisTemplate;
+        this.acquireScript = RedisScript.of(new ClassPathResource("redis/gcra_acquire.lua"), Long.class);
+        this.fallback = fallback;
+        this.keyPrefix = keyPrefix;
+        this.batchSize = batchSize;
+        this.batchTtlNanos = batchTtl.toNanos();
+        this.failureBackoffNanos = failureBackoff.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong() + batchTtlNanos);
+        this.redisRetryAtNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimitPolicy policy) {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            if (now - redisRetryAtNanos < 0) {
+                return fallback.tryAcquire(key, policy);
+            }
+            sweepIfDue(now);
+
+            Boolean cached = consumeCached(key, now);
+            if (cached != null) {
+                return cached;
+            }
+
+            // キーごとに1スレッドのみ Redis から確保する（Redis への往復はロックの外で行う）
+            CompletableFuture<Void> acquisition = new CompletableFuture<>();
+            CompletableFuture<Void> inFlight = acquiring.putIfAbsent(key, acquisition);
+            if (inFlight != null) {
+                // 確保の完了を待ち、確保されたトークンを消費する（使い切っていた場合は次の確保を行う）
+                inFlight.join();
+                continue;
+            }
+            try {
+                return acquire(key, policy, now);
+            } finally {
+                acquiring.remove(key, acquisition);
+                acquisition.complete(null);
+            }
+        }
+    }
+
+    /**
+     * ニアキャッシュから消費
+     * @return 許可の場合 true、拒否を記録済みの場合 false、Redis からの確保が必要な場合 null
+     */
+    private Boolean consumeCached(String key, long now) {
+        TokenBatch batch = batches.get(key);
+        if (batch == null || batch.isExpired(now)) {
+            return null;
+        }
+        if (batch.tryConsume()) {
+            return true;
+        }
+        return batch.isDenied() ? false : null;
+    }
+
+    /**
+     * Redis からトークンを確保し、1つを今回のリクエストで消費する
+     * Redis に接続できない場合は failureBackoff の間 Redis を使わずにローカルで判定する
+     */
+    private boolean acquire(String key, RateLimitPolicy policy, long now) {
+        // 待機中に他のスレッドが確保していた場合はそれを消費する
+        Boolean cached = consumeCached(key, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long granted;
+        try {
+            granted = acquireFromRedis(key, policy, nextBatchSize(batches.get(key), now));
+        } catch (DataAccessException e) {
+            redisRetryAtNanos = nanoClock.getAsLong() + failureBackoffNanos;
+            log.warn("Redis rate limiter unavailable, using local limiter for {}ms: {}",
+                    failureBackoffNanos / 1_000_000, e.getMessage());
+            return fallback.tryAcquire(key, policy);
+        }
+
+        if (granted <= 0) {
+            // 次のトークンが発行されるまで（最長 batchTtl）は Redis に問い合わせずに拒否
+            batches.put(key, TokenBatch.denied(now + Math.min(policy.getEmissionIntervalNanos(), batchTtlNanos)));
+            return false;
+        }
+        // 1つは今回のリクエストで消費し、残りをニアキャッシュへ
+        batches.put(key, new TokenBatch((int) granted, (int) granted - 1, false, now + batchTtlNanos));
+        return true;
+    }
+
+    /**
+     * 次に確保するトークン数
+     * 有効期間内に使い切った場合は倍にし、失効した場合は有効期間内の使用数にする
+     */
+    private int nextBatchSize(TokenBatch previous, long now) {
+        if (previous == null || previous.isDenied()) {
+            return 1;
+        }
+        if (!previous.isExpired(now)) {
+            return (int) Math.min(batchSize, previous.size * 2L);
+        }
+        return Math.max(1, Math.min(batchSize, previous.used()));
+    }
+
+    /**
+     * Lua スクリプトでトークンを一括取得
+     * @return 取得できたトークン数
+     */
+    private long acquireFromRedis(String key, RateLimitPolicy policy, int requestedSize) {
+        // バースト数を超えて確保するとローカルに滞留するだけなので上限を揃える
+        long interval = Math.max(1, policy.getEmissionIntervalNanos() / NANOS_PER_MICRO);
+        long tolerance = policy.getBurstToleranceNanos() / NANOS_PER_MICRO;
+        long burst = policy.getBurstToleranceNanos() / Math.max(1, policy.getEmissionIntervalNanos()) + 1;
+        long requested = Math.min(requestedSize, burst);
+
+        Long granted = redisTemplate.execute(acquireScript, List.of(keyPrefix + key),
+                String.valueOf(interval), String.valueOf(tolerance), String.valueOf(requested));
+        return granted != null ? granted : 0;
+    }
+
+    /**
+     * 失効したニアキャッシュを掃除（同時に1スレッドのみ）
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + batchTtlNanos)) {
+            batches.values().removeIf(batch -> batch.isExpired(now));
+        }
+    }
+
+    /**
+     * 確保済みトークン（denied の場合は有効期限まで拒否を記録）
+     */
+    private static class TokenBatch {
+
+        private final int size;
+        private final AtomicInteger remaining;
+        private final boolean denied;
+        private final long expiresAtNanos;
+
+        TokenBatch(int size, int remaining, boolean denied, long expiresAtNanos) {
+            this.size = size;
+            this.remaining = new AtomicInteger(remaining);
+            this.denied = denied;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        static TokenBatch denied(long expiresAtNanos) {
+            return new TokenBatch(0, 0, true, expiresAtNanos);
+        }
+
+        /**
+         * 使用済みのトークン数
+         */
+        int used() {
+            return size - Math.max(0, remaining.get());
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        boolean isDenied() {
+            return denied;
+        }
+
+        boolean tryConsume() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
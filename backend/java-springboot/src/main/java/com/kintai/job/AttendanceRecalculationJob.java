@@ -0,0 +1,270 @@
+package com.kintai.job;
+
+import com.kintai.dto.AttendanceRecalculationStatus;
+import com.kintai.exception.BusinessException;
+import com.kintai.service.AttendanceSummaryService;
+import com.kintai.service.WorkRuleService;
+import com.kintai.util.BatchTimeCalculator;
+import com.kintai.util.CompiledWorkRule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 勤怠再計算ジョブ
+ * 計算ロジック変更後に、期間内の勤怠記録を主キー順にバッチ単位で読み出して
+ * 社員の勤務ルール別に BatchTimeCalculator で一括再計算し、値が変わった記録のみJDBCバッチ更新する。
+ * 更新があった社員・月の月次サマリーは最後に再構築する。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceRecalculationJob {
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT attendance_id, employee_id, attendance_date, clock_in_time, clock_out_time, " +
+            "working_minutes, late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes " +
+            "FROM attendance_records " +
+            "WHERE attendance_id > ? AND attendance_date BETWEEN ? AND ? " +
+            "AND clock_in_time IS NOT NULL AND clock_out_time IS NOT NULL " +
+            "ORDER BY attendance_id LIMIT ?";
+
+    private static final String UPDATE_SQL =
+            "UPDATE attendance_records SET working_minutes = ?, late_minutes = ?, early_leave_minutes = ?, " +
+            "overtime_minutes = ?, night_shift_minutes = ?, updated_at = ? WHERE attendance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchTimeCalculator batchTimeCalculator;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final WorkRuleService workRuleService;
+
+    @Value("${app.attendance.recalculation.batch-size:5000}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 直近の状況（更新のたびに新しいインスタンスへ差し替える。書き込みは開始処理とジョブスレッドのみ）
+     */
+    private volatile AttendanceRecalculationStatus status = AttendanceRecalculationStatus.builder().build();
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-recalculation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 再計算開始（バックグラウンド実行）
+     * @param dateFrom 開始日
+     * @param dateTo 終了日
+     * @return 開始時点の状況
+     */
+    public AttendanceRecalculationStatus start(LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom.isAfter(dateTo)) {
+            throw new BusinessException("VALIDATION_ERROR", "開始日は終了日以前を指定してください");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("RECALCULATION_RUNNING", "勤怠再計算は既に実行中です");
+        }
+
+        AttendanceRecalculationStatus started = AttendanceRecalculationStatus.builder()
+                .running(true)
+                .dateFrom(dateFrom)
+                .dateTo(dateTo)
+                .startedAt(LocalDateTime.now())
+                .build();
+        status = started;
+        executor.execute(() -> run(dateFrom, dateTo));
+        return started;
+    }
+
+    /**
+     * 実行状況取得
+     * @return 直近（実行中または前回）の状況
+     */
+    public AttendanceRecalculationStatus getStatus() {
+        return status;
+    }
+
+    private void run(LocalDate dateFrom, LocalDate dateTo) {
+        Map<CompiledWorkRule, RuleGroup> groups = new IdentityHashMap<>();
+        List<Row> rows = new ArrayList<>(batchSize);
+        Set<SummaryKey> affected = new LinkedHashSet<>();
+        long lastId = 0;
+        String errorMessage = null;
+
+        log.info("Attendance recalculation started: from={}, to={}, batchSize={}", dateFrom, dateTo, batchSize);
+        try {
+            while (true) {
+                long afterId = lastId;
+                Integer updated = transactionTemplate.execute(tx ->
+                        processBatch(afterId, dateFrom, dateTo, groups, rows, affected));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).attendanceId;
+                AttendanceRecalculationStatus current = status;
+                status = current.toBuilder()
+                        .scannedCount(current.getScannedCount() + rows.size())
+                        .updatedCount(current.getUpdatedCount() + (updated != null ? updated : 0))
+                        .build();
+            }
+
+            for (SummaryKey key : affected) {
+                transactionTemplate.executeWithoutResult(tx -> attendanceSummaryService.rebuild(key.employeeId, key.month));
+                AttendanceRecalculationStatus current = status;
+                status = current.toBuilder()
+                        .rebuiltSummaryCount(current.getRebuiltSummaryCount() + 1)
+                        .build();
+            }
+            log.info("Attendance recalculation completed: scanned={}, updated={}, summaries={}",
+                    status.getScannedCount(), status.getUpdatedCount(), status.getRebuiltSummaryCount());
+        } catch (RuntimeException e) {
+            log.error("Attendance recalculation failed: lastId={}", lastId, e);
+            errorMessage = e.getMessage();
+        } finally {
+            status = status.toBuilder()
+                    .running(false)
+                    .finishedAt(LocalDateTime.now())
+                    .errorMessage(errorMessage)
+                    .build();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 1バッチ処理（範囲読み出し→勤務ルール別に列バッファへ展開→一括計算→差分のみ更新）
+     * @return 更新件数
+     */
+    private int processBatch(long afterId, LocalDate dateFrom, LocalDate dateTo,
+                             Map<CompiledWorkRule, RuleGroup> groups, List<Row> rows, Set<SummaryKey> affected) {
+        rows.clear();
+        groups.values().forEach(RuleGroup::clear);
+        jdbcTemplate.query(SELECT_BATCH_SQL, rs -> {
+            Row row = new Row();
+            row.attendanceId = rs.getLong("attendance_id");
+            row.employeeId = rs.getLong("employee_id");
+            row.attendanceDate = rs.getDate("attendance_date").toLocalDate();
+            row.current = new int[] {
+                    rs.getInt("working_minutes"), rs.getInt("late_minutes"), rs.getInt("early_leave_minutes"),
+                    rs.getInt("overtime_minutes"), rs.getInt("night_shift_minutes")
+            };
+            row.workingMinutesNull = rs.getObject("working_minutes") == null;
+
+            CompiledWorkRule rule = workRuleService.getRuleForEmployee(row.employeeId);
+            RuleGroup group = groups.computeIfAbsent(rule, r -> new RuleGroup(batchSize));
+            row.column = group.columns.add(rs.getTimestamp("clock_in_time").toLocalDateTime(),
+                    rs.getTimestamp("clock_out_time").toLocalDateTime());
+            group.rows.add(row);
+            rows.add(row);
+        }, afterId, Date.valueOf(dateFrom), Date.valueOf(dateTo), batchSize);
+
+        List<Object[]> updates = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<CompiledWorkRule, RuleGroup> entry : groups.entrySet()) {
+            RuleGroup group = entry.getValue();
+            if (group.rows.isEmpty()) {
+                continue;
+            }
+            BatchTimeCalculator.Columns columns = group.columns;
+            batchTimeCalculator.calculate(columns, entry.getKey());
+
+            for (Row row : group.rows) {
+                int i = row.column;
+                int[] calculated = {
+                        columns.getWorkingMinutes(i), columns.getLateMinutes(i), columns.getEarlyLeaveMinutes(i),
+                        columns.getOvertimeMinutes(i), columns.getNightShiftMinutes(i)
+                };
+                if (!row.workingMinutesNull && Arrays.equals(row.current, calculated)) {
+                    continue;
+                }
+                updates.add(new Object[] {
+                        calculated[0], calculated[1], calculated[2], calculated[3], calculated[4], now, row.attendanceId
+                });
+                affected.add(new SummaryKey(row.employeeId, YearMonth.from(row.attendanceDate)));
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        return updates.size();
+    }
+
+    /**
+     * 勤務ルール別の列バッファと対象行（バッチ間で再利用）
+     */
+    private static class RuleGroup {
+        private final BatchTimeCalculator.Columns columns;
+        private final List<Row> rows = new ArrayList<>();
+
+        private RuleGroup(int capacity) {
+            columns = new BatchTimeCalculator.Columns(capacity);
+        }
+
+        private void clear() {
+            columns.clear();
+            rows.clear();
+        }
+    }
+
+    /**
+     * 読み出し行
+     */
+    private static class Row {
+        private long attendanceId;
+        private long employeeId;
+        private LocalDate attendanceDate;
+        private int[] current;
+        private boolean workingMinutesNull;
+        private int column;
+    }
+
+    /**
+     * 月次サマリーのキー
+     */
+    @Data
+    @AllArgsConstructor
+    private static class SummaryKey {
+        private long employeeId;
+        private YearMonth month;
+    }
+}
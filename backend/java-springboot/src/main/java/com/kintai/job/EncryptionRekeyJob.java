@@ -0,0 +1,263 @@
+package com.kintai.job;
+
+import com.kintai.config.EncryptionProperties;
+import com.kintai.dto.EncryptionRekeyStatus;
+import com.kintai.entity.EncryptionRekeyCheckpoint;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.EncryptionRekeyCheckpointRepository;
+import com.kintai.security.DataEncryptionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 個人情報再暗号化ジョブ
+ * 暗号化キー更新後に、employees の対象列を主キー順にバッチ単位で読み出し、
+ * 旧キーの値を ForkJoinPool 上で並列に復号・現行キーで再暗号化して JDBC バッチで書き戻す。
+ *
+ * バッチごとの書き戻しとチェックポイント更新は同一トランザクションで行い、
+ * 中断後に再実行すると処理済みの最終社員IDの次から再開する。
+ * 書き戻しは読み出し時の値と一致する場合のみ行い、並行して更新された値は上書きしない
+ * （アプリケーションが書き込む値は常に現行キーのため、再暗号化は不要）。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EncryptionRekeyJob {
+
+    private static final Pattern COLUMN_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DataEncryptionService dataEncryptionService;
+    private final EncryptionRekeyCheckpointRepository checkpointRepository;
+    private final EncryptionProperties encryptionProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 直近の状況（更新のたびに新しいインスタンスへ差し替える。書き込みは開始処理とジョブスレッドのみ）
+     */
+    private volatile EncryptionRekeyStatus status = EncryptionRekeyStatus.builder().build();
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "encryption-rekey");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 再暗号化開始（バックグラウンド実行。未完了のチェックポイントがあれば続きから再開）
+     * @return 開始時点の状況
+     */
+    public EncryptionRekeyStatus start() {
+        List<String> columns = encryptionProperties.getRekey().getColumns();
+        if (columns.isEmpty()) {
+            throw new BusinessException("VALIDATION_ERROR", "再暗号化対象の列が設定されていません");
+        }
+        for (String column : columns) {
+            if (!COLUMN_NAME.matcher(column).matches()) {
+                throw new BusinessException("VALIDATION_ERROR", "再暗号化対象の列名が不正です: " + column);
+            }
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("REKEY_RUNNING", "再暗号化は既に実行中です");
+        }
+
+        int keyVersion = dataEncryptionService.getCurrentKeyVersion();
+        long resumeAfter = checkpointRepository.findById(keyVersion)
+                .filter(checkpoint -> checkpoint.getCompletedAt() == null)
+                .map(EncryptionRekeyCheckpoint::getLastEmployeeId)
+                .orElse(0L);
+
+        EncryptionRekeyStatus started = EncryptionRekeyStatus.builder()
+                .running(true)
+                .keyVersion(keyVersion)
+                .columns(List.copyOf(columns))
+                .resumedAfterEmployeeId(resumeAfter)
+                .lastEmployeeId(resumeAfter)
+                .startedAt(LocalDateTime.now())
+                .build();
+        status = started;
+        executor.execute(() -> run(keyVersion, List.copyOf(columns), resumeAfter));
+        return started;
+    }
+
+    /**
+     * 実行状況取得
+     * @return 直近（実行中または前回）の状況
+     */
+    public EncryptionRekeyStatus getStatus() {
+        return status;
+    }
+
+    private void run(int keyVersion, List<String> columns, long resumeAfter) {
+        int batchSize = encryptionProperties.getRekey().getBatchSize();
+        String selectSql = "SELECT employee_id, " + String.join(", ", columns) +
+                " FROM employees WHERE employee_id > ? ORDER BY employee_id LIMIT ?";
+        List<String> updateSqls = columns.stream()
+                .map(column -> "UPDATE employees SET " + column + " = ?, updated_at = updated_at " +
+                        "WHERE employee_id = ? AND " + column + " = ?")
+                .collect(Collectors.toList());
+
+        ForkJoinPool pool = new ForkJoinPool(encryptionProperties.getRekey().getParallelism());
+        long lastId = resumeAfter;
+        String errorMessage = null;
+
+        log.info("Encryption rekey started: keyVersion={}, columns={}, resumeAfter={}", keyVersion, columns, resumeAfter);
+        try {
+            while (true) {
+                List<Row> rows = jdbcTemplate.query(selectSql, (rs, rowNum) -> {
+                    Row row = new Row(rs.getLong("employee_id"), columns.size());
+                    for (int i = 0; i < columns.size(); i++) {
+                        row.values[i] = rs.getString(i + 2);
+                    }
+                    return row;
+                }, lastId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                // 復号・再暗号化は CPU 処理のため並列化（DB アクセスは含めない）
+                pool.submit(() -> rows.parallelStream().forEach(this::reEncrypt)).get();
+
+                long batchLastId = rows.get(rows.size() - 1).employeeId;
+                int[] counts = transactionTemplate.execute(tx -> writeBack(keyVersion, updateSqls, rows, batchLastId));
+
+                lastId = batchLastId;
+                EncryptionRekeyStatus current = status;
+                status = current.toBuilder()
+                        .lastEmployeeId(lastId)
+                        .scannedCount(current.getScannedCount() + rows.size())
+                        .updatedCount(current.getUpdatedCount() + counts[0])
+                        .skippedCount(current.getSkippedCount() + counts[1])
+                        .build();
+            }
+
+            long completedAfter = lastId;
+            transactionTemplate.executeWithoutResult(tx -> {
+                EncryptionRekeyCheckpoint checkpoint = loadCheckpoint(keyVersion);
+                checkpoint.setLastEmployeeId(completedAfter);
+                checkpoint.setCompletedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+            });
+            log.info("Encryption rekey completed: keyVersion={}, scanned={}, updated={}, skipped={}",
+                    keyVersion, status.getScannedCount(), status.getUpdatedCount(), status.getSkippedCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Encryption rekey interrupted: lastId={}", lastId);
+            errorMessage = "中断されました";
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Encryption rekey failed: lastId={}", lastId, e);
+            errorMessage = e.getMessage();
+        } finally {
+            pool.shutdown();
+            status = status.toBuilder()
+                    .running(false)
+                    .finishedAt(LocalDateTime.now())
+                    .errorMessage(errorMessage)
+                    .build();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 1行の再暗号化（旧キーの値のみ）
+     */
+    private void reEncrypt(Row row) {
+        for (int i = 0; i < row.values.length; i++) {
+            String value = row.values[i];
+            if (!dataEncryptionService.isCurrentKey(value)) {
+                row.reEncrypted[i] = dataEncryptionService.reEncryptPersonalData(value);
+            }
+        }
+    }
+
+    /**
+     * 書き戻しとチェックポイント更新（同一トランザクション）
+     * @return {更新件数, 見送り件数}
+     */
+    private int[] writeBack(int keyVersion, List<String> updateSqls, List<Row> rows, long batchLastId) {
+        int updated = 0;
+        int skipped = 0;
+        for (int i = 0; i < updateSqls.size(); i++) {
+            List<Object[]> updates = new ArrayList<>();
+            for (Row row : rows) {
+                if (row.reEncrypted[i] != null) {
+                    updates.add(new Object[] { row.reEncrypted[i], row.employeeId, row.values[i] });
+                }
+            }
+            if (updates.isEmpty()) {
+                continue;
+            }
+            for (int count : jdbcTemplate.batchUpdate(updateSqls.get(i), updates)) {
+                if (count == 0) {
+                    skipped++;
+                } else {
+                    updated++;
+                }
+            }
+        }
+
+        EncryptionRekeyCheckpoint checkpoint = loadCheckpoint(keyVersion);
+        checkpoint.setLastEmployeeId(batchLastId);
+        checkpoint.setScannedCount(checkpoint.getScannedCount() + rows.size());
+        checkpoint.setUpdatedCount(checkpoint.getUpdatedCount() + updated);
+        checkpoint.setCompletedAt(null);
+        checkpointRepository.save(checkpoint);
+        return new int[] { updated, skipped };
+    }
+
+    private EncryptionRekeyCheckpoint loadCheckpoint(int keyVersion) {
+        return checkpointRepository.findById(keyVersion)
+                .orElseGet(() -> EncryptionRekeyCheckpoint.builder()
+                        .keyVersion(keyVersion)
+                        .lastEmployeeId(0L)
+                        .scannedCount(0L)
+                        .updatedCount(0L)
+                        .build());
+    }
+
+    /**
+     * 読み出し行（読み出し時の値と再暗号化後の値。再暗号化不要の列は null）
+     */
+    private static class Row {
+        private final long employeeId;
+        private final String[] values;
+        private final String[] reEncrypted;
+
+        private Row(long employeeId, int columnCount) {
+            this.employeeId = employeeId;
+            this.values = new String[columnCount];
+            this.reEncrypted = new String[columnCount];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.kintai.job;
+
+import com.kintai.util.TimeCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 実働分バックフィルジョブ
+ * working_minutes 未設定（NULL）の既存勤怠記録を主キー順にバッチ単位で読み出し、
+ * 打刻時刻から実働分を計算して一括更新する（移行時に1回だけ実行）
+ */
+@Component
+@ConditionalOnProperty(name = "app.attendance.working-minutes-backfill.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class WorkingMinutesBackfillJob implements ApplicationRunner {
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT attendance_id, clock_in_time, clock_out_time FROM attendance_records " +
+            "WHERE attendance_id > ? AND working_minutes IS NULL " +
+            "AND clock_in_time IS NOT NULL AND clock_out_time IS NOT NULL " +
+            "ORDER BY attendance_id LIMIT ?";
+
+    // updated_at は利用者による更新日時のため、移行処理では変更しない
+    private static final String UPDATE_SQL =
+            "UPDATE attendance_records SET working_minutes = ?, updated_at = updated_at WHERE attendance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TimeCalculator timeCalculator;
+
+    @Value("${app.attendance.working-minutes-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        long total = 0;
+
+        log.info("Working minutes backfill started: batchSize={}", batchSize);
+        while (true) {
+            long afterId = lastId;
+            List<Object[]> updates = transactionTemplate.execute(status -> processBatch(afterId));
+            if (updates == null || updates.isEmpty()) {
+                break;
+            }
+            lastId = (Long) updates.get(updates.size() - 1)[1];
+            total += updates.size();
+            log.debug("Working minutes backfill progress: lastId={}, total={}", lastId, total);
+        }
+        log.info("Working minutes backfill completed: updated={}", total);
+    }
+
+    /**
+     * 1バッチ処理（主キー順の範囲読み出し→計算→JDBCバッチ更新）
+     * @param afterId 前バッチの最終勤怠ID
+     * @return 更新内容（実働分, 勤怠ID）
+     */
+    private List<Object[]> processBatch(long afterId) {
+        List<Object[]> updates = new ArrayList<>(batchSize);
+        jdbcTemplate.query(SELECT_BATCH_SQL, rs -> {
+            int workingMinutes = timeCalculator.calculateAttendanceTimes(
+                    rs.getTimestamp("clock_in_time").toLocalDateTime(),
+                    rs.getTimestamp("clock_out_time").toLocalDateTime()).getWorkingMinutes();
+            updates.add(new Object[] { workingMinutes, rs.getLong("attendance_id") });
+        }, afterId, batchSize);
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        return updates;
+    }
+}
@@ -0,0 +1,224 @@
+package com.kintai.metrics;
+
+import com.kintai.dto.MetricsSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * メトリクスレジストリ
+ * 名前とタグで識別するゲージ（参照時に値を取得）とタイマー（件数・合計・最大・ヒストグラム）を保持する。
+ * Micrometer と同じ命名（ドット区切りの名前＋タグ）にしており、導入時は置き換えられる。
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * ゲージ登録（同じ名前・タグの場合は置き換え）
+     * @param name メトリクス名
+     * @param value 値の取得処理
+     * @param tags タグ（キー, 値, キー, 値, ...）
+     */
+    public void gauge(String name, Supplier<Number> value, String... tags) {
+        Map<String, String> tagMap = toTagMap(tags);
+        gauges.put(id(name, tagMap), new Gauge(name, tagMap, value));
+    }
+
+    /**
+     * タイマー取得（未登録の場合は登録）
+     * @param name メトリクス名
+     * @param tags タグ（キー, 値, キー, 値, ...）
+     * @return タイマー
+     */
+    public Timer timer(String name, String... tags) {
+        Map<String, String> tagMap = toTagMap(tags);
+        return timers.computeIfAbsent(id(name, tagMap), id -> new Timer(name, tagMap));
+    }
+
+    /**
+     * スナップショット取得（タイマーは名前順、同名内は合計時間の降順）
+     * @param prefix メトリクス名の接頭辞（null の場合は全件）
+     * @return スナップショット
+     */
+    public MetricsSnapshot snapshot(String prefix) {
+        List<MetricsSnapshot.GaugeValue> gaugeValues = new ArrayList<>();
+        for (Gauge gauge : gauges.values()) {
+            if (matches(gauge.name, prefix)) {
+                Number value = gauge.value.get();
+                gaugeValues.add(new MetricsSnapshot.GaugeValue(gauge.name, gauge.tags,
+                        value != null ? value.doubleValue() : Double.NaN));
+            }
+        }
+        gaugeValues.sort(Comparator.comparing(MetricsSnapshot.GaugeValue::getName));
+
+        List<MetricsSnapshot.TimerValue> timerValues = new ArrayList<>();
+        for (Timer timer : timers.values()) {
+            if (matches(timer.name, prefix)) {
+                timerValues.add(timer.snapshot());
+            }
+        }
+        timerValues.sort(Comparator.comparing(MetricsSnapshot.TimerValue::getName)
+                .thenComparing(MetricsSnapshot.TimerValue::getTotalMillis, Comparator.reverseOrder()));
+
+        return MetricsSnapshot.builder()
+                .gauges(gaugeValues)
+                .timers(timerValues)
+                .build();
+    }
+
+    private static boolean matches(String name, String prefix) {
+        return prefix == null || prefix.isEmpty() || name.startsWith(prefix);
+    }
+
+    private static Map<String, String> toTagMap(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("tags must be key/value pairs");
+        }
+        Map<String, String> tagMap = new LinkedHashMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagMap.put(tags[i], tags[i + 1]);
+        }
+        return tagMap;
+    }
+
+    private static String id(String name, Map<String, String> tags) {
+        return tags.isEmpty() ? name : name + tags;
+    }
+
+    /**
+     * ゲージ
+     */
+    private record Gauge(String name, Map<String, String> tags, Supplier<Number> value) {
+    }
+
+    /**
+     * タイマー
+     * 固定の境界値（0.1ms～30s）のヒストグラムで記録し、パーセンタイルは該当バケットの上限値で近似する
+     */
+    public static class Timer {
+
+        /**
+         * バケット上限（ナノ秒）（最後のバケットは上限なし）
+         */
+        private static final long[] BUCKET_BOUNDS = {
+                100_000L, 250_000L, 500_000L,
+                1_000_000L, 2_500_000L, 5_000_000L,
+                10_000_000L, 25_000_000L, 50_000_000L,
+                100_000_000L, 250_000_000L, 500_000_000L,
+                1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+                10_000_000_000L, 30_000_000_000L
+        };
+
+        private final String name;
+        private final Map<String, String> tags;
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Timer(String name, Map<String, String> tags) {
+            this.name = name;
+            this.tags = tags;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 記録
+         * @param amount 所要時間
+         * @param unit 単位
+         */
+        public void record(long amount, TimeUnit unit) {
+            long nanos = Math.max(0L, unit.toNanos(amount));
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        /**
+         * 記録件数
+         */
+        public long count() {
+            long count = 0;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        private MetricsSnapshot.TimerValue snapshot() {
+            long[] counts = new long[buckets.length];
+            long count = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            long total = totalNanos.sum();
+            long max = maxNanos.get();
+
+            // 累積件数（Prometheus の le バケットと同じ形式）
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                histogram.put(i < BUCKET_BOUNDS.length ? formatMillis(BUCKET_BOUNDS[i]) : "+Inf", cumulative);
+            }
+
+            return MetricsSnapshot.TimerValue.builder()
+                    .name(name)
+                    .tags(tags)
+                    .count(count)
+                    .totalMillis(toMillis(total))
+                    .meanMillis(count > 0 ? toMillis(total) / count : 0.0)
+                    .maxMillis(toMillis(max))
+                    .p50Millis(percentile(counts, count, 0.50, max))
+                    .p95Millis(percentile(counts, count, 0.95, max))
+                    .p99Millis(percentile(counts, count, 0.99, max))
+                    .histogram(histogram)
+                    .build();
+        }
+
+        private static double percentile(long[] counts, long count, double p, long max) {
+            if (count == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(p * count);
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return toMillis(i < BUCKET_BOUNDS.length ? Math.min(BUCKET_BOUNDS[i], max) : max);
+                }
+            }
+            return toMillis(max);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        private static String formatMillis(long nanos) {
+            double millis = toMillis(nanos);
+            return millis == Math.rint(millis) ? Long.toString((long) millis) : Double.toString(millis);
+        }
+    }
+}
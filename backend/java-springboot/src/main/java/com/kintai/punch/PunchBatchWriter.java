@@ -0,0 +1,315 @@
+package com.kintai.punch;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.service.AttendanceSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 打刻の一括反映
+ * 先行書き込みログの打刻をまとめて attendance_records へ反映し、月次サマリーへ差分を加算する。
+ *
+ * 反映は冪等で、既に出勤打刻済みの行への出勤打刻・退勤打刻済みの行への退勤打刻は読み飛ばす。
+ * そのため、反映後に反映済み位置を記録する前に停止しても、再起動時の再適用で二重計上しない。
+ * 新規行は直接打刻と同じ upsert で作成し、勤怠ステータス・申請ステータスは列の既定値（通常・未提出）とする。
+ * 呼び出し側のトランザクション内で実行すること。
+ */
+@Component
+@RequiredArgsConstructor
+public class PunchBatchWriter {
+
+    /**
+     * IN 句1回あたりの社員数
+     */
+    private static final int SELECT_CHUNK_SIZE = 500;
+
+    /**
+     * MySQL: 読み込み後に他のトランザクションが作成した行は、出勤時刻未登録の場合のみ打刻を設定する
+     * （AttendanceClockInRepository と同じ upsert。列の代入は左から順に評価されるため clock_in_time は最後に代入する）
+     */
+    private static final String MYSQL_UPSERT_SQL =
+            "INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, clock_out_time, " +
+            "working_minutes, late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes, " +
+            "attendance_fixed_flag, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "clock_out_time = IF(clock_in_time IS NULL, VALUES(clock_out_time), clock_out_time), " +
+            "working_minutes = IF(clock_in_time IS NULL, VALUES(working_minutes), working_minutes), " +
+            "late_minutes = IF(clock_in_time IS NULL, VALUES(late_minutes), late_minutes), " +
+            "early_leave_minutes = IF(clock_in_time IS NULL, VALUES(early_leave_minutes), early_leave_minutes), " +
+            "overtime_minutes = IF(clock_in_time IS NULL, VALUES(overtime_minutes), overtime_minutes), " +
+            "night_shift_minutes = IF(clock_in_time IS NULL, VALUES(night_shift_minutes), night_shift_minutes), " +
+            "updated_at = IF(clock_in_time IS NULL, VALUES(updated_at), updated_at), " +
+            "clock_in_time = IF(clock_in_time IS NULL, VALUES(clock_in_time), clock_in_time)";
+
+    /**
+     * H2: MySQL の upsert と同じ結果になる MERGE
+     */
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO attendance_records t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), " +
+            "CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), " +
+            "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "s (employee_id, attendance_date, clock_in_time, clock_out_time, working_minutes, late_minutes, " +
+            "early_leave_minutes, overtime_minutes, night_shift_minutes, created_at, updated_at) " +
+            "ON t.employee_id = s.employee_id AND t.attendance_date = s.attendance_date " +
+            "WHEN MATCHED AND t.clock_in_time IS NULL THEN UPDATE SET " +
+            "clock_in_time = s.clock_in_time, clock_out_time = s.clock_out_time, working_minutes = s.working_minutes, " +
+            "late_minutes = s.late_minutes, early_leave_minutes = s.early_leave_minutes, " +
+            "overtime_minutes = s.overtime_minutes, night_shift_minutes = s.night_shift_minutes, updated_at = s.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (employee_id, attendance_date, clock_in_time, clock_out_time, working_minutes, " +
+            "late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_fixed_flag, " +
+            "created_at, updated_at) " +
+            "VALUES (s.employee_id, s.attendance_date, s.clock_in_time, s.clock_out_time, s.working_minutes, " +
+            "s.late_minutes, s.early_leave_minutes, s.overtime_minutes, s.night_shift_minutes, FALSE, " +
+            "s.created_at, s.updated_at)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE attendance_records SET clock_in_time = ?, clock_out_time = ?, working_minutes = ?, " +
+            "late_minutes = ?, early_leave_minutes = ?, overtime_minutes = ?, night_shift_minutes = ?, " +
+            "updated_at = ? WHERE attendance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceSummaryService attendanceSummaryService;
+
+    /**
+     * 接続先が H2 か（初回実行時に判定）
+     */
+    private volatile Boolean h2;
+
+    /**
+     * 打刻の一括反映
+     * @param punches 打刻（通番順）
+     * @return 反映した打刻数（読み飛ばした打刻を除く）
+     */
+    public int write(List<PunchRecord> punches) {
+        Map<LocalDate, List<PunchRecord>> byDate = punches.stream()
+                .collect(Collectors.groupingBy(PunchRecord::getAttendanceDate, LinkedHashMap::new, Collectors.toList()));
+
+        int applied = 0;
+        for (Map.Entry<LocalDate, List<PunchRecord>> entry : byDate.entrySet()) {
+            applied += write(entry.getKey(), entry.getValue());
+        }
+        return applied;
+    }
+
+    private int write(LocalDate date, List<PunchRecord> punches) {
+        Map<Long, Row> rows = loadRows(date, punches.stream()
+                .map(PunchRecord::getEmployeeId).distinct().collect(Collectors.toList()), false);
+
+        int applied = 0;
+        for (PunchRecord punch : punches) {
+            Row row = rows.get(punch.getEmployeeId());
+            if (punch.getType() == PunchRecord.Type.CLOCK_IN) {
+                if (row == null) {
+                    row = new Row(null, punch.getEmployeeId(), null);
+                    rows.put(punch.getEmployeeId(), row);
+                }
+                if (row.current.getClockInTime() != null) {
+                    continue;
+                }
+                row.current.setClockInTime(punch.getPunchedAt());
+                row.current.setLateMinutes(punch.getLateMinutes());
+            } else {
+                if (row == null || row.current.getClockInTime() == null || row.current.getClockOutTime() != null) {
+                    continue;
+                }
+                row.current.setClockOutTime(punch.getPunchedAt());
+                row.current.setWorkingMinutes(punch.getWorkingMinutes());
+                row.current.setEarlyLeaveMinutes(punch.getEarlyLeaveMinutes());
+                row.current.setOvertimeMinutes(punch.getOvertimeMinutes());
+                row.current.setNightShiftMinutes(punch.getNightShiftMinutes());
+            }
+            row.dirty = true;
+            applied++;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Row row : rows.values()) {
+            if (!row.dirty) {
+                continue;
+            }
+            AttendanceRecord r = row.current;
+            if (row.attendanceId == null) {
+                inserts.add(new Object[] {
+                        row.employeeId, Date.valueOf(date), timestamp(r.getClockInTime()), timestamp(r.getClockOutTime()),
+                        r.getWorkingMinutes(), r.getLateMinutes(), minutes(r.getEarlyLeaveMinutes()),
+                        minutes(r.getOvertimeMinutes()), minutes(r.getNightShiftMinutes()), now, now
+                });
+            } else {
+                updates.add(new Object[] {
+                        timestamp(r.getClockInTime()), timestamp(r.getClockOutTime()), r.getWorkingMinutes(),
+                        minutes(r.getLateMinutes()), minutes(r.getEarlyLeaveMinutes()),
+                        minutes(r.getOvertimeMinutes()), minutes(r.getNightShiftMinutes()), now, row.attendanceId
+                });
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(isH2() ? H2_MERGE_SQL : MYSQL_UPSERT_SQL, inserts);
+            verifyInserted(date, rows);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+
+        // 月次サマリーへ差分加算（社員ごとに1回）
+        for (Row row : rows.values()) {
+            if (row.dirty) {
+                attendanceSummaryService.applyChange(row.employeeId, date,
+                        attendanceSummaryService.contributionOf(row.before),
+                        attendanceSummaryService.contributionOf(row.current));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * 作成した行の確認
+     * 読み込み後に他のトランザクション（直接打刻・有給承認等）が同じ日の行を作成していた場合、upsert は既存行を優先するため
+     * 変更前の内容が分からず差分を計算できない。その場合はバッチを失敗させ、再試行時に既存行として反映する。
+     */
+    private void verifyInserted(LocalDate date, Map<Long, Row> rows) {
+        List<Long> insertedIds = rows.values().stream()
+                .filter(row -> row.dirty && row.attendanceId == null)
+                .map(row -> row.employeeId)
+                .collect(Collectors.toList());
+        Map<Long, Row> stored = loadRows(date, insertedIds, true);
+        for (Long employeeId : insertedIds) {
+            Row row = stored.get(employeeId);
+            if (row == null || !sameContent(row.before, rows.get(employeeId).current)) {
+                throw new ConcurrencyFailureException(
+                        "Attendance record created concurrently: employeeId=" + employeeId + ", date=" + date);
+            }
+        }
+    }
+
+    /**
+     * 打刻・勤怠時間・勤怠ステータスが一致するか
+     */
+    private static boolean sameContent(AttendanceRecord stored, AttendanceRecord expected) {
+        return Objects.equals(stored.getClockInTime(), expected.getClockInTime())
+                && Objects.equals(stored.getClockOutTime(), expected.getClockOutTime())
+                && Objects.equals(stored.getWorkingMinutes(), expected.getWorkingMinutes())
+                && minutes(stored.getLateMinutes()) == minutes(expected.getLateMinutes())
+                && minutes(stored.getEarlyLeaveMinutes()) == minutes(expected.getEarlyLeaveMinutes())
+                && minutes(stored.getOvertimeMinutes()) == minutes(expected.getOvertimeMinutes())
+                && minutes(stored.getNightShiftMinutes()) == minutes(expected.getNightShiftMinutes())
+                && stored.getAttendanceStatus() == expected.getAttendanceStatus();
+    }
+
+    /**
+     * 既存行の読み込み（社員ID→行）
+     * @param forUpdate 行ロックを取得し、コミット済みの最新の内容を読み込む場合 true
+     */
+    private Map<Long, Row> loadRows(LocalDate date, List<Long> employeeIds, boolean forUpdate) {
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        for (int from = 0; from < employeeIds.size(); from += SELECT_CHUNK_SIZE) {
+            List<Long> chunk = employeeIds.subList(from, Math.min(from + SELECT_CHUNK_SIZE, employeeIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Date.valueOf(date));
+            args.addAll(chunk);
+
+            jdbcTemplate.query("SELECT attendance_id, employee_id, clock_in_time, clock_out_time, working_minutes, " +
+                    "late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_status " +
+                    "FROM attendance_records WHERE attendance_date = ? AND employee_id IN (" + placeholders + ")" +
+                    (forUpdate ? " FOR UPDATE" : ""), rs -> {
+                AttendanceRecord before = AttendanceRecord.builder()
+                        .employeeId(rs.getLong("employee_id"))
+                        .attendanceDate(date)
+                        .clockInTime(localDateTime(rs.getTimestamp("clock_in_time")))
+                        .clockOutTime(localDateTime(rs.getTimestamp("clock_out_time")))
+                        .workingMinutes(rs.getObject("working_minutes", Integer.class))
+                        .lateMinutes(rs.getInt("late_minutes"))
+                        .earlyLeaveMinutes(rs.getInt("early_leave_minutes"))
+                        .overtimeMinutes(rs.getInt("overtime_minutes"))
+                        .nightShiftMinutes(rs.getInt("night_shift_minutes"))
+                        .attendanceStatus(attendanceStatus(rs.getString("attendance_status")))
+                        .build();
+                rows.put(before.getEmployeeId(), new Row(rs.getLong("attendance_id"), before.getEmployeeId(), before));
+            }, args.toArray());
+        }
+        return rows;
+    }
+
+    /**
+     * 勤怠ステータス変換（列値・列挙名のどちらでも可。不明な値は通常勤務）
+     */
+    private AttendanceRecord.AttendanceStatus attendanceStatus(String value) {
+        for (AttendanceRecord.AttendanceStatus status : AttendanceRecord.AttendanceStatus.values()) {
+            if (status.name().equalsIgnoreCase(value) || status.getValue().equals(value)) {
+                return status;
+            }
+        }
+        return AttendanceRecord.AttendanceStatus.NORMAL;
+    }
+
+    private boolean isH2() {
+        Boolean cached = h2;
+        if (cached == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            cached = "H2".equalsIgnoreCase(product);
+            h2 = cached;
+        }
+        return cached;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime localDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    private static int minutes(Integer value) {
+        return Objects.requireNonNullElse(value, 0);
+    }
+
+    /**
+     * 反映対象行（反映前の内容と、打刻を適用した内容）
+     */
+    private static class Row {
+        private final Long attendanceId;
+        private final long employeeId;
+        private final AttendanceRecord before;
+        private final AttendanceRecord current;
+        private boolean dirty;
+
+        private Row(Long attendanceId, long employeeId, AttendanceRecord before) {
+            this.attendanceId = attendanceId;
+            this.employeeId = employeeId;
+            this.before = before;
+            this.current = AttendanceRecord.builder()
+                    .employeeId(employeeId)
+                    .attendanceDate(before != null ? before.getAttendanceDate() : null)
+                    .clockInTime(before != null ? before.getClockInTime() : null)
+                    .clockOutTime(before != null ? before.getClockOutTime() : null)
+                    .workingMinutes(before != null ? before.getWorkingMinutes() : null)
+                    .lateMinutes(before != null ? before.getLateMinutes() : 0)
+                    .earlyLeaveMinutes(before != null ? before.getEarlyLeaveMinutes() : 0)
+                    .overtimeMinutes(before != null ? before.getOvertimeMinutes() : 0)
+                    .nightShiftMinutes(before != null ? before.getNightShiftMinutes() : 0)
+                    .attendanceStatus(before != null ? before.getAttendanceStatus() : AttendanceRecord.AttendanceStatus.NORMAL)
+                    .build();
+        }
+    }
+}
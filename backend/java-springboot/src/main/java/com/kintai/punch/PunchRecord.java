@@ -0,0 +1,48 @@
+package com.kintai.punch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 打刻レコード（先行書き込みログの1件）
+ * 受付時に計算した勤怠時間を含み、DB 反映時に再計算しない
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PunchRecord {
+
+    /**
+     * 打刻種別
+     */
+    public enum Type {
+        CLOCK_IN, CLOCK_OUT
+    }
+
+    /**
+     * ログ上の位置（先頭からの通番。復旧時の整合確認に使用）
+     */
+    private final long sequence;
+
+    private final Type type;
+    private final long employeeId;
+    private final LocalDate attendanceDate;
+    private final LocalDateTime punchedAt;
+
+    /**
+     * 遅刻時間（出勤打刻のみ）
+     */
+    private final int lateMinutes;
+
+    /**
+     * 実働・早退・残業・深夜時間（退勤打刻のみ）
+     */
+    private final int workingMinutes;
+    private final int earlyLeaveMinutes;
+    private final int overtimeMinutes;
+    private final int nightShiftMinutes;
+}
@@ -0,0 +1,215 @@
+package com.kintai.punch;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.util.DateUtil;
+import com.kintai.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 当日の打刻状態キャッシュ（二重打刻チェック用）
+ *
+ * 社員ID→打刻状態を当日分のパーティションとして保持し、出勤済み・退勤済みの再打刻を DB を参照せずに拒否する。
+ * 状態は初回参照時に勤怠記録から登録し、打刻・打刻修正承認のコミット後に更新・破棄する。
+ * パーティションは日付が変わった時点（Asia/Tokyo の 0:00）で丸ごと破棄する。
+ *
+ * 打刻状態は long 1つに詰めて保持する（出勤時刻のエポック秒 + 1 を上位、退勤済みフラグを最下位ビット）。
+ * 保持件数が maxEntries に達した場合は新規登録を行わない（DB 参照にフォールバック）。
+ * ただし書き込み遅延モードの受付状態（DB 未反映）は上限に関わらず登録する。
+ */
+@Component
+@Slf4j
+public class PunchStateCache {
+
+    /**
+     * 未保持（DB 参照が必要）
+     */
+    public static final long UNKNOWN = -1L;
+
+    /**
+     * 未打刻
+     */
+    public static final long NOT_PUNCHED = 0L;
+
+    private static final long CLOCKED_OUT = 1L;
+
+    @Value("${app.attendance.punch-state-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 保持中の日付（この日付の打刻状態のみ保持）
+     */
+    private LocalDate partitionDate;
+    private LongLongHashMap partition = new LongLongHashMap(1024);
+
+    /**
+     * 打刻状態取得
+     * @param employeeId 社員ID
+     * @param date 勤怠日
+     * @return 打刻状態（未保持の場合は UNKNOWN）
+     */
+    public long get(long employeeId, LocalDate date) {
+        lock.lock();
+        try {
+            return date.equals(partitionDate) ? partition.get(employeeId, UNKNOWN) : UNKNOWN;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 勤怠記録から打刻状態を登録（初回参照時）
+     * @param employeeId 社員ID
+     * @param date 勤怠日
+     * @param record 当日の勤怠記録（未作成の場合は null）
+     */
+    public void load(long employeeId, LocalDate date, AttendanceRecord record) {
+        put(employeeId, date, record != null ? stateOf(record.getClockInTime(), record.getClockOutTime()) : NOT_PUNCHED, false);
+    }
+
+    /**
+     * 打刻後の状態をコミット後に登録（トランザクション外の場合は即時）
+     */
+    public void putAfterCommit(long employeeId, LocalDate date, LocalDateTime clockInTime, LocalDateTime clockOutTime) {
+        long state = stateOf(clockInTime, clockOutTime);
+        runAfterCommit(() -> put(employeeId, date, state, false));
+    }
+
+    /**
+     * 受付済み（DB 未反映）の打刻状態を即時登録（書き込み遅延モード用）
+     * DB を参照しても判定できない状態のため、保持件数の上限に関わらず登録する
+     * @param employeeId 社員ID
+     * @param date 勤怠日
+     * @param state 打刻状態
+     */
+    public void putAccepted(long employeeId, LocalDate date, long state) {
+        put(employeeId, date, state, true);
+    }
+
+    /**
+     * 打刻状態をコミット後に破棄（打刻修正承認時等。トランザクション外の場合は即時）
+     */
+    public void evictAfterCommit(long employeeId, LocalDate date) {
+        runAfterCommit(() -> {
+            lock.lock();
+            try {
+                if (date.equals(partitionDate)) {
+                    partition.remove(employeeId);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * 日付変更時にパーティションを破棄（Asia/Tokyo の 0:00）
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Tokyo")
+    public void rollover() {
+        rollover(DateUtil.getCurrentDate());
+    }
+
+    /**
+     * 指定日のパーティションへ切り替え（保持中の打刻状態は破棄）
+     */
+    public void rollover(LocalDate date) {
+        int dropped;
+        lock.lock();
+        try {
+            if (date.equals(partitionDate)) {
+                return;
+            }
+            dropped = partition.size();
+            partitionDate = date;
+            partition = new LongLongHashMap(1024);
+        } finally {
+            lock.unlock();
+        }
+        log.info("Punch state cache rolled over: date={}, dropped={}", date, dropped);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return partition.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 出勤打刻済み判定
+     */
+    public static boolean isClockedIn(long state) {
+        return state > CLOCKED_OUT;
+    }
+
+    /**
+     * 退勤打刻済み判定
+     */
+    public static boolean isClockedOut(long state) {
+        return state != UNKNOWN && (state & CLOCKED_OUT) != 0;
+    }
+
+    /**
+     * 出勤時刻取得（未出勤の場合は null）
+     */
+    public static LocalDateTime clockInTime(long state) {
+        return isClockedIn(state) ? LocalDateTime.ofEpochSecond((state >>> 1) - 1, 0, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * 打刻状態の生成
+     */
+    public static long stateOf(LocalDateTime clockInTime, LocalDateTime clockOutTime) {
+        long clockIn = clockInTime != null ? clockInTime.toEpochSecond(ZoneOffset.UTC) + 1 : 0L;
+        return (clockIn << 1) | (clockOutTime != null ? CLOCKED_OUT : 0L);
+    }
+
+    private void put(long employeeId, LocalDate date, long state, boolean force) {
+        lock.lock();
+        try {
+            // 日付が進んでいれば切り替え（0:00 の定期実行前のアクセス）
+            if (partitionDate == null || date.isAfter(partitionDate)) {
+                partitionDate = date;
+                partition = new LongLongHashMap(1024);
+            }
+            if (!date.equals(partitionDate)) {
+                return;
+            }
+            if (force || partition.size() < maxEntries || partition.containsKey(employeeId)) {
+                partition.put(employeeId, state);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * トランザクションコミット後に実行（トランザクション外の場合は即時実行）
+     */
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
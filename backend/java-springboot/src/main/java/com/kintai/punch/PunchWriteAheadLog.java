@@ -0,0 +1,208 @@
+package com.kintai.punch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 打刻の先行書き込みログ（メモリマップトファイルのリングバッファ）
+ *
+ * 固定長（64バイト）のレコードを通番順に追記し、DB 反映済みの位置をヘッダーに記録する。
+ * 追記はページキャッシュへの書き込みのみで完了するため、プロセスが異常終了しても失われない
+ * （OS 障害に備える場合は syncOnAppend で追記ごとにディスクへ同期する）。
+ * 起動時は反映済み位置から、通番と CRC が一致する範囲のレコードを未反映分として返す。
+ *
+ * スレッドセーフではない。呼び出し側で排他すること。
+ */
+public class PunchWriteAheadLog implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+
+    private static final int MAGIC = 0x4B505741; // "KPWA"
+    private static final int FORMAT_VERSION = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean syncOnAppend;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * 次に書き込む通番
+     */
+    private long writeSequence;
+
+    /**
+     * DB 反映済みの通番（この通番未満は反映済み）
+     */
+    private long flushedSequence;
+
+    /**
+     * @param file ログファイル（存在しない場合は作成）
+     * @param capacity 保持できる未反映レコード数
+     * @param syncOnAppend 追記ごとにディスクへ同期する場合 true
+     */
+    public PunchWriteAheadLog(Path file, int capacity, boolean syncOnAppend) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.capacity = capacity;
+        this.syncOnAppend = syncOnAppend;
+
+        boolean initialized = channel.size() >= HEADER_SIZE;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+
+        if (initialized && buffer.getInt(0) == MAGIC) {
+            if (buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != capacity) {
+                throw new IOException("Punch WAL format or capacity mismatch: " + file);
+            }
+            if (buffer.getInt(24) != headerChecksum()) {
+                throw new IOException("Punch WAL header is corrupted: " + file);
+            }
+            flushedSequence = buffer.getLong(16);
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putInt(8, capacity);
+            writeHeader(0);
+        }
+        writeSequence = flushedSequence;
+    }
+
+    /**
+     * 未反映レコードの読み出し（起動時に1回だけ呼び出す）
+     * @return 反映済み位置以降の有効なレコード（通番順）
+     */
+    public List<PunchRecord> recover() {
+        List<PunchRecord> records = new ArrayList<>();
+        long sequence = flushedSequence;
+        while (sequence - flushedSequence < capacity) {
+            PunchRecord record = read(sequence);
+            if (record == null) {
+                break;
+            }
+            records.add(record);
+            sequence++;
+        }
+        writeSequence = sequence;
+        return records;
+    }
+
+    /**
+     * レコード追記
+     * @return 追記したレコード（通番を付与）、ログが満杯の場合は null
+     */
+    public PunchRecord append(PunchRecord.Type type, long employeeId, LocalDate attendanceDate, LocalDateTime punchedAt,
+                              int lateMinutes, int workingMinutes, int earlyLeaveMinutes,
+                              int overtimeMinutes, int nightShiftMinutes) {
+        if (writeSequence - flushedSequence >= capacity) {
+            return null;
+        }
+        PunchRecord record = new PunchRecord(writeSequence, type, employeeId, attendanceDate, punchedAt,
+                lateMinutes, workingMinutes, earlyLeaveMinutes, overtimeMinutes, nightShiftMinutes);
+
+        int position = positionOf(writeSequence);
+        buffer.putLong(position, record.getSequence());
+        buffer.putInt(position + 8, type.ordinal());
+        buffer.putInt(position + 12, (int) attendanceDate.toEpochDay());
+        buffer.putLong(position + 16, employeeId);
+        buffer.putLong(position + 24, punchedAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(position + 32, lateMinutes);
+        buffer.putInt(position + 36, workingMinutes);
+        buffer.putInt(position + 40, earlyLeaveMinutes);
+        buffer.putInt(position + 44, overtimeMinutes);
+        buffer.putInt(position + 48, nightShiftMinutes);
+        buffer.putInt(position + RECORD_SIZE - 4, checksum(position));
+        if (syncOnAppend) {
+            buffer.force(position, RECORD_SIZE);
+        }
+
+        writeSequence++;
+        return record;
+    }
+
+    /**
+     * DB 反映済み位置の更新
+     * @param sequence 反映済みの最終通番 + 1
+     */
+    public void markFlushed(long sequence) {
+        flushedSequence = sequence;
+        writeHeader(sequence);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    /**
+     * 未反映レコード数
+     */
+    public long pendingCount() {
+        return writeSequence - flushedSequence;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private PunchRecord read(long sequence) {
+        int position = positionOf(sequence);
+        if (buffer.getLong(position) != sequence || buffer.getInt(position + RECORD_SIZE - 4) != checksum(position)) {
+            return null;
+        }
+        int type = buffer.getInt(position + 8);
+        if (type < 0 || type >= PunchRecord.Type.values().length) {
+            return null;
+        }
+        return new PunchRecord(sequence,
+                PunchRecord.Type.values()[type],
+                buffer.getLong(position + 16),
+                LocalDate.ofEpochDay(buffer.getInt(position + 12)),
+                LocalDateTime.ofEpochSecond(buffer.getLong(position + 24), 0, ZoneOffset.UTC),
+                buffer.getInt(position + 32),
+                buffer.getInt(position + 36),
+                buffer.getInt(position + 40),
+                buffer.getInt(position + 44),
+                buffer.getInt(position + 48));
+    }
+
+    private void writeHeader(long flushed) {
+        buffer.putLong(16, flushed);
+        buffer.putInt(24, headerChecksum());
+    }
+
+    private int headerChecksum() {
+        crc.reset();
+        for (int i = 0; i < 24; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private int checksum(int position) {
+        crc.reset();
+        for (int i = position; i < position + RECORD_SIZE - 4; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private int positionOf(long sequence) {
+        return HEADER_SIZE + (int) (sequence % capacity) * RECORD_SIZE;
+    }
+}
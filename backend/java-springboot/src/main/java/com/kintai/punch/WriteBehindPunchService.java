@@ -0,0 +1,477 @@
+package com.kintai.punch;
+
+import com.kintai.audit.ClockingEvent;
+import com.kintai.dto.ClockResponse;
+import com.kintai.dto.PunchBufferStatus;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.security.AuthenticatedEmployee;
+import com.kintai.service.WorkRuleService;
+import com.kintai.util.DateUtil;
+import com.kintai.util.TimeCalculator.AttendanceCalculationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 書き込み遅延打刻サービス（始業・終業時刻の打刻集中対策）
+ *
+ * 打刻は先行書き込みログへ追記した時点で受け付け、単一の反映スレッドが batchSize 件ごと、
+ * または flushInterval ごとに JDBC バッチでまとめて attendance_records へ反映する。
+ * 二重打刻の判定は PunchStateCache の当日の打刻状態（未保持の場合のみ DB から読み込み）で行うため、受付時に DB 書き込みは発生しない。
+ *
+ * 起動時は先行書き込みログの未反映分を同期的に再適用してから受付を開始する（反映は冪等）。
+ * DB 接続障害等の一時的な失敗はバッチごと再試行し、それ以外の失敗はバッチを分割して失敗する打刻を特定する。
+ * 単独でも反映できない打刻はデッドレターログへ退避し、後続の打刻の反映を妨げない。
+ * 勤怠履歴等の参照には最大 flushInterval 遅れて反映される。
+ * 受付時の応答には勤怠IDを含まない。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindPunchService {
+
+    private static final long RETRY_BACKOFF_MS = 1_000;
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final PunchStateCache punchStateCache;
+    private final WorkRuleService workRuleService;
+    private final PunchBatchWriter punchBatchWriter;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.attendance.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.attendance.write-behind.wal-path:${java.io.tmpdir}/kintai-punch.wal}")
+    private String walPath;
+
+    @Value("${app.attendance.write-behind.dead-letter-path:${java.io.tmpdir}/kintai-punch-dead-letter.log}")
+    private String deadLetterPath;
+
+    @Value("${app.attendance.write-behind.capacity:262144}")
+    private int capacity;
+
+    @Value("${app.attendance.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.attendance.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.attendance.write-behind.sync-on-append:false}")
+    private boolean syncOnAppend;
+
+    /**
+     * 先行書き込みログ・未反映リストの排他
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+
+    /**
+     * DB 未反映の打刻（通番順）
+     */
+    private final List<PunchRecord> pending = new ArrayList<>();
+
+    private PunchWriteAheadLog wal;
+    private TransactionTemplate transactionTemplate;
+    private Thread flusherThread;
+    private volatile boolean running;
+
+    private final AtomicLong recoveredCount = new AtomicLong();
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong deadLetterCount = new AtomicLong();
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        wal = new PunchWriteAheadLog(Path.of(walPath), capacity, syncOnAppend);
+
+        // 前回停止時の未反映分を再適用（反映できない打刻はデッドレターログへ退避。DB 接続障害の場合は起動を中止する）
+        List<PunchRecord> recovered = wal.recover();
+        for (int from = 0; from < recovered.size(); from += batchSize) {
+            List<PunchRecord> batch = recovered.subList(from, Math.min(from + batchSize, recovered.size()));
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                failedFlushCount.incrementAndGet();
+                isolate(batch, e);
+            }
+            wal.markFlushed(batch.get(batch.size() - 1).getSequence() + 1);
+        }
+        recoveredCount.set(recovered.size());
+        if (!recovered.isEmpty()) {
+            log.info("Punch WAL recovered: count={}, path={}", recovered.size(), walPath);
+        }
+
+        running = true;
+        flusherThread = new Thread(this::runFlusher, "punch-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException, IOException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        lock.lock();
+        try {
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusherThread.join(TimeUnit.SECONDS.toMillis(30));
+
+        lock.lock();
+        try {
+            wal.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 出勤打刻
+     */
+    public ClockResponse clockIn(Long employeeId) {
+        LocalDate today = DateUtil.getCurrentDate();
+        LocalDateTime now = DateUtil.getCurrentDateTime();
+        long loaded = stateOf(employeeId, today);
+        if (PunchStateCache.isClockedIn(loaded)) {
+            throw new BusinessException("ALREADY_CLOCKED_IN", "既に出勤打刻済みです");
+        }
+
+        // 遅刻時間計算（ロック外で実施）
+        int lateMinutes = workRuleService.calculateLateMinutes(employeeId, now);
+
+        lock.lock();
+        try {
+            if (PunchStateCache.isClockedIn(currentState(employeeId, today, loaded))) {
+                throw new BusinessException("ALREADY_CLOCKED_IN", "既に出勤打刻済みです");
+            }
+            enqueue(wal.append(PunchRecord.Type.CLOCK_IN, employeeId, today, now, lateMinutes, 0, 0, 0, 0));
+            punchStateCache.putAccepted(employeeId, today, PunchStateCache.stateOf(now, null));
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new ClockingEvent(this, employeeId,
+                AuthenticatedEmployee.employeeCodeOf(employeeId), "clock_in"));
+
+        String message = lateMinutes > 0 ?
+                String.format("出勤打刻が完了しました（%d分遅刻）", lateMinutes) :
+                "出勤打刻が完了しました";
+
+        return ClockResponse.builder()
+                .success(true)
+                .clockInTime(now)
+                .lateMinutes(lateMinutes)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 退勤打刻
+     */
+    public ClockResponse clockOut(Long employeeId) {
+        LocalDate today = DateUtil.getCurrentDate();
+        LocalDateTime now = DateUtil.getCurrentDateTime();
+        long loaded = stateOf(employeeId, today);
+
+        LocalDateTime clockIn = PunchStateCache.clockInTime(loaded);
+        if (clockIn == null) {
+            throw new BusinessException("NOT_CLOCKED_IN", "出勤打刻が必要です");
+        }
+
+        // 勤怠時間計算（社員の勤務ルール適用。ロック外で実施）
+        AttendanceCalculationResult calculation = workRuleService.calculateAttendanceTimes(employeeId, clockIn, now);
+
+        lock.lock();
+        try {
+            long current = currentState(employeeId, today, loaded);
+            if (PunchStateCache.isClockedOut(current)) {
+                throw new BusinessException("ALREADY_CLOCKED_OUT", "既に退勤打刻済みです");
+            }
+            if (!clockIn.equals(PunchStateCache.clockInTime(current))) {
+                // 計算に用いた出勤時刻が打刻修正承認等で変わった場合
+                throw new BusinessException("PUNCH_STATE_CHANGED", "打刻状態が変更されました。再度お試しください");
+            }
+            enqueue(wal.append(PunchRecord.Type.CLOCK_OUT, employeeId, today, now, 0,
+                    calculation.getWorkingMinutes(), calculation.getEarlyLeaveMinutes(),
+                    calculation.getOvertimeMinutes(), calculation.getNightShiftMinutes()));
+            punchStateCache.putAccepted(employeeId, today, PunchStateCache.stateOf(clockIn, now));
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new ClockingEvent(this, employeeId,
+                AuthenticatedEmployee.employeeCodeOf(employeeId), "clock_out"));
+
+        String message = calculation.getOvertimeMinutes() > 0 ?
+                String.format("退勤打刻が完了しました（%d分残業）", calculation.getOvertimeMinutes()) :
+                "退勤打刻が完了しました";
+
+        return ClockResponse.builder()
+                .success(true)
+                .clockOutTime(now)
+                .overtimeMinutes(calculation.getOvertimeMinutes())
+                .nightShiftMinutes(calculation.getNightShiftMinutes())
+                .workingMinutes(calculation.getWorkingMinutes())
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 処理状況取得
+     */
+    public PunchBufferStatus getStatus() {
+        long pendingCount = 0;
+        if (enabled) {
+            lock.lock();
+            try {
+                pendingCount = wal.pendingCount();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return PunchBufferStatus.builder()
+                .enabled(enabled)
+                .capacity(enabled ? capacity : 0)
+                .pendingCount(pendingCount)
+                .recoveredCount(recoveredCount.get())
+                .acceptedCount(acceptedCount.get())
+                .flushedCount(flushedCount.get())
+                .skippedCount(skippedCount.get())
+                .rejectedCount(rejectedCount.get())
+                .failedFlushCount(failedFlushCount.get())
+                .deadLetterCount(deadLetterCount.get())
+                .build();
+    }
+
+    /**
+     * 未反映リストへ追加（ロック保持中に呼び出し）
+     * @param record 追記したレコード（先行書き込みログが満杯の場合は null）
+     */
+    private void enqueue(PunchRecord record) {
+        if (record == null) {
+            rejectedCount.incrementAndGet();
+            throw new BusinessException("PUNCH_BUFFER_FULL", "打刻が集中しています。しばらくしてから再度お試しください");
+        }
+        pending.add(record);
+        acceptedCount.incrementAndGet();
+        if (pending.size() >= batchSize) {
+            flushRequested.signal();
+        }
+    }
+
+    /**
+     * 社員の当日の打刻状態取得（未保持の場合は DB から読み込み。ロック外で呼び出し）
+     */
+    private long stateOf(Long employeeId, LocalDate today) {
+        long state = punchStateCache.get(employeeId, today);
+        if (state != PunchStateCache.UNKNOWN) {
+            return state;
+        }
+        AttendanceRecord existing = attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(employeeId, today).orElse(null);
+        return existing != null ? PunchStateCache.stateOf(existing.getClockInTime(), existing.getClockOutTime())
+                : PunchStateCache.NOT_PUNCHED;
+    }
+
+    /**
+     * ロック取得後の打刻状態（読み込み中に他のリクエストが受け付けた場合はそちらを優先。ロック保持中に呼び出し）
+     */
+    private long currentState(Long employeeId, LocalDate today, long loaded) {
+        long state = punchStateCache.get(employeeId, today);
+        return state != PunchStateCache.UNKNOWN ? state : loaded;
+    }
+
+    /**
+     * 反映スレッド本体
+     */
+    private void runFlusher() {
+        while (true) {
+            List<PunchRecord> batch;
+            lock.lock();
+            try {
+                if (running && pending.size() < batchSize) {
+                    flushRequested.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+                }
+                if (pending.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+                List<PunchRecord> head = pending.subList(0, Math.min(batchSize, pending.size()));
+                batch = new ArrayList<>(head);
+                head.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!flush(batch)) {
+                if (!running) {
+                    // 停止中は再試行しない（先行書き込みログに残り、次回起動時に再適用される）
+                    return;
+                }
+                sleep(RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * バッチ反映
+     * 一時的な失敗の場合は未反映リストの先頭へ戻し、それ以外の失敗の場合は失敗する打刻をデッドレターログへ退避する
+     * @return 反映できた場合（退避を含む） true
+     */
+    private boolean flush(List<PunchRecord> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            failedFlushCount.incrementAndGet();
+            log.error("Failed to flush punches: count={}, error={}", batch.size(), e.getMessage());
+            if (isTransient(e)) {
+                requeue(batch);
+                return false;
+            }
+            try {
+                isolate(batch, e);
+            } catch (RuntimeException transientFailure) {
+                // 分割中の一時的な失敗（反映済みの打刻は再適用時に読み飛ばされる）
+                requeue(batch);
+                return false;
+            }
+        }
+
+        lock.lock();
+        try {
+            wal.markFlushed(batch.get(batch.size() - 1).getSequence() + 1);
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 未反映リストの先頭へ戻す（再試行）
+     */
+    private void requeue(List<PunchRecord> batch) {
+        lock.lock();
+        try {
+            pending.addAll(0, batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 失敗したバッチを分割して反映（単独でも反映できない打刻はデッドレターログへ退避）
+     * @param batch 反映に失敗したバッチ
+     * @param cause バッチの失敗原因
+     * @throws RuntimeException 一時的な失敗の場合（呼び出し側でバッチごと再試行する）
+     */
+    private void isolate(List<PunchRecord> batch, RuntimeException cause) {
+        if (batch.size() == 1) {
+            deadLetter(batch.get(0), cause);
+            return;
+        }
+        int middle = batch.size() / 2;
+        for (List<PunchRecord> half : List.of(batch.subList(0, middle), batch.subList(middle, batch.size()))) {
+            try {
+                write(half);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                isolate(half, e);
+            }
+        }
+    }
+
+    /**
+     * 反映できない打刻をデッドレターログへ退避
+     */
+    private void deadLetter(PunchRecord record, RuntimeException cause) {
+        deadLetterCount.incrementAndGet();
+        // 受付時に登録した打刻状態は DB と一致しないため破棄（次回の打刻で DB から読み込み直す）
+        punchStateCache.evictAfterCommit(record.getEmployeeId(), record.getAttendanceDate());
+        log.error("Punch moved to dead letter log: record={}, error={}", record, cause.getMessage());
+        String line = Instant.now() + "\t" + record + "\t" + cause + System.lineSeparator();
+        try {
+            Files.writeString(Path.of(deadLetterPath), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Failed to write punch dead letter log: path={}, error={}", deadLetterPath, e.getMessage());
+        }
+    }
+
+    /**
+     * 一時的な失敗（DB 接続障害・タイムアウト等。時間をおいて再試行すれば反映できる）判定
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * 1トランザクションで一括反映
+     */
+    private void write(List<PunchRecord> batch) {
+        Integer applied = transactionTemplate.execute(status -> punchBatchWriter.write(batch));
+        int count = applied != null ? applied : 0;
+        flushedCount.addAndGet(count);
+        skippedCount.addAndGet(batch.size() - count);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
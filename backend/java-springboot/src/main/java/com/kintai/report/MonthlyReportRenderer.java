@@ -0,0 +1,159 @@
+package com.kintai.report;
+
+import com.kintai.dto.AttendanceHistoryResponse;
+import com.kintai.dto.AttendanceInfo;
+import com.kintai.dto.AttendanceSummary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 月次勤怠レポート描画
+ * FastAPI 側の report_template.html と同じ構成（日次明細・月次集計・遅刻早退回数）の
+ * 印刷用 HTML（A4）を出力する。
+ */
+@Component
+public class MonthlyReportRenderer {
+
+    private static final DateTimeFormatter GENERATED_AT = DateTimeFormatter.ofPattern("yyyy年MM月dd日 HH:mm");
+
+    private static final Map<String, String> ATTENDANCE_STATUS = Map.of(
+            "normal", "出勤",
+            "paid_leave", "有給",
+            "absent", "欠勤");
+
+    private static final Map<String, String> SUBMISSION_STATUS = Map.of(
+            "未提出", "未提出",
+            "申請済", "申請済",
+            "承認", "確定済",
+            "却下", "却下");
+
+    private static final String CSS = """
+            @page { margin: 20mm; size: A4; }
+            body { font-family: sans-serif; font-size: 12px; line-height: 1.4; color: #333; }
+            .header { text-align: center; margin-bottom: 20px; border-bottom: 2px solid #333; padding-bottom: 10px; }
+            .header h1 { margin: 0; font-size: 18px; font-weight: bold; }
+            .info-section { margin-bottom: 15px; }
+            .info-section .label { font-weight: bold; display: inline-block; width: 80px; }
+            table { width: 100%; border-collapse: collapse; margin-bottom: 20px; font-size: 10px; }
+            th, td { border: 1px solid #ddd; padding: 5px; text-align: center; }
+            th { background-color: #f5f5f5; font-weight: bold; }
+            .summary-table { margin-top: 20px; }
+            .summary-table th { background-color: #e8f4f8; }
+            .footer { margin-top: 30px; text-align: right; font-size: 10px; color: #666; }
+            """;
+
+    /**
+     * レポート描画
+     * @param history 勤怠履歴（対象月）
+     * @param generatedAt 生成日時
+     * @param out 出力先
+     */
+    public void render(AttendanceHistoryResponse history, LocalDateTime generatedAt, Writer out) throws IOException {
+        StringBuilder html = new StringBuilder(16 * 1024);
+        html.append("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>勤怠管理レポート</title>\n<style>").append(CSS).append("</style>\n</head>\n<body>\n");
+
+        html.append("<div class=\"header\">\n<h1>勤怠管理レポート</h1>\n<div class=\"report-info\">\n");
+        info(html, "対象期間", history.getPeriod().getFrom() + " ～ " + history.getPeriod().getTo());
+        info(html, "社員名", history.getEmployee().getEmployeeName());
+        info(html, "社員コード", history.getEmployee().getEmployeeCode());
+        info(html, "生成日時", GENERATED_AT.format(generatedAt));
+        html.append("</div>\n</div>\n");
+
+        html.append("<div class=\"daily-details\">\n<h2>日次勤怠明細</h2>\n<table>\n<thead>\n<tr>")
+                .append("<th>日付</th><th>出勤時刻</th><th>退勤時刻</th><th>遅刻時間</th><th>早退時間</th>")
+                .append("<th>残業時間</th><th>深夜時間</th><th>ステータス</th><th>承認状況</th>")
+                .append("</tr>\n</thead>\n<tbody>\n");
+        int lateCount = 0;
+        int earlyLeaveCount = 0;
+        for (AttendanceInfo record : history.getAttendanceList()) {
+            html.append("<tr>");
+            cell(html, record.getAttendanceDate());
+            cell(html, record.getClockInTime() != null ? record.getClockInTime() : "-");
+            cell(html, record.getClockOutTime() != null ? record.getClockOutTime() : "-");
+            cell(html, toHhmm(record.getLateMinutes()));
+            cell(html, toHhmm(record.getEarlyLeaveMinutes()));
+            cell(html, toHhmm(record.getOvertimeMinutes()));
+            cell(html, toHhmm(record.getNightShiftMinutes()));
+            cell(html, ATTENDANCE_STATUS.getOrDefault(record.getAttendanceStatus(), record.getAttendanceStatus()));
+            cell(html, Boolean.TRUE.equals(record.getAttendanceFixedFlag()) ? "確定済"
+                    : SUBMISSION_STATUS.getOrDefault(record.getSubmissionStatus(), record.getSubmissionStatus()));
+            html.append("</tr>\n");
+            lateCount += positive(record.getLateMinutes());
+            earlyLeaveCount += positive(record.getEarlyLeaveMinutes());
+        }
+        html.append("</tbody>\n</table>\n</div>\n");
+
+        AttendanceSummary summary = history.getSummary();
+        html.append("<div class=\"summary-section\">\n<h2>月次集計</h2>\n<table class=\"summary-table\">\n<tbody>\n");
+        row(html, "実働時間合計", toHhmm(summary.getTotalWorkingMinutes()));
+        row(html, "残業時間合計", toHhmm(summary.getTotalOvertimeMinutes()));
+        row(html, "深夜勤務時間合計", toHhmm(summary.getTotalNightShiftMinutes()));
+        row(html, "遅刻時間合計", toHhmm(summary.getTotalLateMinutes()));
+        row(html, "早退時間合計", toHhmm(summary.getTotalEarlyLeaveMinutes()));
+        row(html, "有給取得日数", summary.getPaidLeaveDays() + "日");
+        row(html, "欠勤日数", summary.getAbsentDays() + "日");
+        html.append("</tbody>\n</table>\n</div>\n");
+
+        html.append("<div class=\"detail-counts\">\n<h3>詳細情報</h3>\n<table class=\"summary-table\">\n<tbody>\n");
+        row(html, "遅刻回数", lateCount + "回");
+        row(html, "早退回数", earlyLeaveCount + "回");
+        html.append("</tbody>\n</table>\n</div>\n");
+
+        html.append("<div class=\"footer\">\n<p>勤怠管理システム - 月次レポート出力</p>\n")
+                .append("<p>※このレポートは自動生成されています</p>\n</div>\n</body>\n</html>\n");
+        out.append(html);
+    }
+
+    private void info(StringBuilder html, String label, String value) {
+        html.append("<div class=\"info-section\"><span class=\"label\">").append(label).append("：</span>");
+        escape(html, value);
+        html.append("</div>\n");
+    }
+
+    private void row(StringBuilder html, String label, String value) {
+        html.append("<tr><th>").append(label).append("</th>");
+        cell(html, value);
+        html.append("</tr>\n");
+    }
+
+    private void cell(StringBuilder html, String value) {
+        html.append("<td>");
+        escape(html, value);
+        html.append("</td>");
+    }
+
+    private void escape(StringBuilder html, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                case '\'' -> html.append("&#39;");
+                default -> html.append(c);
+            }
+        }
+    }
+
+    private int positive(Integer minutes) {
+        return minutes != null && minutes > 0 ? 1 : 0;
+    }
+
+    /**
+     * 分を HH:MM 形式に変換
+     */
+    private String toHhmm(Integer minutes) {
+        int value = minutes != null ? minutes : 0;
+        return String.format("%02d:%02d", value / 60, value % 60);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kintai.report;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * レポートファイル送信
+ * Tomcat の sendfile に対応している場合は、ファイル送信をコネクターに委ねる（カーネル内でソケットへ転送）。
+ * 非対応の場合は FileChannel.transferTo で応答ストリームへ転送する（ヒープへの読み込み・中間バッファなし）。
+ */
+@Component
+public class ReportFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * ファイル送信（Content-Type 等のヘッダーは呼び出し側で設定済みであること）
+     * @param file 送信するファイル
+     * @param request リクエスト
+     * @param response レスポンス
+     */
+    public void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // サーブレット終了後にコネクターが送信する
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+            response.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.kintai.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.dto.AttendanceHistoryRequest;
+import com.kintai.dto.AttendanceHistoryResponse;
+import com.kintai.dto.ReportJobStatus;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.AttendanceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 月次レポート生成サービス
+ * 生成依頼をジョブとして受け付け、固定数のワーカーで描画してファイルに保存する。
+ *
+ * 生成済みファイルは (社員ID, 対象月, データバージョン) をファイル名とし、同じ内容の依頼では再描画しない。
+ * データバージョンは勤怠履歴（明細・集計・社員情報）の内容ダイジェストで、打刻・修正・再計算で変わる。
+ * ジョブとファイルは保持期間を過ぎると、次回の受付時にまとめて削除する。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportService {
+
+    private static final DateTimeFormatter FILE_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String EXTENSION = ".html";
+
+    private final AttendanceService attendanceService;
+    private final EmployeeRepository employeeRepository;
+    private final MonthlyReportRenderer renderer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.report.storage-dir:${java.io.tmpdir}/kintai-reports}")
+    private String storageDir;
+
+    @Value("${app.report.workers:2}")
+    private int workers;
+
+    @Value("${app.report.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.report.retention:24h}")
+    private Duration retention;
+
+    private final Map<String, ReportJobStatus> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    private Path storage;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() throws IOException {
+        storage = Files.createDirectories(Paths.get(storageDir));
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-render-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * レポート生成依頼
+     * @param employeeId 社員ID
+     * @param month 対象年月
+     * @return 受付時点のジョブ状況
+     */
+    public ReportJobStatus submit(Long employeeId, YearMonth month) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new BusinessException("EMPLOYEE_NOT_FOUND", "社員が見つかりません");
+        }
+        sweepExpired();
+
+        LocalDateTime now = LocalDateTime.now();
+        ReportJobStatus job = ReportJobStatus.builder()
+                .jobId(UUID.randomUUID().toString())
+                .employeeId(employeeId)
+                .yearMonth(month.toString())
+                .state(ReportJobStatus.State.QUEUED)
+                .submittedAt(now)
+                .expiresAt(now.plus(retention))
+                .build();
+        jobs.put(job.getJobId(), job);
+
+        try {
+            executor.execute(() -> render(job.getJobId(), employeeId, month));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw new BusinessException("REPORT_QUEUE_FULL", "レポート生成の受付上限に達しました。しばらくしてから再度お試しください");
+        }
+        return job;
+    }
+
+    /**
+     * ジョブ状況取得
+     * @param jobId ジョブID
+     * @return ジョブ状況
+     */
+    public ReportJobStatus getJob(String jobId) {
+        ReportJobStatus job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException("REPORT_NOT_FOUND", "レポート生成ジョブが見つかりません");
+        }
+        return job;
+    }
+
+    /**
+     * 生成済みレポートファイル取得
+     * @param jobId ジョブID
+     * @return レポートファイル
+     */
+    public Path getReportFile(String jobId) {
+        ReportJobStatus job = getJob(jobId);
+        if (job.getState() != ReportJobStatus.State.COMPLETED) {
+            throw new BusinessException("REPORT_NOT_READY", "レポートはまだ生成されていません");
+        }
+        Path file = storage.resolve(job.getFileName());
+        if (!Files.isRegularFile(file)) {
+            throw new BusinessException("REPORT_NOT_FOUND", "レポートの保持期間が終了しました");
+        }
+        return file;
+    }
+
+    /**
+     * レポート描画（ワーカースレッド）
+     */
+    private void render(String jobId, Long employeeId, YearMonth month) {
+        jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder().state(ReportJobStatus.State.RUNNING).build());
+        try {
+            AttendanceHistoryRequest request = new AttendanceHistoryRequest();
+            request.setEmployeeId(employeeId);
+            request.setYearMonth(month.toString());
+            AttendanceHistoryResponse history = attendanceService.getAttendanceHistory(request);
+
+            String fileName = employeeId + "_" + month.format(FILE_MONTH) + "_" + dataVersion(history) + EXTENSION;
+            Path file = storage.resolve(fileName);
+            boolean cacheHit = Files.isRegularFile(file);
+            if (cacheHit) {
+                // 保持期間を延長
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            } else {
+                Path temp = Files.createTempFile(storage, "render-", ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    renderer.render(history, LocalDateTime.now(), writer);
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long size = Files.size(file);
+            jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder()
+                    .state(ReportJobStatus.State.COMPLETED)
+                    .cacheHit(cacheHit)
+                    .fileName(fileName)
+                    .fileSize(size)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+            log.info("Report rendered: jobId={}, employeeId={}, month={}, cacheHit={}", jobId, employeeId, month, cacheHit);
+        } catch (Exception e) {
+            log.error("Report rendering failed: jobId={}, employeeId={}, month={}", jobId, employeeId, month, e);
+            jobs.computeIfPresent(jobId, (id, job) -> job.toBuilder()
+                    .state(ReportJobStatus.State.FAILED)
+                    .errorMessage(e instanceof BusinessException ? e.getMessage() : "レポート生成に失敗しました")
+                    .completedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    /**
+     * データバージョン（勤怠履歴の内容ダイジェストの先頭16桁）
+     */
+    private String dataVersion(AttendanceHistoryResponse history) throws IOException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(history));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 保持期間を過ぎたジョブ・ファイルの削除（1分に1回まで）
+     */
+    private void sweepExpired() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < TimeUnit.MINUTES.toNanos(1) || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+
+        LocalDateTime current = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.getExpiresAt().isBefore(current));
+
+        Instant threshold = Instant.now().minus(retention);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storage, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(threshold)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep expired reports: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kintai.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 出勤打刻リポジトリ
+ * (employee_id, attendance_date) の一意キーに対する1文の upsert で出勤打刻を登録する。
+ * 当日の勤怠記録が無ければ作成し、出勤時刻が未登録の記録（有給承認で作成された記録等）には出勤時刻を設定する。
+ * 出勤時刻が登録済みの記録は変更しない（同時打刻でも記録は1件・出勤時刻は先着のまま）。
+ *
+ * MySQL は INSERT ... ON DUPLICATE KEY UPDATE、H2（テスト）は MERGE を使用する。
+ * 勤怠ステータス・申請ステータスは列の既定値（通常・未提出）で作成する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceClockInRepository {
+
+    /**
+     * MySQL: 出勤時刻未登録の場合のみ更新し、LAST_INSERT_ID(attendance_id) で勤怠IDを返す
+     * 出勤時刻登録済みの場合は何も設定しないため、生成キーが返らない
+     * （列の代入は左から順に評価されるため clock_in_time は最後に代入する）
+     */
+    private static final String MYSQL_UPSERT_SQL =
+            "INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, late_minutes, " +
+            "early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_fixed_flag, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, 0, 0, 0, 0, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "attendance_id = IF(clock_in_time IS NULL, LAST_INSERT_ID(attendance_id), attendance_id), " +
+            "late_minutes = IF(clock_in_time IS NULL, VALUES(late_minutes), late_minutes), " +
+            "updated_at = IF(clock_in_time IS NULL, VALUES(updated_at), updated_at), " +
+            "clock_in_time = IF(clock_in_time IS NULL, VALUES(clock_in_time), clock_in_time)";
+
+    /**
+     * H2: 出勤時刻登録済みの場合は更新件数 0
+     */
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO attendance_records t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS TIMESTAMP), CAST(? AS INT), " +
+            "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "s (employee_id, attendance_date, clock_in_time, late_minutes, created_at, updated_at) " +
+            "ON t.employee_id = s.employee_id AND t.attendance_date = s.attendance_date " +
+            "WHEN MATCHED AND t.clock_in_time IS NULL THEN UPDATE SET " +
+            "clock_in_time = s.clock_in_time, late_minutes = s.late_minutes, updated_at = s.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (employee_id, attendance_date, clock_in_time, late_minutes, " +
+            "early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_fixed_flag, created_at, updated_at) " +
+            "VALUES (s.employee_id, s.attendance_date, s.clock_in_time, s.late_minutes, 0, 0, 0, FALSE, s.created_at, s.updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 接続先が H2 か（初回実行時に判定）
+     */
+    private volatile Boolean h2;
+
+    /**
+     * 出勤打刻登録
+     * @param employeeId 社員ID
+     * @param attendanceDate 勤怠日
+     * @param clockInTime 出勤時刻
+     * @param lateMinutes 遅刻時間（分）
+     * @return 勤怠ID（出勤打刻済みで登録しなかった場合は null）
+     */
+    public Long clockIn(Long employeeId, LocalDate attendanceDate, LocalDateTime clockInTime, int lateMinutes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] args = { employeeId, Date.valueOf(attendanceDate), Timestamp.valueOf(clockInTime), lateMinutes, now, now };
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        boolean useMerge = isH2();
+        int updated = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    useMerge ? H2_MERGE_SQL : MYSQL_UPSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keyHolder);
+
+        Long attendanceId = firstKey(keyHolder);
+        if (!useMerge) {
+            return attendanceId;
+        }
+        if (updated == 0) {
+            return null;
+        }
+        // H2 は更新時に生成キーを返さない
+        return attendanceId != null ? attendanceId : jdbcTemplate.queryForObject(
+                "SELECT attendance_id FROM attendance_records WHERE employee_id = ? AND attendance_date = ?",
+                Long.class, employeeId, Date.valueOf(attendanceDate));
+    }
+
+    /**
+     * 先頭の生成キー（0 は生成なし）
+     * MySQL は更新時に影響行数 2 として連番のキーを返すため、先頭のみ使用する
+     */
+    private Long firstKey(KeyHolder keyHolder) {
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.isEmpty() || keys.get(0).isEmpty()) {
+            return null;
+        }
+        Object key = keys.get(0).values().iterator().next();
+        long value = key instanceof Number number ? number.longValue() : 0L;
+        return value > 0 ? value : null;
+    }
+
+    private boolean isH2() {
+        Boolean cached = h2;
+        if (cached == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            cached = "H2".equalsIgnoreCase(product);
+            h2 = cached;
+        }
+        return cached;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +35,15 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
      */
     List<AttendanceRecord> findByEmployeeIdAndAttendanceDateBetween(Long employeeId, LocalDate start, LocalDate end);
 
+    /**
+     * 複数社員IDと期間で勤怠記録一覧を検索
+     * @param employeeIds 社員ID一覧
+     * @param start 開始日
+     * @param end 終了日
+     * @return 勤怠記録一覧
+     */
+    List<AttendanceRecord> findByEmployeeIdInAndAttendanceDateBetween(Collection<Long> employeeIds, LocalDate start, LocalDate end);
+
     /**
      * 社員IDと期間で勤怠記録一覧を検索（勤怠日順）
      * @param employeeId 社員ID
@@ -2,8 +2,11 @@ package com.kintai.repository;
 
 import com.kintai.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,4 +53,36 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return 社員一覧
      */
     List<Employee> findByEmployeeNameContainingOrEmployeeCodeContaining(String name, String code);
+    
+    /**
+     * 雇用ステータスで社員ID一覧を検索（社員ID順）
+     * @param status 雇用ステータス
+     * @return 社員ID一覧
+     */
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.employmentStatus = :status ORDER BY e.employeeId")
+    List<Long> findEmployeeIdsByEmploymentStatus(@Param("status") Employee.EmploymentStatus status);
+
+    /**
+     * 指定した社員IDのうち存在するものを検索
+     * @param employeeIds 社員ID一覧
+     * @return 存在する社員ID一覧
+     */
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.employeeId IN :employeeIds")
+    List<Long> findExistingEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * 社員の勤務ルールIDを検索
+     * @param employeeId 社員ID
+     * @return 勤務ルールID（未設定の場合は空）
+     */
+    @Query("SELECT e.workRuleId FROM Employee e WHERE e.employeeId = :employeeId")
+    Optional<Long> findWorkRuleIdByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * 社員のトークンバージョンを検索
+     * @param employeeId 社員ID
+     * @return トークンバージョン（社員が存在しない場合は空）
+     */
+    @Query("SELECT e.tokenVersion FROM Employee e WHERE e.employeeId = :employeeId")
+    Optional<Long> findTokenVersionByEmployeeId(@Param("employeeId") Long employeeId);
 }
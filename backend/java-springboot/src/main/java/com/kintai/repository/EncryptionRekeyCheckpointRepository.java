@@ -0,0 +1,12 @@
+package com.kintai.repository;
+
+import com.kintai.entity.EncryptionRekeyCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 再暗号化チェックポイントリポジトリ
+ */
+@Repository
+public interface EncryptionRekeyCheckpointRepository extends JpaRepository<EncryptionRekeyCheckpoint, Integer> {
+}
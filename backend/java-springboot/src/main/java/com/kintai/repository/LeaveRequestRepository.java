@@ -1,10 +1,15 @@
 package com.kintai.repository;
 
+import com.kintai.dto.RequestListItem;
 import com.kintai.entity.LeaveRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +54,26 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
      * @return 有給申請一覧（作成日時降順）
      */
     List<LeaveRequest> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * 有給申請一覧をキーセット方式で検索（作成日時降順・ID降順）
+     * (作成日時, ID) が指定位置より後ろの行のみを返すため、ページが進んでも読み飛ばしが発生しない
+     * @param employeeId 社員ID（null の場合は全社員）
+     * @param status 申請ステータス（null の場合は全ステータス）
+     * @param createdAt 直前に返した行の作成日時
+     * @param requestId 直前に返した行のID
+     * @param pageable 取得件数
+     * @return 有給申請一覧（一覧用の射影）
+     */
+    @Query("SELECT new com.kintai.dto.RequestListItem(r.leaveRequestId, r.employeeId, r.leaveRequestDate, r.leaveRequestReason, " +
+           "r.leaveRequestStatus, r.approvedAt, r.createdAt) FROM LeaveRequest r " +
+           "WHERE (:employeeId IS NULL OR r.employeeId = :employeeId) " +
+           "AND (:status IS NULL OR r.leaveRequestStatus = :status) " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.leaveRequestId < :requestId)) " +
+           "ORDER BY r.createdAt DESC, r.leaveRequestId DESC")
+    List<RequestListItem> findListItemsBefore(@Param("employeeId") Long employeeId,
+                                              @Param("status") LeaveRequest.LeaveRequestStatus status,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("requestId") Long requestId,
+                                              Pageable pageable);
 }
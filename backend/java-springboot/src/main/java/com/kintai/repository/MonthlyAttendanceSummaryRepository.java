@@ -0,0 +1,45 @@
+package com.kintai.repository;
+
+import com.kintai.entity.MonthlyAttendanceSummary;
+import com.kintai.entity.MonthlyAttendanceSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 月次勤怠サマリーリポジトリ
+ * 月次勤怠サマリーのデータアクセス層
+ */
+@Repository
+public interface MonthlyAttendanceSummaryRepository extends JpaRepository<MonthlyAttendanceSummary, MonthlyAttendanceSummaryId> {
+
+    /**
+     * 集計値の差分加算（単一UPDATE文で原子的に加算）
+     * @return 更新件数（サマリー未作成の場合0）
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlyAttendanceSummary s SET " +
+           "s.totalWorkingMinutes = s.totalWorkingMinutes + :working, " +
+           "s.totalOvertimeMinutes = s.totalOvertimeMinutes + :overtime, " +
+           "s.totalNightShiftMinutes = s.totalNightShiftMinutes + :nightShift, " +
+           "s.totalLateMinutes = s.totalLateMinutes + :late, " +
+           "s.totalEarlyLeaveMinutes = s.totalEarlyLeaveMinutes + :earlyLeave, " +
+           "s.paidLeaveDays = s.paidLeaveDays + :paidLeave, " +
+           "s.absentDays = s.absentDays + :absent, " +
+           "s.updatedAt = :now " +
+           "WHERE s.employeeId = :employeeId AND s.targetMonth = :targetMonth")
+    int addDelta(@Param("employeeId") Long employeeId,
+                 @Param("targetMonth") String targetMonth,
+                 @Param("working") int working,
+                 @Param("overtime") int overtime,
+                 @Param("nightShift") int nightShift,
+                 @Param("late") int late,
+                 @Param("earlyLeave") int earlyLeave,
+                 @Param("paidLeave") int paidLeave,
+                 @Param("absent") int absent,
+                 @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,119 @@
+package com.kintai.repository;
+
+import com.kintai.dto.AttendanceSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 月次勤怠サマリー作成リポジトリ
+ * (employee_id, target_month) の主キーに対する1文の upsert で、サマリー未作成の月の初回書き込みを行う。
+ * サマリーが無ければ集計値で作成し、同時に他のトランザクションが作成済みの場合は差分のみ加算する
+ * （後から実行した側は先に作成した側のコミットを待ってから加算するため、主キー違反にならない）。
+ *
+ * MySQL は INSERT ... ON DUPLICATE KEY UPDATE、H2（テスト）は MERGE を使用する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class MonthlyAttendanceSummaryUpsertRepository {
+
+    private static final String MYSQL_UPSERT_SQL =
+            "INSERT INTO monthly_attendance_summaries (employee_id, target_month, total_working_minutes, " +
+            "total_overtime_minutes, total_night_shift_minutes, total_late_minutes, total_early_leave_minutes, " +
+            "paid_leave_days, absent_days, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_working_minutes = total_working_minutes + ?, " +
+            "total_overtime_minutes = total_overtime_minutes + ?, " +
+            "total_night_shift_minutes = total_night_shift_minutes + ?, " +
+            "total_late_minutes = total_late_minutes + ?, " +
+            "total_early_leave_minutes = total_early_leave_minutes + ?, " +
+            "paid_leave_days = paid_leave_days + ?, " +
+            "absent_days = absent_days + ?, " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO monthly_attendance_summaries t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(7)), " +
+            "CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), " +
+            "CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), " +
+            "CAST(? AS TIMESTAMP))) " +
+            "s (employee_id, target_month, working, overtime, night_shift, late, early_leave, paid_leave, absent, " +
+            "d_working, d_overtime, d_night_shift, d_late, d_early_leave, d_paid_leave, d_absent, now) " +
+            "ON t.employee_id = s.employee_id AND t.target_month = s.target_month " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "total_working_minutes = t.total_working_minutes + s.d_working, " +
+            "total_overtime_minutes = t.total_overtime_minutes + s.d_overtime, " +
+            "total_night_shift_minutes = t.total_night_shift_minutes + s.d_night_shift, " +
+            "total_late_minutes = t.total_late_minutes + s.d_late, " +
+            "total_early_leave_minutes = t.total_early_leave_minutes + s.d_early_leave, " +
+            "paid_leave_days = t.paid_leave_days + s.d_paid_leave, " +
+            "absent_days = t.absent_days + s.d_absent, " +
+            "updated_at = s.now " +
+            "WHEN NOT MATCHED THEN INSERT (employee_id, target_month, total_working_minutes, total_overtime_minutes, " +
+            "total_night_shift_minutes, total_late_minutes, total_early_leave_minutes, paid_leave_days, absent_days, " +
+            "created_at, updated_at) " +
+            "VALUES (s.employee_id, s.target_month, s.working, s.overtime, s.night_shift, s.late, s.early_leave, " +
+            "s.paid_leave, s.absent, s.now, s.now)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 接続先が H2 か（初回実行時に判定）
+     */
+    private volatile Boolean h2;
+
+    /**
+     * サマリー作成（作成済みの場合は差分加算）
+     * @param employeeId 社員ID
+     * @param targetMonth 対象年月（YYYY-MM形式）
+     * @param totals 作成時の集計値（当月の勤怠記録から集計）
+     * @param delta 作成済みの場合に加算する差分
+     * @param now 更新日時
+     */
+    public void createOrAdd(Long employeeId, String targetMonth, AttendanceSummary totals, AttendanceSummary delta,
+                            LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object> args = new ArrayList<>(18);
+        args.add(employeeId);
+        args.add(targetMonth);
+        addValues(args, totals);
+        if (isH2()) {
+            addValues(args, delta);
+            args.add(timestamp);
+            jdbcTemplate.update(H2_MERGE_SQL, args.toArray());
+        } else {
+            args.add(timestamp);
+            args.add(timestamp);
+            addValues(args, delta);
+            jdbcTemplate.update(MYSQL_UPSERT_SQL, args.toArray());
+        }
+    }
+
+    private static void addValues(List<Object> args, AttendanceSummary summary) {
+        args.add(summary.getTotalWorkingMinutes());
+        args.add(summary.getTotalOvertimeMinutes());
+        args.add(summary.getTotalNightShiftMinutes());
+        args.add(summary.getTotalLateMinutes());
+        args.add(summary.getTotalEarlyLeaveMinutes());
+        args.add(summary.getPaidLeaveDays());
+        args.add(summary.getAbsentDays());
+    }
+
+    private boolean isH2() {
+        Boolean cached = h2;
+        if (cached == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            cached = "H2".equalsIgnoreCase(product);
+            h2 = cached;
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kintai.repository;
+
+import com.kintai.entity.WorkRuleBreak;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 勤務ルール休憩リポジトリ
+ * 勤務ルール休憩のデータアクセス層
+ */
+@Repository
+public interface WorkRuleBreakRepository extends JpaRepository<WorkRuleBreak, Long> {
+
+    /**
+     * 勤務ルールIDで休憩一覧を検索（開始時刻順）
+     * @param workRuleId 勤務ルールID
+     * @return 休憩一覧
+     */
+    List<WorkRuleBreak> findByWorkRuleIdOrderByBreakStartTime(Long workRuleId);
+
+    /**
+     * 勤務ルールの休憩を全件削除
+     * @param workRuleId 勤務ルールID
+     */
+    void deleteByWorkRuleId(Long workRuleId);
+}
@@ -0,0 +1,22 @@
+package com.kintai.repository;
+
+import com.kintai.entity.WorkRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 勤務ルールリポジトリ
+ * 勤務ルールのデータアクセス層
+ */
+@Repository
+public interface WorkRuleRepository extends JpaRepository<WorkRule, Long> {
+
+    /**
+     * 勤務ルールコードで検索
+     * @param ruleCode 勤務ルールコード
+     * @return 勤務ルール（Optional）
+     */
+    Optional<WorkRule> findByRuleCode(String ruleCode);
+}
@@ -6,12 +6,26 @@ import javax.crypto.Cipher;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AES暗号化ユーティリティ
  * GCMモードを使用した高セキュリティ暗号化
+ *
+ * 鍵は鍵文字列ごとに1回だけ生成してキャッシュし、Cipher は共有のプールから借りて再利用する
+ * （仮想スレッドはリクエストごとに生成されるため、スレッドごとのキャッシュでは再利用されない）。
+ * IV はブロックしない共有の乱数生成器（DRBG）から取得する。
  */
 @Component
 public class AESUtil {
@@ -20,20 +34,109 @@ public class AESUtil {
     private static final int GCM_IV_LENGTH = 12;
     private static final int GCM_TAG_LENGTH = 16;
     
+    /**
+     * IV 生成用の共有乱数生成器（スレッドセーフ。/dev/random でブロックしない）
+     */
+    private final SecureRandom secureRandom = createSecureRandom();
+    
+    /**
+     * 鍵キャッシュ（鍵文字列→鍵）
+     */
+    private final Map<String, SecretKeySpec> keyCache = new ConcurrentHashMap<>();
+    
+    /**
+     * Cipher の保持上限（超過分は返却時に破棄）
+     */
+    private static final int CIPHER_POOL_SIZE = 64;
+    
+    /**
+     * 未使用の Cipher（Cipher はスレッドセーフではないため、使用中は1スレッドが占有する）
+     */
+    private final BlockingQueue<Cipher> cipherPool = new ArrayBlockingQueue<>(CIPHER_POOL_SIZE);
+    
     /**
      * 暗号化
      */
     public String encrypt(String plainText, String key) throws Exception {
-        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(), "AES");
-        
+        SecretKeySpec secretKey = getSecretKey(key);
+        Cipher cipher = borrowCipher();
+        try {
+            return encrypt(plainText, secretKey, cipher);
+        } finally {
+            cipherPool.offer(cipher);
+        }
+    }
+    
+    /**
+     * 復号化
+     */
+    public String decrypt(String encryptedText, String key) throws Exception {
+        SecretKeySpec secretKey = getSecretKey(key);
+        Cipher cipher = borrowCipher();
+        try {
+            return decrypt(encryptedText, secretKey, cipher);
+        } finally {
+            cipherPool.offer(cipher);
+        }
+    }
+    
+    /**
+     * 一括暗号化（null はそのまま null を返す）
+     * @param plainTexts 平文一覧
+     * @param key 鍵文字列
+     * @return 暗号文一覧（入力と同じ順序）
+     */
+    public List<String> encryptAll(List<String> plainTexts, String key) throws Exception {
+        SecretKeySpec secretKey = getSecretKey(key);
+        Cipher cipher = borrowCipher();
+        try {
+            List<String> result = new ArrayList<>(plainTexts.size());
+            for (String plainText : plainTexts) {
+                result.add(plainText != null ? encrypt(plainText, secretKey, cipher) : null);
+            }
+            return result;
+        } finally {
+            cipherPool.offer(cipher);
+        }
+    }
+    
+    /**
+     * 一括復号化（null はそのまま null を返す）
+     * @param encryptedTexts 暗号文一覧
+     * @param key 鍵文字列
+     * @return 平文一覧（入力と同じ順序）
+     */
+    public List<String> decryptAll(List<String> encryptedTexts, String key) throws Exception {
+        SecretKeySpec secretKey = getSecretKey(key);
+        Cipher cipher = borrowCipher();
+        try {
+            List<String> result = new ArrayList<>(encryptedTexts.size());
+            for (String encryptedText : encryptedTexts) {
+                result.add(encryptedText != null ? decrypt(encryptedText, secretKey, cipher) : null);
+            }
+            return result;
+        } finally {
+            cipherPool.offer(cipher);
+        }
+    }
+    
+    /**
+     * Cipher 取得（プールが空の場合は生成）
+     * 使用後は cipherPool へ返却すること（プールが満杯の場合は破棄される）
+     */
+    private Cipher borrowCipher() throws GeneralSecurityException {
+        Cipher cipher = cipherPool.poll();
+        return cipher != null ? cipher : Cipher.getInstance(ALGORITHM);
+    }
+    
+    private String encrypt(String plainText, SecretKeySpec secretKey, Cipher cipher) throws GeneralSecurityException {
         byte[] iv = new byte[GCM_IV_LENGTH];
-        SecureRandom.getInstanceStrong().nextBytes(iv);
+        secureRandom.nextBytes(iv);
         
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
         GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
         cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
         
-        byte[] encryptedText = cipher.doFinal(plainText.getBytes());
+        byte[] encryptedText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
         
         ByteBuffer byteBuffer = ByteBuffer.allocate(4 + iv.length + encryptedText.length);
         byteBuffer.putInt(iv.length);
@@ -43,25 +146,51 @@ public class AESUtil {
         return Base64.getEncoder().encodeToString(byteBuffer.array());
     }
     
-    /**
-     * 復号化
-     */
-    public String decrypt(String encryptedText, String key) throws Exception {
+    private String decrypt(String encryptedText, SecretKeySpec secretKey, Cipher cipher) throws GeneralSecurityException {
         byte[] decodedText = Base64.getDecoder().decode(encryptedText);
         
         ByteBuffer byteBuffer = ByteBuffer.wrap(decodedText);
         int ivLength = byteBuffer.getInt();
-        byte[] iv = new byte[ivLength];
-        byteBuffer.get(iv);
-        byte[] encrypted = new byte[byteBuffer.remaining()];
-        byteBuffer.get(encrypted);
+        if (ivLength <= 0 || ivLength > byteBuffer.remaining()) {
+            throw new GeneralSecurityException("Invalid IV length: " + ivLength);
+        }
         
-        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(), "AES");
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
+        // IV・暗号文はコピーせず元の配列の範囲を指定して渡す
+        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, decodedText, 4, ivLength);
         cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
         
-        byte[] plainText = cipher.doFinal(encrypted);
-        return new String(plainText);
+        int offset = 4 + ivLength;
+        byte[] plainText = cipher.doFinal(decodedText, offset, decodedText.length - offset);
+        return new String(plainText, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 鍵取得（キャッシュ）
+     * 16/24/32バイトの鍵文字列はそのまま AES 鍵とし（従来の暗号文と互換）、
+     * それ以外の長さは SHA-256 で 256 ビット鍵を導出する
+     */
+    private SecretKeySpec getSecretKey(String key) {
+        return keyCache.computeIfAbsent(key, k -> {
+            byte[] keyBytes = k.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+                try {
+                    keyBytes = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("SHA-256 unavailable", e);
+                }
+            }
+            return new SecretKeySpec(keyBytes, "AES");
+        });
+    }
+    
+    /**
+     * 乱数生成器生成（DRBG を優先し、利用できない場合は既定の非ブロッキング実装）
+     */
+    private static SecureRandom createSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
     }
 }
@@ -0,0 +1,67 @@
+package com.kintai.security;
+
+import com.kintai.entity.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 認証済み社員（認証情報のプリンシパル）
+ * JWTクレームのみから生成し、リクエストごとのDB参照を行わない
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class AuthenticatedEmployee implements AuthenticatedPrincipal {
+
+    /**
+     * 社員ID
+     */
+    private final Long employeeId;
+
+    /**
+     * 社員コード
+     */
+    private final String employeeCode;
+
+    /**
+     * 社員ロール
+     */
+    private final Employee.EmployeeRole employeeRole;
+
+    /**
+     * 雇用ステータス
+     */
+    private final Employee.EmploymentStatus employmentStatus;
+
+    /**
+     * 認証名（社員コード）
+     */
+    @Override
+    public String getName() {
+        return employeeCode;
+    }
+
+    /**
+     * 社員コード取得（監査記録用）
+     * 認証中の社員本人の場合はプリンシパルの社員コード、それ以外は社員ID（DB は参照しない）
+     * @param employeeId 社員ID（null の場合はシステム処理）
+     * @return 社員コード
+     */
+    public static String employeeCodeOf(Long employeeId) {
+        if (employeeId == null) {
+            return "SYSTEM";
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedEmployee employee
+                && employeeId.equals(employee.getEmployeeId())) {
+            return employee.getEmployeeCode();
+        }
+        return String.valueOf(employeeId);
+    }
+}
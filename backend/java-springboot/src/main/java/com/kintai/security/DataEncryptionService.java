@@ -1,21 +1,27 @@
 package com.kintai.security;
 
+import com.kintai.config.EncryptionProperties;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * データ暗号化サービス
  * 個人情報の暗号化・復号化を提供
+ *
+ * 暗号文は「v{キーバージョン}:{Base64}」形式で、復号時は接頭辞のバージョンのキーを使用する。
+ * 接頭辞のない暗号文（バージョン管理導入前）はバージョン1として扱う。
  */
 @Service
 @RequiredArgsConstructor
 public class DataEncryptionService {
     
-    private final AESUtil aesUtil;
+    private static final int LEGACY_KEY_VERSION = 1;
     
-    @Value("${app.encryption.key:default-encryption-key-change-in-production}")
-    private String encryptionKey;
+    private final AESUtil aesUtil;
+    private final EncryptionProperties encryptionProperties;
     
     /**
      * 個人情報暗号化
@@ -23,7 +29,7 @@ public class DataEncryptionService {
     public String encryptPersonalData(String plainText) {
         if (plainText == null) return null;
         try {
-            return aesUtil.encrypt(plainText, encryptionKey);
+            return prefix() + aesUtil.encrypt(plainText, encryptionProperties.getKey());
         } catch (Exception e) {
             throw new RuntimeException("暗号化に失敗しました", e);
         }
@@ -35,9 +41,96 @@ public class DataEncryptionService {
     public String decryptPersonalData(String encryptedText) {
         if (encryptedText == null) return null;
         try {
-            return aesUtil.decrypt(encryptedText, encryptionKey);
+            int version = versionOf(encryptedText);
+            return aesUtil.decrypt(bodyOf(encryptedText), keyOf(version));
         } catch (Exception e) {
             throw new RuntimeException("復号化に失敗しました", e);
         }
     }
+    
+    /**
+     * 個人情報一括暗号化（null 要素はそのまま）
+     */
+    public List<String> encryptPersonalData(List<String> plainTexts) {
+        try {
+            List<String> encrypted = aesUtil.encryptAll(plainTexts, encryptionProperties.getKey());
+            String prefix = prefix();
+            List<String> result = new ArrayList<>(encrypted.size());
+            for (String value : encrypted) {
+                result.add(value != null ? prefix + value : null);
+            }
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("暗号化に失敗しました", e);
+        }
+    }
+    
+    /**
+     * 個人情報一括復号化（null 要素はそのまま）
+     */
+    public List<String> decryptPersonalData(List<String> encryptedTexts) {
+        List<String> result = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            result.add(decryptPersonalData(encryptedText));
+        }
+        return result;
+    }
+    
+    /**
+     * 現行キーで暗号化されているか判定
+     * @param encryptedText 暗号文
+     * @return 現行キーの暗号文（または null）の場合 true
+     */
+    public boolean isCurrentKey(String encryptedText) {
+        return encryptedText == null || versionOf(encryptedText) == encryptionProperties.getKeyVersion();
+    }
+    
+    /**
+     * 現行キーで再暗号化（既に現行キーの場合はそのまま返す）
+     * @param encryptedText 暗号文
+     * @return 現行キーの暗号文
+     */
+    public String reEncryptPersonalData(String encryptedText) {
+        if (isCurrentKey(encryptedText)) {
+            return encryptedText;
+        }
+        return encryptPersonalData(decryptPersonalData(encryptedText));
+    }
+    
+    /**
+     * 現行キーのバージョン
+     */
+    public int getCurrentKeyVersion() {
+        return encryptionProperties.getKeyVersion();
+    }
+    
+    private String prefix() {
+        return "v" + encryptionProperties.getKeyVersion() + ":";
+    }
+    
+    /**
+     * 暗号文のキーバージョン取得（Base64 に ':' は含まれないため接頭辞と区別できる）
+     */
+    private int versionOf(String encryptedText) {
+        int separator = encryptedText.indexOf(':');
+        if (separator < 0 || encryptedText.charAt(0) != 'v') {
+            return LEGACY_KEY_VERSION;
+        }
+        return Integer.parseInt(encryptedText.substring(1, separator));
+    }
+    
+    private String bodyOf(String encryptedText) {
+        return encryptedText.substring(encryptedText.indexOf(':') + 1);
+    }
+    
+    private String keyOf(int version) {
+        if (version == encryptionProperties.getKeyVersion()) {
+            return encryptionProperties.getKey();
+        }
+        String key = encryptionProperties.getPreviousKeys().get(version);
+        if (key == null) {
+            throw new IllegalStateException("Encryption key not configured: version=" + version);
+        }
+        return key;
+    }
 }
@@ -0,0 +1,134 @@
+package com.kintai.security;
+
+import com.kintai.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * トークン失効管理
+ * 社員ごとのトークンバージョン（employees.token_version）をトークンのクレームに埋め込み、
+ * 退職・社員情報変更時に DB のバージョンを進めて発行済みトークンを無効化する。
+ *
+ * バージョンは DB で全レプリカ・再起動後も共有し、リクエストごとの DB 参照を避けるため
+ * 各レプリカでは revocation-cache-ttl の間キャッシュする。失効を行ったレプリカでは即時、
+ * 他のレプリカでは最長 revocation-cache-ttl 後に失効が反映される。
+ * バージョンは増加のみのため、トークンのバージョンがキャッシュより新しい場合（他のレプリカで失効後に再発行）は受理し、
+ * キャッシュも進める（キャッシュが古いレプリカで再発行トークンを拒否しない）。
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final EmployeeRepository employeeRepository;
+    private final long cacheTtlNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * 社員ID→トークンバージョン（DB から読み込んだ値、またはそれ以降に確認した新しい値）
+     */
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationRegistry(EmployeeRepository employeeRepository,
+                                   @Value("${jwt.revocation-cache-ttl:30s}") Duration cacheTtl) {
+        this(employeeRepository, cacheTtl, System::nanoTime);
+    }
+
+    public TokenRevocationRegistry(EmployeeRepository employeeRepository, Duration cacheTtl, LongSupplier nanoClock) {
+        this.employeeRepository = employeeRepository;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 現在のトークンバージョン取得（キャッシュが無いか期限切れの場合は DB から読み込む）
+     * @param employeeId 社員ID
+     * @return トークンバージョン
+     */
+    public long currentVersion(Long employeeId) {
+        long now = nanoClock.getAsLong();
+        CachedVersion cached = versions.get(employeeId);
+        if (cached != null && now - cached.expiresAtNanos < 0) {
+            return cached.version;
+        }
+        long version = employeeRepository.findTokenVersionByEmployeeId(employeeId).orElse(0L);
+        // 読み込み中に進めた値を古い値で戻さない
+        return versions.merge(employeeId, new CachedVersion(version, now + cacheTtlNanos),
+                (current, loaded) -> current.version > loaded.version
+                        ? new CachedVersion(current.version, loaded.expiresAtNanos)
+                        : loaded).version;
+    }
+
+    /**
+     * トークンが失効済みか判定
+     * @param employeeId 社員ID
+     * @param version トークンに埋め込まれたバージョン
+     * @return 失効済みの場合 true
+     */
+    public boolean isRevoked(Long employeeId, long version) {
+        long current = currentVersion(employeeId);
+        if (version > current) {
+            // 他のレプリカで失効・再発行済み（署名済みのため信頼できる）
+            advance(employeeId, version);
+            return false;
+        }
+        return version < current;
+    }
+
+    /**
+     * 社員の発行済みトークンを失効（トランザクションコミット後。トランザクション外の場合は即時）
+     * DB のバージョンは呼び出し元が同一トランザクションで進めておくこと
+     * @param employeeId 社員ID
+     * @param version 更新後のトークンバージョン
+     */
+    public void revokeAfterCommit(Long employeeId, long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revoke(employeeId, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revoke(employeeId, version);
+            }
+        });
+    }
+
+    /**
+     * 社員の発行済みトークンを失効（このレプリカのキャッシュへ即時反映）
+     * @param employeeId 社員ID
+     * @param version 更新後のトークンバージョン
+     */
+    public void revoke(Long employeeId, long version) {
+        advance(employeeId, version);
+        log.info("Tokens revoked: employeeId={}, version={}", employeeId, version);
+    }
+
+    private void advance(Long employeeId, long version) {
+        long expiresAt = nanoClock.getAsLong() + cacheTtlNanos;
+        versions.merge(employeeId, new CachedVersion(version, expiresAt),
+                (current, advanced) -> current.version >= advanced.version ? current : advanced);
+    }
+
+    /**
+     * キャッシュしたバージョン
+     */
+    private static class CachedVersion {
+        private final long version;
+        private final long expiresAtNanos;
+
+        private CachedVersion(long version, long expiresAtNanos) {
+            this.version = version;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kintai.service;
 
+import com.kintai.audit.ClockingEvent;
 import com.kintai.dto.AttendanceHistoryRequest;
 import com.kintai.dto.AttendanceHistoryResponse;
 import com.kintai.dto.AttendanceInfo;
@@ -10,20 +11,24 @@ import com.kintai.dto.PeriodInfo;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
 import com.kintai.exception.BusinessException;
+import com.kintai.punch.PunchStateCache;
+import com.kintai.repository.AttendanceClockInRepository;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
+import com.kintai.security.AuthenticatedEmployee;
 import com.kintai.util.DateUtil;
-import com.kintai.util.TimeCalculator;
+import com.kintai.util.MonthlySubmissionValidator;
+import com.kintai.util.MonthlySubmissionValidator.MonthlyValidationResult;
 import com.kintai.util.TimeCalculator.AttendanceCalculationResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,8 +46,13 @@ import java.util.stream.Collectors;
 public class AttendanceService {
     
     private final AttendanceRecordRepository attendanceRecordRepository;
+    private final AttendanceClockInRepository attendanceClockInRepository;
     private final EmployeeRepository employeeRepository;
-    private final TimeCalculator timeCalculator;
+    private final MonthlySubmissionValidator monthlySubmissionValidator;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final WorkRuleService workRuleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PunchStateCache punchStateCache;
     
     /**
      * 出勤打刻
@@ -51,32 +61,30 @@ public class AttendanceService {
         LocalDate today = DateUtil.getCurrentDate();
         LocalDateTime now = DateUtil.getCurrentDateTime();
         
-        // 当日の既存打刻チェック
-        Optional<AttendanceRecord> existing = attendanceRecordRepository
-                .findByEmployeeIdAndAttendanceDate(employeeId, today);
-        
-        if (existing.isPresent() && existing.get().getClockInTime() != null) {
+        // 当日の打刻状態チェック（キャッシュ済みの場合は DB を参照しない）
+        if (PunchStateCache.isClockedIn(punchStateCache.get(employeeId, today))) {
             throw new BusinessException("ALREADY_CLOCKED_IN", "既に出勤打刻済みです");
         }
         
-        // 出勤打刻処理
-        AttendanceRecord record = existing.orElse(
-                AttendanceRecord.builder()
-                        .employeeId(employeeId)
-                        .attendanceDate(today)
-                        .attendanceStatus(AttendanceRecord.AttendanceStatus.NORMAL)
-                        .submissionStatus(AttendanceRecord.SubmissionStatus.NOT_SUBMITTED)
-                        .attendanceFixedFlag(false)
-                        .build()
-        );
-        
-        record.setClockInTime(now);
-        
         // 遅刻時間計算
-        int lateMinutes = timeCalculator.calculateLateMinutes(now);
-        record.setLateMinutes(lateMinutes);
+        int lateMinutes = workRuleService.calculateLateMinutes(employeeId, now);
         
-        AttendanceRecord saved = attendanceRecordRepository.save(record);
+        // 出勤打刻処理（当日の記録の作成・出勤時刻の設定を1文で行う。出勤打刻済みの場合は変更なし）
+        Long attendanceId = attendanceClockInRepository.clockIn(employeeId, today, now, lateMinutes);
+        if (attendanceId == null) {
+            // 以降の再打刻を DB を参照せずに拒否できるよう、打刻状態を登録
+            attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(employeeId, today)
+                    .filter(record -> record.getClockInTime() != null)
+                    .ifPresent(record -> punchStateCache.load(employeeId, today, record));
+            throw new BusinessException("ALREADY_CLOCKED_IN", "既に出勤打刻済みです");
+        }
+        
+        // 出勤打刻で変わるのは遅刻時間のみ（出勤時刻未登録の記録の遅刻時間は0）
+        attendanceSummaryService.applyChange(employeeId, today, attendanceSummaryService.contributionOf(null),
+                attendanceSummaryService.contributionOf(AttendanceRecord.builder().lateMinutes(lateMinutes).build()));
+        punchStateCache.putAfterCommit(employeeId, today, now, null);
+        eventPublisher.publishEvent(new ClockingEvent(this, employeeId,
+                AuthenticatedEmployee.employeeCodeOf(employeeId), "clock_in"));
         
         String message = lateMinutes > 0 ? 
                 String.format("出勤打刻が完了しました（%d分遅刻）", lateMinutes) : 
@@ -84,7 +92,7 @@ public class AttendanceService {
         
         return ClockResponse.builder()
                 .success(true)
-                .attendanceRecordId(saved.getAttendanceId())
+                .attendanceRecordId(attendanceId)
                 .clockInTime(now)
                 .lateMinutes(lateMinutes)
                 .message(message)
@@ -98,31 +106,41 @@ public class AttendanceService {
         LocalDate today = DateUtil.getCurrentDate();
         LocalDateTime now = DateUtil.getCurrentDateTime();
         
-        // 出勤打刻チェック
-        AttendanceRecord record = attendanceRecordRepository
-                .findByEmployeeIdAndAttendanceDate(employeeId, today)
-                .orElseThrow(() -> new BusinessException("NOT_CLOCKED_IN", "出勤打刻が必要です"));
-        
-        if (record.getClockInTime() == null) {
-            throw new BusinessException("NOT_CLOCKED_IN", "出勤打刻が必要です");
+        // 当日の打刻状態チェック（キャッシュ済みの場合は DB を参照しない）
+        long state = punchStateCache.get(employeeId, today);
+        if (state != PunchStateCache.UNKNOWN) {
+            checkClockOut(state);
         }
         
-        if (record.getClockOutTime() != null) {
-            throw new BusinessException("ALREADY_CLOCKED_OUT", "既に退勤打刻済みです");
+        // 出勤打刻チェック
+        Optional<AttendanceRecord> existing = attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDate(employeeId, today);
+        if (state == PunchStateCache.UNKNOWN) {
+            punchStateCache.load(employeeId, today, existing.orElse(null));
         }
         
+        AttendanceRecord record = existing
+                .orElseThrow(() -> new BusinessException("NOT_CLOCKED_IN", "出勤打刻が必要です"));
+        checkClockOut(PunchStateCache.stateOf(record.getClockInTime(), record.getClockOutTime()));
+        
         // 退勤打刻処理
+        AttendanceSummary before = attendanceSummaryService.contributionOf(record);
         record.setClockOutTime(now);
         
-        // 勤怠時間計算（設計書ロジック使用）
-        AttendanceCalculationResult calculation = timeCalculator
-                .calculateAttendanceTimes(record.getClockInTime(), now);
+        // 勤怠時間計算（社員の勤務ルール適用）
+        AttendanceCalculationResult calculation = workRuleService
+                .calculateAttendanceTimes(employeeId, record.getClockInTime(), now);
         
+        record.setWorkingMinutes(calculation.getWorkingMinutes());
         record.setEarlyLeaveMinutes(calculation.getEarlyLeaveMinutes());
         record.setOvertimeMinutes(calculation.getOvertimeMinutes());
         record.setNightShiftMinutes(calculation.getNightShiftMinutes());
         
         AttendanceRecord saved = attendanceRecordRepository.save(record);
+        attendanceSummaryService.applyChange(employeeId, today, before, attendanceSummaryService.contributionOf(saved));
+        punchStateCache.putAfterCommit(employeeId, today, saved.getClockInTime(), saved.getClockOutTime());
+        eventPublisher.publishEvent(new ClockingEvent(this, employeeId,
+                AuthenticatedEmployee.employeeCodeOf(employeeId), "clock_out"));
         
         String message = calculation.getOvertimeMinutes() > 0 ?
                 String.format("退勤打刻が完了しました（%d分残業）", calculation.getOvertimeMinutes()) :
@@ -139,20 +157,30 @@ public class AttendanceService {
                 .build();
     }
     
+    /**
+     * 退勤打刻可否チェック
+     * @param state 当日の打刻状態
+     */
+    private void checkClockOut(long state) {
+        if (!PunchStateCache.isClockedIn(state)) {
+            throw new BusinessException("NOT_CLOCKED_IN", "出勤打刻が必要です");
+        }
+        
+        if (PunchStateCache.isClockedOut(state)) {
+            throw new BusinessException("ALREADY_CLOCKED_OUT", "既に退勤打刻済みです");
+        }
+    }
+    
     /**
      * 月末申請（設計書のチェックロジック完全再現）
      */
     public void submitMonthlyAttendance(Long employeeId, String targetMonth) {
-        validateMonthlySubmission(employeeId, targetMonth);
-        
-        // 当月の全勤怠記録を「申請済」に更新
-        YearMonth ym = YearMonth.parse(targetMonth);
-        LocalDate start = ym.atDay(1);
-        LocalDate end = ym.atEndOfMonth();
+        // 当月の全勤怠記録を1回の範囲検索で取得し、チェックと更新に使い回す
+        List<AttendanceRecord> records = findMonthlyRecords(employeeId, targetMonth);
         
-        List<AttendanceRecord> records = attendanceRecordRepository
-                .findByEmployeeIdAndAttendanceDateBetween(employeeId, start, end);
+        validateMonthlySubmission(targetMonth, records);
         
+        // 当月の全勤怠記録を「申請済」に更新
         records.forEach(record -> record.setSubmissionStatus(AttendanceRecord.SubmissionStatus.SUBMITTED));
         attendanceRecordRepository.saveAll(records);
     }
@@ -161,58 +189,43 @@ public class AttendanceService {
      * 月末申請前チェック（設計書のJavaコード完全再現）
      */
     public void validateMonthlySubmission(Long employeeId, String targetMonth) {
-        // 1. 当月の営業日一覧を取得（土日祝日除外）
-        List<LocalDate> workingDays = DateUtil.getWorkingDays(targetMonth);
-        
-        // 2. 各営業日について出勤・退勤記録の存在確認
-        List<String> missingDates = new ArrayList<>();
-        for (LocalDate workingDay : workingDays) {
-            Optional<AttendanceRecord> recordOpt = attendanceRecordRepository
-                    .findByEmployeeIdAndAttendanceDate(employeeId, workingDay);
-            
-            if (recordOpt.isEmpty()) {
-                missingDates.add(workingDay.toString());
-                continue;
-            }
-            
-            AttendanceRecord record = recordOpt.get();
-            
-            // 3. 有給取得日は除外（attendance_status = 'paid_leave'）
-            if (AttendanceRecord.AttendanceStatus.PAID_LEAVE.equals(record.getAttendanceStatus())) {
-                continue;
-            }
-            
-            // 4. 通常勤務日の場合、出勤・退勤時刻が必須
-            if (record.getClockInTime() == null || record.getClockOutTime() == null) {
-                missingDates.add(workingDay.toString());
-            }
-        }
+        validateMonthlySubmission(targetMonth, findMonthlyRecords(employeeId, targetMonth));
+    }
+    
+    /**
+     * 月末申請前チェック（取得済みの当月勤怠記録を使用）
+     */
+    private void validateMonthlySubmission(String targetMonth, List<AttendanceRecord> records) {
+        MonthlyValidationResult result = monthlySubmissionValidator.validate(targetMonth, records);
         
-        if (!missingDates.isEmpty()) {
+        // 1-4. 営業日ごとの出勤・退勤記録チェック（有給取得日は除外）
+        if (!result.getMissingDates().isEmpty()) {
             Map<String, Object> details = new HashMap<>();
-            details.put("missingDates", missingDates);
-            details.put("totalWorkingDays", workingDays.size());
-            details.put("completedDays", workingDays.size() - missingDates.size());
+            details.put("missingDates", result.getMissingDates());
+            details.put("totalWorkingDays", result.getWorkingDaysCount());
+            details.put("completedDays", result.getCompletedDaysCount());
             
-            throw new BusinessException("INCOMPLETE_ATTENDANCE", "打刻漏れがあります");
+            throw new BusinessException("INCOMPLETE_ATTENDANCE", "打刻漏れがあります", details);
         }
         
         // 5. 欠勤日がある場合は申請不可
-        List<AttendanceRecord> absentRecords = attendanceRecordRepository
-                .findByEmployeeIdAndYearMonthAndAttendanceStatus(employeeId, targetMonth, "absent");
-        
-        if (!absentRecords.isEmpty()) {
-            List<String> absentDates = absentRecords.stream()
-                    .map(record -> record.getAttendanceDate().toString())
-                    .collect(Collectors.toList());
-            
+        if (!result.getAbsentDates().isEmpty()) {
             Map<String, Object> details = new HashMap<>();
-            details.put("absentDates", absentDates);
+            details.put("absentDates", result.getAbsentDates());
             
-            throw new BusinessException("INCOMPLETE_ATTENDANCE", "欠勤日があるため申請できません");
+            throw new BusinessException("INCOMPLETE_ATTENDANCE", "欠勤日があるため申請できません", details);
         }
     }
     
+    /**
+     * 当月の勤怠記録取得
+     */
+    private List<AttendanceRecord> findMonthlyRecords(Long employeeId, String targetMonth) {
+        YearMonth ym = YearMonth.parse(targetMonth);
+        return attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDateBetween(employeeId, ym.atDay(1), ym.atEndOfMonth());
+    }
+    
     /**
      * 勤怠履歴取得
      */
@@ -255,8 +268,11 @@ public class AttendanceService {
                         .build()
         ).collect(Collectors.toList());
         
-        // 集計データ計算
-        AttendanceSummary summary = calculateSummary(records);
+        // 集計データ取得（月指定の場合は月次サマリーを主キー参照）
+        AttendanceSummary summary = request.getYearMonth() != null ?
+                attendanceSummaryService.getMonthlySummary(
+                        request.getEmployeeId(), YearMonth.parse(request.getYearMonth()), records) :
+                attendanceSummaryService.summarize(records);
         
         return AttendanceHistoryResponse.builder()
                 .success(true)
@@ -273,46 +289,4 @@ public class AttendanceService {
                 .summary(summary)
                 .build();
     }
-    
-    /**
-     * 勤怠集計計算
-     */
-    private AttendanceSummary calculateSummary(List<AttendanceRecord> records) {
-        int totalWorking = 0;
-        int totalOvertime = 0;
-        int totalNightShift = 0;
-        int totalLate = 0;
-        int totalEarlyLeave = 0;
-        int paidLeaveDays = 0;
-        int absentDays = 0;
-        
-        for (AttendanceRecord record : records) {
-            if (record.getClockInTime() != null && record.getClockOutTime() != null) {
-                AttendanceCalculationResult calc = timeCalculator
-                        .calculateAttendanceTimes(record.getClockInTime(), record.getClockOutTime());
-                totalWorking += calc.getWorkingMinutes();
-            }
-            
-            totalOvertime += record.getOvertimeMinutes();
-            totalNightShift += record.getNightShiftMinutes();
-            totalLate += record.getLateMinutes();
-            totalEarlyLeave += record.getEarlyLeaveMinutes();
-            
-            if (AttendanceRecord.AttendanceStatus.PAID_LEAVE.equals(record.getAttendanceStatus())) {
-                paidLeaveDays++;
-            } else if (AttendanceRecord.AttendanceStatus.ABSENT.equals(record.getAttendanceStatus())) {
-                absentDays++;
-            }
-        }
-        
-        return AttendanceSummary.builder()
-                .totalWorkingMinutes(totalWorking)
-                .totalOvertimeMinutes(totalOvertime)
-                .totalNightShiftMinutes(totalNightShift)
-                .totalLateMinutes(totalLate)
-                .totalEarlyLeaveMinutes(totalEarlyLeave)
-                .paidLeaveDays(paidLeaveDays)
-                .absentDays(absentDays)
-                .build();
-    }
 }
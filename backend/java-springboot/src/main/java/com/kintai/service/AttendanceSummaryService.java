@@ -0,0 +1,209 @@
+package com.kintai.service;
+
+import com.kintai.dto.AttendanceSummary;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.MonthlyAttendanceSummary;
+import com.kintai.entity.MonthlyAttendanceSummaryId;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryUpsertRepository;
+import com.kintai.util.TimeCalculator;
+import com.kintai.util.TimeCalculator.AttendanceCalculationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 月次勤怠サマリーサービス
+ * monthly_attendance_summaries の差分更新と参照
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceSummaryService {
+
+    private final MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository;
+    private final MonthlyAttendanceSummaryUpsertRepository monthlyAttendanceSummaryUpsertRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final TimeCalculator timeCalculator;
+
+    /**
+     * 月次サマリー取得
+     * サマリー未作成の月は取得済みの当月勤怠記録から集計する
+     * @param employeeId 社員ID
+     * @param month 対象年月
+     * @param monthRecords 当月の勤怠記録一覧
+     * @return 勤怠集計
+     */
+    @Transactional(readOnly = true)
+    public AttendanceSummary getMonthlySummary(Long employeeId, YearMonth month, List<AttendanceRecord> monthRecords) {
+        return monthlyAttendanceSummaryRepository
+                .findById(new MonthlyAttendanceSummaryId(employeeId, month.toString()))
+                .map(this::toSummary)
+                .orElseGet(() -> summarize(monthRecords));
+    }
+
+    /**
+     * 勤怠記録1件の集計寄与分
+     * @param record 勤怠記録（nullの場合は寄与なし）
+     * @return 集計寄与分
+     */
+    public AttendanceSummary contributionOf(AttendanceRecord record) {
+        return summarize(record != null ? List.of(record) : Collections.emptyList());
+    }
+
+    /**
+     * 勤怠記録変更をサマリーへ差分反映
+     * @param employeeId 社員ID
+     * @param attendanceDate 勤怠日
+     * @param before 変更前の集計寄与分
+     * @param after 変更後の集計寄与分
+     */
+    public void applyChange(Long employeeId, LocalDate attendanceDate, AttendanceSummary before, AttendanceSummary after) {
+        int working = after.getTotalWorkingMinutes() - before.getTotalWorkingMinutes();
+        int overtime = after.getTotalOvertimeMinutes() - before.getTotalOvertimeMinutes();
+        int nightShift = after.getTotalNightShiftMinutes() - before.getTotalNightShiftMinutes();
+        int late = after.getTotalLateMinutes() - before.getTotalLateMinutes();
+        int earlyLeave = after.getTotalEarlyLeaveMinutes() - before.getTotalEarlyLeaveMinutes();
+        int paidLeave = after.getPaidLeaveDays() - before.getPaidLeaveDays();
+        int absent = after.getAbsentDays() - before.getAbsentDays();
+
+        if ((working | overtime | nightShift | late | earlyLeave | paidLeave | absent) == 0) {
+            return;
+        }
+
+        YearMonth month = YearMonth.from(attendanceDate);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = monthlyAttendanceSummaryRepository.addDelta(employeeId, month.toString(),
+                working, overtime, nightShift, late, earlyLeave, paidLeave, absent, now);
+
+        // サマリー未作成の月は当月の勤怠記録（今回の変更を含む）から作成
+        // 同じ月の初回書き込みが同時に発生し、他のトランザクションが先に作成した場合は差分のみ加算
+        if (updated == 0) {
+            List<AttendanceRecord> records = attendanceRecordRepository
+                    .findByEmployeeIdAndAttendanceDateBetween(employeeId, month.atDay(1), month.atEndOfMonth());
+            AttendanceSummary delta = AttendanceSummary.builder()
+                    .totalWorkingMinutes(working)
+                    .totalOvertimeMinutes(overtime)
+                    .totalNightShiftMinutes(nightShift)
+                    .totalLateMinutes(late)
+                    .totalEarlyLeaveMinutes(earlyLeave)
+                    .paidLeaveDays(paidLeave)
+                    .absentDays(absent)
+                    .build();
+            monthlyAttendanceSummaryUpsertRepository.createOrAdd(employeeId, month.toString(), summarize(records), delta, now);
+        }
+    }
+
+    /**
+     * 月次サマリー再構築（勤怠記録から全件集計）
+     * @param employeeId 社員ID
+     * @param month 対象年月
+     */
+    public void rebuild(Long employeeId, YearMonth month) {
+        List<AttendanceRecord> records = attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDateBetween(employeeId, month.atDay(1), month.atEndOfMonth());
+        AttendanceSummary summary = summarize(records);
+
+        MonthlyAttendanceSummary entity = monthlyAttendanceSummaryRepository
+                .findById(new MonthlyAttendanceSummaryId(employeeId, month.toString()))
+                .orElseGet(() -> MonthlyAttendanceSummary.builder()
+                        .employeeId(employeeId)
+                        .targetMonth(month.toString())
+                        .build());
+
+        entity.setTotalWorkingMinutes(summary.getTotalWorkingMinutes());
+        entity.setTotalOvertimeMinutes(summary.getTotalOvertimeMinutes());
+        entity.setTotalNightShiftMinutes(summary.getTotalNightShiftMinutes());
+        entity.setTotalLateMinutes(summary.getTotalLateMinutes());
+        entity.setTotalEarlyLeaveMinutes(summary.getTotalEarlyLeaveMinutes());
+        entity.setPaidLeaveDays(summary.getPaidLeaveDays());
+        entity.setAbsentDays(summary.getAbsentDays());
+        monthlyAttendanceSummaryRepository.save(entity);
+    }
+
+    /**
+     * 勤怠集計計算
+     * @param records 勤怠記録一覧
+     * @return 勤怠集計
+     */
+    public AttendanceSummary summarize(List<AttendanceRecord> records) {
+        int totalWorking = 0;
+        int totalOvertime = 0;
+        int totalNightShift = 0;
+        int totalLate = 0;
+        int totalEarlyLeave = 0;
+        int paidLeaveDays = 0;
+        int absentDays = 0;
+
+        for (AttendanceRecord record : records) {
+            totalWorking += workingMinutesOf(record);
+            totalOvertime += minutesOf(record.getOvertimeMinutes());
+            totalNightShift += minutesOf(record.getNightShiftMinutes());
+            totalLate += minutesOf(record.getLateMinutes());
+            totalEarlyLeave += minutesOf(record.getEarlyLeaveMinutes());
+
+            if (AttendanceRecord.AttendanceStatus.PAID_LEAVE.equals(record.getAttendanceStatus())) {
+                paidLeaveDays++;
+            } else if (AttendanceRecord.AttendanceStatus.ABSENT.equals(record.getAttendanceStatus())) {
+                absentDays++;
+            }
+        }
+
+        return AttendanceSummary.builder()
+                .totalWorkingMinutes(totalWorking)
+                .totalOvertimeMinutes(totalOvertime)
+                .totalNightShiftMinutes(totalNightShift)
+                .totalLateMinutes(totalLate)
+                .totalEarlyLeaveMinutes(totalEarlyLeave)
+                .paidLeaveDays(paidLeaveDays)
+                .absentDays(absentDays)
+                .build();
+    }
+
+    /**
+     * 実働分取得
+     * working_minutes 未移行（NULL）の記録のみ打刻時刻から計算する
+     */
+    private int workingMinutesOf(AttendanceRecord record) {
+        if (record.getWorkingMinutes() != null) {
+            return record.getWorkingMinutes();
+        }
+        if (record.getClockInTime() == null || record.getClockOutTime() == null) {
+            return 0;
+        }
+        AttendanceCalculationResult calc = timeCalculator
+                .calculateAttendanceTimes(record.getClockInTime(), record.getClockOutTime());
+        return calc.getWorkingMinutes();
+    }
+
+    /**
+     * 分数取得（未計算の場合0）
+     */
+    private int minutesOf(Integer minutes) {
+        return minutes != null ? minutes : 0;
+    }
+
+    /**
+     * エンティティから勤怠集計DTOへ変換
+     */
+    private AttendanceSummary toSummary(MonthlyAttendanceSummary entity) {
+        return AttendanceSummary.builder()
+                .totalWorkingMinutes(entity.getTotalWorkingMinutes())
+                .totalOvertimeMinutes(entity.getTotalOvertimeMinutes())
+                .totalNightShiftMinutes(entity.getTotalNightShiftMinutes())
+                .totalLateMinutes(entity.getTotalLateMinutes())
+                .totalEarlyLeaveMinutes(entity.getTotalEarlyLeaveMinutes())
+                .paidLeaveDays(entity.getPaidLeaveDays())
+                .absentDays(entity.getAbsentDays())
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import com.kintai.entity.Employee;
 import com.kintai.exception.BusinessException;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -53,11 +54,12 @@ public class AuthService {
      * セッション検証
      */
     public Employee validateSession(String token) {
-        if (!jwtUtil.validateToken(token)) {
+        Claims claims = jwtUtil.parseToken(token);
+        if (claims == null) {
             throw new BusinessException("SESSION_TIMEOUT", "セッションがタイムアウトしました");
         }
         
-        Employee employee = jwtUtil.getEmployeeFromToken(token);
+        Employee employee = jwtUtil.getEmployeeFromClaims(claims);
         
         // 退職者チェック
         if ("retired".equals(employee.getEmploymentStatus().getValue())) {
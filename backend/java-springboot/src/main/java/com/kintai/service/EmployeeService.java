@@ -3,6 +3,7 @@ package com.kintai.service;
 import com.kintai.entity.Employee;
 import com.kintai.exception.BusinessException;
 import com.kintai.repository.EmployeeRepository;
+import com.kintai.security.TokenRevocationRegistry;
 import com.kintai.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +25,8 @@ public class EmployeeService {
     
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WorkRuleService workRuleService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
     /**
      * 社員一覧取得
@@ -55,6 +58,10 @@ public class EmployeeService {
             throw new BusinessException("VALIDATION_ERROR", "パスワードが要件を満たしていません");
         }
         
+        if (employee.getWorkRuleId() != null) {
+            workRuleService.requireRule(employee.getWorkRuleId());
+        }
+        
         // パスワードハッシュ化
         employee.setEmployeePasswordHash(passwordEncoder.encode(employee.getEmployeePasswordHash()));
         employee.setEmploymentStatus(Employee.EmploymentStatus.ACTIVE);
@@ -74,7 +81,16 @@ public class EmployeeService {
         existing.setEmployeeName(updatedEmployee.getEmployeeName());
         existing.setEmail(updatedEmployee.getEmail());
         existing.setEmployeeRole(updatedEmployee.getEmployeeRole());
+        // 勤務ルールは指定された場合のみ変更（未指定で既存の割り当てを消さない）
+        if (updatedEmployee.getWorkRuleId() != null) {
+            workRuleService.requireRule(updatedEmployee.getWorkRuleId());
+            existing.setWorkRuleId(updatedEmployee.getWorkRuleId());
+        }
         
+        workRuleService.evictEmployeeAfterCommit(employeeId);
+        // ロール等がトークンに埋め込まれているため、発行済みトークンを失効
+        existing.setTokenVersion(nextTokenVersion(existing));
+        tokenRevocationRegistry.revokeAfterCommit(employeeId, existing.getTokenVersion());
         return employeeRepository.save(existing);
     }
     
@@ -87,7 +103,18 @@ public class EmployeeService {
         
         employee.setEmploymentStatus(Employee.EmploymentStatus.RETIRED);
         employee.setRetiredAt(retiredAt);
+        // 退職者を即時ロックアウト
+        employee.setTokenVersion(nextTokenVersion(employee));
         employeeRepository.save(employee);
+        
+        tokenRevocationRegistry.revokeAfterCommit(employeeId, employee.getTokenVersion());
+    }
+    
+    /**
+     * 失効後のトークンバージョン
+     */
+    private static long nextTokenVersion(Employee employee) {
+        return (employee.getTokenVersion() != null ? employee.getTokenVersion() : 0L) + 1;
     }
     
     /**
@@ -0,0 +1,237 @@
+package com.kintai.service;
+
+import com.kintai.dto.MonthlyBulkSubmitResponse;
+import com.kintai.dto.MonthlySubmitResponse;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.util.MonthlySubmissionValidator;
+import com.kintai.util.MonthlySubmissionValidator.MonthlyValidationResult;
+import com.kintai.util.ValidationUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 月末一括申請サービス
+ * 部署・全社単位の月末申請をチャンク単位で並列処理する
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyBulkSubmitService {
+
+    private static final String UPDATE_SUBMISSION_STATUS_SQL =
+            "UPDATE attendance_records SET submission_status = ?, updated_at = ? " +
+            "WHERE employee_id = ? AND attendance_date BETWEEN ? AND ?";
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final MonthlySubmissionValidator monthlySubmissionValidator;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.attendance.bulk-submit.workers:4}")
+    private int workers;
+
+    @Value("${app.attendance.bulk-submit.chunk-size:200}")
+    private int chunkSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-submit-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 月末一括申請
+     * @param targetMonth 申請対象月（YYYY-MM形式）
+     * @param employeeIds 対象社員ID一覧（nullまたは空の場合は在籍者全員。存在しない社員IDは処理せず失敗として返却）
+     * @return 一括申請結果
+     */
+    public MonthlyBulkSubmitResponse submitAll(String targetMonth, List<Long> employeeIds) {
+        if (!ValidationUtil.isValidYearMonth(targetMonth)) {
+            throw new BusinessException("VALIDATION_ERROR", "YYYY-MM形式で入力してください");
+        }
+
+        List<MonthlySubmitResponse> results = new ArrayList<>();
+        List<Long> targets;
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            targets = employeeRepository.findEmployeeIdsByEmploymentStatus(Employee.EmploymentStatus.ACTIVE);
+        } else {
+            if (employeeIds.stream().anyMatch(Objects::isNull)) {
+                throw new BusinessException("VALIDATION_ERROR", "社員IDが不正です");
+            }
+            targets = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+            Set<Long> existing = new HashSet<>(employeeRepository.findExistingEmployeeIds(targets));
+            for (Iterator<Long> it = targets.iterator(); it.hasNext(); ) {
+                Long employeeId = it.next();
+                if (!existing.contains(employeeId)) {
+                    it.remove();
+                    results.add(failure(employeeId, targetMonth, "EMPLOYEE_NOT_FOUND", "社員が見つかりません"));
+                }
+            }
+        }
+
+        // チャンク単位でワーカーに分配（検証とステータス更新はチャンクごとに1トランザクション）
+        List<Future<List<MonthlySubmitResponse>>> futures = new ArrayList<>();
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            List<Long> chunk = targets.subList(from, Math.min(from + chunkSize, targets.size()));
+            futures.add(executor.submit(() -> processChunk(targetMonth, chunk)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            List<Long> chunk = targets.subList(i * chunkSize, Math.min((i + 1) * chunkSize, targets.size()));
+            results.addAll(awaitChunk(futures.get(i), targetMonth, chunk));
+        }
+
+        int submitted = (int) results.stream().filter(MonthlySubmitResponse::isSuccess).count();
+
+        return MonthlyBulkSubmitResponse.builder()
+                .submissionMonth(targetMonth)
+                .totalCount(results.size())
+                .submittedCount(submitted)
+                .failedCount(results.size() - submitted)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * チャンク処理（1回の範囲検索→社員別検証→JDBCバッチ更新）
+     */
+    private List<MonthlySubmitResponse> processChunk(String targetMonth, List<Long> chunk) {
+        YearMonth ym = YearMonth.parse(targetMonth);
+        LocalDate start = ym.atDay(1);
+        LocalDate end = ym.atEndOfMonth();
+
+        return transactionTemplate.execute(status -> {
+            Map<Long, List<AttendanceRecord>> recordsByEmployee = attendanceRecordRepository
+                    .findByEmployeeIdInAndAttendanceDateBetween(chunk, start, end)
+                    .stream()
+                    .collect(Collectors.groupingBy(AttendanceRecord::getEmployeeId));
+
+            List<MonthlySubmitResponse> results = new ArrayList<>(chunk.size());
+            List<Object[]> updates = new ArrayList<>();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            for (Long employeeId : chunk) {
+                List<AttendanceRecord> records = recordsByEmployee.getOrDefault(employeeId, Collections.emptyList());
+                MonthlyValidationResult validation = monthlySubmissionValidator.validate(targetMonth, records);
+
+                results.add(toResponse(employeeId, validation));
+                if (validation.isSubmittable()) {
+                    updates.add(new Object[] {
+                            AttendanceRecord.SubmissionStatus.SUBMITTED.name(), now,
+                            employeeId, Date.valueOf(start), Date.valueOf(end)
+                    });
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SUBMISSION_STATUS_SQL, updates);
+            }
+            return results;
+        });
+    }
+
+    /**
+     * チャンク結果待機（失敗時はチャンク内全社員をシステムエラーとして返却）
+     */
+    private List<MonthlySubmitResponse> awaitChunk(Future<List<MonthlySubmitResponse>> future,
+                                                   String targetMonth, List<Long> chunk) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("SYSTEM_ERROR", "一括申請が中断されました", e);
+        } catch (ExecutionException e) {
+            log.error("Monthly bulk submit chunk failed: month={}, size={}", targetMonth, chunk.size(), e.getCause());
+            return chunk.stream()
+                    .map(employeeId -> failure(employeeId, targetMonth, "SYSTEM_ERROR", "システムエラーが発生しました"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 申請対象外・処理失敗の社員別レスポンスを構築
+     */
+    private MonthlySubmitResponse failure(Long employeeId, String targetMonth, String errorCode, String message) {
+        return MonthlySubmitResponse.builder()
+                .success(false)
+                .employeeId(employeeId)
+                .submissionMonth(targetMonth)
+                .errorCode(errorCode)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 検証結果から社員別レスポンスを構築
+     */
+    private MonthlySubmitResponse toResponse(Long employeeId, MonthlyValidationResult validation) {
+        String errorCode = null;
+        String message = validation.getTargetMonth() + "分の勤怠申請が完了しました";
+        if (!validation.getMissingDates().isEmpty()) {
+            errorCode = "INCOMPLETE_ATTENDANCE";
+            message = "打刻漏れがあります";
+        } else if (!validation.getAbsentDates().isEmpty()) {
+            errorCode = "INCOMPLETE_ATTENDANCE";
+            message = "欠勤日があるため申請できません";
+        }
+
+        return MonthlySubmitResponse.builder()
+                .success(errorCode == null)
+                .employeeId(employeeId)
+                .submissionMonth(validation.getTargetMonth())
+                .workingDaysCount(validation.getWorkingDaysCount())
+                .completedDaysCount(validation.getCompletedDaysCount())
+                .paidLeaveDaysCount(validation.getPaidLeaveDaysCount())
+                .errorCode(errorCode)
+                .message(message)
+                .missingDates(validation.getMissingDates())
+                .absentDates(validation.getAbsentDates())
+                .build();
+    }
+}
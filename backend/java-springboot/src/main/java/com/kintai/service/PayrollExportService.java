@@ -0,0 +1,251 @@
+package com.kintai.service;
+
+import com.kintai.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * 給与計算向け勤怠エクスポートサービス
+ * 指定月の全社員の勤怠を CSV または NDJSON で出力する。
+ *
+ * 読み出しは前方専用カーソル（fetchSize 指定）で行い、1行ずつ出力ストリームへ書き出すため、
+ * 社員数・行数によらずメモリ使用量は一定（エンティティや一覧を保持しない）。
+ * MySQL ではこのクエリのみ fetchSize=Integer.MIN_VALUE の行単位ストリーミングで読み出す
+ * （接続URLの useCursorFetch は不要。他のクエリの取得方法には影響しない）。
+ */
+@Service
+@Slf4j
+public class PayrollExportService {
+
+    private static final String SELECT_SQL =
+            "SELECT e.employee_code, e.employee_name, a.attendance_date, a.clock_in_time, a.clock_out_time, " +
+            "a.working_minutes, a.late_minutes, a.early_leave_minutes, a.overtime_minutes, a.night_shift_minutes, " +
+            "a.attendance_status, a.submission_status " +
+            "FROM attendance_records a JOIN employees e ON e.employee_id = a.employee_id " +
+            "WHERE a.attendance_date BETWEEN ? AND ? " +
+            "ORDER BY a.employee_id, a.attendance_date";
+
+    private static final String[] COLUMNS = {
+            "employee_code", "employee_name", "attendance_date", "clock_in_time", "clock_out_time",
+            "working_minutes", "late_minutes", "early_leave_minutes", "overtime_minutes", "night_shift_minutes",
+            "attendance_status", "submission_status"
+    };
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * 出力バッファサイズ（文字数）
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * MySQL Connector/J の行単位ストリーミング指定
+     */
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public PayrollExportService(DataSource dataSource, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 出力形式
+     */
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * 形式名から変換（大文字小文字を区別しない）
+         */
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("VALIDATION_ERROR", "出力形式は csv または ndjson を指定してください");
+            }
+        }
+    }
+
+    /**
+     * 月次勤怠エクスポート
+     * @param month 対象年月
+     * @param format 出力形式
+     * @param out 出力先（クローズしない）
+     * @return 出力行数
+     */
+    public long export(YearMonth month, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(256);
+        long[] count = new long[1];
+
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(isMySql(connection) ? MYSQL_STREAMING_FETCH_SIZE : fetchSize);
+                statement.setDate(1, Date.valueOf(month.atDay(1)));
+                statement.setDate(2, Date.valueOf(month.atEndOfMonth()));
+                return statement;
+            }, rs -> {
+                line.setLength(0);
+                if (format == Format.CSV) {
+                    appendCsv(rs, line);
+                } else {
+                    appendJson(rs, line);
+                }
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            // クライアント切断等。カーソルは JdbcTemplate がクローズ済み
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("Payroll export completed: month={}, format={}, rows={}", month, format, count[0]);
+        return count[0];
+    }
+
+    /**
+     * 接続先が MySQL か
+     */
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * CSV 1行出力（RFC 4180 形式のクォート）
+     */
+    private void appendCsv(ResultSet rs, StringBuilder line) throws SQLException {
+        for (int i = 1; i <= COLUMNS.length; i++) {
+            if (i > 1) {
+                line.append(',');
+            }
+            String value = valueOf(rs, i);
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        line.append('\n');
+    }
+
+    /**
+     * NDJSON 1行出力（数値列は数値、それ以外は文字列）
+     */
+    private void appendJson(ResultSet rs, StringBuilder line) throws SQLException {
+        line.append('{');
+        for (int i = 1; i <= COLUMNS.length; i++) {
+            if (i > 1) {
+                line.append(',');
+            }
+            line.append('"').append(COLUMNS[i - 1]).append("\":");
+            String value = valueOf(rs, i);
+            if (value == null) {
+                line.append("null");
+            } else if (isNumeric(i)) {
+                line.append(value);
+            } else {
+                appendJsonString(value, line);
+            }
+        }
+        line.append("}\n");
+    }
+
+    private void appendJsonString(String value, StringBuilder line) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * 列値の文字列表現（日時は ISO 形式、NULL は null）
+     */
+    private String valueOf(ResultSet rs, int column) throws SQLException {
+        switch (column) {
+            case 3 -> {
+                Date date = rs.getDate(column);
+                return date != null ? date.toLocalDate().toString() : null;
+            }
+            case 4, 5 -> {
+                Timestamp timestamp = rs.getTimestamp(column);
+                return timestamp != null ? DATE_TIME.format(timestamp.toLocalDateTime()) : null;
+            }
+            default -> {
+                return rs.getString(column);
+            }
+        }
+    }
+
+    private boolean isNumeric(int column) {
+        return column >= 6 && column <= 10;
+    }
+}
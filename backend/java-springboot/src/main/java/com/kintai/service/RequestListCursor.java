@@ -0,0 +1,69 @@
+package com.kintai.service;
+
+import com.kintai.dto.RequestListItem;
+import com.kintai.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 申請一覧カーソル
+ * 直前に返した申請の (作成日時, 申請種別, 申請ID) を保持し、各申請種別の検索開始位置に変換する
+ */
+@Getter
+@AllArgsConstructor
+class RequestListCursor {
+
+    /**
+     * 先頭ページ（全行が対象）
+     */
+    static final RequestListCursor FIRST =
+            new RequestListCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), null, Long.MAX_VALUE);
+
+    private final LocalDateTime createdAt;
+    private final String requestType;
+    private final long requestId;
+
+    static RequestListCursor after(RequestListItem item) {
+        return new RequestListCursor(item.getCreatedAt(), item.getRequestType(), item.getRequestId());
+    }
+
+    /**
+     * 申請種別ごとの検索開始ID（作成日時が同一の行のうち、このIDより小さい行から返す）
+     * 同一日時では有給申請を先に返すため、打刻修正申請の位置からは同一日時の有給申請を含めず、
+     * 有給申請の位置からは同一日時の打刻修正申請をすべて含める
+     * @param type 申請種別
+     * @return 検索開始ID
+     */
+    long lastIdFor(String type) {
+        if (requestType == null) {
+            return Long.MAX_VALUE;
+        }
+        if (requestType.equals(type)) {
+            return requestId;
+        }
+        return RequestListItem.TYPE_LEAVE.equals(requestType) ? Long.MAX_VALUE : 0L;
+    }
+
+    String encode() {
+        String raw = requestType + "|" + requestId + "|" + createdAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RequestListCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !(RequestListItem.TYPE_LEAVE.equals(parts[0])
+                    || RequestListItem.TYPE_ADJUSTMENT.equals(parts[0]))) {
+                throw new IllegalArgumentException("unknown cursor format");
+            }
+            return new RequestListCursor(LocalDateTime.parse(parts[2]), parts[0], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("VALIDATION_ERROR", "カーソルが不正です");
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.kintai.service;
 
+import com.kintai.audit.ApprovalEvent;
 import com.kintai.dto.AdjustmentRequestDto;
+import com.kintai.dto.AttendanceSummary;
 import com.kintai.dto.LeaveRequestDto;
+import com.kintai.dto.RequestListItem;
+import com.kintai.dto.RequestListPage;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
 import com.kintai.entity.LeaveRequest;
 import com.kintai.exception.BusinessException;
+import com.kintai.punch.PunchStateCache;
 import com.kintai.repository.AdjustmentRequestRepository;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.security.AuthenticatedEmployee;
 import com.kintai.util.TimeCalculator.AttendanceCalculationResult;
-import com.kintai.util.TimeCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,11 +40,19 @@ import java.util.Optional;
 @Slf4j
 public class RequestService {
     
+    /**
+     * 申請一覧の1ページ最大件数
+     */
+    public static final int MAX_LIST_LIMIT = 200;
+    
     private final LeaveRequestRepository leaveRequestRepository;
     private final AdjustmentRequestRepository adjustmentRequestRepository;
     private final AttendanceRecordRepository attendanceRecordRepository;
     private final EmployeeRepository employeeRepository;
-    private final TimeCalculator timeCalculator;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final WorkRuleService workRuleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PunchStateCache punchStateCache;
     
     /**
      * 有給申請
@@ -156,6 +172,11 @@ public class RequestService {
                 .build();
         
         attendanceRecordRepository.save(attendanceRecord);
+        attendanceSummaryService.applyChange(attendanceRecord.getEmployeeId(), attendanceRecord.getAttendanceDate(),
+                attendanceSummaryService.contributionOf(null), attendanceSummaryService.contributionOf(attendanceRecord));
+        
+        eventPublisher.publishEvent(new ApprovalEvent(this, requestId, "leave", "approved",
+                approverId, AuthenticatedEmployee.employeeCodeOf(approverId)));
     }
     
     /**
@@ -180,6 +201,9 @@ public class RequestService {
                         .attendanceFixedFlag(false)
                         .build());
         
+        AttendanceSummary before = attendanceSummaryService.contributionOf(
+                record.getAttendanceId() != null ? record : null);
+        
         // 修正された時刻を適用
         if (request.getAdjustmentRequestedTimeIn() != null) {
             record.setClockInTime(request.getAdjustmentRequestedTimeIn());
@@ -190,9 +214,10 @@ public class RequestService {
         
         // 時間再計算（両方の時刻がある場合のみ）
         if (record.getClockInTime() != null && record.getClockOutTime() != null) {
-            AttendanceCalculationResult calc = timeCalculator
-                    .calculateAttendanceTimes(record.getClockInTime(), record.getClockOutTime());
+            AttendanceCalculationResult calc = workRuleService.calculateAttendanceTimes(
+                    record.getEmployeeId(), record.getClockInTime(), record.getClockOutTime());
             
+            record.setWorkingMinutes(calc.getWorkingMinutes());
             record.setLateMinutes(calc.getLateMinutes());
             record.setEarlyLeaveMinutes(calc.getEarlyLeaveMinutes());
             record.setOvertimeMinutes(calc.getOvertimeMinutes());
@@ -200,12 +225,18 @@ public class RequestService {
         }
         
         attendanceRecordRepository.save(record);
+        attendanceSummaryService.applyChange(record.getEmployeeId(), record.getAttendanceDate(),
+                before, attendanceSummaryService.contributionOf(record));
+        punchStateCache.evictAfterCommit(record.getEmployeeId(), record.getAttendanceDate());
         
         // 申請承認
         request.setAdjustmentStatus(AdjustmentRequest.AdjustmentStatus.APPROVED);
         request.setApprovedByEmployeeId(approverId);
         request.setApprovedAt(LocalDateTime.now());
         adjustmentRequestRepository.save(request);
+        
+        eventPublisher.publishEvent(new ApprovalEvent(this, requestId, "adjustment", "approved",
+                approverId, AuthenticatedEmployee.employeeCodeOf(approverId)));
     }
     
     /**
@@ -226,30 +257,67 @@ public class RequestService {
             request.setAdjustmentStatus(AdjustmentRequest.AdjustmentStatus.REJECTED);
             request.setRejectionReason(rejectionReason);
             adjustmentRequestRepository.save(request);
+            
+        } else {
+            throw new BusinessException("VALIDATION_ERROR", "申請種別が不正です");
         }
+        
+        eventPublisher.publishEvent(new ApprovalEvent(this, requestId, requestType, "rejected",
+                approverId, AuthenticatedEmployee.employeeCodeOf(approverId)));
     }
     
     /**
-     * 申請一覧取得
+     * 申請一覧取得（申請日時の新しい順、キーセット方式のページング）
+     * 有給申請・打刻修正申請をそれぞれインデックス順に limit + 1 件ずつ読み出し、作成日時でマージする。
+     * 同一日時の場合は有給申請→打刻修正申請、ID降順の順に並べる。
+     * @param requestType 申請種別（leave / adjustment、null の場合は両方）
+     * @param status 申請ステータス（未処理・承認・却下、null の場合は全ステータス）
+     * @param employeeId 社員ID（null の場合は全社員）
+     * @param cursor 前ページの nextCursor（null の場合は先頭ページ）
+     * @param limit 1ページの件数
+     * @return 申請一覧ページ
      */
-    public List<Object> getRequestList(String requestType, String status) {
-        List<Object> result = new ArrayList<>();
-        
-        if ("leave".equals(requestType) || requestType == null) {
-            List<LeaveRequest> leaveRequests = status != null ? 
-                    leaveRequestRepository.findByLeaveRequestStatusOrderByCreatedAtAsc(convertToLeaveStatus(status).getValue()) :
-                    leaveRequestRepository.findAllByOrderByCreatedAtDesc();
-            result.addAll(leaveRequests);
+    @Transactional(readOnly = true)
+    public RequestListPage getRequestList(String requestType, String status, Long employeeId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIST_LIMIT) {
+            throw new BusinessException("VALIDATION_ERROR", "取得件数は1～" + MAX_LIST_LIMIT + "の範囲で指定してください");
         }
-        
-        if ("adjustment".equals(requestType) || requestType == null) {
-            List<AdjustmentRequest> adjustmentRequests = status != null ?
-                    adjustmentRequestRepository.findByAdjustmentStatusOrderByCreatedAtAsc(convertToAdjustmentStatus(status).getValue()) :
-                    adjustmentRequestRepository.findAllByOrderByCreatedAtDesc();
-            result.addAll(adjustmentRequests);
+        boolean includeLeave = requestType == null || RequestListItem.TYPE_LEAVE.equals(requestType);
+        boolean includeAdjustment = requestType == null || RequestListItem.TYPE_ADJUSTMENT.equals(requestType);
+        if (!includeLeave && !includeAdjustment) {
+            throw new BusinessException("VALIDATION_ERROR", "申請種別が不正です");
         }
-        
-        return result;
+
+        RequestListCursor position = cursor != null ? RequestListCursor.decode(cursor) : RequestListCursor.FIRST;
+        Pageable pageable = PageRequest.of(0, limit + 1);
+
+        List<RequestListItem> leaves = includeLeave
+                ? leaveRequestRepository.findListItemsBefore(employeeId,
+                        status != null ? convertToLeaveStatus(status) : null,
+                        position.getCreatedAt(), position.lastIdFor(RequestListItem.TYPE_LEAVE), pageable)
+                : List.of();
+        List<RequestListItem> adjustments = includeAdjustment
+                ? adjustmentRequestRepository.findListItemsBefore(employeeId,
+                        status != null ? convertToAdjustmentStatus(status) : null,
+                        position.getCreatedAt(), position.lastIdFor(RequestListItem.TYPE_ADJUSTMENT), pageable)
+                : List.of();
+
+        // 2本の降順リストのマージ（同一日時は有給申請を先）
+        List<RequestListItem> items = new ArrayList<>(limit);
+        int l = 0;
+        int a = 0;
+        while (items.size() < limit && (l < leaves.size() || a < adjustments.size())) {
+            boolean takeLeave = a >= adjustments.size() || (l < leaves.size()
+                    && !leaves.get(l).getCreatedAt().isBefore(adjustments.get(a).getCreatedAt()));
+            items.add(takeLeave ? leaves.get(l++) : adjustments.get(a++));
+        }
+
+        boolean hasMore = l < leaves.size() || a < adjustments.size();
+        return RequestListPage.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? RequestListCursor.after(items.get(items.size() - 1)).encode() : null)
+                .build();
     }
     
     /**
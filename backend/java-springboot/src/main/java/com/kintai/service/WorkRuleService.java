@@ -0,0 +1,326 @@
+package com.kintai.service;
+
+import com.kintai.dto.WorkRuleDto;
+import com.kintai.entity.WorkRule;
+import com.kintai.entity.WorkRuleBreak;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.WorkRuleBreakRepository;
+import com.kintai.repository.WorkRuleRepository;
+import com.kintai.util.CompiledWorkRule;
+import com.kintai.util.PrimitiveTimeCalculator;
+import com.kintai.util.TimeCalculator;
+import com.kintai.util.TimeCalculator.AttendanceCalculationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 勤務ルールサービス
+ * 勤務ルールをコンパイル済みテーブルとしてメモリに保持し、ルールに従った勤怠時間計算を提供する
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class WorkRuleService {
+
+    private final WorkRuleRepository workRuleRepository;
+    private final WorkRuleBreakRepository workRuleBreakRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PrimitiveTimeCalculator primitiveTimeCalculator;
+
+    /**
+     * コンパイル済み勤務ルール（勤務ルールID→ルール）（null の場合は未ロード）
+     */
+    private volatile Map<Long, CompiledWorkRule> compiledRules;
+
+    /**
+     * 社員別の適用ルール
+     */
+    private final Map<Long, CompiledWorkRule> employeeRules = new ConcurrentHashMap<>();
+
+    /**
+     * キャッシュ世代（破棄のたびに加算）
+     * 破棄より前に読み始めたロードの結果をキャッシュに残さないために使用する
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 社員に適用する勤務ルール取得（未設定の場合は標準勤務）
+     * @param employeeId 社員ID
+     * @return コンパイル済み勤務ルール
+     */
+    @Transactional(readOnly = true)
+    public CompiledWorkRule getRuleForEmployee(Long employeeId) {
+        CompiledWorkRule cached = employeeRules.get(employeeId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedGeneration = generation.get();
+        CompiledWorkRule rule = getRule(employeeRepository.findWorkRuleIdByEmployeeId(employeeId).orElse(null));
+        employeeRules.put(employeeId, rule);
+        if (generation.get() != loadedGeneration) {
+            // ロード中に破棄された場合は更新前の内容の可能性があるため残さない
+            employeeRules.remove(employeeId, rule);
+        }
+        return rule;
+    }
+
+    /**
+     * 勤務ルール取得（未設定・未登録の場合は標準勤務）
+     * @param workRuleId 勤務ルールID
+     * @return コンパイル済み勤務ルール
+     */
+    @Transactional(readOnly = true)
+    public CompiledWorkRule getRule(Long workRuleId) {
+        if (workRuleId == null) {
+            return CompiledWorkRule.DEFAULT;
+        }
+        return loadRules().getOrDefault(workRuleId, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 勤務ルールの存在チェック
+     * @param workRuleId 勤務ルールID
+     */
+    @Transactional(readOnly = true)
+    public void requireRule(Long workRuleId) {
+        if (!workRuleRepository.existsById(workRuleId)) {
+            throw new BusinessException("WORK_RULE_NOT_FOUND", "勤務ルールが見つかりません");
+        }
+    }
+
+    /**
+     * 遅刻時間計算
+     * @param employeeId 社員ID
+     * @param clockInTime 出勤時刻
+     * @return 遅刻時間（分）
+     */
+    @Transactional(readOnly = true)
+    public int calculateLateMinutes(Long employeeId, LocalDateTime clockInTime) {
+        return primitiveTimeCalculator.calculateLateMinutes(
+                PrimitiveTimeCalculator.toEpochSecond(clockInTime), getRuleForEmployee(employeeId));
+    }
+
+    /**
+     * 勤怠時間統合計算
+     * @param employeeId 社員ID
+     * @param clockInTime 出勤時刻
+     * @param clockOutTime 退勤時刻
+     * @return AttendanceCalculationResult
+     */
+    @Transactional(readOnly = true)
+    public AttendanceCalculationResult calculateAttendanceTimes(
+            Long employeeId, LocalDateTime clockInTime, LocalDateTime clockOutTime) {
+        PrimitiveTimeCalculator.Result result = primitiveTimeCalculator.calculateAttendanceTimes(
+                PrimitiveTimeCalculator.toEpochSecond(clockInTime),
+                PrimitiveTimeCalculator.toEpochSecond(clockOutTime),
+                getRuleForEmployee(employeeId),
+                new PrimitiveTimeCalculator.Result());
+
+        return AttendanceCalculationResult.builder()
+                .lateMinutes(result.getLateMinutes())
+                .earlyLeaveMinutes(result.getEarlyLeaveMinutes())
+                .workingMinutes(result.getWorkingMinutes())
+                .overtimeMinutes(result.getOvertimeMinutes())
+                .nightShiftMinutes(result.getNightShiftMinutes())
+                .build();
+    }
+
+    /**
+     * 勤務ルール一覧取得
+     * @return 勤務ルール一覧
+     */
+    @Transactional(readOnly = true)
+    public List<WorkRuleDto> getAllRules() {
+        Map<Long, List<WorkRuleBreak>> breaks = breaksByRule();
+        return workRuleRepository.findAll().stream()
+                .map(rule -> toDto(rule, breaks.getOrDefault(rule.getWorkRuleId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 勤務ルール登録
+     * @param dto 勤務ルール
+     * @return 登録した勤務ルール
+     */
+    public WorkRuleDto createRule(WorkRuleDto dto) {
+        if (workRuleRepository.findByRuleCode(dto.getRuleCode()).isPresent()) {
+            throw new BusinessException("DUPLICATE_REQUEST", "勤務ルールコードが既に使用されています");
+        }
+        return saveRule(new WorkRule(), dto);
+    }
+
+    /**
+     * 勤務ルール更新
+     * @param workRuleId 勤務ルールID
+     * @param dto 勤務ルール
+     * @return 更新した勤務ルール
+     */
+    public WorkRuleDto updateRule(Long workRuleId, WorkRuleDto dto) {
+        WorkRule rule = workRuleRepository.findById(workRuleId)
+                .orElseThrow(() -> new BusinessException("WORK_RULE_NOT_FOUND", "勤務ルールが見つかりません"));
+
+        workRuleRepository.findByRuleCode(dto.getRuleCode())
+                .filter(other -> !other.getWorkRuleId().equals(workRuleId))
+                .ifPresent(other -> {
+                    throw new BusinessException("DUPLICATE_REQUEST", "勤務ルールコードが既に使用されています");
+                });
+
+        workRuleBreakRepository.deleteByWorkRuleId(workRuleId);
+        return saveRule(rule, dto);
+    }
+
+    /**
+     * 勤務ルール保存（休憩を含む）とキャッシュ破棄
+     */
+    private WorkRuleDto saveRule(WorkRule rule, WorkRuleDto dto) {
+        validate(dto);
+
+        rule.setRuleCode(dto.getRuleCode());
+        rule.setRuleName(dto.getRuleName());
+        rule.setStartTime(dto.getStartTime());
+        rule.setEndTime(dto.getEndTime());
+        rule.setStandardWorkingMinutes(dto.getStandardWorkingMinutes());
+        rule.setNightStartTime(dto.getNightStartTime() != null ? dto.getNightStartTime() : TimeCalculator.NIGHT_START_TIME);
+        rule.setNightEndTime(dto.getNightEndTime() != null ? dto.getNightEndTime() : TimeCalculator.NIGHT_END_TIME);
+        rule.setFlexTimeFlag(Boolean.TRUE.equals(dto.getFlexTimeFlag()));
+        WorkRule saved = workRuleRepository.save(rule);
+
+        List<WorkRuleBreak> breaks = workRuleBreakRepository.saveAll(dto.getBreaks().stream()
+                .map(b -> WorkRuleBreak.builder()
+                        .workRuleId(saved.getWorkRuleId())
+                        .breakStartTime(b.getStartTime())
+                        .breakEndTime(b.getEndTime())
+                        .build())
+                .collect(Collectors.toList()));
+
+        invalidateAfterCommit();
+        log.info("Work rule saved: workRuleId={}, ruleCode={}", saved.getWorkRuleId(), saved.getRuleCode());
+        return toDto(saved, breaks);
+    }
+
+    /**
+     * 勤務ルール入力チェック
+     */
+    private void validate(WorkRuleDto dto) {
+        // 日付をまたぐルール（終業時刻が始業時刻以前）は 0:00 をまたぐ休憩を許可
+        boolean overnight = !dto.getEndTime().isAfter(dto.getStartTime());
+        for (WorkRuleDto.BreakTime b : dto.getBreaks()) {
+            boolean crossesMidnight = overnight && b.getEndTime().isBefore(b.getStartTime());
+            if (!b.getStartTime().isBefore(b.getEndTime()) && !crossesMidnight) {
+                throw new BusinessException("VALIDATION_ERROR", "休憩終了時刻は休憩開始時刻より後を指定してください");
+            }
+        }
+    }
+
+    /**
+     * 社員の適用ルールキャッシュ破棄（社員の勤務ルール変更時、コミット後）
+     * @param employeeId 社員ID
+     */
+    public void evictEmployeeAfterCommit(Long employeeId) {
+        runAfterCommit(() -> {
+            generation.incrementAndGet();
+            employeeRules.remove(employeeId);
+        });
+    }
+
+    /**
+     * キャッシュ破棄（コミット後。次回参照時に再コンパイル）
+     * コミット前に破棄すると、並行する参照が更新前の内容を再ロードしてしまうため。
+     * 破棄より前に読み始めたロードは世代の変化で検出し、結果をキャッシュに残さない
+     */
+    private void invalidateAfterCommit() {
+        runAfterCommit(() -> {
+            generation.incrementAndGet();
+            compiledRules = null;
+            employeeRules.clear();
+        });
+    }
+
+    /**
+     * トランザクションコミット後に実行（トランザクション外の場合は即時実行）
+     */
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 全勤務ルールをロードしてコンパイル（ロード済みの場合はキャッシュを返却）
+     */
+    private Map<Long, CompiledWorkRule> loadRules() {
+        Map<Long, CompiledWorkRule> rules = compiledRules;
+        if (rules != null) {
+            return rules;
+        }
+
+        long loadedGeneration = generation.get();
+        Map<Long, List<WorkRuleBreak>> breaks = breaksByRule();
+        Map<Long, CompiledWorkRule> compiled = new HashMap<>();
+        for (WorkRule rule : workRuleRepository.findAll()) {
+            compiled.put(rule.getWorkRuleId(),
+                    CompiledWorkRule.compile(rule, breaks.getOrDefault(rule.getWorkRuleId(), List.of())));
+        }
+        rules = Map.copyOf(compiled);
+        compiledRules = rules;
+        if (generation.get() != loadedGeneration) {
+            // ロード中に破棄された場合は更新前の内容の可能性があるため残さない（今回の参照にのみ使用）
+            compiledRules = null;
+        }
+        log.debug("Work rules compiled: count={}", compiled.size());
+        return rules;
+    }
+
+    /**
+     * 休憩一覧を勤務ルール別に取得（開始時刻順）
+     */
+    private Map<Long, List<WorkRuleBreak>> breaksByRule() {
+        return workRuleBreakRepository.findAll().stream()
+                .sorted((a, b) -> a.getBreakStartTime().compareTo(b.getBreakStartTime()))
+                .collect(Collectors.groupingBy(WorkRuleBreak::getWorkRuleId));
+    }
+
+    /**
+     * エンティティからDTOへ変換
+     */
+    private WorkRuleDto toDto(WorkRule rule, List<WorkRuleBreak> breaks) {
+        return WorkRuleDto.builder()
+                .workRuleId(rule.getWorkRuleId())
+                .ruleCode(rule.getRuleCode())
+                .ruleName(rule.getRuleName())
+                .startTime(rule.getStartTime())
+                .endTime(rule.getEndTime())
+                .standardWorkingMinutes(rule.getStandardWorkingMinutes())
+                .nightStartTime(rule.getNightStartTime())
+                .nightEndTime(rule.getNightEndTime())
+                .flexTimeFlag(rule.getFlexTimeFlag())
+                .breaks(breaks.stream()
+                        .map(b -> WorkRuleDto.BreakTime.builder()
+                                .startTime(b.getBreakStartTime())
+                                .endTime(b.getBreakEndTime())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
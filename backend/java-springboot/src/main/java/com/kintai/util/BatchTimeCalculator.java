@@ -0,0 +1,210 @@
+package com.kintai.util;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一括時間計算エンジン
+ * 出勤・退勤を列指向の int 配列で受け取り、5項目（遅刻・早退・実働・残業・深夜）を
+ * 出力配列へまとめて計算する。給与計算規模の再計算向け（1回の呼び出しで1つの勤務ルールを適用）。
+ *
+ * 各ループは分岐を持たない int 演算のみで構成し、JIT の自動ベクトル化の対象になるようにしている。
+ * 計算結果は PrimitiveTimeCalculator と一致する（標準勤務では TimeCalculator とも一致）。
+ */
+@Component
+public class BatchTimeCalculator {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * 一括計算（標準勤務）
+     * @param columns 入力列を設定済みの列バッファ（出力列へ書き込む）
+     */
+    public void calculate(Columns columns) {
+        calculate(columns, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 一括計算
+     * @param columns 入力列を設定済みの列バッファ（出力列へ書き込む）
+     * @param rule 全行に適用する勤務ルール
+     */
+    public void calculate(Columns columns, CompiledWorkRule rule) {
+        int size = columns.size;
+        int[] inOfDay = columns.clockInSecondOfDay;
+        int[] outOfDay = columns.clockOutSecondOfDay;
+        int[] duration = columns.durationSeconds;
+
+        // 出勤・退勤の判定位置（日付をまたがないルールは日内秒、またぐルールは勤務日0:00起点の秒）
+        int[] in = inOfDay;
+        int[] out = outOfDay;
+        if (rule.isOvernight()) {
+            in = columns.shiftIn;
+            out = columns.shiftOut;
+            // 前日始業の勤務の終業時刻より前の出勤は前日の勤務（+1日）
+            int previousShiftEnd = rule.getEndSecond() - SECONDS_PER_DAY;
+            int startOfShift = rule.getStartSecond();
+            for (int i = 0; i < size; i++) {
+                in[i] = inOfDay[i] + SECONDS_PER_DAY * ((inOfDay[i] - previousShiftEnd) >>> 31);
+                out[i] = in[i] + duration[i];
+            }
+            for (int i = 0; i < size; i++) {
+                // 早退判定は退勤時刻のみで行う（始業時刻より前の退勤は翌日）
+                columns.shiftOutForEarlyLeave[i] = outOfDay[i] + SECONDS_PER_DAY * ((outOfDay[i] - startOfShift) >>> 31);
+            }
+        }
+        int[] outForEarlyLeave = rule.isOvernight() ? columns.shiftOutForEarlyLeave : outOfDay;
+
+        int[] late = columns.lateMinutes;
+        int[] early = columns.earlyLeaveMinutes;
+        int[] working = columns.workingMinutes;
+        int[] overtime = columns.overtimeMinutes;
+        int[] night = columns.nightShiftMinutes;
+
+        // フレックスタイムは遅刻・早退を計上しない（0倍）
+        int punctuality = rule.isFlexTime() ? 0 : 1;
+        int start = rule.getStartSecond();
+        int end = rule.getEndSecond();
+        int standardWorkingMinutes = rule.getStandardWorkingMinutes();
+
+        for (int i = 0; i < size; i++) {
+            late[i] = punctuality * (Math.max(0, in[i] - start) / SECONDS_PER_MINUTE);
+        }
+
+        for (int i = 0; i < size; i++) {
+            early[i] = punctuality * (Math.max(0, end - outForEarlyLeave[i]) / SECONDS_PER_MINUTE);
+        }
+
+        for (int i = 0; i < size; i++) {
+            working[i] = duration[i] / SECONDS_PER_MINUTE;
+        }
+
+        for (int b = 0; b < rule.getBreakCount(); b++) {
+            int breakStart = rule.getBreakStartSecond(b);
+            int breakEnd = rule.getBreakEndSecond(b);
+            int breakMinutes = rule.getBreakMinutes(b);
+            for (int i = 0; i < size; i++) {
+                // 出勤 < 休憩終了 かつ 退勤 > 休憩開始 のとき 1（符号ビットで判定）
+                int crosses = ((in[i] - breakEnd) >>> 31) & ((breakStart - out[i]) >>> 31);
+                working[i] -= crosses * breakMinutes;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            working[i] = Math.max(0, working[i]);
+            overtime[i] = Math.max(0, working[i] - standardWorkingMinutes);
+            night[i] = 0;
+        }
+
+        for (int day = 0; day < rule.getNightDayCount(); day++) {
+            for (int w = 0; w < rule.getNightWindowCount(); w++) {
+                // 勤務日0:00起点の秒で深夜区間との重なりを求める（区間ごとに分へ切り捨て）
+                int nightStart = rule.getNightStartSecond(w) + day * SECONDS_PER_DAY;
+                int nightEnd = rule.getNightEndSecond(w) + day * SECONDS_PER_DAY;
+                for (int i = 0; i < size; i++) {
+                    int overlap = Math.min(in[i] + duration[i], nightEnd) - Math.max(in[i], nightStart);
+                    night[i] += Math.max(0, overlap) / SECONDS_PER_MINUTE;
+                }
+            }
+        }
+    }
+
+    /**
+     * 列バッファ
+     * 入力列（出勤日内秒・退勤日内秒・勤務秒数）と出力列（各分数）を保持し、バッチ間で再利用する
+     */
+    public static class Columns {
+
+        private final int[] clockInSecondOfDay;
+        private final int[] clockOutSecondOfDay;
+        private final int[] durationSeconds;
+
+        // 日付をまたぐルールの判定位置（作業領域）
+        private final int[] shiftIn;
+        private final int[] shiftOut;
+        private final int[] shiftOutForEarlyLeave;
+
+        private final int[] lateMinutes;
+        private final int[] earlyLeaveMinutes;
+        private final int[] workingMinutes;
+        private final int[] overtimeMinutes;
+        private final int[] nightShiftMinutes;
+
+        private int size;
+
+        public Columns(int capacity) {
+            clockInSecondOfDay = new int[capacity];
+            clockOutSecondOfDay = new int[capacity];
+            durationSeconds = new int[capacity];
+            shiftIn = new int[capacity];
+            shiftOut = new int[capacity];
+            shiftOutForEarlyLeave = new int[capacity];
+            lateMinutes = new int[capacity];
+            earlyLeaveMinutes = new int[capacity];
+            workingMinutes = new int[capacity];
+            overtimeMinutes = new int[capacity];
+            nightShiftMinutes = new int[capacity];
+        }
+
+        /**
+         * 入力行追加
+         * @param clockIn 出勤時刻（エポック秒）
+         * @param clockOut 退勤時刻（エポック秒）
+         * @return 追加した行番号
+         */
+        public int add(long clockIn, long clockOut) {
+            int row = size++;
+            clockInSecondOfDay[row] = (int) Math.floorMod(clockIn, (long) SECONDS_PER_DAY);
+            clockOutSecondOfDay[row] = (int) Math.floorMod(clockOut, (long) SECONDS_PER_DAY);
+            durationSeconds[row] = Math.toIntExact(clockOut - clockIn);
+            return row;
+        }
+
+        /**
+         * 入力行追加
+         * @param clockIn 出勤時刻
+         * @param clockOut 退勤時刻
+         * @return 追加した行番号
+         */
+        public int add(LocalDateTime clockIn, LocalDateTime clockOut) {
+            return add(PrimitiveTimeCalculator.toEpochSecond(clockIn), PrimitiveTimeCalculator.toEpochSecond(clockOut));
+        }
+
+        /**
+         * 全行クリア（配列は再利用）
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isFull() {
+            return size == lateMinutes.length;
+        }
+
+        public int getLateMinutes(int row) {
+            return lateMinutes[row];
+        }
+
+        public int getEarlyLeaveMinutes(int row) {
+            return earlyLeaveMinutes[row];
+        }
+
+        public int getWorkingMinutes(int row) {
+            return workingMinutes[row];
+        }
+
+        public int getOvertimeMinutes(int row) {
+            return overtimeMinutes[row];
+        }
+
+        public int getNightShiftMinutes(int row) {
+            return nightShiftMinutes[row];
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.kintai.util;
+
+import com.kintai.entity.WorkRule;
+import com.kintai.entity.WorkRuleBreak;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * コンパイル済み勤務ルール（不変）
+ * 勤務ルールを日内秒の区間テーブルに変換したもの。打刻ごとの計算は
+ * PrimitiveTimeCalculator / BatchTimeCalculator がこのテーブルを参照するだけで行う。
+ *
+ * 区間はすべて勤務日（始業時刻の属する日）0:00起点の秒で保持する（翌日にまたがる区間は 86400 以上）。
+ *
+ * 終業時刻が始業時刻以前のルール（夜勤など日付をまたぐルール）は、終業・休憩を始業時刻以降の最初の時刻として
+ * 保持し、深夜区間は勤務日と翌日の2日分を対象にする。日付をまたがないルールは出勤日・退勤日それぞれの
+ * 日内秒で判定する（標準勤務は TimeCalculator と同一の計算結果）。
+ */
+public final class CompiledWorkRule {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * 標準勤務（9:00～18:00、昼休憩12:00～13:00、深夜22:00～翌5:00、所定8時間）
+     * TimeCalculator の定数と同一
+     */
+    public static final CompiledWorkRule DEFAULT = new CompiledWorkRule(
+            null,
+            TimeCalculator.STANDARD_START_TIME,
+            TimeCalculator.STANDARD_END_TIME,
+            TimeCalculator.STANDARD_WORKING_MINUTES,
+            false,
+            new LocalTime[] { TimeCalculator.LUNCH_START_TIME },
+            new LocalTime[] { TimeCalculator.LUNCH_END_TIME },
+            TimeCalculator.NIGHT_START_TIME,
+            TimeCalculator.NIGHT_END_TIME);
+
+    private final Long workRuleId;
+    private final int startSecond;
+    private final int endSecond;
+    private final int standardWorkingMinutes;
+    private final boolean flexTime;
+    private final boolean overnight;
+    private final int[] breakStartSeconds;
+    private final int[] breakEndSeconds;
+    private final int[] breakMinutes;
+    private final int[] nightStartSeconds;
+    private final int[] nightEndSeconds;
+
+    private CompiledWorkRule(Long workRuleId, LocalTime start, LocalTime end, int standardWorkingMinutes,
+                             boolean flexTime, LocalTime[] breakStarts, LocalTime[] breakEnds,
+                             LocalTime nightStart, LocalTime nightEnd) {
+        this.workRuleId = workRuleId;
+        this.startSecond = start.toSecondOfDay();
+        this.overnight = end.toSecondOfDay() <= startSecond;
+        this.endSecond = overnight ? end.toSecondOfDay() + SECONDS_PER_DAY : end.toSecondOfDay();
+        this.standardWorkingMinutes = standardWorkingMinutes;
+        this.flexTime = flexTime;
+
+        this.breakStartSeconds = new int[breakStarts.length];
+        this.breakEndSeconds = new int[breakStarts.length];
+        this.breakMinutes = new int[breakStarts.length];
+        for (int i = 0; i < breakStarts.length; i++) {
+            int breakStart = breakStarts[i].toSecondOfDay();
+            int breakEnd = breakEnds[i].toSecondOfDay();
+            if (overnight) {
+                // 始業時刻より前の休憩は翌日分、0:00 をまたぐ休憩は終了を翌日側へ
+                breakStart = afterStart(breakStart);
+                breakEnd = breakStart + Math.floorMod(breakEnd - breakStart, SECONDS_PER_DAY);
+            }
+            breakStartSeconds[i] = breakStart;
+            breakEndSeconds[i] = breakEnd;
+            breakMinutes[i] = (breakEnd - breakStart) / 60;
+        }
+
+        // 深夜帯が日付をまたぐ場合は当日分と翌日分の2区間に分割（区間ごとに分へ切り捨てる）
+        int nightStartSecond = nightStart.toSecondOfDay();
+        int nightEndSecond = nightEnd.toSecondOfDay();
+        if (nightEndSecond <= nightStartSecond) {
+            this.nightStartSeconds = new int[] { nightStartSecond, SECONDS_PER_DAY };
+            this.nightEndSeconds = new int[] { SECONDS_PER_DAY, SECONDS_PER_DAY + nightEndSecond };
+        } else {
+            this.nightStartSeconds = new int[] { nightStartSecond };
+            this.nightEndSeconds = new int[] { nightEndSecond };
+        }
+    }
+
+    /**
+     * 始業時刻以降の最初の時刻（勤務日0:00起点の秒）
+     */
+    private int afterStart(int secondOfDay) {
+        return secondOfDay < startSecond ? secondOfDay + SECONDS_PER_DAY : secondOfDay;
+    }
+
+    /**
+     * 出勤時刻の勤務日0:00起点の秒
+     * 日付をまたぐルールでは、前日始業の勤務の終業時刻より前の出勤を前日の勤務として扱う
+     * @param secondOfDay 出勤時刻（日内秒）
+     * @return 勤務日0:00起点の秒
+     */
+    public int toShiftClockInSecond(int secondOfDay) {
+        return overnight && secondOfDay < endSecond - SECONDS_PER_DAY ? secondOfDay + SECONDS_PER_DAY : secondOfDay;
+    }
+
+    /**
+     * 退勤時刻の勤務日0:00起点の秒
+     * 日付をまたぐルールでは、始業時刻より前の退勤を翌日（勤務日の翌日）として扱う
+     * @param secondOfDay 退勤時刻（日内秒）
+     * @return 勤務日0:00起点の秒
+     */
+    public int toShiftClockOutSecond(int secondOfDay) {
+        return overnight ? afterStart(secondOfDay) : secondOfDay;
+    }
+
+    /**
+     * 勤務ルールをコンパイル
+     * @param rule 勤務ルール
+     * @param breaks 休憩一覧
+     * @return コンパイル済み勤務ルール
+     */
+    public static CompiledWorkRule compile(WorkRule rule, List<WorkRuleBreak> breaks) {
+        LocalTime[] breakStarts = new LocalTime[breaks.size()];
+        LocalTime[] breakEnds = new LocalTime[breaks.size()];
+        for (int i = 0; i < breaks.size(); i++) {
+            breakStarts[i] = breaks.get(i).getBreakStartTime();
+            breakEnds[i] = breaks.get(i).getBreakEndTime();
+        }
+
+        return new CompiledWorkRule(
+                rule.getWorkRuleId(),
+                rule.getStartTime(),
+                rule.getEndTime(),
+                rule.getStandardWorkingMinutes(),
+                Boolean.TRUE.equals(rule.getFlexTimeFlag()),
+                breakStarts,
+                breakEnds,
+                rule.getNightStartTime(),
+                rule.getNightEndTime());
+    }
+
+    /**
+     * 勤務ルールID（標準勤務の場合null）
+     */
+    public Long getWorkRuleId() {
+        return workRuleId;
+    }
+
+    /**
+     * 始業時刻（日内秒）
+     */
+    public int getStartSecond() {
+        return startSecond;
+    }
+
+    /**
+     * 終業時刻（勤務日0:00起点の秒。日付をまたぐルールは 86400 以上）
+     */
+    public int getEndSecond() {
+        return endSecond;
+    }
+
+    /**
+     * 所定労働時間（分）
+     */
+    public int getStandardWorkingMinutes() {
+        return standardWorkingMinutes;
+    }
+
+    /**
+     * フレックスタイム（遅刻・早退を計上しない）
+     */
+    public boolean isFlexTime() {
+        return flexTime;
+    }
+
+    /**
+     * 日付をまたぐルール（終業時刻が始業時刻以前）
+     */
+    public boolean isOvernight() {
+        return overnight;
+    }
+
+    /**
+     * 休憩区間数
+     */
+    public int getBreakCount() {
+        return breakStartSeconds.length;
+    }
+
+    public int getBreakStartSecond(int index) {
+        return breakStartSeconds[index];
+    }
+
+    public int getBreakEndSecond(int index) {
+        return breakEndSeconds[index];
+    }
+
+    /**
+     * 休憩控除時間（分）
+     */
+    public int getBreakMinutes(int index) {
+        return breakMinutes[index];
+    }
+
+    /**
+     * 深夜区間数
+     */
+    public int getNightWindowCount() {
+        return nightStartSeconds.length;
+    }
+
+    /**
+     * 深夜区間を判定する日数（勤務日から。日付をまたぐルールは翌日の深夜区間も対象）
+     */
+    public int getNightDayCount() {
+        return overnight ? 2 : 1;
+    }
+
+    /**
+     * 深夜区間開始（出勤日0:00起点の秒）
+     */
+    public int getNightStartSecond(int index) {
+        return nightStartSeconds[index];
+    }
+
+    /**
+     * 深夜区間終了（出勤日0:00起点の秒）
+     */
+    public int getNightEndSecond(int index) {
+        return nightEndSeconds[index];
+    }
+}
@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,11 +19,12 @@ import java.util.List;
 public class DateUtil {
     
     /**
-     * 現在日時取得（Asia/Tokyoタイムゾーン）
+     * 現在日時取得（Asia/Tokyoタイムゾーン、秒精度）
+     * DATETIME 列と同じ精度に切り捨て、保存値と計算に使う値を一致させる
      * @return 現在日時
      */
     public static LocalDateTime getCurrentDateTime() {
-        return LocalDateTime.now(ZoneId.of("Asia/Tokyo"));
+        return LocalDateTime.now(ZoneId.of("Asia/Tokyo")).truncatedTo(ChronoUnit.SECONDS);
     }
     
     /**
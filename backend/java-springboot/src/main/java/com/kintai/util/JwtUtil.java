@@ -3,8 +3,12 @@ package com.kintai.util;
 import com.kintai.entity.Employee;
 import com.kintai.exception.BusinessException;
 import com.kintai.repository.EmployeeRepository;
+import com.kintai.security.AuthenticatedEmployee;
+import com.kintai.security.TokenRevocationRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -26,13 +30,32 @@ public class JwtUtil {
     private int jwtExpirationInSec;
     
     private final EmployeeRepository employeeRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     
-    public JwtUtil(EmployeeRepository employeeRepository) {
+    /**
+     * 署名鍵（起動時に1回だけ生成）
+     */
+    private SecretKey signingKey;
+    
+    /**
+     * トークン検証パーサー（スレッドセーフのため全リクエストで共有）
+     */
+    private JwtParser jwtParser;
+    
+    public JwtUtil(EmployeeRepository employeeRepository, TokenRevocationRegistry tokenRevocationRegistry) {
         this.employeeRepository = employeeRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
     }
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    /**
+     * 署名鍵・パーサー初期化
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     /**
@@ -47,22 +70,21 @@ public class JwtUtil {
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .claim("employeeId", employee.getEmployeeId())
-                .claim("role", employee.getEmployeeRole())
-                .claim("employmentStatus", employee.getEmploymentStatus())
-                .signWith(getSigningKey())
+                .claim("role", employee.getEmployeeRole().getValue())
+                .claim("employmentStatus", employee.getEmploymentStatus().getValue())
+                .claim("tokenVersion", employee.getTokenVersion() != null ? employee.getTokenVersion() : 0L)
+                .signWith(signingKey)
                 .compact();
     }
     
     /**
-     * トークン検証
+     * トークン検証・クレーム取得（署名検証は1回のみ）
+     * @param token JWTトークン
+     * @return クレーム（無効なトークンの場合は null）
      */
-    public boolean validateToken(String token) {
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("Expired JWT token: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -73,20 +95,54 @@ public class JwtUtil {
             log.warn("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.warn("JWT token compact of handler are invalid: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.warn("Invalid JWT token ({}): {}", e.getClass().getSimpleName(), e.getMessage());
         }
-        return false;
+        return null;
+    }
+    
+    /**
+     * トークン検証
+     */
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
     }
     
     /**
      * トークンから社員情報取得
      */
     public Employee getEmployeeFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return getEmployeeFromClaims(jwtParser.parseSignedClaims(token).getPayload());
+    }
+    
+    /**
+     * 検証済みクレームから認証済み社員を生成（DB参照なし）
+     * @param claims parseToken で取得したクレーム
+     * @return 認証済み社員（失効済みトークンの場合は null）
+     */
+    public AuthenticatedEmployee getAuthenticatedEmployee(Claims claims) {
+        Long employeeId = ((Number) claims.get("employeeId")).longValue();
+        Number tokenVersion = (Number) claims.get("tokenVersion");
         
+        if (tokenVersion == null || tokenRevocationRegistry.isRevoked(employeeId, tokenVersion.longValue())) {
+            log.warn("Revoked JWT token: employeeId={}", employeeId);
+            return null;
+        }
+        
+        return AuthenticatedEmployee.builder()
+                .employeeId(employeeId)
+                .employeeCode(claims.getSubject())
+                .employeeRole(Employee.EmployeeRole.valueOf(claims.get("role", String.class).toUpperCase()))
+                .employmentStatus(Employee.EmploymentStatus.valueOf(claims.get("employmentStatus", String.class).toUpperCase()))
+                .build();
+    }
+    
+    /**
+     * 検証済みクレームから社員情報取得
+     * @param claims parseToken で取得したクレーム
+     * @return 社員
+     */
+    public Employee getEmployeeFromClaims(Claims claims) {
         String employeeCode = claims.getSubject();
         return employeeRepository.findByEmployeeCode(employeeCode)
                 .orElseThrow(() -> new BusinessException("AUTH_FAILED", "認証に失敗しました"));
@@ -97,11 +153,7 @@ public class JwtUtil {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
             
             return claims.getExpiration().before(new Date());
         } catch (Exception e) {
@@ -0,0 +1,176 @@
+package com.kintai.util;
+
+import java.util.Arrays;
+
+/**
+ * long→long のハッシュマップ（オープンアドレス法・線形探索）
+ * キー・値を long 配列で保持し、参照・更新でオブジェクトを生成しない。
+ * 削除はバックワードシフトで行うため、削除済みマーカーによる探索長の劣化がない。
+ *
+ * スレッドセーフではない。呼び出し側で排他すること。
+ */
+public class LongLongHashMap {
+
+    /**
+     * 空きスロットを表すキー（キー 0 は別枠で保持）
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * @param expectedSize 想定要素数（超えた場合は拡張）
+     */
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * 値取得
+     * @param key キー
+     * @param defaultValue キーが存在しない場合の値
+     */
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return defaultValue;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 値登録（既存の場合は上書き）
+     */
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // 使用率 1/2 を超えたら拡張
+        if (++size > (mask + 1) >>> 1) {
+            rehash((mask + 1) << 1);
+        }
+    }
+
+    /**
+     * 削除
+     * @return 削除した場合 true
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        size--;
+
+        // 後続の連続領域を詰め直す（各要素の本来の位置より手前へは移動しない）
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0L;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slotOf(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new long[tableSize];
+        mask = tableSize - 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int size = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        return Math.max(8, size);
+    }
+}
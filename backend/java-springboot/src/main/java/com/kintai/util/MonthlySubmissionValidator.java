@@ -0,0 +1,114 @@
+package com.kintai.util;
+
+import com.kintai.entity.AttendanceRecord;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 月末申請バリデーター
+ * 当月の勤怠記録（1回の範囲検索結果）から日別ビットマップを構築し、
+ * 打刻漏れ日・欠勤日を1パスで判定する
+ */
+@Component
+public class MonthlySubmissionValidator {
+
+    /**
+     * 月末申請チェック
+     * 日付ごとに bit (day - 1) を立てた int ビットマップで状態を保持する（1ヶ月は最大31日）
+     * @param targetMonth 申請対象月（YYYY-MM形式）
+     * @param records 当月の勤怠記録一覧
+     * @return MonthlyValidationResult
+     */
+    public MonthlyValidationResult validate(String targetMonth, List<AttendanceRecord> records) {
+        YearMonth ym = YearMonth.parse(targetMonth);
+
+        int workingMask = 0;
+        for (int day = 1; day <= ym.lengthOfMonth(); day++) {
+            if (DateUtil.isWorkingDay(ym.atDay(day))) {
+                workingMask |= 1 << (day - 1);
+            }
+        }
+
+        int presentMask = 0;      // 出勤・退勤打刻済
+        int paidLeaveMask = 0;    // 有給取得日
+        int absentMask = 0;       // 欠勤日
+        int incompleteMask = 0;   // 打刻不完全
+
+        for (AttendanceRecord record : records) {
+            LocalDate date = record.getAttendanceDate();
+            if (date == null || !YearMonth.from(date).equals(ym)) {
+                continue;
+            }
+            int bit = 1 << (date.getDayOfMonth() - 1);
+
+            if (AttendanceRecord.AttendanceStatus.PAID_LEAVE.equals(record.getAttendanceStatus())) {
+                paidLeaveMask |= bit;
+            } else if (record.getClockInTime() != null && record.getClockOutTime() != null) {
+                presentMask |= bit;
+            } else {
+                incompleteMask |= bit;
+            }
+
+            if (AttendanceRecord.AttendanceStatus.ABSENT.equals(record.getAttendanceStatus())) {
+                absentMask |= bit;
+            }
+        }
+
+        // 営業日のうち、有給でも打刻完了でもない日が打刻漏れ
+        int missingMask = workingMask & ~(presentMask | paidLeaveMask);
+        int workingDaysCount = Integer.bitCount(workingMask);
+
+        return MonthlyValidationResult.builder()
+                .targetMonth(targetMonth)
+                .workingDaysCount(workingDaysCount)
+                .completedDaysCount(workingDaysCount - Integer.bitCount(missingMask))
+                .paidLeaveDaysCount(Integer.bitCount(paidLeaveMask & workingMask))
+                .incompleteDaysCount(Integer.bitCount(incompleteMask & missingMask))
+                .missingDates(toDateStrings(ym, missingMask))
+                .absentDates(toDateStrings(ym, absentMask))
+                .build();
+    }
+
+    /**
+     * ビットマップを日付文字列一覧（昇順）に変換
+     */
+    private List<String> toDateStrings(YearMonth ym, int mask) {
+        List<String> dates = new ArrayList<>(Integer.bitCount(mask));
+        int remaining = mask;
+        while (remaining != 0) {
+            int day = Integer.numberOfTrailingZeros(remaining) + 1;
+            dates.add(ym.atDay(day).toString());
+            remaining &= remaining - 1;
+        }
+        return dates;
+    }
+
+    /**
+     * 月末申請チェック結果DTO
+     */
+    @Data
+    @Builder
+    public static class MonthlyValidationResult {
+        private String targetMonth;
+        private int workingDaysCount;
+        private int completedDaysCount;
+        private int paidLeaveDaysCount;
+        private int incompleteDaysCount;
+        private List<String> missingDates;
+        private List<String> absentDates;
+
+        /**
+         * 申請可否
+         * @return 打刻漏れ・欠勤がない場合true
+         */
+        public boolean isSubmittable() {
+            return missingDates.isEmpty() && absentDates.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.kintai.util;
+
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * プリミティブ時間計算エンジン
+ * 勤務ルール（CompiledWorkRule）に従い、エポック秒（long）の算術演算のみで勤怠時間を求める。
+ * 標準勤務では TimeCalculator と同一の計算結果になる。
+ * 計算途中でオブジェクトを生成せず、結果は呼び出し側が再利用する Result に書き込む。
+ *
+ * 日付をまたぐ勤務ルール（夜勤など）は、始業・終業・休憩・深夜区間を勤務日（始業時刻の属する日）起点で判定する。
+ *
+ * 入力は秒精度とする（DATETIME 列の精度）。秒未満を含む時刻は TimeCalculator と
+ * 端数処理が一致しないため、事前に切り捨てること。
+ */
+@Component
+public class PrimitiveTimeCalculator {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * 日時をエポック秒に変換（タイムゾーン変換なしの壁時計時刻として扱う）
+     * @param dateTime 日時
+     * @return エポック秒
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 遅刻時間計算（標準勤務）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @return 遅刻時間（分）
+     */
+    public int calculateLateMinutes(long clockIn) {
+        return calculateLateMinutes(clockIn, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 遅刻時間計算
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param rule 勤務ルール
+     * @return 遅刻時間（分）
+     */
+    public int calculateLateMinutes(long clockIn, CompiledWorkRule rule) {
+        if (rule.isFlexTime()) {
+            return 0;
+        }
+        return Math.max(0, rule.toShiftClockInSecond(secondOfDay(clockIn)) - rule.getStartSecond()) / SECONDS_PER_MINUTE;
+    }
+
+    /**
+     * 早退時間計算（標準勤務）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @return 早退時間（分）
+     */
+    public int calculateEarlyLeaveMinutes(long clockOut) {
+        return calculateEarlyLeaveMinutes(clockOut, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 早退時間計算
+     * @param clockOut 退勤時刻（エポック秒）
+     * @param rule 勤務ルール
+     * @return 早退時間（分）
+     */
+    public int calculateEarlyLeaveMinutes(long clockOut, CompiledWorkRule rule) {
+        if (rule.isFlexTime()) {
+            return 0;
+        }
+        return Math.max(0, rule.getEndSecond() - rule.toShiftClockOutSecond(secondOfDay(clockOut))) / SECONDS_PER_MINUTE;
+    }
+
+    /**
+     * 実働時間計算（昼休憩自動控除）（標準勤務）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @return 実働時間（分）
+     */
+    public int calculateWorkingMinutes(long clockIn, long clockOut) {
+        return calculateWorkingMinutes(clockIn, clockOut, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 実働時間計算（休憩自動控除）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @param rule 勤務ルール
+     * @return 実働時間（分）
+     */
+    public int calculateWorkingMinutes(long clockIn, long clockOut, CompiledWorkRule rule) {
+        long totalMinutes = (clockOut - clockIn) / SECONDS_PER_MINUTE;
+        long inSecond;
+        long outSecond;
+        if (rule.isOvernight()) {
+            // 勤務日0:00起点の秒（退勤は出勤からの経過で求める）
+            inSecond = rule.toShiftClockInSecond(secondOfDay(clockIn));
+            outSecond = inSecond + (clockOut - clockIn);
+        } else {
+            inSecond = secondOfDay(clockIn);
+            outSecond = secondOfDay(clockOut);
+        }
+
+        // 休憩時間帯をまたぐ場合は休憩時間分を控除
+        for (int i = 0; i < rule.getBreakCount(); i++) {
+            if (inSecond < rule.getBreakEndSecond(i) && outSecond > rule.getBreakStartSecond(i)) {
+                totalMinutes -= rule.getBreakMinutes(i);
+            }
+        }
+
+        return Math.max(0, (int) totalMinutes);
+    }
+
+    /**
+     * 残業時間計算（標準勤務）
+     * @param workingMinutes 実働時間（分）
+     * @return 残業時間（分）
+     */
+    public int calculateOvertimeMinutes(int workingMinutes) {
+        return calculateOvertimeMinutes(workingMinutes, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 残業時間計算
+     * @param workingMinutes 実働時間（分）
+     * @param rule 勤務ルール
+     * @return 残業時間（分）
+     */
+    public int calculateOvertimeMinutes(int workingMinutes, CompiledWorkRule rule) {
+        return Math.max(0, workingMinutes - rule.getStandardWorkingMinutes());
+    }
+
+    /**
+     * 深夜勤務時間計算（出勤日22:00-24:00 と 翌日0:00-5:00 の重なり）（標準勤務）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @return 深夜勤務時間（分）
+     */
+    public int calculateNightShiftMinutes(long clockIn, long clockOut) {
+        return calculateNightShiftMinutes(clockIn, clockOut, CompiledWorkRule.DEFAULT);
+    }
+
+    /**
+     * 深夜勤務時間計算（勤務ルールの深夜区間との重なり。日付をまたぐルールは翌日の深夜区間も含む）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @param rule 勤務ルール
+     * @return 深夜勤務時間（分）
+     */
+    public int calculateNightShiftMinutes(long clockIn, long clockOut, CompiledWorkRule rule) {
+        // 勤務日0:00（日付をまたぐルールで前日の勤務とみなす出勤は前日0:00）
+        int inSecond = secondOfDay(clockIn);
+        long dayStart = clockIn - rule.toShiftClockInSecond(inSecond);
+
+        // 区間ごとに分へ切り捨ててから合算する（TimeCalculator と同じ端数処理）
+        long nightMinutes = 0;
+        for (int day = 0; day < rule.getNightDayCount(); day++) {
+            long offset = dayStart + (long) day * SECONDS_PER_DAY;
+            for (int i = 0; i < rule.getNightWindowCount(); i++) {
+                long overlap = Math.min(clockOut, offset + rule.getNightEndSecond(i))
+                        - Math.max(clockIn, offset + rule.getNightStartSecond(i));
+                nightMinutes += Math.max(0, overlap) / SECONDS_PER_MINUTE;
+            }
+        }
+        return (int) nightMinutes;
+    }
+
+    /**
+     * 勤怠時間統合計算（標準勤務）
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @param result 計算結果の書き込み先（再利用可）
+     * @return 引数の result
+     */
+    public Result calculateAttendanceTimes(long clockIn, long clockOut, Result result) {
+        return calculateAttendanceTimes(clockIn, clockOut, CompiledWorkRule.DEFAULT, result);
+    }
+
+    /**
+     * 勤怠時間統合計算
+     * @param clockIn 出勤時刻（エポック秒）
+     * @param clockOut 退勤時刻（エポック秒）
+     * @param rule 勤務ルール
+     * @param result 計算結果の書き込み先（再利用可）
+     * @return 引数の result
+     */
+    public Result calculateAttendanceTimes(long clockIn, long clockOut, CompiledWorkRule rule, Result result) {
+        int workingMinutes = calculateWorkingMinutes(clockIn, clockOut, rule);
+
+        result.lateMinutes = calculateLateMinutes(clockIn, rule);
+        result.earlyLeaveMinutes = calculateEarlyLeaveMinutes(clockOut, rule);
+        result.workingMinutes = workingMinutes;
+        result.overtimeMinutes = calculateOvertimeMinutes(workingMinutes, rule);
+        result.nightShiftMinutes = calculateNightShiftMinutes(clockIn, clockOut, rule);
+        return result;
+    }
+
+    /**
+     * 日内秒取得
+     */
+    private static int secondOfDay(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, (long) SECONDS_PER_DAY);
+    }
+
+    /**
+     * 勤怠計算結果（再利用可能な可変ホルダー）
+     */
+    @Data
+    public static class Result {
+        private int lateMinutes;
+        private int earlyLeaveMinutes;
+        private int workingMinutes;
+        private int overtimeMinutes;
+        private int nightShiftMinutes;
+    }
+}
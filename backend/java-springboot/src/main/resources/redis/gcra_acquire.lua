@@ -0,0 +1,30 @@
+-- GCRA によるトークン一括取得（レート制限）
+-- KEYS[1]: 制限キー（値は理論到着時刻 TAT、マイクロ秒）
+-- ARGV[1]: 発行間隔（マイクロ秒）
+-- ARGV[2]: バースト許容量（マイクロ秒）
+-- ARGV[3]: 取得を希望するトークン数
+-- 戻り値: 取得できたトークン数（0 の場合は制限超過）
+if redis.replicate_commands then
+  redis.replicate_commands()
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+local interval = tonumber(ARGV[1])
+local tolerance = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+if tat < now then
+  tat = now
+end
+
+local available = math.floor((now + tolerance - tat) / interval) + 1
+if available <= 0 then
+  return 0
+end
+
+local granted = math.min(available, requested)
+local newTat = tat + granted * interval
+redis.call('SET', KEYS[1], string.format('%.0f', newTat), 'PX', math.ceil((newTat - now) / 1000) + 1)
+return granted
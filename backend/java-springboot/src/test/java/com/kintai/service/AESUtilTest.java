@@ -0,0 +1,66 @@
+package com.kintai.service;
+
+import com.kintai.security.AESUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AESUtil 単体テスト
+ * 暗号化・復号化の往復、従来形式との互換性、一括処理のテスト
+ */
+class AESUtilTest {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+
+    private AESUtil aesUtil = new AESUtil();
+
+    @Test
+    @DisplayName("暗号化 - 復号化で元の文字列に戻り、同じ平文でも暗号文は毎回異なる")
+    void encrypt_RoundTrip() throws Exception {
+        String first = aesUtil.encrypt("山田太郎", KEY);
+        String second = aesUtil.encrypt("山田太郎", KEY);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(aesUtil.decrypt(first, KEY)).isEqualTo("山田太郎");
+        assertThat(aesUtil.decrypt(second, KEY)).isEqualTo("山田太郎");
+        assertThatThrownBy(() -> aesUtil.decrypt(first, "fedcba9876543210fedcba9876543210"))
+                .isInstanceOf(Exception.class);
+    }
+
+    @Test
+    @DisplayName("復号化 - 従来の実装で暗号化したデータを復号できる")
+    void decrypt_LegacyCiphertext() throws Exception {
+        byte[] iv = new byte[12];
+        Arrays.fill(iv, (byte) 7);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(), "AES"), new GCMParameterSpec(128, iv));
+        byte[] encrypted = cipher.doFinal("yamada@example.com".getBytes());
+        String legacy = Base64.getEncoder().encodeToString(
+                ByteBuffer.allocate(4 + iv.length + encrypted.length).putInt(iv.length).put(iv).put(encrypted).array());
+
+        assertThat(aesUtil.decrypt(legacy, KEY)).isEqualTo("yamada@example.com");
+    }
+
+    @Test
+    @DisplayName("一括暗号化 - 順序と null を保持し、16/24/32バイト以外の鍵は導出して使用")
+    void encryptAll_PreservesOrderAndNulls() throws Exception {
+        String derivedKey = "default-encryption-key-change-in-production";
+        List<String> plainTexts = Arrays.asList("a", null, "ｃ");
+
+        List<String> encrypted = aesUtil.encryptAll(plainTexts, derivedKey);
+
+        assertThat(encrypted.get(1)).isNull();
+        assertThat(aesUtil.decryptAll(encrypted, derivedKey)).containsExactly("a", null, "ｃ");
+    }
+}
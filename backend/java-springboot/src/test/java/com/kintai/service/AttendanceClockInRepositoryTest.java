@@ -0,0 +1,80 @@
+package com.kintai.service;
+
+import com.kintai.repository.AttendanceClockInRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AttendanceClockInRepository 単体テスト
+ * インメモリ H2 上で、出勤打刻の upsert が (社員ID, 勤怠日) ごとに1件・先着の出勤時刻のみを登録することを検証する
+ */
+class AttendanceClockInRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceClockInRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:clock_in_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, clock_in_time DATETIME, " +
+                "clock_out_time DATETIME, working_minutes INT, late_minutes INT DEFAULT 0 NOT NULL, " +
+                "early_leave_minutes INT DEFAULT 0 NOT NULL, overtime_minutes INT DEFAULT 0 NOT NULL, " +
+                "night_shift_minutes INT DEFAULT 0 NOT NULL, " +
+                "attendance_status ENUM('normal','paid_leave','absent') DEFAULT 'normal' NOT NULL, " +
+                "submission_status ENUM('未提出','申請済','承認','却下') DEFAULT '未提出' NOT NULL, " +
+                "attendance_fixed_flag TINYINT(1) DEFAULT 0 NOT NULL, created_at DATETIME NOT NULL, updated_at DATETIME NOT NULL)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_employee_date ON attendance_records (employee_id, attendance_date)");
+        repository = new AttendanceClockInRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("出勤打刻 upsert - 初回は作成、2回目は変更せず null")
+    void clockIn_CreatesOnceAndRejectsDuplicate() {
+        Long attendanceId = repository.clockIn(1L, TODAY, TODAY.atTime(9, 5), 5);
+        Long duplicate = repository.clockIn(1L, TODAY, TODAY.atTime(9, 6), 6);
+
+        assertThat(attendanceId).isNotNull();
+        assertThat(duplicate).isNull();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records");
+        assertThat(row.get("attendance_id")).isEqualTo(attendanceId);
+        assertThat(row.get("clock_in_time")).isEqualTo(Timestamp.valueOf(TODAY.atTime(9, 5)));
+        assertThat(row.get("late_minutes")).isEqualTo(5);
+        assertThat(row.get("attendance_status")).isEqualTo("normal");
+        assertThat(row.get("submission_status")).isEqualTo("未提出");
+    }
+
+    @Test
+    @DisplayName("出勤打刻 upsert - 出勤時刻未登録の既存記録には出勤時刻を設定")
+    void clockIn_UpdatesRecordWithoutClockIn() {
+        LocalDateTime created = TODAY.atStartOfDay();
+        jdbcTemplate.update("INSERT INTO attendance_records (employee_id, attendance_date, attendance_status, " +
+                "created_at, updated_at) VALUES (2, ?, 'paid_leave', ?, ?)", TODAY, created, created);
+        Long existingId = jdbcTemplate.queryForObject("SELECT attendance_id FROM attendance_records", Long.class);
+
+        Long attendanceId = repository.clockIn(2L, TODAY, TODAY.atTime(13, 0), 0);
+
+        assertThat(attendanceId).isEqualTo(existingId);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT clock_in_time FROM attendance_records", Timestamp.class))
+                .isEqualTo(Timestamp.valueOf(TODAY.atTime(13, 0)));
+        assertThat(jdbcTemplate.queryForObject("SELECT attendance_status FROM attendance_records", String.class))
+                .isEqualTo("paid_leave");
+    }
+}
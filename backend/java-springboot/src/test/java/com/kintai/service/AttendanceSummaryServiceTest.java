@@ -0,0 +1,141 @@
+package com.kintai.service;
+
+import com.kintai.dto.AttendanceSummary;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryUpsertRepository;
+import com.kintai.util.TimeCalculator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AttendanceSummaryService 単体テスト
+ * 月次サマリーへの差分反映（作成済みの月の差分加算、未作成の月の初回作成、初回作成の競合）を検証する
+ * サマリー作成の upsert はインメモリ H2 上で実行する
+ */
+class AttendanceSummaryServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 8, 1);
+
+    private final MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository = mock(MonthlyAttendanceSummaryRepository.class);
+    private final AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:summary_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE monthly_attendance_summaries (employee_id BIGINT NOT NULL, " +
+                "target_month VARCHAR(7) NOT NULL, total_working_minutes INT DEFAULT 0 NOT NULL, " +
+                "total_overtime_minutes INT DEFAULT 0 NOT NULL, total_night_shift_minutes INT DEFAULT 0 NOT NULL, " +
+                "total_late_minutes INT DEFAULT 0 NOT NULL, total_early_leave_minutes INT DEFAULT 0 NOT NULL, " +
+                "paid_leave_days INT DEFAULT 0 NOT NULL, absent_days INT DEFAULT 0 NOT NULL, " +
+                "created_at DATETIME NOT NULL, updated_at DATETIME NOT NULL, PRIMARY KEY (employee_id, target_month))");
+
+        service = new AttendanceSummaryService(monthlyAttendanceSummaryRepository,
+                new MonthlyAttendanceSummaryUpsertRepository(jdbcTemplate), attendanceRecordRepository, new TimeCalculator());
+    }
+
+    @Test
+    @DisplayName("差分反映 - 作成済みの月は差分のみ加算し、勤怠記録を読み込まない")
+    void applyChange_ExistingSummaryAddsDelta() {
+        when(monthlyAttendanceSummaryRepository.addDelta(anyLong(), anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+
+        service.applyChange(1L, DATE, summary(480, 0, 0), summary(540, 60, 5));
+
+        verify(monthlyAttendanceSummaryRepository).addDelta(eq(1L), eq("2025-08"), eq(60), eq(60), eq(0),
+                eq(5), eq(0), eq(0), eq(0), any(LocalDateTime.class));
+        verify(attendanceRecordRepository, never()).findByEmployeeIdAndAttendanceDateBetween(anyLong(), any(), any());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM monthly_attendance_summaries", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("差分反映 - 変更が無い場合は更新しない")
+    void applyChange_NoChangeSkipsUpdate() {
+        service.applyChange(1L, DATE, summary(480, 0, 0), summary(480, 0, 0));
+
+        verify(monthlyAttendanceSummaryRepository, never()).addDelta(anyLong(), anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("差分反映 - 未作成の月は当月の勤怠記録（今回の変更を含む）から作成")
+    void applyChange_FirstWriteCreatesFromRecords() {
+        when(attendanceRecordRepository.findByEmployeeIdAndAttendanceDateBetween(1L, DATE, LocalDate.of(2025, 8, 31)))
+                .thenReturn(List.of(record(DATE, 480, 0, 0), record(DATE.plusDays(1), 540, 60, 5)));
+
+        service.applyChange(1L, DATE.plusDays(1), summary(0, 0, 0), summary(540, 60, 5));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM monthly_attendance_summaries");
+        assertThat(row.get("employee_id")).isEqualTo(1L);
+        assertThat(row.get("target_month")).isEqualTo("2025-08");
+        assertThat(row.get("total_working_minutes")).isEqualTo(1020);
+        assertThat(row.get("total_overtime_minutes")).isEqualTo(60);
+        assertThat(row.get("total_late_minutes")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("差分反映 - 初回作成が競合し他のトランザクションが先に作成した場合は、主キー違反にせず差分のみ加算")
+    void applyChange_ConcurrentFirstWriteAddsDeltaOnly() {
+        // 他のトランザクションが先に作成・コミットした月次サマリー（差分加算の時点では未作成だった）
+        LocalDateTime created = DATE.atStartOfDay();
+        jdbcTemplate.update("INSERT INTO monthly_attendance_summaries (employee_id, target_month, total_working_minutes, " +
+                "total_late_minutes, created_at, updated_at) VALUES (1, '2025-08', 480, 0, ?, ?)", created, created);
+        when(attendanceRecordRepository.findByEmployeeIdAndAttendanceDateBetween(anyLong(), any(), any()))
+                .thenReturn(List.of(record(DATE.plusDays(1), 540, 60, 5)));
+
+        service.applyChange(1L, DATE.plusDays(1), summary(0, 0, 0), summary(540, 60, 5));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM monthly_attendance_summaries");
+        assertThat(row.get("total_working_minutes")).isEqualTo(1020);
+        assertThat(row.get("total_overtime_minutes")).isEqualTo(60);
+        assertThat(row.get("total_late_minutes")).isEqualTo(5);
+    }
+
+    private static AttendanceSummary summary(int working, int overtime, int late) {
+        return AttendanceSummary.builder()
+                .totalWorkingMinutes(working)
+                .totalOvertimeMinutes(overtime)
+                .totalNightShiftMinutes(0)
+                .totalLateMinutes(late)
+                .totalEarlyLeaveMinutes(0)
+                .paidLeaveDays(0)
+                .absentDays(0)
+                .build();
+    }
+
+    private static AttendanceRecord record(LocalDate date, int working, int overtime, int late) {
+        return AttendanceRecord.builder()
+                .employeeId(1L)
+                .attendanceDate(date)
+                .workingMinutes(working)
+                .overtimeMinutes(overtime)
+                .lateMinutes(late)
+                .attendanceStatus(AttendanceRecord.AttendanceStatus.NORMAL)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.kintai.service;
+
+import com.kintai.audit.AuditEventListener;
+import com.kintai.audit.AuditLogService;
+import com.kintai.audit.ClockingEvent;
+import com.kintai.audit.LoginSuccessEvent;
+import com.kintai.config.AsyncEventConfig;
+import com.kintai.entity.Employee;
+import com.kintai.security.AuthenticatedEmployee;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * AuditEventListener / AsyncEventConfig 単体テスト
+ * コミット後のみの監査記録、イベント発行時刻の記録、キュー満杯時の破棄（呼び出し元スレッドで実行しない）、
+ * 発行元での社員コード解決（プリンシパルから取得し DB を参照しない）を検証する
+ */
+class AuditEventListenerTest {
+
+    private AnnotationConfigApplicationContext context;
+    private AuditLogService auditLogService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        auditLogService = context.getBean(AuditLogService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("監査記録 - 業務トランザクションのコミット後に記録")
+    void onClocking_RecordedAfterCommit() {
+        transactionTemplate.executeWithoutResult(status ->
+                context.publishEvent(new ClockingEvent(this, 1L, "E001", "clock_in")));
+
+        verify(auditLogService, timeout(5000)).logEvent(eq("AttendanceRecord"), eq("1"), eq("CLOCK_IN"),
+                eq("E001"), any(LocalDateTime.class), any());
+    }
+
+    @Test
+    @DisplayName("監査記録 - 業務トランザクションがロールバックした場合は記録しない")
+    void onClocking_NotRecordedOnRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            context.publishEvent(new ClockingEvent(this, 1L, "E001", "clock_in"));
+            status.setRollbackOnly();
+        });
+
+        verify(auditLogService, after(500).never()).logEvent(anyString(), anyString(), anyString(),
+                any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("ログイン監査 - 非同期処理の実行時刻ではなくイベント発行時刻を記録")
+    void onLoginSuccess_RecordsEventTimestamp() {
+        LoginSuccessEvent event = new LoginSuccessEvent(this, "E001", "127.0.0.1");
+
+        context.publishEvent(event);
+
+        verify(auditLogService, timeout(5000)).logLoginAttempt("E001", "SUCCESS", event.getEventTimestamp(), "127.0.0.1");
+    }
+
+    @Test
+    @DisplayName("社員コード解決 - 認証中の社員本人はプリンシパルの社員コード、それ以外は社員ID")
+    void employeeCodeOf_ResolvedFromPrincipal() {
+        AuthenticatedEmployee principal = AuthenticatedEmployee.builder()
+                .employeeId(1L)
+                .employeeCode("E001")
+                .employeeRole(Employee.EmployeeRole.ADMIN)
+                .employmentStatus(Employee.EmploymentStatus.ACTIVE)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        assertThat(AuthenticatedEmployee.employeeCodeOf(1L)).isEqualTo("E001");
+        assertThat(AuthenticatedEmployee.employeeCodeOf(2L)).isEqualTo("2");
+        assertThat(AuthenticatedEmployee.employeeCodeOf(null)).isEqualTo("SYSTEM");
+    }
+
+    @Test
+    @DisplayName("イベントエグゼキューター - キュー満杯時は破棄し、呼び出し元スレッドで実行しない")
+    void eventExecutor_FullQueueDropsWithoutCallerRuns() throws Exception {
+        AsyncEventConfig config = new AsyncEventConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", false);
+        ReflectionTestUtils.setField(config, "poolSize", 1);
+        ReflectionTestUtils.setField(config, "queueCapacity", 1);
+        ExecutorService executor = config.eventExecutor();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            List<String> executedOn = new CopyOnWriteArrayList<>();
+
+            // 1件目でワーカーを占有し、2件目でキューを満杯にする
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(() -> executedOn.add("queued:" + Thread.currentThread().getName()));
+
+            executor.execute(() -> executedOn.add("dropped:" + Thread.currentThread().getName()));
+
+            release.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executedOn).containsExactly("queued:event-1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({AsyncEventConfig.class, AuditEventListener.class})
+    static class TestConfig {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:audit_event_test;DB_CLOSE_DELAY=-1");
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        AuditLogService auditLogService() {
+            return mock(AuditLogService.class);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.kintai.service;
+
+import com.kintai.audit.AuditLogWriter;
+import com.kintai.dto.AuditPipelineStatus;
+import com.kintai.entity.AuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AuditLogWriter 単体テスト
+ * 一括登録の単位とキュー満杯時の破棄を検証する
+ */
+class AuditLogWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private AuditLogWriter auditLogWriter;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(auditLogWriter, "shutdown");
+    }
+
+    @Test
+    @DisplayName("監査ログ - batchSize 件ずつ JDBC バッチで登録")
+    void submit_WritesInBatches() throws Exception {
+        CountDownLatch written = new CountDownLatch(1_200);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batchSizes.add(rows.size());
+            rows.forEach(row -> written.countDown());
+            return new int[rows.size()];
+        });
+        auditLogWriter = newWriter(10_000, 500);
+
+        for (int i = 0; i < 1_200; i++) {
+            assertThat(auditLogWriter.submit(auditLog(i))).isTrue();
+        }
+
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(batchSizes).allMatch(size -> size <= 500);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(1_200);
+        assertThat(auditLogWriter.getStatus().getDroppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("監査ログ - 書き込みが滞留しキューが満杯の場合は待たずに破棄して件数を記録")
+    void submit_DropsWhenQueueFull() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            List<Object[]> rows = invocation.getArgument(1);
+            return new int[rows.size()];
+        });
+        auditLogWriter = newWriter(10, 1);
+
+        auditLogWriter.submit(auditLog(0));
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 20; i++) {
+            auditLogWriter.submit(auditLog(i));
+        }
+
+        AuditPipelineStatus status = auditLogWriter.getStatus();
+        assertThat(status.getQueuedCount()).isEqualTo(10);
+        assertThat(status.getDroppedCount()).isEqualTo(10);
+        release.countDown();
+    }
+
+    private AuditLogWriter newWriter(int queueCapacity, int batchSize) {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(writer, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(writer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 0L);
+        ReflectionTestUtils.invokeMethod(writer, "start");
+        return writer;
+    }
+
+    private AuditLog auditLog(int i) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEntityType("AttendanceRecord");
+        auditLog.setEntityId(String.valueOf(i));
+        auditLog.setOperation("UPDATE");
+        auditLog.setEmployeeCode("E001");
+        return auditLog;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kintai.service;
+
+import com.kintai.util.BatchTimeCalculator;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BatchTimeCalculator 単体テスト
+ * TimeCalculator との差分テスト（計算結果の完全一致を確認）
+ */
+class BatchTimeCalculatorTest {
+
+    private static final int BATCH_SIZE = 4_096;
+
+    private TimeCalculator timeCalculator = new TimeCalculator();
+    private BatchTimeCalculator batchTimeCalculator = new BatchTimeCalculator();
+
+    @Test
+    @DisplayName("一括計算 - 日跨ぎ・逆転を含むランダム入力で TimeCalculator と一致")
+    void calculate_MatchesTimeCalculator() {
+        Random random = new Random(20250801L);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        BatchTimeCalculator.Columns columns = new BatchTimeCalculator.Columns(BATCH_SIZE);
+        LocalDateTime[] clockIns = new LocalDateTime[BATCH_SIZE];
+        LocalDateTime[] clockOuts = new LocalDateTime[BATCH_SIZE];
+
+        for (int batch = 0; batch < 50; batch++) {
+            columns.clear();
+            while (!columns.isFull()) {
+                LocalDateTime clockIn = base.plusSeconds(random.nextInt(365 * 86_400));
+                LocalDateTime clockOut = clockIn.plusSeconds(random.nextInt(36 * 3_600) - 3_600);
+                int row = columns.add(clockIn, clockOut);
+                clockIns[row] = clockIn;
+                clockOuts[row] = clockOut;
+            }
+
+            batchTimeCalculator.calculate(columns);
+
+            for (int row = 0; row < columns.size(); row++) {
+                TimeCalculator.AttendanceCalculationResult expected =
+                        timeCalculator.calculateAttendanceTimes(clockIns[row], clockOuts[row]);
+                String input = clockIns[row] + " - " + clockOuts[row];
+                assertThat(columns.getLateMinutes(row)).as(input).isEqualTo(expected.getLateMinutes());
+                assertThat(columns.getEarlyLeaveMinutes(row)).as(input).isEqualTo(expected.getEarlyLeaveMinutes());
+                assertThat(columns.getWorkingMinutes(row)).as(input).isEqualTo(expected.getWorkingMinutes());
+                assertThat(columns.getOvertimeMinutes(row)).as(input).isEqualTo(expected.getOvertimeMinutes());
+                assertThat(columns.getNightShiftMinutes(row)).as(input).isEqualTo(expected.getNightShiftMinutes());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("一括計算 - 昼休憩・深夜帯の境界")
+    void calculate_Boundaries() {
+        BatchTimeCalculator.Columns columns = new BatchTimeCalculator.Columns(8);
+        columns.add(LocalDateTime.of(2025, 8, 1, 12, 59, 59), LocalDateTime.of(2025, 8, 1, 13, 30, 0));
+        columns.add(LocalDateTime.of(2025, 8, 1, 8, 0, 0), LocalDateTime.of(2025, 8, 1, 12, 0, 0));
+        columns.add(LocalDateTime.of(2025, 8, 1, 9, 15, 0), LocalDateTime.of(2025, 8, 2, 1, 0, 0));
+
+        batchTimeCalculator.calculate(columns);
+
+        assertThat(columns.getWorkingMinutes(0)).isEqualTo(0);
+        assertThat(columns.getWorkingMinutes(1)).isEqualTo(240);
+        assertThat(columns.getLateMinutes(2)).isEqualTo(15);
+        assertThat(columns.getWorkingMinutes(2)).isEqualTo(945);
+        assertThat(columns.getOvertimeMinutes(2)).isEqualTo(465);
+        assertThat(columns.getNightShiftMinutes(2)).isEqualTo(180);
+    }
+}
@@ -0,0 +1,180 @@
+package com.kintai.service;
+
+import com.kintai.entity.WorkRule;
+import com.kintai.entity.WorkRuleBreak;
+import com.kintai.util.BatchTimeCalculator;
+import com.kintai.util.CompiledWorkRule;
+import com.kintai.util.PrimitiveTimeCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompiledWorkRule 単体テスト
+ * 勤務ルール（シフト・フレックス・短時間勤務）に従った時間計算のテスト
+ */
+class CompiledWorkRuleTest {
+
+    private PrimitiveTimeCalculator primitiveTimeCalculator = new PrimitiveTimeCalculator();
+    private BatchTimeCalculator batchTimeCalculator = new BatchTimeCalculator();
+    private PrimitiveTimeCalculator.Result result = new PrimitiveTimeCalculator.Result();
+
+    @Test
+    @DisplayName("勤務ルール - 遅番シフト（13:00～22:00、休憩2回、深夜22:00～翌5:00）")
+    void calculate_LateShift() {
+        CompiledWorkRule rule = compile(LocalTime.of(13, 0), LocalTime.of(22, 0), 480, false,
+                LocalTime.of(17, 0), LocalTime.of(17, 45),
+                LocalTime.of(20, 0), LocalTime.of(20, 15));
+
+        calculate(rule, LocalDateTime.of(2025, 8, 1, 13, 10), LocalDateTime.of(2025, 8, 1, 23, 0));
+
+        assertThat(result.getLateMinutes()).isEqualTo(10);
+        assertThat(result.getEarlyLeaveMinutes()).isEqualTo(0);
+        assertThat(result.getWorkingMinutes()).isEqualTo(530); // 9時間50分 - 休憩60分
+        assertThat(result.getOvertimeMinutes()).isEqualTo(50);
+        assertThat(result.getNightShiftMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - フレックスタイムは遅刻・早退を計上しない")
+    void calculate_FlexTime() {
+        CompiledWorkRule rule = compile(LocalTime.of(9, 0), LocalTime.of(18, 0), 480, true,
+                LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        calculate(rule, LocalDateTime.of(2025, 8, 1, 10, 30), LocalDateTime.of(2025, 8, 1, 16, 0));
+
+        assertThat(result.getLateMinutes()).isEqualTo(0);
+        assertThat(result.getEarlyLeaveMinutes()).isEqualTo(0);
+        assertThat(result.getWorkingMinutes()).isEqualTo(270);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - 短時間勤務（所定5時間、休憩なし）")
+    void calculate_PartTime() {
+        CompiledWorkRule rule = compile(LocalTime.of(10, 0), LocalTime.of(15, 0), 300, false);
+
+        calculate(rule, LocalDateTime.of(2025, 8, 1, 10, 0), LocalDateTime.of(2025, 8, 1, 16, 0));
+
+        assertThat(result.getWorkingMinutes()).isEqualTo(360);
+        assertThat(result.getOvertimeMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - 夜勤（22:00～翌7:00、休憩2:00～3:00）の休憩控除と深夜時間")
+    void calculate_OvernightShift() {
+        CompiledWorkRule rule = compile(LocalTime.of(22, 0), LocalTime.of(7, 0), 480, false,
+                LocalTime.of(2, 0), LocalTime.of(3, 0));
+
+        calculate(rule, LocalDateTime.of(2025, 8, 1, 22, 0), LocalDateTime.of(2025, 8, 2, 7, 0));
+
+        assertThat(result.getLateMinutes()).isEqualTo(0);
+        assertThat(result.getEarlyLeaveMinutes()).isEqualTo(0);
+        assertThat(result.getWorkingMinutes()).isEqualTo(480); // 9時間 - 休憩60分
+        assertThat(result.getOvertimeMinutes()).isEqualTo(0);
+        assertThat(result.getNightShiftMinutes()).isEqualTo(420);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - 夜勤の日付をまたいだ出勤は前日始業に対する遅刻、早い退勤は早退")
+    void calculate_OvernightShiftLateAfterMidnight() {
+        CompiledWorkRule rule = compile(LocalTime.of(22, 0), LocalTime.of(7, 0), 480, false,
+                LocalTime.of(2, 0), LocalTime.of(3, 0));
+
+        calculate(rule, LocalDateTime.of(2025, 8, 2, 0, 10), LocalDateTime.of(2025, 8, 2, 6, 30));
+
+        assertThat(result.getLateMinutes()).isEqualTo(130);
+        assertThat(result.getEarlyLeaveMinutes()).isEqualTo(30);
+        assertThat(result.getWorkingMinutes()).isEqualTo(320); // 6時間20分 - 休憩60分
+        assertThat(result.getNightShiftMinutes()).isEqualTo(290);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - 夜勤（22:00～翌5:00）と深夜区間0:00～5:00の重なりは翌日分で判定")
+    void calculate_OvernightShiftNextDayNightWindow() {
+        CompiledWorkRule rule = compile(LocalTime.of(22, 0), LocalTime.of(5, 0), 420, false,
+                LocalTime.of(0, 0), LocalTime.of(5, 0), new LocalTime[0]);
+
+        calculate(rule, LocalDateTime.of(2025, 8, 1, 22, 0), LocalDateTime.of(2025, 8, 2, 5, 0));
+
+        assertThat(result.getLateMinutes()).isEqualTo(0);
+        assertThat(result.getWorkingMinutes()).isEqualTo(420);
+        assertThat(result.getNightShiftMinutes()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("勤務ルール - 一括計算と1件計算の結果が一致")
+    void calculateBatch_MatchesPrimitive() {
+        assertBatchMatchesPrimitive(compile(LocalTime.of(13, 0), LocalTime.of(22, 0), 420, false,
+                LocalTime.of(17, 0), LocalTime.of(17, 45),
+                LocalTime.of(20, 0), LocalTime.of(20, 15)));
+        assertBatchMatchesPrimitive(compile(LocalTime.of(22, 0), LocalTime.of(7, 0), 480, false,
+                LocalTime.of(23, 30), LocalTime.of(0, 15),
+                LocalTime.of(3, 0), LocalTime.of(3, 45)));
+        assertBatchMatchesPrimitive(compile(LocalTime.of(22, 0), LocalTime.of(5, 0), 420, false,
+                LocalTime.of(0, 0), LocalTime.of(5, 0), new LocalTime[0]));
+    }
+
+    private void assertBatchMatchesPrimitive(CompiledWorkRule rule) {
+        Random random = new Random(20250801L);
+        BatchTimeCalculator.Columns columns = new BatchTimeCalculator.Columns(10_000);
+        long[][] punches = new long[10_000][];
+        long base = PrimitiveTimeCalculator.toEpochSecond(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        while (!columns.isFull()) {
+            long clockIn = base + random.nextInt(365 * 86_400);
+            long clockOut = clockIn + random.nextInt(36 * 3_600) - 3_600;
+            punches[columns.add(clockIn, clockOut)] = new long[] { clockIn, clockOut };
+        }
+        batchTimeCalculator.calculate(columns, rule);
+
+        for (int row = 0; row < columns.size(); row++) {
+            primitiveTimeCalculator.calculateAttendanceTimes(punches[row][0], punches[row][1], rule, result);
+            assertThat(columns.getLateMinutes(row)).isEqualTo(result.getLateMinutes());
+            assertThat(columns.getEarlyLeaveMinutes(row)).isEqualTo(result.getEarlyLeaveMinutes());
+            assertThat(columns.getWorkingMinutes(row)).isEqualTo(result.getWorkingMinutes());
+            assertThat(columns.getOvertimeMinutes(row)).isEqualTo(result.getOvertimeMinutes());
+            assertThat(columns.getNightShiftMinutes(row)).isEqualTo(result.getNightShiftMinutes());
+        }
+    }
+
+    private void calculate(CompiledWorkRule rule, LocalDateTime clockIn, LocalDateTime clockOut) {
+        primitiveTimeCalculator.calculateAttendanceTimes(
+                PrimitiveTimeCalculator.toEpochSecond(clockIn),
+                PrimitiveTimeCalculator.toEpochSecond(clockOut), rule, result);
+    }
+
+    private CompiledWorkRule compile(LocalTime start, LocalTime end, int standardMinutes, boolean flex,
+                                     LocalTime... breakTimes) {
+        return compile(start, end, standardMinutes, flex, LocalTime.of(22, 0), LocalTime.of(5, 0), breakTimes);
+    }
+
+    private CompiledWorkRule compile(LocalTime start, LocalTime end, int standardMinutes, boolean flex,
+                                     LocalTime nightStart, LocalTime nightEnd, LocalTime[] breakTimes) {
+        WorkRule rule = WorkRule.builder()
+                .workRuleId(1L)
+                .startTime(start)
+                .endTime(end)
+                .standardWorkingMinutes(standardMinutes)
+                .nightStartTime(nightStart)
+                .nightEndTime(nightEnd)
+                .flexTimeFlag(flex)
+                .build();
+
+        List<WorkRuleBreak> breaks = new ArrayList<>();
+        for (int i = 0; i < breakTimes.length; i += 2) {
+            breaks.add(WorkRuleBreak.builder()
+                    .workRuleId(1L)
+                    .breakStartTime(breakTimes[i])
+                    .breakEndTime(breakTimes[i + 1])
+                    .build());
+        }
+        return CompiledWorkRule.compile(rule, breaks);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kintai.service;
+
+import com.kintai.config.DataSourcePoolProperties;
+import com.kintai.datasource.AdaptivePoolSizer;
+import com.kintai.datasource.HikariPoolMetrics;
+import com.kintai.datasource.QueryTimingDataSource;
+import com.kintai.dto.MetricsSnapshot;
+import com.kintai.metrics.MetricsRegistry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 接続プール計測・自動調整 単体テスト
+ * インメモリ H2 の接続プールで、接続数・接続取得時間・SQL別実行時間の記録と集中時間帯の上限調整を検証する
+ */
+class ConnectionPoolMetricsTest {
+
+    private MetricsRegistry registry;
+    private HikariDataSource hikari;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("test");
+        config.setJdbcUrl("jdbc:h2:mem:pool_metrics_test;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(1);
+        config.setMetricsTrackerFactory(new HikariPoolMetrics(registry));
+        hikari = new HikariDataSource(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hikari.close();
+    }
+
+    @Test
+    @DisplayName("接続プール計測 - 使用中の接続数・接続取得時間・SQL別実行時間を記録")
+    void metrics_RecordsPoolAndQueryTimings() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new QueryTimingDataSource(hikari, registry, 10));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS t (id INT)");
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO t VALUES (?)", i);
+        }
+
+        try (Connection ignored = hikari.getConnection()) {
+            MetricsSnapshot snapshot = registry.snapshot("hikari.");
+            assertThat(gauge(snapshot, "hikari.connections.active")).isEqualTo(1.0);
+            assertThat(gauge(snapshot, "hikari.connections.max")).isEqualTo(2.0);
+            assertThat(timer(snapshot.getTimers(), "hikari.connections.acquire").getCount()).isGreaterThanOrEqualTo(4);
+        }
+
+        List<MetricsSnapshot.TimerValue> queries = registry.snapshot("jdbc.query").getTimers();
+        MetricsSnapshot.TimerValue insert = queries.stream()
+                .filter(t -> t.getTags().get("sql").equals("INSERT INTO t VALUES (?)"))
+                .findFirst().orElseThrow();
+        assertThat(insert.getCount()).isEqualTo(3);
+        assertThat(insert.getHistogram().get("+Inf")).isEqualTo(3);
+        assertThat(insert.getMaxMillis()).isGreaterThan(0.0);
+    }
+
+    @Test
+    @DisplayName("接続プール自動調整 - 集中時間帯は上限を拡大し、時間帯外は段階的に元の設定へ戻す")
+    void adaptiveSizer_GrowsInWindowAndShrinksAfter() {
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.getAdaptiveSizing().setEnabled(true);
+        properties.getAdaptiveSizing().setWindows(List.of("08:30-09:30"));
+        properties.getAdaptiveSizing().setPeakMaximumPoolSize(6);
+        properties.getAdaptiveSizing().setPeakMinimumIdle(4);
+        properties.getAdaptiveSizing().setStep(2);
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(hikari, properties);
+
+        assertThat(sizer.adjust(LocalTime.of(8, 0))).isEqualTo(2);
+        assertThat(sizer.adjust(LocalTime.of(8, 45))).isEqualTo(6);
+        assertThat(hikari.getHikariConfigMXBean().getMinimumIdle()).isEqualTo(4);
+
+        assertThat(sizer.adjust(LocalTime.of(9, 30))).isEqualTo(4);
+        assertThat(sizer.adjust(LocalTime.of(9, 31))).isEqualTo(2);
+        assertThat(hikari.getHikariConfigMXBean().getMinimumIdle()).isEqualTo(1);
+    }
+
+    private static double gauge(MetricsSnapshot snapshot, String name) {
+        return snapshot.getGauges().stream()
+                .filter(g -> g.getName().equals(name))
+                .findFirst().orElseThrow()
+                .getValue();
+    }
+
+    private static MetricsSnapshot.TimerValue timer(List<MetricsSnapshot.TimerValue> timers, String name) {
+        return timers.stream()
+                .filter(t -> t.getName().equals(name))
+                .findFirst().orElseThrow();
+    }
+}
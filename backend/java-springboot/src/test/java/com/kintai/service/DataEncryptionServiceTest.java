@@ -0,0 +1,67 @@
+package com.kintai.service;
+
+import com.kintai.config.EncryptionProperties;
+import com.kintai.security.AESUtil;
+import com.kintai.security.DataEncryptionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DataEncryptionService 単体テスト
+ * キーバージョン付き暗号文、従来形式の復号、キー更新後の再暗号化のテスト
+ */
+class DataEncryptionServiceTest {
+
+    private static final String OLD_KEY = "0123456789abcdef0123456789abcdef";
+    private static final String NEW_KEY = "fedcba9876543210fedcba9876543210";
+
+    private AESUtil aesUtil = new AESUtil();
+
+    @Test
+    @DisplayName("暗号化 - 現行キーのバージョン接頭辞を付与し、一括処理でも復号できる")
+    void encrypt_VersionPrefix() {
+        DataEncryptionService service = new DataEncryptionService(aesUtil, properties(OLD_KEY, 1));
+
+        String encrypted = service.encryptPersonalData("山田太郎");
+        List<String> bulk = service.encryptPersonalData(Arrays.asList("佐藤花子", null));
+
+        assertThat(encrypted).startsWith("v1:");
+        assertThat(service.decryptPersonalData(encrypted)).isEqualTo("山田太郎");
+        assertThat(bulk.get(1)).isNull();
+        assertThat(service.decryptPersonalData(bulk)).containsExactly("佐藤花子", null);
+        assertThat(service.isCurrentKey(encrypted)).isTrue();
+    }
+
+    @Test
+    @DisplayName("キー更新 - 旧キーの暗号文と接頭辞なしの従来形式を復号し、現行キーで再暗号化する")
+    void reEncrypt_AfterRotation() throws Exception {
+        String legacy = aesUtil.encrypt("山田太郎", OLD_KEY);
+        String v1 = new DataEncryptionService(aesUtil, properties(OLD_KEY, 1)).encryptPersonalData("佐藤花子");
+
+        EncryptionProperties rotated = properties(NEW_KEY, 2);
+        rotated.getPreviousKeys().put(1, OLD_KEY);
+        DataEncryptionService service = new DataEncryptionService(aesUtil, rotated);
+
+        assertThat(service.isCurrentKey(legacy)).isFalse();
+        assertThat(service.isCurrentKey(v1)).isFalse();
+        assertThat(service.decryptPersonalData(legacy)).isEqualTo("山田太郎");
+
+        String reEncrypted = service.reEncryptPersonalData(v1);
+        assertThat(reEncrypted).startsWith("v2:");
+        assertThat(service.isCurrentKey(reEncrypted)).isTrue();
+        assertThat(service.reEncryptPersonalData(reEncrypted)).isSameAs(reEncrypted);
+        assertThat(aesUtil.decrypt(reEncrypted.substring(3), NEW_KEY)).isEqualTo("佐藤花子");
+    }
+
+    private EncryptionProperties properties(String key, int keyVersion) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setKey(key);
+        properties.setKeyVersion(keyVersion);
+        return properties;
+    }
+}
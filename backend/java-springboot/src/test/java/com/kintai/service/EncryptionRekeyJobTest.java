@@ -0,0 +1,181 @@
+package com.kintai.service;
+
+import com.kintai.config.EncryptionProperties;
+import com.kintai.dto.EncryptionRekeyStatus;
+import com.kintai.entity.EncryptionRekeyCheckpoint;
+import com.kintai.job.EncryptionRekeyJob;
+import com.kintai.repository.EncryptionRekeyCheckpointRepository;
+import com.kintai.security.AESUtil;
+import com.kintai.security.DataEncryptionService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * EncryptionRekeyJob 単体テスト
+ * チェックポイントからの再開、並行更新された値の書き戻し見送り、状況の公開（公開済みインスタンスを変更しない）を検証する
+ * 社員テーブルはインメモリ H2 上に作成する
+ */
+class EncryptionRekeyJobTest {
+
+    private static final String OLD_KEY = "0123456789abcdef0123456789abcdef";
+    private static final String NEW_KEY = "fedcba9876543210fedcba9876543210";
+
+    private final AESUtil aesUtil = new AESUtil();
+    private final Map<Integer, EncryptionRekeyCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private DataEncryptionService oldKeyService;
+    private DataEncryptionService dataEncryptionService;
+    private EncryptionRekeyJob job;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rekey_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, email VARCHAR(512), " +
+                "updated_at TIMESTAMP)");
+
+        EncryptionProperties oldProperties = new EncryptionProperties();
+        oldProperties.setKey(OLD_KEY);
+        oldProperties.setKeyVersion(1);
+        oldKeyService = new DataEncryptionService(aesUtil, oldProperties);
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO employees VALUES (?, ?, ?)", id,
+                    oldKeyService.encryptPersonalData("user" + id + "@example.com"), LocalDateTime.now());
+        }
+
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setKey(NEW_KEY);
+        properties.setKeyVersion(2);
+        properties.getPreviousKeys().put(1, OLD_KEY);
+        properties.getRekey().setBatchSize(2);
+        properties.getRekey().setParallelism(2);
+        properties.getRekey().setColumns(List.of("email"));
+        dataEncryptionService = spy(new DataEncryptionService(aesUtil, properties));
+
+        EncryptionRekeyCheckpointRepository checkpointRepository = mock(EncryptionRekeyCheckpointRepository.class);
+        when(checkpointRepository.findById(anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<Integer>getArgument(0))));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            EncryptionRekeyCheckpoint checkpoint = invocation.getArgument(0);
+            checkpoints.put(checkpoint.getKeyVersion(), checkpoint);
+            return checkpoint;
+        });
+
+        job = new EncryptionRekeyJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                dataEncryptionService, checkpointRepository, properties);
+        ReflectionTestUtils.invokeMethod(job, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(job, "shutdown");
+    }
+
+    @Test
+    @DisplayName("再暗号化 - 全行を現行キーで再暗号化し、完了をチェックポイントに記録")
+    void start_ReEncryptsAllRows() throws Exception {
+        EncryptionRekeyStatus started = job.start();
+        EncryptionRekeyStatus finished = awaitFinished();
+
+        assertThat(finished.getErrorMessage()).isNull();
+        assertThat(finished.getScannedCount()).isEqualTo(5);
+        assertThat(finished.getUpdatedCount()).isEqualTo(5);
+        assertThat(finished.getLastEmployeeId()).isEqualTo(5);
+        for (long id = 1; id <= 5; id++) {
+            String email = emailOf(id);
+            assertThat(dataEncryptionService.isCurrentKey(email)).isTrue();
+            assertThat(dataEncryptionService.decryptPersonalData(email)).isEqualTo("user" + id + "@example.com");
+        }
+        assertThat(checkpoints.get(2).getCompletedAt()).isNotNull();
+
+        // 公開済みの状況は後から変更されない
+        assertThat(started.isRunning()).isTrue();
+        assertThat(started.getScannedCount()).isZero();
+        assertThat(finished).isNotSameAs(started);
+    }
+
+    @Test
+    @DisplayName("再暗号化 - 未完了のチェックポイントがあれば処理済みの最終社員IDの次から再開")
+    void start_ResumesFromCheckpoint() throws Exception {
+        checkpoints.put(2, EncryptionRekeyCheckpoint.builder()
+                .keyVersion(2)
+                .lastEmployeeId(2L)
+                .scannedCount(2L)
+                .updatedCount(2L)
+                .build());
+
+        EncryptionRekeyStatus started = job.start();
+        EncryptionRekeyStatus finished = awaitFinished();
+
+        assertThat(started.getResumedAfterEmployeeId()).isEqualTo(2);
+        assertThat(finished.getScannedCount()).isEqualTo(3);
+        assertThat(finished.getUpdatedCount()).isEqualTo(3);
+        assertThat(dataEncryptionService.isCurrentKey(emailOf(1))).isFalse();
+        assertThat(dataEncryptionService.isCurrentKey(emailOf(2))).isFalse();
+        for (long id = 3; id <= 5; id++) {
+            assertThat(dataEncryptionService.isCurrentKey(emailOf(id))).isTrue();
+        }
+        EncryptionRekeyCheckpoint checkpoint = checkpoints.get(2);
+        assertThat(checkpoint.getLastEmployeeId()).isEqualTo(5);
+        assertThat(checkpoint.getScannedCount()).isEqualTo(5);
+        assertThat(checkpoint.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("再暗号化 - 読み出し後に並行更新された値は書き戻さず、見送り件数に計上")
+    void start_SkipsConcurrentlyUpdatedValue() throws Exception {
+        String original = emailOf(3);
+        String concurrent = dataEncryptionService.encryptPersonalData("changed@example.com");
+        // 再暗号化の計算中にアプリケーションが現行キーで更新した状況を再現
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE employees SET email = ? WHERE employee_id = 3", concurrent);
+            return invocation.callRealMethod();
+        }).when(dataEncryptionService).reEncryptPersonalData(original);
+
+        job.start();
+        EncryptionRekeyStatus finished = awaitFinished();
+
+        assertThat(finished.getErrorMessage()).isNull();
+        assertThat(finished.getUpdatedCount()).isEqualTo(4);
+        assertThat(finished.getSkippedCount()).isEqualTo(1);
+        assertThat(emailOf(3)).isEqualTo(concurrent);
+    }
+
+    private EncryptionRekeyStatus awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            EncryptionRekeyStatus status = job.getStatus();
+            if (!status.isRunning()) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("rekey did not finish");
+    }
+
+    private String emailOf(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT email FROM employees WHERE employee_id = ?", String.class, employeeId);
+    }
+}
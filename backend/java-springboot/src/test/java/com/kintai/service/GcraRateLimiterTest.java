@@ -0,0 +1,111 @@
+package com.kintai.service;
+
+import com.kintai.filter.GcraRateLimiter;
+import com.kintai.filter.RateLimitPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GcraRateLimiter 単体テスト
+ * 時計を差し替えてバースト・補充・掃除・並行アクセスを検証する
+ */
+class GcraRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final GcraRateLimiter rateLimiter = new GcraRateLimiter(1_000, Duration.ofMinutes(1), clock::get);
+
+    // 1分あたり60回（1秒に1回）、最大5回まで連続許可
+    private final RateLimitPolicy policy = RateLimitPolicy.of("test", 60, Duration.ofMinutes(1), 5);
+
+    @Test
+    @DisplayName("レート制限 - バースト分のみ連続許可し、発行間隔ごとに1回ずつ補充")
+    void tryAcquire_BurstAndRefill() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("a", policy)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire("a", policy)).isFalse();
+        assertThat(rateLimiter.tryAcquire("b", policy)).isTrue();
+
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        assertThat(rateLimiter.tryAcquire("a", policy)).isFalse();
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertThat(rateLimiter.tryAcquire("a", policy)).isTrue();
+        assertThat(rateLimiter.tryAcquire("a", policy)).isFalse();
+    }
+
+    @Test
+    @DisplayName("レート制限 - 枠が満タンに戻ったキーは掃除間隔経過後に削除")
+    void tryAcquire_SweepsIdleKeys() {
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.tryAcquire("ip-" + i, policy);
+        }
+        assertThat(rateLimiter.size()).isEqualTo(100);
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        rateLimiter.tryAcquire("active", policy);
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("レート制限 - キー数が上限の場合は全件掃除せず、枠の残りが多いキーを1件削除して新規キーを制限")
+    void tryAcquire_FullTableEvictsOneKey() {
+        GcraRateLimiter small = new GcraRateLimiter(10, Duration.ofMinutes(1), clock::get);
+        for (int i = 0; i < 5; i++) {
+            small.tryAcquire("hot", policy);
+        }
+        for (int i = 0; i < 9; i++) {
+            small.tryAcquire("idle-" + i, policy);
+        }
+        assertThat(small.size()).isEqualTo(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(small.tryAcquire("new", policy)).isTrue();
+        }
+
+        // 新規キーも記録されて制限され、使い切った "hot" は削除されない
+        assertThat(small.tryAcquire("new", policy)).isFalse();
+        assertThat(small.tryAcquire("hot", policy)).isFalse();
+        assertThat(small.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("レート制限 - 並行アクセスでもバースト数を超えて許可しない")
+    void tryAcquire_Concurrent() throws Exception {
+        RateLimitPolicy burst = RateLimitPolicy.of("test", 1, Duration.ofHours(1), 1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        if (rateLimiter.tryAcquire("shared", burst)) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertThat(total).isEqualTo(1_000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.filter.IdempotencyFilter;
+import com.kintai.filter.IdempotencyStore;
+import com.kintai.security.AuthenticatedEmployee;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IdempotencyFilter 単体テスト
+ * 冪等キーによる再送時の応答再生、保持した本文の読み取りのテスト
+ */
+class IdempotencyFilterTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofMinutes(1));
+    private final IdempotencyFilter filter = new IdempotencyFilter(store,
+            List.of("/api/attendance/clock-in", "/api/requests/leave"));
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        authenticate(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("冪等キー - 再送時はコントローラーを呼び出さずに初回の応答を返す")
+    void replay_ReturnsStoredResponse() throws Exception {
+        MockHttpServletResponse first = post("/api/attendance/clock-in", "key-1", 200);
+        MockHttpServletResponse retry = post("/api/attendance/clock-in", "key-1", 200);
+
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+
+        // 別の社員・別の操作は同じキーでも区別する
+        authenticate(2L);
+        post("/api/attendance/clock-in", "key-1", 200);
+        assertThat(invocations.get()).isEqualTo(2);
+        assertThat(post("/api/requests/leave", "key-1", 200).getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("冪等キー - 5xx の応答は保存せず、再送時に改めて処理する")
+    void serverError_NotStored() throws Exception {
+        assertThat(post("/api/attendance/clock-in", "key-2", 503).getStatus()).isEqualTo(503);
+        assertThat(post("/api/attendance/clock-in", "key-2", 200).getStatus()).isEqualTo(200);
+        assertThat(invocations.get()).isEqualTo(2);
+
+        // キーなし・対象外のパスは毎回処理する
+        post("/api/attendance/clock-in", null, 200);
+        post("/api/attendance/history", "key-2", 200);
+        assertThat(invocations.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("冪等キー - 初回の処理中の再送は 409")
+    void inProgress_Conflict() throws Exception {
+        assertThat(store.begin("1:key-3", "POST /api/attendance/clock-in "
+                + "44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a")).isNull();
+
+        MockHttpServletResponse retry = post("/api/attendance/clock-in", "key-3", 200);
+
+        assertThat(retry.getStatus()).isEqualTo(HttpServletResponse.SC_CONFLICT);
+        assertThat(invocations.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("冪等キー - コンテキストパス /api 配下の実際の URI で判定し、別の本文でのキーの使い回しは 422")
+    void contextPath_AndBodyFingerprint() throws Exception {
+        MockHttpServletResponse first = post("/api", "/api/attendance/clock-in", "key-4", "{\"employeeId\":1}", 200);
+        MockHttpServletResponse retry = post("/api", "/api/attendance/clock-in", "key-4", "{\"employeeId\":1}", 200);
+
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+
+        MockHttpServletResponse otherBody = post("/api", "/api/attendance/clock-in", "key-4", "{\"employeeId\":2}", 200);
+        assertThat(otherBody.getStatus()).isEqualTo(422);
+        assertThat(invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("冪等キー - 保持した本文をノンブロッキング読み込み（ReadListener）でも読み取れる")
+    void cachedBody_ReadListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/attendance/clock-in");
+        request.setContent("{\"employeeId\":1}".getBytes(StandardCharsets.UTF_8));
+        request.addHeader(IdempotencyFilter.HEADER, "key-5");
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> notifications = new ArrayList<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    notifications.add("dataAvailable");
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    notifications.add("allDataRead");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    notifications.add("error");
+                }
+            });
+            ((HttpServletResponse) res).setStatus(200);
+        });
+
+        assertThat(notifications).containsExactly("dataAvailable", "allDataRead");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"employeeId\":1}");
+    }
+
+    private MockHttpServletResponse post(String path, String key, int status) throws Exception {
+        return post("", path, key, "{}", status);
+    }
+
+    private MockHttpServletResponse post(String contextPath, String path, String key, String body, int status)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", contextPath + path);
+        request.setContextPath(contextPath);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            // コントローラーは保持された本文を読み取れる
+            assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+            int count = invocations.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(("{\"success\":true,\"data\":" + count + "}").getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    private void authenticate(Long employeeId) {
+        AuthenticatedEmployee principal = AuthenticatedEmployee.builder()
+                .employeeId(employeeId)
+                .employeeCode("E" + employeeId)
+                .employeeRole(Employee.EmployeeRole.EMPLOYEE)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
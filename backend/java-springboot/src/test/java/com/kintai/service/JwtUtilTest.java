@@ -0,0 +1,133 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.security.AuthenticatedEmployee;
+import com.kintai.security.TokenRevocationRegistry;
+import com.kintai.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtUtil 単体テスト
+ * クレームのみからの認証情報生成とトークン失効のテスト
+ * トークンバージョンは DB（employees.token_version）の代わりに共有の値をリポジトリのモックで返す
+ */
+class JwtUtilTest {
+
+    private static final Duration CACHE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * DB 上のトークンバージョン
+     */
+    private final AtomicLong storedVersion = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private TokenRevocationRegistry tokenRevocationRegistry =
+            new TokenRevocationRegistry(employeeRepository, CACHE_TTL, clock::get);
+    private JwtUtil jwtUtil = new JwtUtil(null, tokenRevocationRegistry);
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "testSecretKeyForJwtUtilTestMustBeLongEnough");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInSec", 600);
+        jwtUtil.init();
+
+        employee = new Employee();
+        employee.setEmployeeId(1L);
+        employee.setEmployeeCode("E001");
+        employee.setEmployeeRole(Employee.EmployeeRole.ADMIN);
+        employee.setEmploymentStatus(Employee.EmploymentStatus.ACTIVE);
+        when(employeeRepository.findTokenVersionByEmployeeId(anyLong()))
+                .thenAnswer(invocation -> Optional.of(storedVersion.get()));
+    }
+
+    @Test
+    @DisplayName("認証情報生成 - クレームのみから社員情報を復元")
+    void getAuthenticatedEmployee_FromClaims() {
+        Claims claims = jwtUtil.parseToken(jwtUtil.generateToken(employee));
+
+        AuthenticatedEmployee authenticated = jwtUtil.getAuthenticatedEmployee(claims);
+
+        assertThat(authenticated.getEmployeeId()).isEqualTo(1L);
+        assertThat(authenticated.getEmployeeCode()).isEqualTo("E001");
+        assertThat(authenticated.getEmployeeRole()).isEqualTo(Employee.EmployeeRole.ADMIN);
+        assertThat(authenticated.getEmploymentStatus()).isEqualTo(Employee.EmploymentStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("トークン失効 - 失効前に発行したトークンは拒否し、失効後の再発行は受理")
+    void getAuthenticatedEmployee_Revoked() {
+        String oldToken = jwtUtil.generateToken(employee);
+
+        revoke(tokenRevocationRegistry);
+
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNull();
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(jwtUtil.generateToken(employee)))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("トークン失効 - 複数レプリカ: 他のレプリカでの失効はキャッシュ期間後に反映し、再発行トークンは古いキャッシュでも受理")
+    void getAuthenticatedEmployee_RevokedOnOtherReplica() {
+        TokenRevocationRegistry otherRegistry = new TokenRevocationRegistry(employeeRepository, CACHE_TTL, clock::get);
+        JwtUtil otherReplica = new JwtUtil(null, otherRegistry);
+        ReflectionTestUtils.setField(otherReplica, "jwtSecret", "testSecretKeyForJwtUtilTestMustBeLongEnough");
+        ReflectionTestUtils.setField(otherReplica, "jwtExpirationInSec", 600);
+        otherReplica.init();
+
+        String oldToken = jwtUtil.generateToken(employee);
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNotNull();
+
+        // 他のレプリカで失効し、再ログインで新しいバージョンのトークンを発行
+        revoke(otherRegistry);
+        String newToken = otherReplica.generateToken(employee);
+
+        // このレプリカのキャッシュは古いが、新しいバージョンのトークンは受理する
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(newToken))).isNotNull();
+        assertThat(otherReplica.getAuthenticatedEmployee(otherReplica.parseToken(oldToken))).isNull();
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNull();
+    }
+
+    @Test
+    @DisplayName("トークン失効 - 複数レプリカ: 再発行が無くてもキャッシュ期間後に DB のバージョンで失効")
+    void getAuthenticatedEmployee_RevocationPropagatesAfterTtl() {
+        String oldToken = jwtUtil.generateToken(employee);
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNotNull();
+
+        // 他のレプリカで失効（DB のみ更新）
+        storedVersion.incrementAndGet();
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNotNull();
+
+        clock.addAndGet(CACHE_TTL.toNanos());
+        assertThat(jwtUtil.getAuthenticatedEmployee(jwtUtil.parseToken(oldToken))).isNull();
+    }
+
+    @Test
+    @DisplayName("トークン検証 - 改ざんされたトークンは null")
+    void parseToken_Tampered() {
+        String token = jwtUtil.generateToken(employee);
+
+        assertThat(jwtUtil.parseToken(token.substring(0, token.length() - 2) + "xx")).isNull();
+    }
+
+    /**
+     * 失効（DB のバージョンを進めてコミットした後の処理を再現）
+     */
+    private void revoke(TokenRevocationRegistry registry) {
+        employee.setTokenVersion(storedVersion.incrementAndGet());
+        registry.revoke(1L, employee.getTokenVersion());
+    }
+}
@@ -0,0 +1,176 @@
+package com.kintai.service;
+
+import com.kintai.dto.MonthlyBulkSubmitResponse;
+import com.kintai.dto.MonthlySubmitResponse;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.util.MonthlySubmissionValidator;
+import com.kintai.util.MonthlySubmissionValidator.MonthlyValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * MonthlyBulkSubmitService 単体テスト
+ * チャンク分割、チャンク単位の失敗報告、ワーカープールでの並列実行、存在しない社員IDの報告を検証する
+ */
+class MonthlyBulkSubmitServiceTest {
+
+    private static final String TARGET_MONTH = "2025-08";
+
+    private final AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final MonthlySubmissionValidator monthlySubmissionValidator = mock(MonthlySubmissionValidator.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<List<Long>> chunks = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private MonthlyBulkSubmitService service;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    @DisplayName("一括申請 - 対象社員をチャンクサイズごとに分割し、結果を指定順に返却")
+    void submitAll_PartitionsIntoChunks() {
+        createService(2, 2);
+        givenExisting(1L, 2L, 3L, 4L, 5L);
+
+        MonthlyBulkSubmitResponse response = service.submitAll(TARGET_MONTH, List.of(5L, 4L, 3L, 2L, 1L, 5L));
+
+        assertThat(chunks).containsExactlyInAnyOrder(List.of(5L, 4L), List.of(3L, 2L), List.of(1L));
+        assertThat(response.getResults()).extracting(MonthlySubmitResponse::getEmployeeId)
+                .containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(response.getTotalCount()).isEqualTo(5);
+        assertThat(response.getSubmittedCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("一括申請 - 失敗したチャンクの社員のみシステムエラーとして報告し、他のチャンクは申請する")
+    void submitAll_ReportsFailedChunkOnly() {
+        createService(2, 2);
+        givenExisting(1L, 2L, 3L, 4L, 5L);
+        when(attendanceRecordRepository.findByEmployeeIdInAndAttendanceDateBetween(anyList(), any(), any()))
+                .thenAnswer(invocation -> {
+                    List<Long> chunk = invocation.getArgument(0);
+                    if (chunk.contains(3L)) {
+                        throw new IllegalStateException("chunk failure");
+                    }
+                    return List.of();
+                });
+
+        MonthlyBulkSubmitResponse response = service.submitAll(TARGET_MONTH, List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(response.getSubmittedCount()).isEqualTo(3);
+        assertThat(response.getFailedCount()).isEqualTo(2);
+        assertThat(response.getResults())
+                .filteredOn(result -> !result.isSuccess())
+                .allMatch(result -> "SYSTEM_ERROR".equals(result.getErrorCode()))
+                .extracting(MonthlySubmitResponse::getEmployeeId)
+                .containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("一括申請 - チャンクはワーカープールのスレッドで並列に処理")
+    void submitAll_RunsChunksOnWorkerPool() {
+        createService(2, 1);
+        givenExisting(1L, 2L);
+        // 2チャンクが同時に実行されない限り通過できない
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        when(attendanceRecordRepository.findByEmployeeIdInAndAttendanceDateBetween(anyList(), any(), any()))
+                .thenAnswer(invocation -> {
+                    threads.add(Thread.currentThread().getName());
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+
+        MonthlyBulkSubmitResponse response = service.submitAll(TARGET_MONTH, List.of(1L, 2L));
+
+        assertThat(response.getSubmittedCount()).isEqualTo(2);
+        assertThat(threads).hasSize(2).allMatch(name -> name.startsWith("bulk-submit-"));
+        assertThat(Set.copyOf(threads)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("一括申請 - 存在しない社員IDは処理せず EMPLOYEE_NOT_FOUND として報告")
+    void submitAll_ReportsUnknownEmployees() {
+        createService(2, 200);
+        givenExisting(1L, 3L);
+
+        MonthlyBulkSubmitResponse response = service.submitAll(TARGET_MONTH, List.of(1L, 2L, 3L, 99L));
+
+        assertThat(chunks).containsExactly(List.of(1L, 3L));
+        assertThat(response.getTotalCount()).isEqualTo(4);
+        assertThat(response.getSubmittedCount()).isEqualTo(2);
+        assertThat(response.getResults())
+                .filteredOn(result -> !result.isSuccess())
+                .allMatch(result -> "EMPLOYEE_NOT_FOUND".equals(result.getErrorCode()))
+                .extracting(MonthlySubmitResponse::getEmployeeId)
+                .containsExactlyInAnyOrder(2L, 99L);
+    }
+
+    @Test
+    @DisplayName("一括申請 - 社員IDに null を含む場合は入力エラー")
+    void submitAll_NullEmployeeIdRejected() {
+        createService(2, 200);
+
+        assertThatThrownBy(() -> service.submitAll(TARGET_MONTH, Arrays.asList(1L, null)))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("VALIDATION_ERROR");
+    }
+
+    private void createService(int workers, int chunkSize) {
+        service = new MonthlyBulkSubmitService(attendanceRecordRepository, employeeRepository,
+                monthlySubmissionValidator, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(service, "workers", workers);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(monthlySubmissionValidator.validate(anyString(), anyList())).thenReturn(MonthlyValidationResult.builder()
+                .targetMonth(TARGET_MONTH)
+                .missingDates(List.of())
+                .absentDates(List.of())
+                .build());
+        when(attendanceRecordRepository.findByEmployeeIdInAndAttendanceDateBetween(anyList(),
+                any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    chunks.add(new ArrayList<>(invocation.<List<Long>>getArgument(0)));
+                    return List.of();
+                });
+    }
+
+    private void givenExisting(Long... employeeIds) {
+        Set<Long> existing = Set.of(employeeIds);
+        when(employeeRepository.findExistingEmployeeIds(any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(existing::contains)
+                        .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.kintai.service;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.util.DateUtil;
+import com.kintai.util.MonthlySubmissionValidator;
+import com.kintai.util.MonthlySubmissionValidator.MonthlyValidationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MonthlySubmissionValidator 単体テスト
+ * 月末申請チェック（日別ビットマップ判定）のテスト
+ */
+class MonthlySubmissionValidatorTest {
+
+    private static final String TARGET_MONTH = "2025-08";
+
+    private MonthlySubmissionValidator validator = new MonthlySubmissionValidator();
+
+    @Test
+    @DisplayName("月末申請チェック - 全営業日打刻済み")
+    void validate_AllWorkingDaysCompleted() {
+        List<AttendanceRecord> records = fullMonth();
+
+        MonthlyValidationResult result = validator.validate(TARGET_MONTH, records);
+
+        assertThat(result.isSubmittable()).isTrue();
+        assertThat(result.getWorkingDaysCount()).isEqualTo(21);
+        assertThat(result.getCompletedDaysCount()).isEqualTo(21);
+        assertThat(result.getMissingDates()).isEmpty();
+        assertThat(result.getAbsentDates()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("月末申請チェック - 記録なし・退勤漏れの日を検出")
+    void validate_MissingAndIncompleteDays() {
+        List<AttendanceRecord> records = fullMonth();
+        records.removeIf(r -> r.getAttendanceDate().getDayOfMonth() == 5);
+        records.stream()
+                .filter(r -> r.getAttendanceDate().getDayOfMonth() == 12)
+                .forEach(r -> r.setClockOutTime(null));
+
+        MonthlyValidationResult result = validator.validate(TARGET_MONTH, records);
+
+        assertThat(result.isSubmittable()).isFalse();
+        assertThat(result.getMissingDates()).containsExactly("2025-08-05", "2025-08-12");
+        assertThat(result.getCompletedDaysCount()).isEqualTo(19);
+        assertThat(result.getIncompleteDaysCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("月末申請チェック - 有給取得日は打刻不要")
+    void validate_PaidLeaveDayExcluded() {
+        List<AttendanceRecord> records = fullMonth();
+        records.removeIf(r -> r.getAttendanceDate().getDayOfMonth() == 8);
+        records.add(record(LocalDate.of(2025, 8, 8), AttendanceRecord.AttendanceStatus.PAID_LEAVE, false));
+
+        MonthlyValidationResult result = validator.validate(TARGET_MONTH, records);
+
+        assertThat(result.isSubmittable()).isTrue();
+        assertThat(result.getPaidLeaveDaysCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("月末申請チェック - 欠勤日を検出")
+    void validate_AbsentDays() {
+        List<AttendanceRecord> records = fullMonth();
+        records.add(record(LocalDate.of(2025, 8, 9), AttendanceRecord.AttendanceStatus.ABSENT, true));
+
+        MonthlyValidationResult result = validator.validate(TARGET_MONTH, records);
+
+        assertThat(result.isSubmittable()).isFalse();
+        assertThat(result.getMissingDates()).isEmpty();
+        assertThat(result.getAbsentDates()).containsExactly("2025-08-09");
+    }
+
+    private List<AttendanceRecord> fullMonth() {
+        List<AttendanceRecord> records = new ArrayList<>();
+        for (LocalDate date : DateUtil.getWorkingDays(TARGET_MONTH)) {
+            records.add(record(date, AttendanceRecord.AttendanceStatus.NORMAL, true));
+        }
+        return records;
+    }
+
+    private AttendanceRecord record(LocalDate date, AttendanceRecord.AttendanceStatus status, boolean clocked) {
+        return AttendanceRecord.builder()
+                .employeeId(1L)
+                .attendanceDate(date)
+                .clockInTime(clocked ? date.atTime(9, 0) : null)
+                .clockOutTime(clocked ? date.atTime(18, 0) : null)
+                .attendanceStatus(status)
+                .submissionStatus(AttendanceRecord.SubmissionStatus.NOT_SUBMITTED)
+                .attendanceFixedFlag(false)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.kintai.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PayrollExportService 単体テスト
+ * インメモリ H2 上の勤怠から、対象月の行のみを CSV / NDJSON で出力することを検証する
+ */
+class PayrollExportServiceTest {
+
+    private PayrollExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:payroll_export_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE employees (employee_id BIGINT, employee_code VARCHAR(10), " +
+                    "employee_name VARCHAR(50))");
+            statement.execute("CREATE TABLE attendance_records (employee_id BIGINT, attendance_date DATE, " +
+                    "clock_in_time TIMESTAMP, clock_out_time TIMESTAMP, working_minutes INT, late_minutes INT, " +
+                    "early_leave_minutes INT, overtime_minutes INT, night_shift_minutes INT, " +
+                    "attendance_status VARCHAR(20), submission_status VARCHAR(20))");
+            statement.execute("INSERT INTO employees VALUES (1, 'E001', '山田, \"太郎\"'), (2, 'E002', '佐藤花子')");
+            statement.execute("INSERT INTO attendance_records VALUES " +
+                    "(2, '2025-08-01', '2025-08-01 09:00:00', '2025-08-01 19:00:00', 540, 0, 0, 60, 0, 'normal', '承認'), " +
+                    "(1, '2025-08-02', '2025-08-02 09:15:00', NULL, NULL, 15, 0, 0, 0, 'normal', '未提出'), " +
+                    "(1, '2025-08-01', '2025-08-01 09:00:00', '2025-08-01 18:00:00', 480, 0, 0, 0, 0, 'normal', '承認'), " +
+                    "(1, '2025-09-01', '2025-09-01 09:00:00', '2025-09-01 18:00:00', 480, 0, 0, 0, 0, 'normal', '未提出')");
+        }
+        exportService = new PayrollExportService(dataSource, 2);
+    }
+
+    @Test
+    @DisplayName("勤怠エクスポート - CSV（社員・日付順、カンマ・引用符を含む値はクォート）")
+    void export_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(YearMonth.of(2025, 8), PayrollExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("employee_code,employee_name,attendance_date,");
+        assertThat(lines[1]).isEqualTo(
+                "E001,\"山田, \"\"太郎\"\"\",2025-08-01,2025-08-01T09:00:00,2025-08-01T18:00:00,480,0,0,0,0,normal,承認");
+        assertThat(lines[2]).isEqualTo("E001,\"山田, \"\"太郎\"\"\",2025-08-02,2025-08-02T09:15:00,,,15,0,0,0,normal,未提出");
+        assertThat(lines[3]).startsWith("E002,佐藤花子,2025-08-01,");
+    }
+
+    @Test
+    @DisplayName("勤怠エクスポート - NDJSON（1行1オブジェクト、数値列は数値、NULL は null）")
+    void export_Ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(YearMonth.of(2025, 8), PayrollExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).isEqualTo("{\"employee_code\":\"E001\",\"employee_name\":\"山田, \\\"太郎\\\"\"," +
+                "\"attendance_date\":\"2025-08-02\",\"clock_in_time\":\"2025-08-02T09:15:00\",\"clock_out_time\":null," +
+                "\"working_minutes\":null,\"late_minutes\":15,\"early_leave_minutes\":0,\"overtime_minutes\":0," +
+                "\"night_shift_minutes\":0,\"attendance_status\":\"normal\",\"submission_status\":\"未提出\"}");
+    }
+}
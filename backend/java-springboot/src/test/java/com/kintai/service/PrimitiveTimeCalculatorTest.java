@@ -0,0 +1,95 @@
+package com.kintai.service;
+
+import com.kintai.util.PrimitiveTimeCalculator;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PrimitiveTimeCalculator 単体テスト
+ * TimeCalculator との差分テスト（計算結果の完全一致を確認）
+ */
+class PrimitiveTimeCalculatorTest {
+
+    private TimeCalculator timeCalculator = new TimeCalculator();
+    private PrimitiveTimeCalculator primitiveTimeCalculator = new PrimitiveTimeCalculator();
+    private PrimitiveTimeCalculator.Result result = new PrimitiveTimeCalculator.Result();
+
+    @Test
+    @DisplayName("差分テスト - TimeCalculatorTest の各ケース")
+    void calculateAttendanceTimes_MatchesTimeCalculatorCases() {
+        LocalDateTime[][] cases = {
+                { at(1, 9, 0), at(1, 18, 0) },
+                { at(1, 9, 5), at(1, 18, 0) },
+                { at(1, 9, 30), at(1, 17, 30) },
+                { at(1, 9, 0), at(1, 17, 0) },
+                { at(1, 13, 0), at(1, 17, 0) },
+                { at(1, 11, 30), at(1, 14, 30) },
+                { at(1, 9, 0), at(1, 23, 0) },
+                { at(1, 9, 0), at(2, 2, 0) },
+                { at(1, 9, 0), at(2, 5, 0) },
+                { at(1, 9, 15), at(2, 1, 0) },
+                { at(1, 9, 0), at(1, 16, 30) },
+        };
+
+        for (LocalDateTime[] c : cases) {
+            assertSameResult(c[0], c[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("差分テスト - 境界値（休憩・深夜帯の前後1秒、退勤が出勤より前）")
+    void calculateAttendanceTimes_MatchesAtBoundaries() {
+        LocalDateTime[][] cases = {
+                { at(1, 9, 0).plusSeconds(1), at(1, 18, 0).minusSeconds(1) },
+                { at(1, 13, 0).minusSeconds(1), at(1, 13, 30) },
+                { at(1, 8, 0), at(1, 12, 0).plusSeconds(1) },
+                { at(1, 8, 0), at(1, 12, 0) },
+                { at(1, 22, 0).minusSeconds(1), at(2, 5, 0).plusSeconds(1) },
+                { at(1, 23, 59), at(2, 0, 1) },
+                { at(1, 18, 0), at(1, 9, 0) },
+                { at(1, 0, 30), at(1, 4, 0) },
+        };
+
+        for (LocalDateTime[] c : cases) {
+            assertSameResult(c[0], c[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("差分テスト - ランダム入力（秒精度、最大36時間勤務）")
+    void calculateAttendanceTimes_MatchesRandomInputs() {
+        Random random = new Random(20250801L);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+
+        for (int i = 0; i < 200_000; i++) {
+            LocalDateTime clockIn = base.plusSeconds(random.nextInt(365 * 86_400));
+            LocalDateTime clockOut = clockIn.plusSeconds(random.nextInt(36 * 3_600) - 3_600);
+            assertSameResult(clockIn, clockOut);
+        }
+    }
+
+    private void assertSameResult(LocalDateTime clockIn, LocalDateTime clockOut) {
+        TimeCalculator.AttendanceCalculationResult expected =
+                timeCalculator.calculateAttendanceTimes(clockIn, clockOut);
+        primitiveTimeCalculator.calculateAttendanceTimes(
+                PrimitiveTimeCalculator.toEpochSecond(clockIn),
+                PrimitiveTimeCalculator.toEpochSecond(clockOut), result);
+
+        String input = clockIn + " - " + clockOut;
+        assertThat(result.getLateMinutes()).as(input).isEqualTo(expected.getLateMinutes());
+        assertThat(result.getEarlyLeaveMinutes()).as(input).isEqualTo(expected.getEarlyLeaveMinutes());
+        assertThat(result.getWorkingMinutes()).as(input).isEqualTo(expected.getWorkingMinutes());
+        assertThat(result.getOvertimeMinutes()).as(input).isEqualTo(expected.getOvertimeMinutes());
+        assertThat(result.getNightShiftMinutes()).as(input).isEqualTo(expected.getNightShiftMinutes());
+    }
+
+    private LocalDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2025, 8, day, hour, minute, 0);
+    }
+}
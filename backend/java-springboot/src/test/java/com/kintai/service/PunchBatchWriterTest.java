@@ -0,0 +1,211 @@
+package com.kintai.service;
+
+import com.kintai.dto.AttendanceSummary;
+import com.kintai.punch.PunchBatchWriter;
+import com.kintai.punch.PunchRecord;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryRepository;
+import com.kintai.repository.MonthlyAttendanceSummaryUpsertRepository;
+import com.kintai.util.TimeCalculator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * PunchBatchWriter 単体テスト
+ * インメモリ H2 上で、打刻の一括反映の冪等性（再適用時の読み飛ばし）・月次サマリーへの差分・
+ * 読み込み後に他のトランザクションが作成した行との競合時の扱いを検証する
+ */
+class PunchBatchWriterTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 8, 1);
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AttendanceSummaryService attendanceSummaryService;
+    private PunchBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:punch_batch_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, clock_in_time DATETIME, " +
+                "clock_out_time DATETIME, working_minutes INT, late_minutes INT DEFAULT 0 NOT NULL, " +
+                "early_leave_minutes INT DEFAULT 0 NOT NULL, overtime_minutes INT DEFAULT 0 NOT NULL, " +
+                "night_shift_minutes INT DEFAULT 0 NOT NULL, " +
+                "attendance_status ENUM('normal','paid_leave','absent') DEFAULT 'normal' NOT NULL, " +
+                "submission_status ENUM('未提出','申請済','承認','却下') DEFAULT '未提出' NOT NULL, " +
+                "attendance_fixed_flag TINYINT(1) DEFAULT 0 NOT NULL, created_at DATETIME NOT NULL, updated_at DATETIME NOT NULL)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX idx_employee_date ON attendance_records (employee_id, attendance_date)");
+
+        // 集計寄与分の計算は実装を使用し、差分反映のみ記録する
+        attendanceSummaryService = spy(new AttendanceSummaryService(mock(MonthlyAttendanceSummaryRepository.class),
+                mock(MonthlyAttendanceSummaryUpsertRepository.class), mock(AttendanceRecordRepository.class),
+                new TimeCalculator()));
+        doNothing().when(attendanceSummaryService).applyChange(anyLong(), any(), any(), any());
+        writer = new PunchBatchWriter(jdbcTemplate, attendanceSummaryService);
+    }
+
+    @Test
+    @DisplayName("一括反映 - 出勤・退勤を1行に反映し、サマリーへ1回だけ差分加算")
+    void write_InsertsRowAndAppliesDelta() {
+        int applied = writer.write(List.of(clockIn(0, 1L, 9, 5, 5), clockOut(1, 1L, 19, 0, 540, 60)));
+
+        assertThat(applied).isEqualTo(2);
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records");
+        assertThat(row.get("clock_in_time")).isEqualTo(Timestamp.valueOf(DATE.atTime(9, 5)));
+        assertThat(row.get("clock_out_time")).isEqualTo(Timestamp.valueOf(DATE.atTime(19, 0)));
+        assertThat(row.get("working_minutes")).isEqualTo(540);
+        assertThat(row.get("late_minutes")).isEqualTo(5);
+        assertThat(row.get("overtime_minutes")).isEqualTo(60);
+        assertThat(row.get("attendance_status")).isEqualTo("normal");
+        assertThat(row.get("submission_status")).isEqualTo("未提出");
+
+        ArgumentCaptor<AttendanceSummary> before = ArgumentCaptor.forClass(AttendanceSummary.class);
+        ArgumentCaptor<AttendanceSummary> after = ArgumentCaptor.forClass(AttendanceSummary.class);
+        verify(attendanceSummaryService, times(1)).applyChange(eq(1L), eq(DATE), before.capture(), after.capture());
+        assertThat(before.getValue().getTotalWorkingMinutes()).isZero();
+        assertThat(before.getValue().getTotalLateMinutes()).isZero();
+        assertThat(after.getValue().getTotalWorkingMinutes()).isEqualTo(540);
+        assertThat(after.getValue().getTotalLateMinutes()).isEqualTo(5);
+        assertThat(after.getValue().getTotalOvertimeMinutes()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("一括反映 - 反映済みの打刻の再適用は読み飛ばし、行・サマリーを変更しない")
+    void write_ReapplyIsIdempotent() {
+        List<PunchRecord> batch = List.of(clockIn(0, 1L, 9, 0, 0), clockIn(1, 2L, 9, 10, 10), clockOut(2, 1L, 18, 0, 480, 0));
+        writer.write(batch);
+        Map<String, Object> first = jdbcTemplate.queryForMap("SELECT * FROM attendance_records WHERE employee_id = 1");
+
+        int applied = writer.write(batch);
+
+        assertThat(applied).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForMap("SELECT * FROM attendance_records WHERE employee_id = 1")).isEqualTo(first);
+        verify(attendanceSummaryService, times(1)).applyChange(eq(1L), eq(DATE), any(), any());
+        verify(attendanceSummaryService, times(1)).applyChange(eq(2L), eq(DATE), any(), any());
+    }
+
+    @Test
+    @DisplayName("一括反映 - 既存行への退勤打刻は更新し、変更前との差分のみ加算")
+    void write_UpdatesExistingRowDelta() {
+        LocalDateTime created = DATE.atStartOfDay();
+        jdbcTemplate.update("INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, late_minutes, " +
+                "created_at, updated_at) VALUES (3, ?, ?, 15, ?, ?)", DATE, DATE.atTime(9, 15), created, created);
+
+        // 出勤打刻済みの行への出勤打刻は読み飛ばし、退勤打刻のみ反映
+        int applied = writer.write(List.of(clockIn(0, 3L, 9, 20, 20), clockOut(1, 3L, 18, 0, 465, 0)));
+
+        assertThat(applied).isEqualTo(1);
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records");
+        assertThat(row.get("clock_in_time")).isEqualTo(Timestamp.valueOf(DATE.atTime(9, 15)));
+        assertThat(row.get("late_minutes")).isEqualTo(15);
+        assertThat(row.get("working_minutes")).isEqualTo(465);
+
+        ArgumentCaptor<AttendanceSummary> before = ArgumentCaptor.forClass(AttendanceSummary.class);
+        ArgumentCaptor<AttendanceSummary> after = ArgumentCaptor.forClass(AttendanceSummary.class);
+        verify(attendanceSummaryService).applyChange(eq(3L), eq(DATE), before.capture(), after.capture());
+        assertThat(before.getValue().getTotalLateMinutes()).isEqualTo(15);
+        assertThat(after.getValue().getTotalLateMinutes()).isEqualTo(15);
+        assertThat(before.getValue().getTotalWorkingMinutes()).isZero();
+        assertThat(after.getValue().getTotalWorkingMinutes()).isEqualTo(465);
+    }
+
+    @Test
+    @DisplayName("一括反映 - 出勤打刻の無い退勤打刻は読み飛ばし")
+    void write_SkipsClockOutWithoutClockIn() {
+        int applied = writer.write(List.of(clockOut(0, 4L, 18, 0, 480, 0)));
+
+        assertThat(applied).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class)).isZero();
+        verify(attendanceSummaryService, times(0)).applyChange(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("一括反映 - 読み込み後に他のトランザクションが行を作成した場合はロールバックし、再試行時に既存行として反映")
+    void write_ConcurrentlyCreatedRowIsRetried() {
+        // 有給承認等による行の作成が、反映バッチの読み込みと upsert の間に割り込む
+        JdbcTemplate other = new JdbcTemplate(otherConnectionDataSource());
+        AtomicBoolean interleaved = new AtomicBoolean();
+        JdbcTemplate interleavingTemplate = spy(jdbcTemplate);
+        doAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                LocalDateTime created = DATE.atStartOfDay();
+                other.update("INSERT INTO attendance_records (employee_id, attendance_date, attendance_status, " +
+                        "created_at, updated_at) VALUES (5, ?, 'paid_leave', ?, ?)", DATE, created, created);
+            }
+            return invocation.callRealMethod();
+        }).when(interleavingTemplate).batchUpdate(startsWith("MERGE"), anyList());
+        PunchBatchWriter interleavedWriter = new PunchBatchWriter(interleavingTemplate, attendanceSummaryService);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        List<PunchRecord> batch = List.of(clockIn(0, 5L, 9, 0, 0));
+
+        assertThatThrownBy(() -> transactionTemplate.execute(status -> interleavedWriter.write(batch)))
+                .isInstanceOf(ConcurrencyFailureException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT clock_in_time FROM attendance_records", Timestamp.class)).isNull();
+        verify(attendanceSummaryService, times(0)).applyChange(anyLong(), any(), any(), any());
+
+        Integer applied = transactionTemplate.execute(status -> interleavedWriter.write(batch));
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT clock_in_time FROM attendance_records", Timestamp.class))
+                .isEqualTo(Timestamp.valueOf(DATE.atTime(9, 0)));
+        ArgumentCaptor<AttendanceSummary> before = ArgumentCaptor.forClass(AttendanceSummary.class);
+        ArgumentCaptor<AttendanceSummary> after = ArgumentCaptor.forClass(AttendanceSummary.class);
+        verify(attendanceSummaryService).applyChange(eq(5L), eq(DATE), before.capture(), after.capture());
+        assertThat(before.getValue().getPaidLeaveDays()).isEqualTo(1);
+        assertThat(after.getValue().getPaidLeaveDays()).isEqualTo(1);
+    }
+
+    /**
+     * 同じデータベースへの別接続（テスト対象のトランザクションとは独立してコミットする）
+     */
+    private static JdbcDataSource otherConnectionDataSource() {
+        JdbcDataSource other = new JdbcDataSource();
+        other.setURL("jdbc:h2:mem:punch_batch_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        return other;
+    }
+
+    private static PunchRecord clockIn(long sequence, long employeeId, int hour, int minute, int lateMinutes) {
+        return new PunchRecord(sequence, PunchRecord.Type.CLOCK_IN, employeeId, DATE, DATE.atTime(hour, minute),
+                lateMinutes, 0, 0, 0, 0);
+    }
+
+    private static PunchRecord clockOut(long sequence, long employeeId, int hour, int minute,
+                                        int workingMinutes, int overtimeMinutes) {
+        return new PunchRecord(sequence, PunchRecord.Type.CLOCK_OUT, employeeId, DATE, DATE.atTime(hour, minute),
+                0, workingMinutes, 0, overtimeMinutes, 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kintai.service;
+
+import com.kintai.punch.PunchStateCache;
+import com.kintai.util.LongLongHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PunchStateCache 単体テスト
+ * 当日の打刻状態キャッシュの登録・破棄・日付切り替えのテスト
+ */
+class PunchStateCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 1);
+
+    private final PunchStateCache cache = new PunchStateCache();
+
+    @Test
+    @DisplayName("打刻状態 - 出勤・退勤の登録と打刻修正承認による破棄")
+    void putAndEvict() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        LocalDateTime clockIn = LocalDateTime.of(2025, 8, 1, 9, 3);
+
+        assertThat(cache.get(1L, TODAY)).isEqualTo(PunchStateCache.UNKNOWN);
+
+        cache.load(1L, TODAY, null);
+        assertThat(cache.get(1L, TODAY)).isEqualTo(PunchStateCache.NOT_PUNCHED);
+
+        cache.putAfterCommit(1L, TODAY, clockIn, null);
+        long state = cache.get(1L, TODAY);
+        assertThat(PunchStateCache.isClockedIn(state)).isTrue();
+        assertThat(PunchStateCache.isClockedOut(state)).isFalse();
+        assertThat(PunchStateCache.clockInTime(state)).isEqualTo(clockIn);
+
+        cache.putAfterCommit(1L, TODAY, clockIn, clockIn.plusHours(9));
+        assertThat(PunchStateCache.isClockedOut(cache.get(1L, TODAY))).isTrue();
+
+        cache.evictAfterCommit(1L, TODAY);
+        assertThat(cache.get(1L, TODAY)).isEqualTo(PunchStateCache.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("打刻状態 - 日付切り替えで前日分を破棄し、上限超過分は保持しない")
+    void rolloverAndBound() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.load(1L, TODAY, null);
+        cache.load(2L, TODAY, null);
+        cache.load(3L, TODAY, null);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(3L, TODAY)).isEqualTo(PunchStateCache.UNKNOWN);
+
+        cache.rollover(TODAY.plusDays(1));
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(1L, TODAY)).isEqualTo(PunchStateCache.UNKNOWN);
+
+        // 前日分の遅れた登録は無視する
+        cache.load(1L, TODAY, null);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("long キーのハッシュマップ - 登録・削除を繰り返しても HashMap と一致")
+    void longLongHashMap_MatchesHashMap() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(20250801L);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertThat(map.get(key, -1L)).isEqualTo(expected.getOrDefault(key, -1L));
+        }
+    }
+}
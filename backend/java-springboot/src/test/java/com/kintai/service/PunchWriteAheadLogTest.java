@@ -0,0 +1,76 @@
+package com.kintai.service;
+
+import com.kintai.punch.PunchRecord;
+import com.kintai.punch.PunchWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PunchWriteAheadLog 単体テスト
+ * 打刻の先行書き込みログの追記・再起動時の復元のテスト
+ */
+class PunchWriteAheadLogTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 8, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("先行書き込みログ - 再オープン時に反映済み位置以降の打刻のみ復元")
+    void recover_ReturnsUnflushedRecords() throws Exception {
+        Path file = dir.resolve("punch.wal");
+        try (PunchWriteAheadLog wal = new PunchWriteAheadLog(file, 8, false)) {
+            assertThat(wal.recover()).isEmpty();
+            append(wal, PunchRecord.Type.CLOCK_IN, 1L, 9, 0);
+            append(wal, PunchRecord.Type.CLOCK_IN, 2L, 9, 5);
+            wal.markFlushed(1);
+            append(wal, PunchRecord.Type.CLOCK_OUT, 1L, 18, 0);
+        }
+
+        try (PunchWriteAheadLog wal = new PunchWriteAheadLog(file, 8, false)) {
+            List<PunchRecord> recovered = wal.recover();
+
+            assertThat(recovered).extracting(PunchRecord::getSequence).containsExactly(1L, 2L);
+            assertThat(recovered.get(0).getEmployeeId()).isEqualTo(2L);
+            assertThat(recovered.get(0).getLateMinutes()).isEqualTo(5);
+            assertThat(recovered.get(1).getType()).isEqualTo(PunchRecord.Type.CLOCK_OUT);
+            assertThat(recovered.get(1).getPunchedAt()).isEqualTo(LocalDateTime.of(2025, 8, 1, 18, 0));
+            assertThat(wal.pendingCount()).isEqualTo(2);
+
+            // 続きの通番から追記できる
+            assertThat(append(wal, PunchRecord.Type.CLOCK_OUT, 2L, 18, 0).getSequence()).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("先行書き込みログ - 満杯時は追記を拒否し、反映後は先頭へ折り返して追記")
+    void append_FullAndWrapAround() throws Exception {
+        Path file = dir.resolve("punch.wal");
+        try (PunchWriteAheadLog wal = new PunchWriteAheadLog(file, 2, false)) {
+            wal.recover();
+            append(wal, PunchRecord.Type.CLOCK_IN, 1L, 9, 0);
+            append(wal, PunchRecord.Type.CLOCK_IN, 2L, 9, 0);
+            assertThat(append(wal, PunchRecord.Type.CLOCK_IN, 3L, 9, 0)).isNull();
+
+            wal.markFlushed(2);
+            assertThat(append(wal, PunchRecord.Type.CLOCK_IN, 3L, 9, 0).getSequence()).isEqualTo(2L);
+        }
+
+        try (PunchWriteAheadLog wal = new PunchWriteAheadLog(file, 2, false)) {
+            assertThat(wal.recover()).extracting(PunchRecord::getEmployeeId).containsExactly(3L);
+        }
+    }
+
+    private PunchRecord append(PunchWriteAheadLog wal, PunchRecord.Type type, long employeeId, int hour, int lateMinutes) {
+        return wal.append(type, employeeId, DATE, DATE.atTime(hour, 0), lateMinutes, 0, 0, 0, 0);
+    }
+}
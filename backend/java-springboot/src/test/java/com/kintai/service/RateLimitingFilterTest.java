@@ -0,0 +1,59 @@
+package com.kintai.service;
+
+import com.kintai.filter.GcraRateLimiter;
+import com.kintai.filter.RateLimitPolicy;
+import com.kintai.filter.RateLimitingFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RateLimitingFilter 単体テスト
+ * コンテキストパス /api 配下の実際のリクエストURIに対し、ルート別ポリシーがコンテキストパスを除いたパスで選ばれることを検証する
+ */
+class RateLimitingFilterTest {
+
+    private static final String CONTEXT_PATH = "/api";
+
+    private final RateLimitingFilter filter = new RateLimitingFilter(
+            new GcraRateLimiter(1_000, Duration.ofMinutes(1)),
+            List.of(Map.entry("/api/attendance/clock-*", RateLimitPolicy.of("clock", 2, Duration.ofHours(1), 2)),
+                    Map.entry("/api/admin/**", RateLimitPolicy.of("admin", 1, Duration.ofHours(1), 1))),
+            RateLimitPolicy.of("default", 100, Duration.ofHours(1), 100));
+
+    @Test
+    @DisplayName("レート制限フィルター - 打刻ルートは打刻ポリシーで制限し、他のルートは別枠")
+    void doFilter_ClockRoute() throws Exception {
+        assertThat(send("/api/api/attendance/clock-in")).isEqualTo(200);
+        assertThat(send("/api/api/attendance/clock-out")).isEqualTo(200);
+        assertThat(send("/api/api/attendance/clock-in")).isEqualTo(429);
+
+        assertThat(send("/api/api/attendance/history")).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("レート制限フィルター - 管理ルートは配下のパスすべてを管理ポリシーで制限")
+    void doFilter_AdminRoute() throws Exception {
+        assertThat(send("/api/api/admin/employees")).isEqualTo(200);
+        assertThat(send("/api/api/admin/reports/payroll")).isEqualTo(429);
+
+        assertThat(send("/api/api/requests/leave")).isEqualTo(200);
+    }
+
+    private int send(String requestUri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", requestUri);
+        request.setContextPath(CONTEXT_PATH);
+        request.setRemoteAddr("192.0.2.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,200 @@
+package com.kintai.service;
+
+import com.kintai.filter.GcraRateLimiter;
+import com.kintai.filter.RateLimitPolicy;
+import com.kintai.filter.RedisRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisRateLimiter 単体テスト
+ * Lua スクリプト（redis/gcra_acquire.lua）と同じ計算を行うインメモリの代替 Redis で検証する
+ */
+class RedisRateLimiterTest {
+
+    private static final Duration FAILURE_BACKOFF = Duration.ofSeconds(5);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final Map<String, Long> redisStore = new HashMap<>();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    // 1分あたり60回（1秒に1回）、最大20回まで連続許可
+    private final RateLimitPolicy policy = RateLimitPolicy.of("test", 60, Duration.ofMinutes(1), 20);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    roundTrips.incrementAndGet();
+                    List<String> keys = invocation.getArgument(1);
+                    return acquire(keys.get(0),
+                            Long.parseLong(invocation.getArgument(2)),
+                            Long.parseLong(invocation.getArgument(3)),
+                            Long.parseLong(invocation.getArgument(4)));
+                });
+    }
+
+    @Test
+    @DisplayName("Redisレート制限 - バースト数まで許可し、Redis 往復はトークン確保時のみ")
+    void tryAcquire_BatchesRoundTrips() {
+        RedisRateLimiter rateLimiter = newRateLimiter(5);
+
+        int allowed = 0;
+        for (int i = 0; i < 30; i++) {
+            if (rateLimiter.tryAcquire("a", policy)) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(20);
+        // 1, 2, 4, 5, 5, 3 個を確保し、超過時に1回（以降の拒否は記録から判定）
+        assertThat(roundTrips.get()).isEqualTo(7);
+        assertThat(redisStore).containsKey("rl:a");
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(rateLimiter.tryAcquire("a", policy)).isTrue();
+        assertThat(roundTrips.get()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Redisレート制限 - レプリカ間で制限を共有")
+    void tryAcquire_SharedAcrossReplicas() {
+        RedisRateLimiter replica1 = newRateLimiter(1);
+        RedisRateLimiter replica2 = newRateLimiter(1);
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            allowed += replica1.tryAcquire("a", policy) ? 1 : 0;
+            allowed += replica2.tryAcquire("a", policy) ? 1 : 0;
+        }
+
+        assertThat(allowed).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Redisレート制限 - 低頻度のリクエストは1トークンずつ確保し、失効で枠を失わない")
+    void tryAcquire_SlowClientKeepsQuota() {
+        // 1時間あたり10回（バースト10回）
+        RateLimitPolicy hourly = RateLimitPolicy.of("hourly", 10, Duration.ofHours(1), 10);
+        RedisRateLimiter rateLimiter = newRateLimiter(10);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            allowed += rateLimiter.tryAcquire("a", hourly) ? 1 : 0;
+            clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        }
+
+        assertThat(allowed).isEqualTo(10);
+        assertThat(rateLimiter.tryAcquire("a", hourly)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redisレート制限 - Redis 接続不可の場合はローカル判定へ切り替え、待機時間中は Redis に問い合わせない")
+    void tryAcquire_FallsBackToLocal() {
+        StringRedisTemplate unavailable = mock(StringRedisTemplate.class);
+        AtomicInteger attempts = new AtomicInteger();
+        when(unavailable.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    attempts.incrementAndGet();
+                    throw new RedisConnectionFailureException("connection refused");
+                });
+        RedisRateLimiter rateLimiter = new RedisRateLimiter(unavailable,
+                new GcraRateLimiter(100, Duration.ofMinutes(1), clock::get),
+                "rl:", 5, Duration.ofSeconds(1), FAILURE_BACKOFF, clock::get);
+
+        int allowed = 0;
+        for (int i = 0; i < 30; i++) {
+            allowed += rateLimiter.tryAcquire(i % 2 == 0 ? "a" : "b", policy) ? 1 : 0;
+        }
+
+        assertThat(allowed).isEqualTo(30);
+        assertThat(attempts.get()).isEqualTo(1);
+
+        // 待機時間の経過後は Redis を再試行
+        clock.addAndGet(FAILURE_BACKOFF.toNanos());
+        rateLimiter.tryAcquire("a", policy);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Redisレート制限 - Redis から確保中のキーは他のキーの判定を妨げず、同じキーの待機側は確保済みトークンを消費")
+    void tryAcquire_SlowRoundTripDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    roundTrips.incrementAndGet();
+                    List<String> keys = invocation.getArgument(1);
+                    if (keys.get(0).equals("rl:slow")) {
+                        started.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        return 2L;
+                    }
+                    return 1L;
+                });
+        RedisRateLimiter rateLimiter = newRateLimiter(5);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> rateLimiter.tryAcquire("slow", policy));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Boolean> waiting = executor.submit(() -> rateLimiter.tryAcquire("slow", policy));
+
+            // 別のキーは確保中のキーを待たずに判定される
+            assertThat(rateLimiter.tryAcquire("other", policy)).isTrue();
+            assertThat(first.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+            // slow の確保1回（2トークン）と other の確保1回のみ
+            assertThat(roundTrips.get()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private RedisRateLimiter newRateLimiter(int batchSize) {
+        return new RedisRateLimiter(redisTemplate,
+                new GcraRateLimiter(100, Duration.ofMinutes(1), clock::get),
+                "rl:", batchSize, Duration.ofSeconds(1), FAILURE_BACKOFF, clock::get);
+    }
+
+    /**
+     * gcra_acquire.lua と同じ計算（時刻はマイクロ秒）
+     */
+    private long acquire(String key, long interval, long tolerance, long requested) {
+        long now = clock.get() / 1_000;
+        long tat = Math.max(redisStore.getOrDefault(key, now), now);
+
+        long available = Math.floorDiv(now + tolerance - tat, interval) + 1;
+        if (available <= 0) {
+            return 0L;
+        }
+        long granted = Math.min(available, requested);
+        redisStore.put(key, tat + granted * interval);
+        return granted;
+    }
+}
@@ -0,0 +1,127 @@
+package com.kintai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.dto.AttendanceHistoryResponse;
+import com.kintai.dto.AttendanceInfo;
+import com.kintai.dto.AttendanceSummary;
+import com.kintai.dto.EmployeeInfo;
+import com.kintai.dto.PeriodInfo;
+import com.kintai.dto.ReportJobStatus;
+import com.kintai.report.MonthlyReportRenderer;
+import com.kintai.report.ReportService;
+import com.kintai.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ReportService 単体テスト
+ * ジョブの完了、同一データでの生成済みファイル再利用、データ変更時の再描画を検証する
+ */
+class ReportServiceTest {
+
+    @TempDir
+    Path storage;
+
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final AtomicInteger lateMinutes = new AtomicInteger();
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+        when(attendanceService.getAttendanceHistory(any())).thenAnswer(invocation -> history(lateMinutes.get()));
+
+        reportService = new ReportService(attendanceService, employeeRepository,
+                new MonthlyReportRenderer(), new ObjectMapper());
+        ReflectionTestUtils.setField(reportService, "storageDir", storage.toString());
+        ReflectionTestUtils.setField(reportService, "workers", 2);
+        ReflectionTestUtils.setField(reportService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(reportService, "retention", Duration.ofHours(24));
+        ReflectionTestUtils.invokeMethod(reportService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(reportService, "shutdown");
+    }
+
+    @Test
+    @DisplayName("レポート生成 - 同一データは生成済みファイルを再利用し、データ変更時は別ファイルに描画")
+    void submit_CachesByDataVersion() throws Exception {
+        ReportJobStatus first = await(reportService.submit(1L, YearMonth.of(2025, 8)));
+        ReportJobStatus second = await(reportService.submit(1L, YearMonth.of(2025, 8)));
+        lateMinutes.set(15);
+        ReportJobStatus changed = await(reportService.submit(1L, YearMonth.of(2025, 8)));
+
+        assertThat(first.getState()).isEqualTo(ReportJobStatus.State.COMPLETED);
+        assertThat(first.isCacheHit()).isFalse();
+        assertThat(second.isCacheHit()).isTrue();
+        assertThat(second.getFileName()).isEqualTo(first.getFileName());
+        assertThat(changed.isCacheHit()).isFalse();
+        assertThat(changed.getFileName()).startsWith("1_202508_").isNotEqualTo(first.getFileName());
+
+        String html = Files.readString(reportService.getReportFile(changed.getJobId()), StandardCharsets.UTF_8);
+        assertThat(html).contains("山田 &lt;太郎&gt;", "<td>00:15</td>", "<th>遅刻回数</th><td>1回</td>");
+        try (var files = Files.list(storage)) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+    }
+
+    private ReportJobStatus await(ReportJobStatus submitted) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ReportJobStatus job = reportService.getJob(submitted.getJobId());
+            if (job.getState() == ReportJobStatus.State.COMPLETED || job.getState() == ReportJobStatus.State.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("report job did not finish");
+    }
+
+    private AttendanceHistoryResponse history(int late) {
+        return AttendanceHistoryResponse.builder()
+                .success(true)
+                .employee(EmployeeInfo.builder().employeeId(1L).employeeCode("E001").employeeName("山田 <太郎>").build())
+                .period(PeriodInfo.builder().from("2025-08-01").to("2025-08-31").build())
+                .attendanceList(List.of(AttendanceInfo.builder()
+                        .attendanceDate("2025-08-01")
+                        .clockInTime("09:00")
+                        .clockOutTime("18:00")
+                        .lateMinutes(late)
+                        .earlyLeaveMinutes(0)
+                        .overtimeMinutes(0)
+                        .nightShiftMinutes(0)
+                        .attendanceStatus("normal")
+                        .submissionStatus("未提出")
+                        .attendanceFixedFlag(false)
+                        .build()))
+                .summary(AttendanceSummary.builder()
+                        .totalWorkingMinutes(480)
+                        .totalOvertimeMinutes(0)
+                        .totalNightShiftMinutes(0)
+                        .totalLateMinutes(late)
+                        .totalEarlyLeaveMinutes(0)
+                        .paidLeaveDays(0)
+                        .absentDays(0)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.kintai.service;
+
+import com.kintai.dto.RequestListItem;
+import com.kintai.dto.RequestListPage;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.LeaveRequest;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 申請一覧ページング 単体テスト
+ * キーセット検索（作成日時降順・ID降順）を模したリポジトリで、ページを連結した結果が全件の並びと一致することを検証する
+ */
+class RequestListPagingTest {
+
+    private final LeaveRequestRepository leaveRequestRepository = mock(LeaveRequestRepository.class);
+    private final AdjustmentRequestRepository adjustmentRequestRepository = mock(AdjustmentRequestRepository.class);
+    private final RequestService requestService = new RequestService(leaveRequestRepository,
+            adjustmentRequestRepository, null, null, null, null, null, null);
+
+    private final List<RequestListItem> leaves = new ArrayList<>();
+    private final List<RequestListItem> adjustments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2025, 8, 1, 9, 0);
+        long leaveId = 0;
+        long adjustmentId = 0;
+        // 同一日時の申請を含めて作成（有給・打刻修正が同時刻、同種別が同時刻のケース）
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime createdAt = base.plusMinutes(i / 3);
+            if (i % 2 == 0) {
+                leaves.add(new RequestListItem(++leaveId, 1L + i % 4, LocalDate.of(2025, 8, 1), "私用",
+                        LeaveRequest.LeaveRequestStatus.PENDING, null, createdAt));
+            }
+            if (i % 3 != 2) {
+                adjustments.add(new RequestListItem(++adjustmentId, 1L + i % 4, LocalDate.of(2025, 8, 1), "打刻漏れ",
+                        AdjustmentRequest.AdjustmentStatus.PENDING, null, null, null, null, createdAt));
+            }
+        }
+
+        when(leaveRequestRepository.findListItemsBefore(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> findBefore(leaves, invocation));
+        when(adjustmentRequestRepository.findListItemsBefore(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> findBefore(adjustments, invocation));
+    }
+
+    @Test
+    @DisplayName("申請一覧 - カーソルで連結したページが作成日時降順の全件と一致（重複・欠落なし）")
+    void getRequestList_PagesCoverAllInOrder() {
+        List<RequestListItem> expected = new ArrayList<>();
+        expected.addAll(leaves);
+        expected.addAll(adjustments);
+        expected.sort(Comparator.comparing(RequestListItem::getCreatedAt).reversed()
+                .thenComparing(item -> RequestListItem.TYPE_LEAVE.equals(item.getRequestType()) ? 0 : 1)
+                .thenComparing(Comparator.comparing(RequestListItem::getRequestId).reversed()));
+
+        List<RequestListItem> actual = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RequestListPage page = requestService.getRequestList(null, null, null, cursor, 7);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(7);
+            actual.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo((expected.size() + 6) / 7);
+    }
+
+    @Test
+    @DisplayName("申請一覧 - 申請種別と社員IDで絞り込み")
+    void getRequestList_FilterByTypeAndEmployee() {
+        RequestListPage page = requestService.getRequestList("adjustment", null, 2L, null, 200);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getItems()).isNotEmpty()
+                .allMatch(item -> item.getEmployeeId() == 2L)
+                .allMatch(item -> RequestListItem.TYPE_ADJUSTMENT.equals(item.getRequestType()));
+    }
+
+    /**
+     * キーセット検索の代替（作成日時・ID が指定位置より後ろの行を降順で返す）
+     */
+    private List<RequestListItem> findBefore(List<RequestListItem> rows, InvocationOnMock invocation) {
+        Long employeeId = invocation.getArgument(0);
+        LocalDateTime createdAt = invocation.getArgument(2);
+        long requestId = invocation.getArgument(3);
+        Pageable pageable = invocation.getArgument(4);
+        return rows.stream()
+                .filter(row -> employeeId == null || row.getEmployeeId().equals(employeeId))
+                .filter(row -> row.getCreatedAt().isBefore(createdAt)
+                        || (row.getCreatedAt().equals(createdAt) && row.getRequestId() < requestId))
+                .sorted(Comparator.comparing(RequestListItem::getCreatedAt)
+                        .thenComparing(RequestListItem::getRequestId).reversed())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+}
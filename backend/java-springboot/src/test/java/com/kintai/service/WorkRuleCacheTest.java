@@ -0,0 +1,114 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.entity.WorkRule;
+import com.kintai.exception.BusinessException;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.WorkRuleBreakRepository;
+import com.kintai.repository.WorkRuleRepository;
+import com.kintai.security.TokenRevocationRegistry;
+import com.kintai.util.CompiledWorkRule;
+import com.kintai.util.PrimitiveTimeCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 勤務ルールキャッシュ 単体テスト
+ * コンパイル済みルール・社員別ルールのキャッシュと破棄、社員への勤務ルール割り当てのテスト
+ */
+class WorkRuleCacheTest {
+
+    private final WorkRuleRepository workRuleRepository = mock(WorkRuleRepository.class);
+    private final WorkRuleBreakRepository workRuleBreakRepository = mock(WorkRuleBreakRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final WorkRuleService workRuleService = new WorkRuleService(workRuleRepository, workRuleBreakRepository,
+            employeeRepository, new PrimitiveTimeCalculator());
+
+    @BeforeEach
+    void setUp() {
+        when(workRuleRepository.findAll()).thenReturn(List.of(rule(1L, LocalTime.of(13, 0))));
+        when(workRuleBreakRepository.findAll()).thenReturn(List.of());
+        when(employeeRepository.findWorkRuleIdByEmployeeId(10L)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    @DisplayName("勤務ルールキャッシュ - 2回目以降はDBを参照せず、破棄後は再ロード")
+    void getRuleForEmployee_CachesUntilEvicted() {
+        CompiledWorkRule first = workRuleService.getRuleForEmployee(10L);
+        CompiledWorkRule second = workRuleService.getRuleForEmployee(10L);
+
+        assertThat(first.getWorkRuleId()).isEqualTo(1L);
+        assertThat(second).isSameAs(first);
+        verify(employeeRepository, times(1)).findWorkRuleIdByEmployeeId(10L);
+        verify(workRuleRepository, times(1)).findAll();
+
+        workRuleService.evictEmployeeAfterCommit(10L);
+        workRuleService.getRuleForEmployee(10L);
+        verify(employeeRepository, times(2)).findWorkRuleIdByEmployeeId(10L);
+    }
+
+    @Test
+    @DisplayName("勤務ルールキャッシュ - ロード中に破棄された場合はロード結果をキャッシュに残さない")
+    void getRuleForEmployee_DiscardsLoadStartedBeforeInvalidation() {
+        // DB 参照の直後（キャッシュ登録前）に別トランザクションのコミットで破棄される
+        when(employeeRepository.findWorkRuleIdByEmployeeId(10L)).thenAnswer(invocation -> {
+            workRuleService.evictEmployeeAfterCommit(10L);
+            return Optional.of(1L);
+        });
+        when(workRuleRepository.findAll()).thenAnswer(invocation -> {
+            workRuleService.evictEmployeeAfterCommit(99L);
+            return List.of(rule(1L, LocalTime.of(13, 0)));
+        });
+
+        assertThat(workRuleService.getRuleForEmployee(10L).getWorkRuleId()).isEqualTo(1L);
+        workRuleService.getRuleForEmployee(10L);
+
+        verify(employeeRepository, times(2)).findWorkRuleIdByEmployeeId(10L);
+        verify(workRuleRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("社員更新 - 勤務ルール未指定は既存の割り当てを維持、存在しない勤務ルールはエラー")
+    void updateEmployee_WorkRuleAssignment() {
+        EmployeeService employeeService = new EmployeeService(employeeRepository, null, workRuleService,
+                mock(TokenRevocationRegistry.class));
+        Employee existing = Employee.builder().employeeId(10L).workRuleId(1L).build();
+        when(employeeRepository.findById(10L)).thenReturn(Optional.of(existing));
+        when(employeeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(workRuleRepository.existsById(1L)).thenReturn(true);
+        when(workRuleRepository.existsById(2L)).thenReturn(false);
+
+        Employee updated = employeeService.updateEmployee(10L, Employee.builder().employeeName("山田 太郎").build());
+        assertThat(updated.getWorkRuleId()).isEqualTo(1L);
+
+        assertThatThrownBy(() -> employeeService.updateEmployee(10L, Employee.builder().workRuleId(2L).build()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("勤務ルールが見つかりません");
+        assertThat(existing.getWorkRuleId()).isEqualTo(1L);
+    }
+
+    private static WorkRule rule(Long workRuleId, LocalTime start) {
+        return WorkRule.builder()
+                .workRuleId(workRuleId)
+                .startTime(start)
+                .endTime(start.plusHours(9))
+                .standardWorkingMinutes(480)
+                .nightStartTime(LocalTime.of(22, 0))
+                .nightEndTime(LocalTime.of(5, 0))
+                .flexTimeFlag(false)
+                .build();
+    }
+}
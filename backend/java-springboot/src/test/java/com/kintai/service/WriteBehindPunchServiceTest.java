@@ -0,0 +1,151 @@
+package com.kintai.service;
+
+import com.kintai.dto.PunchBufferStatus;
+import com.kintai.exception.BusinessException;
+import com.kintai.punch.PunchBatchWriter;
+import com.kintai.punch.PunchRecord;
+import com.kintai.punch.PunchStateCache;
+import com.kintai.punch.PunchWriteAheadLog;
+import com.kintai.punch.WriteBehindPunchService;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.util.DateUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * WriteBehindPunchService 単体テスト
+ * 反映できない打刻（ポイズンレコード）を含むバッチの分割・デッドレター退避と、一時的な失敗時の扱いを検証する
+ */
+class WriteBehindPunchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 8, 1);
+
+    /**
+     * 反映すると制約違反になる社員ID
+     */
+    private static final long POISON_EMPLOYEE_ID = 2L;
+
+    @TempDir
+    Path dir;
+
+    private PunchBatchWriter punchBatchWriter;
+    private PunchStateCache punchStateCache;
+    private WriteBehindPunchService service;
+
+    @BeforeEach
+    void setUp() {
+        AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+        when(attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(anyLong(), any())).thenReturn(Optional.empty());
+        punchBatchWriter = mock(PunchBatchWriter.class);
+        when(punchBatchWriter.write(anyList())).thenAnswer(invocation -> {
+            List<PunchRecord> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(record -> record.getEmployeeId() == POISON_EMPLOYEE_ID)) {
+                throw new DataIntegrityViolationException("constraint violation");
+            }
+            return batch.size();
+        });
+        punchStateCache = new PunchStateCache();
+        ReflectionTestUtils.setField(punchStateCache, "maxEntries", 100);
+
+        service = new WriteBehindPunchService(attendanceRecordRepository, punchStateCache, mock(WorkRuleService.class),
+                punchBatchWriter, mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "walPath", dir.resolve("punch.wal").toString());
+        ReflectionTestUtils.setField(service, "deadLetterPath", dir.resolve("dead-letter.log").toString());
+        ReflectionTestUtils.setField(service, "capacity", 64);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 20L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ReflectionTestUtils.getField(service, "flusherThread") != null) {
+            ReflectionTestUtils.invokeMethod(service, "shutdown");
+        }
+    }
+
+    @Test
+    @DisplayName("起動時の再適用 - 反映できない打刻のみデッドレターへ退避し、起動を継続")
+    void start_IsolatesPoisonRecord() throws Exception {
+        appendToWal(1L, POISON_EMPLOYEE_ID, 3L, 4L, 5L);
+
+        ReflectionTestUtils.invokeMethod(service, "start");
+
+        PunchBufferStatus status = service.getStatus();
+        assertThat(status.getRecoveredCount()).isEqualTo(5);
+        assertThat(status.getFlushedCount()).isEqualTo(4);
+        assertThat(status.getDeadLetterCount()).isEqualTo(1);
+        assertThat(status.getPendingCount()).isZero();
+        assertThat(Files.readAllLines(dir.resolve("dead-letter.log")))
+                .singleElement().asString().contains("employeeId=" + POISON_EMPLOYEE_ID);
+    }
+
+    @Test
+    @DisplayName("起動時の再適用 - DB 接続障害の場合は退避せず起動を中止")
+    void start_TransientFailureAbortsStartup() throws Exception {
+        appendToWal(1L);
+        when(punchBatchWriter.write(anyList())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThatThrownBy(() -> ReflectionTestUtils.invokeMethod(service, "start"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(service.getStatus().getDeadLetterCount()).isZero();
+        assertThat(Files.exists(dir.resolve("dead-letter.log"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("受付後の反映 - ポイズンレコードで後続の打刻が滞留せず、退避した社員の打刻状態は破棄")
+    void flush_IsolatesPoisonRecord() throws Exception {
+        ReflectionTestUtils.invokeMethod(service, "start");
+
+        service.clockIn(1L);
+        service.clockIn(POISON_EMPLOYEE_ID);
+        service.clockIn(3L);
+        assertThatThrownBy(() -> service.clockIn(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ALREADY_CLOCKED_IN");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.getStatus().getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        PunchBufferStatus status = service.getStatus();
+        assertThat(status.getPendingCount()).isZero();
+        assertThat(status.getFlushedCount()).isEqualTo(2);
+        assertThat(status.getDeadLetterCount()).isEqualTo(1);
+        LocalDate today = DateUtil.getCurrentDate();
+        assertThat(punchStateCache.get(POISON_EMPLOYEE_ID, today)).isEqualTo(PunchStateCache.UNKNOWN);
+        assertThat(PunchStateCache.isClockedIn(punchStateCache.get(1L, today))).isTrue();
+    }
+
+    private void appendToWal(long... employeeIds) throws Exception {
+        try (PunchWriteAheadLog wal = new PunchWriteAheadLog(dir.resolve("punch.wal"), 64, false)) {
+            wal.recover();
+            for (long employeeId : employeeIds) {
+                wal.append(PunchRecord.Type.CLOCK_IN, employeeId, DATE, DATE.atTime(9, 0), 0, 0, 0, 0, 0);
+            }
+        }
+    }
+}